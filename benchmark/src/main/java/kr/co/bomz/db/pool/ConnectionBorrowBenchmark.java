@@ -0,0 +1,86 @@
+package kr.co.bomz.db.pool;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import kr.co.bomz.db.pool.stub.StubDriver;
+
+/**
+ * requestConnection() / returnConnection() 처리량 측정<p>
+ * 쿼리를 수행하지 않고 커넥션을 가져온 후 바로 반납하므로 풀 자체의 대여 비용만 측정된다<br>
+ * 스레드 수가 maxConnectionQuantity 보다 많을 경우 반환 대기 처리 비용도 포함된다
+ *
+ * @author Bomz
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConnectionBorrowBenchmark {
+
+	@Param({"16"})
+	private int maxConnectionQuantity;
+
+	private DatabasePool pool;
+
+	@Setup
+	public void setup() throws SQLException{
+		StubDriver.setConnectLatency(0L);
+		StubDriver.setQueryLatency(0L);
+		this.pool = StubPools.newPool(1, this.maxConnectionQuantity);
+	}
+
+	@Benchmark
+	@Threads(1)
+	public DatabaseConnection borrowReturn001() throws SQLException{
+		return this.borrowReturn();
+	}
+
+	@Benchmark
+	@Threads(4)
+	public DatabaseConnection borrowReturn004() throws SQLException{
+		return this.borrowReturn();
+	}
+
+	@Benchmark
+	@Threads(16)
+	public DatabaseConnection borrowReturn016() throws SQLException{
+		return this.borrowReturn();
+	}
+
+	@Benchmark
+	@Threads(32)
+	public DatabaseConnection borrowReturn032() throws SQLException{
+		return this.borrowReturn();
+	}
+
+	@Benchmark
+	@Threads(64)
+	public DatabaseConnection borrowReturn064() throws SQLException{
+		return this.borrowReturn();
+	}
+
+	private DatabaseConnection borrowReturn() throws SQLException{
+		DatabaseConnection dc = this.pool.requestConnection();
+		this.pool.returnConnection(dc);
+		return dc;
+	}
+}
@@ -0,0 +1,28 @@
+package kr.co.bomz.db.pool;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 벤치마크 실행<p>
+ * JMH 옵션을 그대로 전달하며, -prof 옵션이 없을 경우 할당량 측정을 위해 -prof gc 를 추가한다<br>
+ * 예) java -jar benchmarks.jar ConnectionBorrowBenchmark -f 1
+ *
+ * @author Bomz
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+public class PoolBenchmarkMain {
+
+	public static void main(String[] args) throws Exception{
+		List<String> options = new ArrayList<String>(Arrays.asList(args));
+		if( !options.contains("-prof") ){
+			options.add(0, "gc");
+			options.add(0, "-prof");
+		}
+		
+		org.openjdk.jmh.Main.main(options.toArray(new String[options.size()]));
+	}
+}
@@ -0,0 +1,98 @@
+package kr.co.bomz.db.pool;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import kr.co.bomz.db.pool.stub.StubDriver;
+
+/**
+ * selectQueryToPreparedStatement() / queryToPreparedStatement() / batchQueryToPreparedStatement() 전체 처리 비용 측정<p>
+ * StubDriver 의 쿼리 지연 시간은 0 이므로 커넥션 대여, Statement 생성, 파라메터 설정, 자원 반납 등
+ * 풀에서 발생하는 비용만 측정된다
+ *
+ * @author Bomz
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QueryDispatchBenchmark {
+
+	private static final String SELECT_SQL = "SELECT NAME, AGE FROM USER WHERE AGE > ?";
+	private static final String UPDATE_SQL = "UPDATE USER SET AGE = ? WHERE NAME = ?";
+
+	@Param({"0", "32"})
+	private int statementCacheSize;
+
+	@Param({"1", "100"})
+	private int rowCount;
+
+	/**		수치 기록 사용 여부에 따른 쿼리 수행 비용 비교		*/
+	@Param({"false", "true"})
+	private boolean metricsEnabled;
+
+	/**		쿼리 유형별 통계 사용 여부에 따른 쿼리 수행 비용 비교		*/
+	@Param({"false", "true"})
+	private boolean queryStatisticsEnabled;
+
+	private DatabasePool pool;
+
+	/**		배치 쿼리 파라메터 (1000 로우)		*/
+	private List<Object[]> batchParams;
+
+	@Setup
+	public void setup() throws SQLException{
+		StubDriver.setConnectLatency(0L);
+		StubDriver.setQueryLatency(0L);
+		StubDriver.setRowCount(this.rowCount);
+		this.pool = StubPools.newPool(1, 16);
+		this.pool.setStatementCacheSize(this.statementCacheSize);
+		this.pool.setMetricsEnabled(this.metricsEnabled);
+		if( this.queryStatisticsEnabled )		this.pool.setQueryStatistics(new QueryStatistics());
+
+		this.batchParams = new ArrayList<Object[]>(1000);
+		for(int i=0; i < 1000; i++)		this.batchParams.add(new Object[]{i, "name" + i});
+	}
+
+	@Benchmark
+	public long selectQuery() throws SQLException{
+		long sum = 0;
+		ResultSet rs = this.pool.selectQueryToPreparedStatement(SELECT_SQL, 17);
+		try{
+			while( rs.next() )		sum += rs.getInt(2);
+		}finally{
+			rs.close();
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public int updateQuery() throws SQLException{
+		return this.pool.queryToPreparedStatement(UPDATE_SQL, 18, "apple");
+	}
+
+	@Benchmark
+	public int[] batchQuery() throws SQLException{
+		return this.pool.batchQueryToPreparedStatement(UPDATE_SQL, this.batchParams);
+	}
+}
@@ -0,0 +1,68 @@
+package kr.co.bomz.db.pool;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import kr.co.bomz.db.pool.stub.StubDriver;
+
+/**
+ * maxConnectionQuantity 에 도달한 상태의 응답 시간 분포 측정<p>
+ * 커넥션 수보다 많은 스레드가 지연 시간이 있는 쿼리를 수행하므로 대부분의 요청이 커넥션 반환을 기다린다<br>
+ * SampleTime 모드로 측정하므로 p99 / p999 대기 시간을 확인할 수 있다
+ *
+ * @author Bomz
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(64)
+public class SaturationBenchmark {
+
+	private static final String UPDATE_SQL = "UPDATE USER SET AGE = ? WHERE NAME = ?";
+
+	@Param({"8"})
+	private int maxConnectionQuantity;
+
+	/**		쿼리 수행 지연 시간 (단위:us)		*/
+	@Param({"100"})
+	private long queryLatency;
+
+	private DatabasePool pool;
+
+	@Setup
+	public void setup() throws SQLException{
+		StubDriver.setConnectLatency(0L);
+		StubDriver.setQueryLatency(TimeUnit.MICROSECONDS.toNanos(this.queryLatency));
+		this.pool = StubPools.newPool(1, this.maxConnectionQuantity);
+	}
+
+	@TearDown
+	public void tearDown(){
+		StubDriver.setQueryLatency(0L);
+	}
+
+	@Benchmark
+	public int saturatedQuery() throws SQLException{
+		return this.pool.queryToPreparedStatement(UPDATE_SQL, 18, "apple");
+	}
+}
@@ -0,0 +1,110 @@
+package kr.co.bomz.db.pool;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import kr.co.bomz.db.pool.stub.StubDriver;
+
+/**
+ * settingParameter() 파라메터 설정 비용 측정<p>
+ * 파라메터 배열을 미리 만들어 둔 경우와 호출 시 가변인자로 전달하는 경우(박싱 포함),
+ * PreparedQuery 의 기본 타입 setMethod 로 설정하는 경우를 비교한다
+ *
+ * @author Bomz
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SettingParameterBenchmark {
+
+	private DatabasePool pool;
+
+	private Connection conn;
+
+	private PreparedStatement pst;
+
+	private PreparedQuery preparedQuery;
+
+	private Object[] stringParam;
+	private Object[] numberParam;
+	private Object[] mixedParam;
+
+	private String name = "apple";
+	private int age = 17;
+	private long sequence = 1234567890123L;
+	private double score = 3.14;
+
+	@Setup
+	public void setup() throws SQLException{
+		this.pool = StubPools.newPool(1, 2);
+		this.conn = new StubDriver().connect(StubDriver.URL, null);
+		this.pst = this.conn.prepareStatement("INSERT INTO USER VALUES (?, ?, ?, ?, ?)");
+		this.preparedQuery = this.pool.prepareQuery("INSERT INTO USER VALUES (?, ?, ?, ?, ?)");
+
+		this.stringParam = new Object[]{"apple", "kiwi", "banana", "melon", "grape"};
+		this.numberParam = new Object[]{17, 1234567890123L, 3.14, (short)3, true};
+		this.mixedParam = new Object[]{"apple", 17, new Timestamp(0L), new BigDecimal("12.50"), new byte[]{1, 2, 3}};
+	}
+
+	@TearDown
+	public void tearDown() throws SQLException{
+		this.conn.close();
+	}
+
+	@Benchmark
+	public PreparedStatement stringParameter() throws SQLException{
+		this.pool.settingParameter(this.pst, this.stringParam);
+		return this.pst;
+	}
+
+	@Benchmark
+	public PreparedStatement numberParameter() throws SQLException{
+		this.pool.settingParameter(this.pst, this.numberParam);
+		return this.pst;
+	}
+
+	@Benchmark
+	public PreparedStatement mixedParameter() throws SQLException{
+		this.pool.settingParameter(this.pst, this.mixedParam);
+		return this.pst;
+	}
+
+	@Benchmark
+	public PreparedStatement varargsParameter() throws SQLException{
+		this.pool.settingParameter(this.pst, this.name, this.age, this.sequence, this.score);
+		return this.pst;
+	}
+
+	@Benchmark
+	public PreparedStatement preparedQueryParameter() throws SQLException{
+		this.preparedQuery.setString(1, this.name);
+		this.preparedQuery.setInt(2, this.age);
+		this.preparedQuery.setLong(3, this.sequence);
+		this.preparedQuery.setDouble(4, this.score);
+		this.preparedQuery.setBoolean(5, true);
+		this.preparedQuery.bind(this.pst);
+		return this.pst;
+	}
+}
@@ -0,0 +1,32 @@
+package kr.co.bomz.db.pool;
+
+import java.sql.SQLException;
+
+import kr.co.bomz.db.pool.stub.StubDriver;
+
+/**
+ * 벤치마크에서 사용할 StubDriver 기반 데이터베이스 커넥션 풀 생성
+ *
+ * @author Bomz
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+final class StubPools {
+
+	private StubPools(){}
+
+	/**
+	 * StubDriver 에 연결하는 데이터베이스 커넥션 풀 생성
+	 * @param minConnectionQuantity		커넥션 최소 연결 수
+	 * @param maxConnectionQuantity		커넥션 최대 연결 수
+	 * @return										데이터베이스 커넥션 풀
+	 * @throws SQLException					풀 생성 오류
+	 */
+	static DatabasePool newPool(int minConnectionQuantity, int maxConnectionQuantity) throws SQLException{
+		DatabasePool pool = new DatabasePool(StubDriver.class.getName(), StubDriver.URL, "stub", "stub");
+		pool.setConnectionQuantity(minConnectionQuantity, maxConnectionQuantity);
+		pool.setReturnConnectionWaitTime(60000L);
+		return pool;
+	}
+}
@@ -0,0 +1,301 @@
+package kr.co.bomz.db.pool.stub;
+
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.CallableStatement;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.NClob;
+import java.sql.PreparedStatement;
+import java.sql.SQLClientInfoException;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLWarning;
+import java.sql.SQLXML;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.sql.Struct;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Executor;
+
+/**
+ * 네트워크 연결 없이 동작하는 벤치마크용 커넥션<br>
+ * 모든 Statement 는 아무 작업도 하지 않으며 StubDriver 에 설정된 지연 시간만큼 대기한다
+ *
+ * @author Bomz
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+public class StubConnection implements Connection {
+
+	/**		연결 종료 여부		*/
+	private volatile boolean closed = false;
+
+	/**		자동 커밋 여부		*/
+	private boolean autoCommit = true;
+
+	StubConnection(){
+		StubDriver.sleep(StubDriver.getConnectLatency());
+		StubDriver.openConnection();
+	}
+
+	@Override
+	public void close() throws SQLException {
+		if( this.closed )		return;
+		this.closed = true;
+		StubDriver.closeConnection();
+	}
+
+	@Override
+	public boolean isClosed() throws SQLException {
+		return this.closed;
+	}
+
+	@Override
+	public boolean isValid(int timeout) throws SQLException {
+		return !this.closed;
+	}
+
+	@Override
+	public Statement createStatement() throws SQLException {
+		return new StubStatement(this);
+	}
+
+	@Override
+	public Statement createStatement(int resultSetType, int resultSetConcurrency) throws SQLException {
+		return new StubStatement(this);
+	}
+
+	@Override
+	public Statement createStatement(int resultSetType, int resultSetConcurrency, int resultSetHoldability) throws SQLException {
+		return new StubStatement(this);
+	}
+
+	@Override
+	public PreparedStatement prepareStatement(String sql) throws SQLException {
+		return new StubStatement(this);
+	}
+
+	@Override
+	public PreparedStatement prepareStatement(String sql, int autoGeneratedKeys) throws SQLException {
+		return new StubStatement(this);
+	}
+
+	@Override
+	public PreparedStatement prepareStatement(String sql, int[] columnIndexes) throws SQLException {
+		return new StubStatement(this);
+	}
+
+	@Override
+	public PreparedStatement prepareStatement(String sql, String[] columnNames) throws SQLException {
+		return new StubStatement(this);
+	}
+
+	@Override
+	public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency) throws SQLException {
+		return new StubStatement(this);
+	}
+
+	@Override
+	public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency, int resultSetHoldability) throws SQLException {
+		return new StubStatement(this);
+	}
+
+	@Override
+	public CallableStatement prepareCall(String sql) throws SQLException {
+		throw new SQLFeatureNotSupportedException("prepareCall");
+	}
+
+	@Override
+	public CallableStatement prepareCall(String sql, int resultSetType, int resultSetConcurrency) throws SQLException {
+		throw new SQLFeatureNotSupportedException("prepareCall");
+	}
+
+	@Override
+	public CallableStatement prepareCall(String sql, int resultSetType, int resultSetConcurrency, int resultSetHoldability) throws SQLException {
+		throw new SQLFeatureNotSupportedException("prepareCall");
+	}
+
+	@Override
+	public Savepoint setSavepoint() throws SQLException {
+		return StubSavepoint.INSTANCE;
+	}
+
+	@Override
+	public Savepoint setSavepoint(String name) throws SQLException {
+		return StubSavepoint.INSTANCE;
+	}
+
+	@Override
+	public boolean getAutoCommit() throws SQLException {
+		return this.autoCommit;
+	}
+
+	@Override
+	public void setAutoCommit(boolean autoCommit) throws SQLException {
+		this.autoCommit = autoCommit;
+	}
+
+	@Override
+	public <T> T unwrap(Class<T> iface) throws SQLException {
+		throw new SQLException("not a wrapper");
+	}
+
+	@Override
+	public boolean isWrapperFor(Class<?> iface) throws SQLException {
+		return false;
+	}
+
+	@Override
+	public void abort(Executor arg0) throws SQLException {
+	}
+
+	@Override
+	public void clearWarnings() throws SQLException {
+	}
+
+	@Override
+	public void commit() throws SQLException {
+	}
+
+	@Override
+	public Array createArrayOf(String arg0, Object[] arg1) throws SQLException {
+		return null;
+	}
+
+	@Override
+	public Blob createBlob() throws SQLException {
+		return null;
+	}
+
+	@Override
+	public Clob createClob() throws SQLException {
+		return null;
+	}
+
+	@Override
+	public NClob createNClob() throws SQLException {
+		return null;
+	}
+
+	@Override
+	public SQLXML createSQLXML() throws SQLException {
+		return null;
+	}
+
+	@Override
+	public Struct createStruct(String arg0, Object[] arg1) throws SQLException {
+		return null;
+	}
+
+	@Override
+	public String getCatalog() throws SQLException {
+		return null;
+	}
+
+	@Override
+	public Properties getClientInfo() throws SQLException {
+		return null;
+	}
+
+	@Override
+	public String getClientInfo(String arg0) throws SQLException {
+		return null;
+	}
+
+	@Override
+	public int getHoldability() throws SQLException {
+		return 0;
+	}
+
+	@Override
+	public DatabaseMetaData getMetaData() throws SQLException {
+		return null;
+	}
+
+	@Override
+	public int getNetworkTimeout() throws SQLException {
+		return 0;
+	}
+
+	@Override
+	public String getSchema() throws SQLException {
+		return null;
+	}
+
+	@Override
+	public int getTransactionIsolation() throws SQLException {
+		return 0;
+	}
+
+	@Override
+	public Map<String, Class<?>> getTypeMap() throws SQLException {
+		return null;
+	}
+
+	@Override
+	public SQLWarning getWarnings() throws SQLException {
+		return null;
+	}
+
+	@Override
+	public boolean isReadOnly() throws SQLException {
+		return false;
+	}
+
+	@Override
+	public String nativeSQL(String arg0) throws SQLException {
+		return null;
+	}
+
+	@Override
+	public void releaseSavepoint(Savepoint arg0) throws SQLException {
+	}
+
+	@Override
+	public void rollback() throws SQLException {
+	}
+
+	@Override
+	public void rollback(Savepoint arg0) throws SQLException {
+	}
+
+	@Override
+	public void setCatalog(String arg0) throws SQLException {
+	}
+
+	@Override
+	public void setClientInfo(String arg0, String arg1) throws SQLClientInfoException {
+	}
+
+	@Override
+	public void setClientInfo(Properties arg0) throws SQLClientInfoException {
+	}
+
+	@Override
+	public void setHoldability(int arg0) throws SQLException {
+	}
+
+	@Override
+	public void setNetworkTimeout(Executor arg0, int arg1) throws SQLException {
+	}
+
+	@Override
+	public void setReadOnly(boolean arg0) throws SQLException {
+	}
+
+	@Override
+	public void setSchema(String arg0) throws SQLException {
+	}
+
+	@Override
+	public void setTransactionIsolation(int arg0) throws SQLException {
+	}
+
+	@Override
+	public void setTypeMap(Map<String, Class<?>> arg0) throws SQLException {
+	}
+}
@@ -0,0 +1,159 @@
+package kr.co.bomz.db.pool.stub;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.DriverPropertyInfo;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Logger;
+
+/**
+ * 네트워크 연결 없이 동작하는 벤치마크용 JDBC 드라이버<p>
+ * 접속 URL 은 jdbc:bomz-stub: 로 시작해야 하며, 접속 지연 시간 / 쿼리 수행 지연 시간 / SELECT 결과 로우 수를
+ * 설정할 수 있다. 지연 시간이 0 일 경우 대기하지 않으므로 풀 자체의 처리 비용만 측정된다<p>
+ * 사용 예)<br>
+ * <code>
+ * 		StubDriver.setQueryLatency(100000L);		// 100us<br>
+ * 		DatabasePool pool = new DatabasePool(StubDriver.class.getName(), StubDriver.URL, "stub", "stub");<br>
+ * </code>
+ *
+ * @author Bomz
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+public class StubDriver implements java.sql.Driver {
+
+	/**		스텁 드라이버 접속 URL		*/
+	public static final String URL = "jdbc:bomz-stub:benchmark";
+
+	private static final String URL_PREFIX = "jdbc:bomz-stub:";
+
+	/**		접속 지연 시간 (단위:ns)		*/
+	private static volatile long connectLatency = 0L;
+	/**		쿼리 수행 지연 시간 (단위:ns)		*/
+	private static volatile long queryLatency = 0L;
+	/**		SELECT 결과 로우 수		*/
+	private static volatile int rowCount = 1;
+
+	/**		현재 연결중인 커넥션 수		*/
+	private static final AtomicInteger openConnectionCount = new AtomicInteger();
+	/**		최대 동시 연결 커넥션 수		*/
+	private static final AtomicInteger maxOpenConnectionCount = new AtomicInteger();
+
+	static{
+		try{
+			DriverManager.registerDriver(new StubDriver());
+		}catch(SQLException e){
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	@Override
+	public Connection connect(String url, Properties info) throws SQLException {
+		if( !this.acceptsURL(url) )		return null;
+		return new StubConnection();
+	}
+
+	@Override
+	public boolean acceptsURL(String url) throws SQLException {
+		return url != null && url.startsWith(URL_PREFIX);
+	}
+
+	@Override
+	public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) throws SQLException {
+		return new DriverPropertyInfo[0];
+	}
+
+	@Override
+	public int getMajorVersion() {
+		return 1;
+	}
+
+	@Override
+	public int getMinorVersion() {
+		return 0;
+	}
+
+	@Override
+	public boolean jdbcCompliant() {
+		return false;
+	}
+
+	@Override
+	public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+		throw new SQLFeatureNotSupportedException();
+	}
+
+	/**
+	 * 접속 지연 시간 설정
+	 * @param nanos		지연 시간 (단위:ns)
+	 */
+	public static void setConnectLatency(long nanos){
+		connectLatency = nanos < 0 ? 0 : nanos;
+	}
+
+	/**
+	 * 쿼리 수행 지연 시간 설정
+	 * @param nanos		지연 시간 (단위:ns)
+	 */
+	public static void setQueryLatency(long nanos){
+		queryLatency = nanos < 0 ? 0 : nanos;
+	}
+
+	/**
+	 * SELECT 결과 로우 수 설정
+	 * @param count		로우 수
+	 */
+	public static void setRowCount(int count){
+		rowCount = count < 0 ? 0 : count;
+	}
+
+	static long getConnectLatency(){
+		return connectLatency;
+	}
+
+	static long getQueryLatency(){
+		return queryLatency;
+	}
+
+	static int getRowCount(){
+		return rowCount;
+	}
+
+	/**
+	 * 현재 연결중인 커넥션 수
+	 * @return		연결중인 커넥션 수
+	 */
+	public static int getOpenConnectionCount(){
+		return openConnectionCount.get();
+	}
+
+	/**
+	 * 최대 동시 연결 커넥션 수
+	 * @return		최대 동시 연결 커넥션 수
+	 */
+	public static int getMaxOpenConnectionCount(){
+		return maxOpenConnectionCount.get();
+	}
+
+	static void openConnection(){
+		int count = openConnectionCount.incrementAndGet();
+		maxOpenConnectionCount.accumulateAndGet(count, Math::max);
+	}
+
+	static void closeConnection(){
+		openConnectionCount.decrementAndGet();
+	}
+
+	/**
+	 * 네트워크 대기를 흉내내기 위해 지정된 시간동안 스레드를 대기시킨다
+	 * @param nanos		대기 시간 (단위:ns)
+	 */
+	static void sleep(long nanos){
+		if( nanos > 0 )		LockSupport.parkNanos(nanos);
+	}
+}
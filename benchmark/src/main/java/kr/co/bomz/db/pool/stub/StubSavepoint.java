@@ -0,0 +1,29 @@
+package kr.co.bomz.db.pool.stub;
+
+import java.sql.SQLException;
+import java.sql.Savepoint;
+
+/**
+ * 벤치마크용 Savepoint
+ *
+ * @author Bomz
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+public class StubSavepoint implements Savepoint {
+
+	static final StubSavepoint INSTANCE = new StubSavepoint();
+
+	private StubSavepoint(){}
+
+	@Override
+	public int getSavepointId() throws SQLException {
+		return 1;
+	}
+
+	@Override
+	public String getSavepointName() throws SQLException {
+		throw new SQLException("unnamed savepoint");
+	}
+}
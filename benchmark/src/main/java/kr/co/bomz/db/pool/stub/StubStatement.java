@@ -0,0 +1,496 @@
+package kr.co.bomz.db.pool.stub;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.NClob;
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.Ref;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.RowId;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.SQLXML;
+import java.sql.Statement;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Calendar;
+
+/**
+ * 벤치마크용 Statement / PreparedStatement<br>
+ * 파라메터 설정은 아무 작업도 하지 않으며, 쿼리 수행 시 StubDriver 에 설정된 지연 시간만큼 대기한다
+ *
+ * @author Bomz
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+public class StubStatement implements PreparedStatement {
+
+	/**		Statement 를 생성한 커넥션		*/
+	private final StubConnection connection;
+
+	/**		종료 여부		*/
+	private boolean closed = false;
+
+	/**		배치 등록 수		*/
+	private int batchCount = 0;
+
+	/**		쿼리 제한 시간 (단위:초)		*/
+	private int queryTimeout = 0;
+
+	StubStatement(StubConnection connection){
+		this.connection = connection;
+	}
+
+	@Override
+	public ResultSet executeQuery() throws SQLException {
+		StubDriver.sleep(StubDriver.getQueryLatency());
+		return new StubResultSet(this, StubDriver.getRowCount());
+	}
+
+	@Override
+	public ResultSet executeQuery(String sql) throws SQLException {
+		return this.executeQuery();
+	}
+
+	@Override
+	public int executeUpdate() throws SQLException {
+		StubDriver.sleep(StubDriver.getQueryLatency());
+		return 1;
+	}
+
+	@Override
+	public int executeUpdate(String sql) throws SQLException {
+		return this.executeUpdate();
+	}
+
+	@Override
+	public int executeUpdate(String sql, int autoGeneratedKeys) throws SQLException {
+		return this.executeUpdate();
+	}
+
+	@Override
+	public int executeUpdate(String sql, int[] columnIndexes) throws SQLException {
+		return this.executeUpdate();
+	}
+
+	@Override
+	public int executeUpdate(String sql, String[] columnNames) throws SQLException {
+		return this.executeUpdate();
+	}
+
+	@Override
+	public boolean execute() throws SQLException {
+		StubDriver.sleep(StubDriver.getQueryLatency());
+		return false;
+	}
+
+	@Override
+	public boolean execute(String sql) throws SQLException {
+		return this.execute();
+	}
+
+	@Override
+	public boolean execute(String sql, int autoGeneratedKeys) throws SQLException {
+		return this.execute();
+	}
+
+	@Override
+	public boolean execute(String sql, int[] columnIndexes) throws SQLException {
+		return this.execute();
+	}
+
+	@Override
+	public boolean execute(String sql, String[] columnNames) throws SQLException {
+		return this.execute();
+	}
+
+	@Override
+	public void addBatch() throws SQLException {
+		this.batchCount++;
+	}
+
+	@Override
+	public void addBatch(String sql) throws SQLException {
+		this.batchCount++;
+	}
+
+	@Override
+	public void clearBatch() throws SQLException {
+		this.batchCount = 0;
+	}
+
+	@Override
+	public int[] executeBatch() throws SQLException {
+		StubDriver.sleep(StubDriver.getQueryLatency());
+		int[] result = new int[this.batchCount];
+		java.util.Arrays.fill(result, 1);
+		this.batchCount = 0;
+		return result;
+	}
+
+	@Override
+	public void close() throws SQLException {
+		this.closed = true;
+	}
+
+	@Override
+	public boolean isClosed() throws SQLException {
+		return this.closed;
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		return this.connection;
+	}
+
+	@Override
+	public ResultSet getResultSet() throws SQLException {
+		return null;
+	}
+
+	@Override
+	public int getUpdateCount() throws SQLException {
+		return -1;
+	}
+
+	@Override
+	public int getQueryTimeout() throws SQLException {
+		return this.queryTimeout;
+	}
+
+	@Override
+	public void setQueryTimeout(int seconds) throws SQLException {
+		this.queryTimeout = seconds;
+	}
+
+	@Override
+	public void cancel() throws SQLException {
+	}
+
+	@Override
+	public <T> T unwrap(Class<T> iface) throws SQLException {
+		throw new SQLException("not a wrapper");
+	}
+
+	@Override
+	public boolean isWrapperFor(Class<?> iface) throws SQLException {
+		return false;
+	}
+
+	@Override
+	public void clearParameters() throws SQLException {
+	}
+
+	@Override
+	public void clearWarnings() throws SQLException {
+	}
+
+	@Override
+	public void closeOnCompletion() throws SQLException {
+	}
+
+	@Override
+	public int getFetchDirection() throws SQLException {
+		return 0;
+	}
+
+	@Override
+	public int getFetchSize() throws SQLException {
+		return 0;
+	}
+
+	@Override
+	public ResultSet getGeneratedKeys() throws SQLException {
+		return null;
+	}
+
+	@Override
+	public int getMaxFieldSize() throws SQLException {
+		return 0;
+	}
+
+	@Override
+	public int getMaxRows() throws SQLException {
+		return 0;
+	}
+
+	@Override
+	public ResultSetMetaData getMetaData() throws SQLException {
+		return null;
+	}
+
+	@Override
+	public boolean getMoreResults() throws SQLException {
+		return false;
+	}
+
+	@Override
+	public boolean getMoreResults(int arg0) throws SQLException {
+		return false;
+	}
+
+	@Override
+	public ParameterMetaData getParameterMetaData() throws SQLException {
+		return null;
+	}
+
+	@Override
+	public int getResultSetConcurrency() throws SQLException {
+		return 0;
+	}
+
+	@Override
+	public int getResultSetHoldability() throws SQLException {
+		return 0;
+	}
+
+	@Override
+	public int getResultSetType() throws SQLException {
+		return 0;
+	}
+
+	@Override
+	public SQLWarning getWarnings() throws SQLException {
+		return null;
+	}
+
+	@Override
+	public boolean isCloseOnCompletion() throws SQLException {
+		return false;
+	}
+
+	@Override
+	public boolean isPoolable() throws SQLException {
+		return false;
+	}
+
+	@Override
+	public void setArray(int arg0, Array arg1) throws SQLException {
+	}
+
+	@Override
+	public void setAsciiStream(int arg0, InputStream arg1, int arg2) throws SQLException {
+	}
+
+	@Override
+	public void setAsciiStream(int arg0, InputStream arg1, long arg2) throws SQLException {
+	}
+
+	@Override
+	public void setAsciiStream(int arg0, InputStream arg1) throws SQLException {
+	}
+
+	@Override
+	public void setBigDecimal(int arg0, BigDecimal arg1) throws SQLException {
+	}
+
+	@Override
+	public void setBinaryStream(int arg0, InputStream arg1, int arg2) throws SQLException {
+	}
+
+	@Override
+	public void setBinaryStream(int arg0, InputStream arg1, long arg2) throws SQLException {
+	}
+
+	@Override
+	public void setBinaryStream(int arg0, InputStream arg1) throws SQLException {
+	}
+
+	@Override
+	public void setBlob(int arg0, InputStream arg1, long arg2) throws SQLException {
+	}
+
+	@Override
+	public void setBlob(int arg0, InputStream arg1) throws SQLException {
+	}
+
+	@Override
+	public void setBlob(int arg0, Blob arg1) throws SQLException {
+	}
+
+	@Override
+	public void setBoolean(int arg0, boolean arg1) throws SQLException {
+	}
+
+	@Override
+	public void setByte(int arg0, byte arg1) throws SQLException {
+	}
+
+	@Override
+	public void setBytes(int arg0, byte[] arg1) throws SQLException {
+	}
+
+	@Override
+	public void setCharacterStream(int arg0, Reader arg1, int arg2) throws SQLException {
+	}
+
+	@Override
+	public void setCharacterStream(int arg0, Reader arg1, long arg2) throws SQLException {
+	}
+
+	@Override
+	public void setCharacterStream(int arg0, Reader arg1) throws SQLException {
+	}
+
+	@Override
+	public void setClob(int arg0, Reader arg1, long arg2) throws SQLException {
+	}
+
+	@Override
+	public void setClob(int arg0, Reader arg1) throws SQLException {
+	}
+
+	@Override
+	public void setClob(int arg0, Clob arg1) throws SQLException {
+	}
+
+	@Override
+	public void setCursorName(String arg0) throws SQLException {
+	}
+
+	@Override
+	public void setDate(int arg0, Date arg1, Calendar arg2) throws SQLException {
+	}
+
+	@Override
+	public void setDate(int arg0, Date arg1) throws SQLException {
+	}
+
+	@Override
+	public void setDouble(int arg0, double arg1) throws SQLException {
+	}
+
+	@Override
+	public void setEscapeProcessing(boolean arg0) throws SQLException {
+	}
+
+	@Override
+	public void setFetchDirection(int arg0) throws SQLException {
+	}
+
+	@Override
+	public void setFetchSize(int arg0) throws SQLException {
+	}
+
+	@Override
+	public void setFloat(int arg0, float arg1) throws SQLException {
+	}
+
+	@Override
+	public void setInt(int arg0, int arg1) throws SQLException {
+	}
+
+	@Override
+	public void setLong(int arg0, long arg1) throws SQLException {
+	}
+
+	@Override
+	public void setMaxFieldSize(int arg0) throws SQLException {
+	}
+
+	@Override
+	public void setMaxRows(int arg0) throws SQLException {
+	}
+
+	@Override
+	public void setNCharacterStream(int arg0, Reader arg1, long arg2) throws SQLException {
+	}
+
+	@Override
+	public void setNCharacterStream(int arg0, Reader arg1) throws SQLException {
+	}
+
+	@Override
+	public void setNClob(int arg0, Reader arg1, long arg2) throws SQLException {
+	}
+
+	@Override
+	public void setNClob(int arg0, Reader arg1) throws SQLException {
+	}
+
+	@Override
+	public void setNClob(int arg0, NClob arg1) throws SQLException {
+	}
+
+	@Override
+	public void setNString(int arg0, String arg1) throws SQLException {
+	}
+
+	@Override
+	public void setNull(int arg0, int arg1, String arg2) throws SQLException {
+	}
+
+	@Override
+	public void setNull(int arg0, int arg1) throws SQLException {
+	}
+
+	@Override
+	public void setObject(int arg0, Object arg1, int arg2, int arg3) throws SQLException {
+	}
+
+	@Override
+	public void setObject(int arg0, Object arg1, int arg2) throws SQLException {
+	}
+
+	@Override
+	public void setObject(int arg0, Object arg1) throws SQLException {
+	}
+
+	@Override
+	public void setPoolable(boolean arg0) throws SQLException {
+	}
+
+	@Override
+	public void setRef(int arg0, Ref arg1) throws SQLException {
+	}
+
+	@Override
+	public void setRowId(int arg0, RowId arg1) throws SQLException {
+	}
+
+	@Override
+	public void setSQLXML(int arg0, SQLXML arg1) throws SQLException {
+	}
+
+	@Override
+	public void setShort(int arg0, short arg1) throws SQLException {
+	}
+
+	@Override
+	public void setString(int arg0, String arg1) throws SQLException {
+	}
+
+	@Override
+	public void setTime(int arg0, Time arg1, Calendar arg2) throws SQLException {
+	}
+
+	@Override
+	public void setTime(int arg0, Time arg1) throws SQLException {
+	}
+
+	@Override
+	public void setTimestamp(int arg0, Timestamp arg1, Calendar arg2) throws SQLException {
+	}
+
+	@Override
+	public void setTimestamp(int arg0, Timestamp arg1) throws SQLException {
+	}
+
+	@Override
+	public void setURL(int arg0, URL arg1) throws SQLException {
+	}
+
+	@Override
+	public void setUnicodeStream(int arg0, InputStream arg1, int arg2) throws SQLException {
+	}
+}
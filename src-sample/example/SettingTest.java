@@ -1,6 +1,7 @@
 package example;
 
 import kr.co.bomz.db.pool.DatabasePool;
+import kr.co.bomz.db.pool.ResultLeakDetector;
 
 public class SettingTest {
 
@@ -12,6 +13,8 @@ public class SettingTest {
 		pool.setConnectionQuantity(15, 30);
 		// Default value is 60. minimum value is 10. (unit:minute)
 		pool.setValidationQueryTimeout(15);
+		// Default value is null. logs ResultSets not closed within 30 seconds (unit:ms)
+		pool.setResultLeakDetector(new ResultLeakDetector(30000));
 	}
 
 }
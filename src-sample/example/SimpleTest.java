@@ -29,7 +29,7 @@ public class SimpleTest {
 			while( rs.next() ){
 				System.out.println("name=" + rs.getString(1) + " , age=" + rs.getInt(2));
 			}
-		}catch(Exception e){
+		}finally{
 			/*
 			 * ResultSet is auto closed
 			 * However, I recommend that you close the ResultSet directly 
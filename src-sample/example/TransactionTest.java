@@ -1,15 +1,18 @@
 package example;
 
+import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 
 import kr.co.bomz.db.pool.DatabasePool;
+import kr.co.bomz.db.pool.Transaction;
 
 /*
  * Transaction test
  * 
  * 1. commit test
  * 2. rollback test
+ * 3. transaction object test
  * 
  */
 public class TransactionTest {
@@ -30,7 +33,10 @@ public class TransactionTest {
 		// 2. rollback test
 		test.commitOrRollbackTest(true);
 		test.selectData();
-		// 3. delete data
+		// 3. transaction object test
+		test.transactionObjectTest();
+		test.selectData();
+		// 4. delete data
 		test.deleteData();
 	}
 
@@ -91,5 +97,23 @@ public class TransactionTest {
 		}
 	}
 	
+	// transaction object test
+	private void transactionObjectTest(){
+		// not committed transaction is rolled back when closed. "banana" is not inserted
+		try (Transaction tx = this.pool.beginTransaction()) {
+			tx.queryToPreparedStatement("INSERT INTO USER VALUES (?, ?)", "banana", 36);
+		} catch (SQLException e) {
+			e.printStackTrace();
+		}
+		
+		// read-only transaction with isolation level
+		try (Transaction tx = this.pool.beginTransaction(Connection.TRANSACTION_SERIALIZABLE, true)) {
+			tx.selectQueryToStatement(rs -> System.out.println("read-only name=" + rs.getString(1)), "SELECT NAME FROM USER");
+			tx.commit();
+		} catch (SQLException e) {
+			e.printStackTrace();
+		}
+	}
+	
 	
 }
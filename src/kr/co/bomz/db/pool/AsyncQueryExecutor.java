@@ -0,0 +1,274 @@
+package kr.co.bomz.db.pool;
+
+import java.sql.SQLException;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 비동기 쿼리 수행 관리<p>
+ * 동시에 수행되는 비동기 작업 수를 풀의 최대 연결 수로 제한하며, 초과된 작업은 호출 스레드를 막지 않고
+ * 대기 큐에 보관했다가 수행 중인 작업이 끝나는 순서대로 실행한다<br>
+ * 따라서 비동기 작업이 커넥션을 얻기 위해 실행 스레드를 점유한 채 대기하는 일이 없다<p>
+ * 실행 Executor 를 지정하지 않을 경우 JDK 21 이상에서는 가상 스레드를, 그 외에는 데몬 스레드 풀을 사용한다
+ *
+ * @author Bomz
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+public class AsyncQueryExecutor {
+
+	private static final Logger logger = LoggerFactory.getLogger(AsyncQueryExecutor.class);
+
+	private final DatabasePool pool;
+
+	/**		사용자가 지정한 Executor		*/
+	private volatile Executor executor = null;
+
+	/**		사용자가 Executor 를 지정하지 않았을 경우 사용하는 기본 Executor		*/
+	private ExecutorService defaultExecutor = null;
+
+	/**		수행 중인 작업 수 (트랜잭션 진행 중인 작업 포함)		*/
+	private final AtomicInteger runningCount = new AtomicInteger();
+
+	/**		최대 수행 수를 넘어 대기 중인 작업		*/
+	private final Queue<Job<?>> waitQueue = new ConcurrentLinkedQueue<Job<?>>();
+
+	/**		종료 여부		*/
+	private volatile boolean shutdown = false;
+
+	AsyncQueryExecutor(DatabasePool pool){
+		this.pool = pool;
+	}
+
+	/**
+	 * 비동기 작업을 수행할 Executor 지정
+	 * @param executor		비동기 작업을 수행할 Executor. null 일 경우 기본 Executor 사용
+	 */
+	void setExecutor(Executor executor){
+		this.executor = executor;
+	}
+
+	/**
+	 * 최대 수행 수 이내에서 작업 수행
+	 * @param task		수행할 작업
+	 * @return			작업 결과
+	 */
+	<T> CompletableFuture<T> submit(Task<T> task){
+		return this.submit(task, null);
+	}
+
+	/**
+	 * 최대 수행 수 이내에서 작업 수행
+	 * @param task				수행할 작업
+	 * @param undelivered		null 이 아닐 경우 작업이 성공하더라도 수행 수에서 제외하지 않으며, 이후 반드시 release() 를 호출해야 한다<br>
+	 * 								호출자가 결과를 받기 전에 취소하거나 시간이 지나 결과를 전달하지 못했을 경우에는 이 객체로 결과를 정리한다
+	 * @return						작업 결과
+	 */
+	<T> CompletableFuture<T> submit(Task<T> task, Undelivered<T> undelivered){
+		if( this.shutdown ){
+			CompletableFuture<T> future = new CompletableFuture<T>();
+			future.completeExceptionally(new DatabasePoolClosedException());
+			return future;
+		}
+
+		Job<T> job = new Job<T>(this, task, undelivered);
+		this.waitQueue.offer(job);
+
+		this.dispatch();
+		return job.future;
+	}
+
+	/**
+	 * 수행 수 제한 없이 작업 수행<br>
+	 * 이미 수행 수에 포함된 트랜잭션의 작업을 수행할 때 사용한다
+	 * @param task		수행할 작업
+	 * @param future		작업 결과를 전달할 객체
+	 * @param done		작업 수행이 끝났을 때 완료할 객체. 호출자가 future 를 먼저 완료시키더라도 실제 수행 종료 후에 완료된다
+	 */
+	<T> void execute(Task<T> task, CompletableFuture<T> future, CompletableFuture<Void> done){
+		Runnable job = () -> {
+			try{
+				future.complete(task.call());
+			}catch(Throwable e){
+				future.completeExceptionally(e);
+			}finally{
+				done.complete(null);
+			}
+		};
+
+		try{
+			this.getExecutor().execute(job);
+		}catch(Throwable e){
+			// 트랜잭션 커넥션이 반납되지 않는 일이 없도록 Executor 가 작업을 받지 않을 경우 현재 스레드에서 수행
+			job.run();
+		}
+	}
+
+	/**
+	 * 작업이 끝났으므로 수행 수에서 제외한 후 대기 중인 작업 실행
+	 */
+	void release(){
+		this.runningCount.decrementAndGet();
+		this.dispatch();
+	}
+
+	/**		최대 수행 수를 넘지 않는 범위에서 대기 중인 작업 실행		*/
+	private void dispatch(){
+		Job<?> job;
+		while( !this.waitQueue.isEmpty() ){
+			if( !this.tryAcquire() )		return;		// 수행 중인 작업이 끝날 때 다시 처리
+
+			job = this.waitQueue.poll();
+			if( job == null || job.future.isDone() ){
+				// 다른 스레드가 먼저 가져갔거나, 대기 중에 호출자가 취소하였거나 시간이 지난 작업일 경우
+				this.runningCount.decrementAndGet();
+				continue;
+			}
+
+			try{
+				this.getExecutor().execute(job);
+			}catch(Throwable e){
+				// Executor 가 작업을 받지 않을 경우 작업 실패로 처리
+				job.future.completeExceptionally(e);
+				this.release();
+			}
+		}
+	}
+
+	/**		수행 수 증가. 풀의 최대 연결 수에 도달하였을 경우 false		*/
+	private boolean tryAcquire(){
+		int limit = this.pool.getMaxConnectionQuantity();
+		int running;
+		do{
+			running = this.runningCount.get();
+			if( running >= limit )		return false;
+		}while( !this.runningCount.compareAndSet(running, running + 1) );
+
+		return true;
+	}
+
+	/**
+	 * 비동기 작업 수행 종료<br>
+	 * 이후 요청되는 작업과 대기 중인 작업은 DatabasePoolClosedException 으로 완료되며,
+	 * 기본 Executor 는 수행 중인 작업이 끝난 후 종료된다
+	 */
+	void shutdown(){
+		this.shutdown = true;
+
+		Job<?> job;
+		while( (job = this.waitQueue.poll()) != null )
+			job.future.completeExceptionally(new DatabasePoolClosedException());
+
+		synchronized( this ){
+			if( this.defaultExecutor != null )		this.defaultExecutor.shutdown();
+		}
+	}
+
+	/**
+	 * 비동기 작업 수행 수
+	 * @return		수행 중인 작업 수
+	 */
+	int getRunningCount(){
+		return this.runningCount.get();
+	}
+
+	/**
+	 * 최대 수행 수를 넘어 대기 중인 작업 수
+	 * @return		대기 중인 작업 수
+	 */
+	int getWaitingCount(){
+		return this.waitQueue.size();
+	}
+
+	/**		작업을 수행할 Executor		*/
+	private Executor getExecutor(){
+		Executor executor = this.executor;
+		if( executor != null )		return executor;
+
+		synchronized( this ){
+			if( this.defaultExecutor == null )		this.defaultExecutor = newDefaultExecutor();
+			return this.defaultExecutor;
+		}
+	}
+
+	/**
+	 * 기본 Executor 생성<br>
+	 * JDK 21 이상일 경우 가상 스레드 Executor 를, 그 외에는 데몬 스레드 풀을 생성한다.
+	 * 동시 수행 수는 최대 연결 수로 제한되므로 스레드 풀의 크기도 그 이상 늘어나지 않는다
+	 */
+	private static ExecutorService newDefaultExecutor(){
+		try{
+			return (ExecutorService)Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		}catch(Exception e){
+			if( logger.isDebugEnabled() )		logger.debug("virtual thread not supported. use thread pool");
+		}
+
+		return Executors.newCachedThreadPool(new DaemonThreadFactory("bomz-db-pool-async"));
+	}
+
+	/**		수행 대기 중인 작업		*/
+	private static class Job<T> implements Runnable {
+		private final AsyncQueryExecutor executor;
+		private final Task<T> task;
+		private final Undelivered<T> undelivered;
+		private final CompletableFuture<T> future = new CompletableFuture<T>();
+
+		private Job(AsyncQueryExecutor executor, Task<T> task, Undelivered<T> undelivered){
+			this.executor = executor;
+			this.task = task;
+			this.undelivered = undelivered;
+		}
+
+		@Override
+		public void run() {
+			// 실행 전에 호출자가 취소하였거나 시간이 지난 작업은 수행하지 않는다
+			if( this.future.isDone() ){
+				this.executor.release();
+				return;
+			}
+
+			boolean release = true;
+			try{
+				T result = this.task.call();
+				if( this.undelivered == null ){
+					this.future.complete(result);
+				}else{
+					// 수행 수는 결과가 보유하며, 결과를 전달하지 못했을 경우 정리하면서 반납한다
+					release = false;
+					if( !this.future.complete(result) )		this.undelivered.discard(result);
+				}
+			}catch(Throwable e){
+				this.future.completeExceptionally(e);
+			}finally{
+				if( release )		this.executor.release();
+			}
+		}
+	}
+
+	/**
+	 * 비동기로 수행할 데이터베이스 작업
+	 *
+	 * @param <T>		작업 결과 타입
+	 */
+	interface Task<T> {
+		T call() throws SQLException;
+	}
+
+	/**
+	 * 호출자에게 전달하지 못한 작업 결과 정리
+	 *
+	 * @param <T>		작업 결과 타입
+	 */
+	interface Undelivered<T> {
+		void discard(T result);
+	}
+}
@@ -0,0 +1,184 @@
+package kr.co.bomz.db.pool;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 비동기 트랜잭션<p>
+ * 트랜잭션 커넥션을 스레드가 아닌 이 객체가 보유하므로, 각 쿼리가 서로 다른 스레드에서 수행되더라도
+ * 같은 트랜잭션으로 처리된다<br>
+ * 쿼리는 요청한 순서대로 하나씩 수행되며, commit() 또는 rollback() 호출 후에는 커넥션이 풀로 반납되어
+ * 이후 요청은 NonTransactionException 으로 완료된다
+ *
+ * @author Bomz
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+public class AsyncTransaction {
+
+	private final DatabasePool pool;
+
+	private final AsyncQueryExecutor executor;
+
+	/**		트랜잭션 커넥션		*/
+	private final DatabaseConnection connection;
+
+	/**
+	 * 마지막으로 요청된 작업의 수행 종료. 다음 작업은 이 작업이 끝난 후 수행된다<br>
+	 * 호출자에게 리턴한 결과와 별도로 관리하므로 호출자가 결과를 취소하거나 먼저 완료시키더라도
+	 * 수행 중인 쿼리가 끝나기 전에 다음 작업이 같은 커넥션을 사용하지 않는다
+	 */
+	private CompletableFuture<Void> lastDone = CompletableFuture.completedFuture(null);
+
+	/**		commit() 또는 rollback() 요청 여부		*/
+	private boolean ended = false;
+
+	AsyncTransaction(DatabasePool pool, AsyncQueryExecutor executor, DatabaseConnection connection){
+		this.pool = pool;
+		this.executor = executor;
+		this.connection = connection;
+	}
+
+	/**
+	 * java.sql.Statement 를 이용한 UPDATE / INSERT / DELETE 쿼리 수행
+	 * @param sql		쿼리
+	 * @return			실행성공 로우 수
+	 */
+	public CompletableFuture<Integer> queryToStatement(String sql){
+		return this.then(() -> (Integer)this.pool.executeQuery(this.connection, StatementType.STATEMENT, 0, false, sql));
+	}
+
+	/**
+	 * java.sql.PreparedStatement 를 이용한 UPDATE / INSERT / DELETE 쿼리 수행
+	 * @param sql			쿼리
+	 * @param param		쿼리 설정 파라메터
+	 * @return				실행성공 로우 수
+	 */
+	public CompletableFuture<Integer> queryToPreparedStatement(String sql, Object ... param){
+		return this.then(() -> (Integer)this.pool.executeQuery(this.connection, StatementType.PREPARED_STATEMENT, 0, false, sql, param));
+	}
+
+	/**
+	 * java.sql.CallableStatement 를 이용한 UPDATE / INSERT / DELETE 쿼리 수행
+	 * @param sql			쿼리
+	 * @param param		쿼리 설정 파라메터
+	 * @return				실행성공 로우 수
+	 */
+	public CompletableFuture<Integer> queryToCallableStatement(String sql, Object ... param){
+		return this.then(() -> (Integer)this.pool.executeQuery(this.connection, StatementType.CALLABLE_STATEMENT, 0, false, sql, param));
+	}
+
+	/**
+	 * java.sql.PreparedStatement 를 이용한 배치 쿼리 수행
+	 * @param sql			쿼리
+	 * @param params		로우별 쿼리 설정 파라메터
+	 * @return				로우별 실행성공 로우 수
+	 */
+	public CompletableFuture<int[]> batchQueryToPreparedStatement(String sql, List<Object[]> params){
+		return this.then(() -> this.pool.executeBatch(this.connection, sql, params.iterator(), params.size()));
+	}
+
+	/**
+	 * java.sql.Statement 를 이용한 셀렉트 쿼리 수행 후 변환된 로우 목록 리턴
+	 * @param mapper		로우 변환
+	 * @param sql			쿼리
+	 * @return				변환된 로우 목록
+	 */
+	public <T> CompletableFuture<List<T>> selectQueryToStatement(RowMapper<T> mapper, String sql){
+		return this.then(() -> this.pool.selectList(this.connection, mapper, StatementType.STATEMENT, sql));
+	}
+
+	/**
+	 * java.sql.PreparedStatement 를 이용한 셀렉트 쿼리 수행 후 변환된 로우 목록 리턴
+	 * @param mapper		로우 변환
+	 * @param sql			쿼리
+	 * @param param		쿼리 설정 파라메터
+	 * @return				변환된 로우 목록
+	 */
+	public <T> CompletableFuture<List<T>> selectQueryToPreparedStatement(RowMapper<T> mapper, String sql, Object ... param){
+		return this.then(() -> this.pool.selectList(this.connection, mapper, StatementType.PREPARED_STATEMENT, sql, param));
+	}
+
+	/**
+	 * java.sql.CallableStatement 를 이용한 셀렉트 쿼리 수행 후 변환된 로우 목록 리턴
+	 * @param mapper		로우 변환
+	 * @param sql			쿼리
+	 * @param param		쿼리 설정 파라메터
+	 * @return				변환된 로우 목록
+	 */
+	public <T> CompletableFuture<List<T>> selectQueryToCallableStatement(RowMapper<T> mapper, String sql, Object ... param){
+		return this.then(() -> this.pool.selectList(this.connection, mapper, StatementType.CALLABLE_STATEMENT, sql, param));
+	}
+
+	/**
+	 * 데이터베이스 커밋 후 커넥션 반납
+	 * @return		커밋 결과
+	 */
+	public CompletableFuture<Void> commit(){
+		return this.end(true);
+	}
+
+	/**
+	 * 데이터베이스 롤백 후 커넥션 반납
+	 * @return		롤백 결과
+	 */
+	public CompletableFuture<Void> rollback(){
+		return this.end(false);
+	}
+
+	/**		커밋 또는 롤백 후 커넥션과 비동기 수행 수 반납		*/
+	private synchronized CompletableFuture<Void> end(boolean commit){
+		if( this.ended )		return this.failed();
+		this.ended = true;
+
+		return this.enqueue(() -> {
+			try{
+				if( commit )		this.connection.commit();
+				else					this.connection.rollback();
+			}finally{
+				this.pool.endTransaction(this.connection);
+				this.executor.release();
+			}
+			return null;
+		});
+	}
+
+	/**
+	 * 호출자가 받기 전에 취소되어 전달하지 못한 트랜잭션을 롤백한 후 커넥션과 비동기 수행 수 반납
+	 */
+	synchronized void abandon(){
+		if( this.ended )		return;
+		this.ended = true;
+
+		try{
+			this.connection.rollback();
+		}catch(Exception e){
+		}finally{
+			this.pool.endTransaction(this.connection);
+			this.executor.release();
+		}
+	}
+
+	/**		이전 작업이 끝난 후 수행되도록 작업 등록		*/
+	private synchronized <T> CompletableFuture<T> then(AsyncQueryExecutor.Task<T> task){
+		if( this.ended )		return this.failed();
+		return this.enqueue(task);
+	}
+
+	/**		이전 작업의 성공 여부와 관계없이 이전 작업이 끝난 후 수행		*/
+	private <T> CompletableFuture<T> enqueue(AsyncQueryExecutor.Task<T> task){
+		CompletableFuture<T> future = new CompletableFuture<T>();
+		CompletableFuture<Void> done = new CompletableFuture<Void>();
+		this.lastDone.thenRun(() -> this.executor.execute(task, future, done));
+		this.lastDone = done;
+		return future;
+	}
+
+	/**		트랜잭션이 끝난 후 요청된 작업 결과		*/
+	private <T> CompletableFuture<T> failed(){
+		CompletableFuture<T> future = new CompletableFuture<T>();
+		future.completeExceptionally(new NonTransactionException());
+		return future;
+	}
+}
@@ -1,12 +1,18 @@
 package kr.co.bomz.db.pool;
 
+import java.lang.ref.Cleaner;
+import java.lang.ref.WeakReference;
 import java.sql.ResultSet;
 import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 /**
- * 
- * java.sql.ResultSet ڿݳ ʾ  ޸   Ŭ 
- * 
+ *
+ * java.sql.ResultSet 자원반납을 하지않아 생기는 메모리 증가를 막기위한 클레스<p>
+ * 사용자가 ResultSet.close() 를 호출하거나 자동 종료 시간이 되었을 경우 중 먼저 발생한 쪽에서 한번만 자원반납한다<br>
+ * 자원반납 누락 감지기를 사용할 경우 사용자에게 리턴된 ResultSet 이 close() 호출 없이 가비지 컬렉션 되었을 때도 자원반납한다
+ *
  * @author Bomz
  * @version 1.0
  * @since 1.0
@@ -14,53 +20,219 @@ import java.sql.Statement;
  */
 public class AutoCloseResult {
 
+	/**		자원반납 대기 상태		*/
+	private static final int STATE_WAITING = 0;
+	/**		자원반납 완료 상태		*/
+	private static final int STATE_CLOSED = 1;
+
+	/**		Statement 를 생성한 커넥션		*/
+	private final DatabaseConnection connection;
+
+	/**		Statement 생성 쿼리		*/
+	private final String sql;
+
+	/**		Statement 종류		*/
+	private final StatementType type;
+
 	private Statement statement;
-	
+
 	private ResultSet resultSet;
-	
+
+	/**		사용자에게 리턴되는 ResultSet. close() 호출 시 자동 종료 등록을 취소한다		*/
+	private AutoCloseResultSet autoCloseResultSet;
+
+	/**
+	 * 자원반납 누락 감지 중 사용자에게 리턴된 ResultSet<br>
+	 * 가비지 컬렉션 여부를 감지할 수 있도록 약한 참조로만 보관한다
+	 */
+	private WeakReference<AutoCloseResultSet> trackedResultSet;
+
+	/**		자원반납 누락 감지기. 사용하지 않을 경우 null		*/
+	private final ResultLeakDetector leakDetector;
+
+	/**		가비지 컬렉션 시 자원반납하도록 등록한 Cleaner 정보		*/
+	private Cleaner.Cleanable cleanable;
+
 	private long autoCloseTime;
-	
+
+	/**		자원반납 상태		*/
+	private volatile int state = STATE_WAITING;
+
+	private static final AtomicIntegerFieldUpdater<AutoCloseResult> STATE_UPDATER =
+			AtomicIntegerFieldUpdater.newUpdater(AutoCloseResult.class, "state");
+
+	/**		자원반납 후 수행할 작업. 등록하지 않았거나 이미 수행하였을 경우 null		*/
+	private volatile Runnable closeHook;
+
+	private static final AtomicReferenceFieldUpdater<AutoCloseResult, Runnable> CLOSE_HOOK_UPDATER =
+			AtomicReferenceFieldUpdater.newUpdater(AutoCloseResult.class, Runnable.class, "closeHook");
+
+	/**		자동 종료를 등록한 타이머. 등록하지 않았을 경우 null		*/
+	private volatile AutoCloseTimer timer;
+
+	/*
+	 * 아래 정보는 AutoCloseTimer 에서 DatabasePoolManager 의 작업 스레드만 사용한다
+	 */
+	/**		자동 종료 시간 (AutoCloseTimer 시작 시점 기준. 단위:nanosecond)		*/
+	long deadline;
+	/**		자동 종료 시간까지 남은 타이머 회전 수		*/
+	long remainingRounds;
+	/**		등록된 타이머 슬롯		*/
+	AutoCloseTimer.Bucket bucket;
+	AutoCloseResult prev;
+	AutoCloseResult next;
+
+	/*
+	 * 아래 정보는 ResultLeakDetector 에서 사용한다
+	 */
+	/**		추적 시작 시간 (단위:nanosecond)		*/
+	long openTime;
+	/**		ResultSet 을 리턴한 위치의 호출 스택. 샘플링되지 않았을 경우 null		*/
+	Throwable allocationTrace;
+	/**		자원반납 누락 기록 여부. DatabasePoolManager 스레드만 사용한다		*/
+	boolean leakReported;
+
 	/**
-	 *  ð   ڵ ڿ ݳŲ
+	 * 지정한 시간이 지난 후 자동으로 자원을 반납시킨다
+	 * @param connection				Statement 를 생성한 커넥션
+	 * @param sql							Statement 생성 쿼리
+	 * @param type						Statement 종류
 	 * @param statement				Statement
 	 * @param resultSet					ResultSet
-	 * @param autoCloseTime		ڵ  ð (:ms)
+	 * @param autoCloseTime		자동 종료 시간 (단위:ms)
+	 * @param leakDetector		자원반납 누락 감지기. 사용하지 않을 경우 null
 	 */
-	AutoCloseResult(Statement statement, ResultSet resultSet, long autoCloseTime){
+	AutoCloseResult(DatabaseConnection connection, String sql, StatementType type, Statement statement, ResultSet resultSet, long autoCloseTime, ResultLeakDetector leakDetector){
+		this.connection = connection;
+		this.sql = sql;
+		this.type = type;
 		this.statement = statement;
 		this.resultSet = resultSet;
 		this.autoCloseTime = autoCloseTime;
+		this.leakDetector = leakDetector;
+	}
+
+	/**
+	 * 자동 종료 타이머 등록 정보 설정
+	 * @param timer		자동 종료를 등록한 타이머
+	 */
+	void setTimer(AutoCloseTimer timer){
+		this.timer = timer;
+	}
+
+	/**
+	 * 자원반납 후 수행할 작업 등록<br>
+	 * 사용자 close(), 자동 종료, 가비지 컬렉션 중 먼저 자원반납한 쪽에서 한번만 수행하며, 이미 자원반납되었을 경우 바로 수행한다
+	 * @param closeHook		자원반납 후 수행할 작업
+	 */
+	void setCloseHook(Runnable closeHook){
+		this.closeHook = closeHook;
+		if( this.isClosed() )		this.runCloseHook();
 	}
-	
+
+	/**		등록된 자원반납 후 작업을 한번만 수행		*/
+	private void runCloseHook(){
+		Runnable hook = CLOSE_HOOK_UPDATER.getAndSet(this, null);
+		if( hook != null )		hook.run();
+	}
+
+	/**
+	 * 사용자가 ResultSet.close() 를 호출하였을 경우 자원반납 후 자동 종료 등록 취소
+	 */
+	void close(){
+		if( !this.closeResult() )		return;
+
+		AutoCloseTimer timer = this.timer;
+		if( timer != null )		timer.cancel(this);
+
+		// 가비지 컬렉션을 기다리지 않고 Cleaner 등록 해제
+		if( this.cleanable != null )		this.cleanable.clean();
+	}
+
+	/**
+	 * 사용자에게 리턴된 ResultSet 이 close() 호출 없이 가비지 컬렉션 되었을 경우 Cleaner 스레드에서 자원반납
+	 */
+	void reclaim(){
+		if( !this.closeResult() )		return;
+
+		AutoCloseTimer timer = this.timer;
+		if( timer != null )		timer.cancel(this);
+
+		this.leakDetector.reclaimed(this);
+	}
+
 	/**
-	 * ڿ ڵ 
+	 * 자원 자동 종료
+	 * @return		이번 호출로 자원반납하였을 경우 true. 이미 반납되었을 경우 false
 	 */
-	void closeResult(){
+	boolean closeResult(){
+		if( !STATE_UPDATER.compareAndSet(this, STATE_WAITING, STATE_CLOSED) )		return false;
+
+		if( this.leakDetector != null )		this.leakDetector.untrack(this);
+
 		if( this.resultSet != null ){
 			try{		this.resultSet.close();		}catch(Exception e){}
 			this.resultSet = null;
 		}
-		
+
 		if( this.statement != null ){
-			try{		this.statement.close();		}catch(Exception e){}
+			// PreparedStatement / CallableStatement 는 커넥션의 Statement 캐시로 반납
+			this.connection.releaseStatement(this.sql, this.type, this.statement);
 			this.statement = null;
 		}
+
+		this.runCloseHook();
+		return true;
+	}
+
+	/**
+	 * 자원반납 여부
+	 * @return		자원반납 되었을 경우 true
+	 */
+	boolean isClosed(){
+		return this.state == STATE_CLOSED;
 	}
 
 	/**
-	 * ڿ ڵ  ð
-	 * @return		 ڿ ڵ  ð : (ms)
+	 * 자원 자동 종료 시간
+	 * @return		 자원 자동 종료 시간 : 단위(ms)
 	 */
 	public long getAutoCloseTime() {
 		return autoCloseTime;
 	}
 
 	/**
-	 * ڿ ݳ  ResultSet
-	 * @return		ڿ ݳ  ResultSet
+	 * Statement 생성 쿼리
+	 * @return		Statement 생성 쿼리
+	 */
+	String getSql(){
+		return this.sql;
+	}
+
+	/**
+	 * 자원 반납 할 ResultSet<br>
+	 * 처음 호출 시 생성되며, 자원반납 누락 감지기를 사용할 경우 이때부터 추적을 시작한다
+	 * @return		자원 반납 할 ResultSet
 	 */
 	public ResultSet getResultSet() {
-		return resultSet;
+		if( this.autoCloseResultSet != null )		return this.autoCloseResultSet;
+
+		AutoCloseResultSet rs;
+		if( this.trackedResultSet != null ){
+			rs = this.trackedResultSet.get();
+			// 가비지 컬렉션 되어 이미 자원반납된 경우 닫힌 ResultSet 리턴
+			return rs != null ? rs : new AutoCloseResultSet(this.resultSet, this);
+		}
+
+		rs = new AutoCloseResultSet(this.resultSet, this);
+		if( this.leakDetector == null ){
+			this.autoCloseResultSet = rs;
+		}else{
+			// 추적 중인 자원이 리턴된 ResultSet 을 참조하면 가비지 컬렉션 되지 않으므로 약한 참조로 보관
+			this.trackedResultSet = new WeakReference<AutoCloseResultSet>(rs);
+			this.cleanable = this.leakDetector.track(this, rs);
+		}
+		return rs;
 	}
-	
+
 }
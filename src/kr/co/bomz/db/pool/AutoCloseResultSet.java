@@ -0,0 +1,1010 @@
+package kr.co.bomz.db.pool;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Date;
+import java.sql.NClob;
+import java.sql.Ref;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.RowId;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.SQLXML;
+import java.sql.Statement;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Calendar;
+import java.util.Map;
+
+/**
+ * 셀렉트 쿼리 결과로 사용자에게 리턴되는 ResultSet<p>
+ * 모든 호출은 드라이버의 ResultSet 으로 전달되며, close() 호출 시에는
+ * Statement 반납과 함께 자동 종료 등록을 취소한다
+ *
+ * @author Bomz
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+@SuppressWarnings("deprecation")
+public class AutoCloseResultSet implements ResultSet{
+
+	private final ResultSet resultSet;
+
+	private final AutoCloseResult result;
+
+	AutoCloseResultSet(ResultSet resultSet, AutoCloseResult result){
+		this.resultSet = resultSet;
+		this.result = result;
+	}
+
+	/**
+	 * 자원반납 후 수행할 작업 등록
+	 * @param closeHook		자원반납 후 수행할 작업
+	 */
+	void setCloseHook(Runnable closeHook){
+		this.result.setCloseHook(closeHook);
+	}
+
+	@Override
+	public void close() throws SQLException {
+		this.result.close();
+	}
+
+	@Override
+	public boolean isClosed() throws SQLException {
+		return this.result.isClosed() || this.resultSet.isClosed();
+	}
+
+	@Override
+	public Statement getStatement() throws SQLException {
+		return this.resultSet.getStatement();
+	}
+
+	@Override
+	public <T> T unwrap(Class<T> iface) throws SQLException {
+		if( iface.isInstance(this) )		return iface.cast(this);
+		return this.resultSet.unwrap(iface);
+	}
+
+	@Override
+	public boolean isWrapperFor(Class<?> iface) throws SQLException {
+		return iface.isInstance(this) || this.resultSet.isWrapperFor(iface);
+	}
+
+	@Override
+	public boolean absolute(int row) throws SQLException {
+		return this.resultSet.absolute(row);
+	}
+
+	@Override
+	public void afterLast() throws SQLException {
+		this.resultSet.afterLast();
+	}
+
+	@Override
+	public void beforeFirst() throws SQLException {
+		this.resultSet.beforeFirst();
+	}
+
+	@Override
+	public void cancelRowUpdates() throws SQLException {
+		this.resultSet.cancelRowUpdates();
+	}
+
+	@Override
+	public void clearWarnings() throws SQLException {
+		this.resultSet.clearWarnings();
+	}
+
+	@Override
+	public void deleteRow() throws SQLException {
+		this.resultSet.deleteRow();
+	}
+
+	@Override
+	public int findColumn(String columnLabel) throws SQLException {
+		return this.resultSet.findColumn(columnLabel);
+	}
+
+	@Override
+	public boolean first() throws SQLException {
+		return this.resultSet.first();
+	}
+
+	@Override
+	public Array getArray(String columnLabel) throws SQLException {
+		return this.resultSet.getArray(columnLabel);
+	}
+
+	@Override
+	public Array getArray(int columnIndex) throws SQLException {
+		return this.resultSet.getArray(columnIndex);
+	}
+
+	@Override
+	public InputStream getAsciiStream(String columnLabel) throws SQLException {
+		return this.resultSet.getAsciiStream(columnLabel);
+	}
+
+	@Override
+	public InputStream getAsciiStream(int columnIndex) throws SQLException {
+		return this.resultSet.getAsciiStream(columnIndex);
+	}
+
+	@Override
+	public BigDecimal getBigDecimal(String columnLabel, int scale) throws SQLException {
+		return this.resultSet.getBigDecimal(columnLabel, scale);
+	}
+
+	@Override
+	public BigDecimal getBigDecimal(String columnLabel) throws SQLException {
+		return this.resultSet.getBigDecimal(columnLabel);
+	}
+
+	@Override
+	public BigDecimal getBigDecimal(int columnIndex, int scale) throws SQLException {
+		return this.resultSet.getBigDecimal(columnIndex, scale);
+	}
+
+	@Override
+	public BigDecimal getBigDecimal(int columnIndex) throws SQLException {
+		return this.resultSet.getBigDecimal(columnIndex);
+	}
+
+	@Override
+	public InputStream getBinaryStream(String columnLabel) throws SQLException {
+		return this.resultSet.getBinaryStream(columnLabel);
+	}
+
+	@Override
+	public InputStream getBinaryStream(int columnIndex) throws SQLException {
+		return this.resultSet.getBinaryStream(columnIndex);
+	}
+
+	@Override
+	public Blob getBlob(String columnLabel) throws SQLException {
+		return this.resultSet.getBlob(columnLabel);
+	}
+
+	@Override
+	public Blob getBlob(int columnIndex) throws SQLException {
+		return this.resultSet.getBlob(columnIndex);
+	}
+
+	@Override
+	public boolean getBoolean(String columnLabel) throws SQLException {
+		return this.resultSet.getBoolean(columnLabel);
+	}
+
+	@Override
+	public boolean getBoolean(int columnIndex) throws SQLException {
+		return this.resultSet.getBoolean(columnIndex);
+	}
+
+	@Override
+	public byte getByte(String columnLabel) throws SQLException {
+		return this.resultSet.getByte(columnLabel);
+	}
+
+	@Override
+	public byte getByte(int columnIndex) throws SQLException {
+		return this.resultSet.getByte(columnIndex);
+	}
+
+	@Override
+	public byte[] getBytes(String columnLabel) throws SQLException {
+		return this.resultSet.getBytes(columnLabel);
+	}
+
+	@Override
+	public byte[] getBytes(int columnIndex) throws SQLException {
+		return this.resultSet.getBytes(columnIndex);
+	}
+
+	@Override
+	public Reader getCharacterStream(String columnLabel) throws SQLException {
+		return this.resultSet.getCharacterStream(columnLabel);
+	}
+
+	@Override
+	public Reader getCharacterStream(int columnIndex) throws SQLException {
+		return this.resultSet.getCharacterStream(columnIndex);
+	}
+
+	@Override
+	public Clob getClob(String columnLabel) throws SQLException {
+		return this.resultSet.getClob(columnLabel);
+	}
+
+	@Override
+	public Clob getClob(int columnIndex) throws SQLException {
+		return this.resultSet.getClob(columnIndex);
+	}
+
+	@Override
+	public int getConcurrency() throws SQLException {
+		return this.resultSet.getConcurrency();
+	}
+
+	@Override
+	public String getCursorName() throws SQLException {
+		return this.resultSet.getCursorName();
+	}
+
+	@Override
+	public Date getDate(String columnLabel, Calendar cal) throws SQLException {
+		return this.resultSet.getDate(columnLabel, cal);
+	}
+
+	@Override
+	public Date getDate(String columnLabel) throws SQLException {
+		return this.resultSet.getDate(columnLabel);
+	}
+
+	@Override
+	public Date getDate(int columnIndex, Calendar cal) throws SQLException {
+		return this.resultSet.getDate(columnIndex, cal);
+	}
+
+	@Override
+	public Date getDate(int columnIndex) throws SQLException {
+		return this.resultSet.getDate(columnIndex);
+	}
+
+	@Override
+	public double getDouble(String columnLabel) throws SQLException {
+		return this.resultSet.getDouble(columnLabel);
+	}
+
+	@Override
+	public double getDouble(int columnIndex) throws SQLException {
+		return this.resultSet.getDouble(columnIndex);
+	}
+
+	@Override
+	public int getFetchDirection() throws SQLException {
+		return this.resultSet.getFetchDirection();
+	}
+
+	@Override
+	public int getFetchSize() throws SQLException {
+		return this.resultSet.getFetchSize();
+	}
+
+	@Override
+	public float getFloat(String columnLabel) throws SQLException {
+		return this.resultSet.getFloat(columnLabel);
+	}
+
+	@Override
+	public float getFloat(int columnIndex) throws SQLException {
+		return this.resultSet.getFloat(columnIndex);
+	}
+
+	@Override
+	public int getHoldability() throws SQLException {
+		return this.resultSet.getHoldability();
+	}
+
+	@Override
+	public int getInt(String columnLabel) throws SQLException {
+		return this.resultSet.getInt(columnLabel);
+	}
+
+	@Override
+	public int getInt(int columnIndex) throws SQLException {
+		return this.resultSet.getInt(columnIndex);
+	}
+
+	@Override
+	public long getLong(String columnLabel) throws SQLException {
+		return this.resultSet.getLong(columnLabel);
+	}
+
+	@Override
+	public long getLong(int columnIndex) throws SQLException {
+		return this.resultSet.getLong(columnIndex);
+	}
+
+	@Override
+	public ResultSetMetaData getMetaData() throws SQLException {
+		return this.resultSet.getMetaData();
+	}
+
+	@Override
+	public Reader getNCharacterStream(String columnLabel) throws SQLException {
+		return this.resultSet.getNCharacterStream(columnLabel);
+	}
+
+	@Override
+	public Reader getNCharacterStream(int columnIndex) throws SQLException {
+		return this.resultSet.getNCharacterStream(columnIndex);
+	}
+
+	@Override
+	public NClob getNClob(String columnLabel) throws SQLException {
+		return this.resultSet.getNClob(columnLabel);
+	}
+
+	@Override
+	public NClob getNClob(int columnIndex) throws SQLException {
+		return this.resultSet.getNClob(columnIndex);
+	}
+
+	@Override
+	public String getNString(String columnLabel) throws SQLException {
+		return this.resultSet.getNString(columnLabel);
+	}
+
+	@Override
+	public String getNString(int columnIndex) throws SQLException {
+		return this.resultSet.getNString(columnIndex);
+	}
+
+	@Override
+	public <T> T getObject(String columnLabel, Class<T> type) throws SQLException {
+		return this.resultSet.getObject(columnLabel, type);
+	}
+
+	@Override
+	public Object getObject(String columnLabel, Map<String, Class<?>> map) throws SQLException {
+		return this.resultSet.getObject(columnLabel, map);
+	}
+
+	@Override
+	public Object getObject(String columnLabel) throws SQLException {
+		return this.resultSet.getObject(columnLabel);
+	}
+
+	@Override
+	public <T> T getObject(int columnIndex, Class<T> type) throws SQLException {
+		return this.resultSet.getObject(columnIndex, type);
+	}
+
+	@Override
+	public Object getObject(int columnIndex, Map<String, Class<?>> map) throws SQLException {
+		return this.resultSet.getObject(columnIndex, map);
+	}
+
+	@Override
+	public Object getObject(int columnIndex) throws SQLException {
+		return this.resultSet.getObject(columnIndex);
+	}
+
+	@Override
+	public Ref getRef(String columnLabel) throws SQLException {
+		return this.resultSet.getRef(columnLabel);
+	}
+
+	@Override
+	public Ref getRef(int columnIndex) throws SQLException {
+		return this.resultSet.getRef(columnIndex);
+	}
+
+	@Override
+	public RowId getRowId(String columnLabel) throws SQLException {
+		return this.resultSet.getRowId(columnLabel);
+	}
+
+	@Override
+	public RowId getRowId(int columnIndex) throws SQLException {
+		return this.resultSet.getRowId(columnIndex);
+	}
+
+	@Override
+	public int getRow() throws SQLException {
+		return this.resultSet.getRow();
+	}
+
+	@Override
+	public SQLXML getSQLXML(String columnLabel) throws SQLException {
+		return this.resultSet.getSQLXML(columnLabel);
+	}
+
+	@Override
+	public SQLXML getSQLXML(int columnIndex) throws SQLException {
+		return this.resultSet.getSQLXML(columnIndex);
+	}
+
+	@Override
+	public short getShort(String columnLabel) throws SQLException {
+		return this.resultSet.getShort(columnLabel);
+	}
+
+	@Override
+	public short getShort(int columnIndex) throws SQLException {
+		return this.resultSet.getShort(columnIndex);
+	}
+
+	@Override
+	public String getString(String columnLabel) throws SQLException {
+		return this.resultSet.getString(columnLabel);
+	}
+
+	@Override
+	public String getString(int columnIndex) throws SQLException {
+		return this.resultSet.getString(columnIndex);
+	}
+
+	@Override
+	public Time getTime(String columnLabel, Calendar cal) throws SQLException {
+		return this.resultSet.getTime(columnLabel, cal);
+	}
+
+	@Override
+	public Time getTime(String columnLabel) throws SQLException {
+		return this.resultSet.getTime(columnLabel);
+	}
+
+	@Override
+	public Time getTime(int columnIndex, Calendar cal) throws SQLException {
+		return this.resultSet.getTime(columnIndex, cal);
+	}
+
+	@Override
+	public Time getTime(int columnIndex) throws SQLException {
+		return this.resultSet.getTime(columnIndex);
+	}
+
+	@Override
+	public Timestamp getTimestamp(String columnLabel, Calendar cal) throws SQLException {
+		return this.resultSet.getTimestamp(columnLabel, cal);
+	}
+
+	@Override
+	public Timestamp getTimestamp(String columnLabel) throws SQLException {
+		return this.resultSet.getTimestamp(columnLabel);
+	}
+
+	@Override
+	public Timestamp getTimestamp(int columnIndex, Calendar cal) throws SQLException {
+		return this.resultSet.getTimestamp(columnIndex, cal);
+	}
+
+	@Override
+	public Timestamp getTimestamp(int columnIndex) throws SQLException {
+		return this.resultSet.getTimestamp(columnIndex);
+	}
+
+	@Override
+	public int getType() throws SQLException {
+		return this.resultSet.getType();
+	}
+
+	@Override
+	public URL getURL(String columnLabel) throws SQLException {
+		return this.resultSet.getURL(columnLabel);
+	}
+
+	@Override
+	public URL getURL(int columnIndex) throws SQLException {
+		return this.resultSet.getURL(columnIndex);
+	}
+
+	@Override
+	public InputStream getUnicodeStream(String columnLabel) throws SQLException {
+		return this.resultSet.getUnicodeStream(columnLabel);
+	}
+
+	@Override
+	public InputStream getUnicodeStream(int columnIndex) throws SQLException {
+		return this.resultSet.getUnicodeStream(columnIndex);
+	}
+
+	@Override
+	public SQLWarning getWarnings() throws SQLException {
+		return this.resultSet.getWarnings();
+	}
+
+	@Override
+	public void insertRow() throws SQLException {
+		this.resultSet.insertRow();
+	}
+
+	@Override
+	public boolean isAfterLast() throws SQLException {
+		return this.resultSet.isAfterLast();
+	}
+
+	@Override
+	public boolean isBeforeFirst() throws SQLException {
+		return this.resultSet.isBeforeFirst();
+	}
+
+	@Override
+	public boolean isFirst() throws SQLException {
+		return this.resultSet.isFirst();
+	}
+
+	@Override
+	public boolean isLast() throws SQLException {
+		return this.resultSet.isLast();
+	}
+
+	@Override
+	public boolean last() throws SQLException {
+		return this.resultSet.last();
+	}
+
+	@Override
+	public void moveToCurrentRow() throws SQLException {
+		this.resultSet.moveToCurrentRow();
+	}
+
+	@Override
+	public void moveToInsertRow() throws SQLException {
+		this.resultSet.moveToInsertRow();
+	}
+
+	@Override
+	public boolean next() throws SQLException {
+		return this.resultSet.next();
+	}
+
+	@Override
+	public boolean previous() throws SQLException {
+		return this.resultSet.previous();
+	}
+
+	@Override
+	public void refreshRow() throws SQLException {
+		this.resultSet.refreshRow();
+	}
+
+	@Override
+	public boolean relative(int rows) throws SQLException {
+		return this.resultSet.relative(rows);
+	}
+
+	@Override
+	public boolean rowDeleted() throws SQLException {
+		return this.resultSet.rowDeleted();
+	}
+
+	@Override
+	public boolean rowInserted() throws SQLException {
+		return this.resultSet.rowInserted();
+	}
+
+	@Override
+	public boolean rowUpdated() throws SQLException {
+		return this.resultSet.rowUpdated();
+	}
+
+	@Override
+	public void setFetchDirection(int direction) throws SQLException {
+		this.resultSet.setFetchDirection(direction);
+	}
+
+	@Override
+	public void setFetchSize(int rows) throws SQLException {
+		this.resultSet.setFetchSize(rows);
+	}
+
+	@Override
+	public void updateArray(String columnLabel, Array x) throws SQLException {
+		this.resultSet.updateArray(columnLabel, x);
+	}
+
+	@Override
+	public void updateArray(int columnIndex, Array x) throws SQLException {
+		this.resultSet.updateArray(columnIndex, x);
+	}
+
+	@Override
+	public void updateAsciiStream(String columnLabel, InputStream x, int length) throws SQLException {
+		this.resultSet.updateAsciiStream(columnLabel, x, length);
+	}
+
+	@Override
+	public void updateAsciiStream(String columnLabel, InputStream x, long length) throws SQLException {
+		this.resultSet.updateAsciiStream(columnLabel, x, length);
+	}
+
+	@Override
+	public void updateAsciiStream(String columnLabel, InputStream x) throws SQLException {
+		this.resultSet.updateAsciiStream(columnLabel, x);
+	}
+
+	@Override
+	public void updateAsciiStream(int columnIndex, InputStream x, int length) throws SQLException {
+		this.resultSet.updateAsciiStream(columnIndex, x, length);
+	}
+
+	@Override
+	public void updateAsciiStream(int columnIndex, InputStream x, long length) throws SQLException {
+		this.resultSet.updateAsciiStream(columnIndex, x, length);
+	}
+
+	@Override
+	public void updateAsciiStream(int columnIndex, InputStream x) throws SQLException {
+		this.resultSet.updateAsciiStream(columnIndex, x);
+	}
+
+	@Override
+	public void updateBigDecimal(String columnLabel, BigDecimal x) throws SQLException {
+		this.resultSet.updateBigDecimal(columnLabel, x);
+	}
+
+	@Override
+	public void updateBigDecimal(int columnIndex, BigDecimal x) throws SQLException {
+		this.resultSet.updateBigDecimal(columnIndex, x);
+	}
+
+	@Override
+	public void updateBinaryStream(String columnLabel, InputStream x, int length) throws SQLException {
+		this.resultSet.updateBinaryStream(columnLabel, x, length);
+	}
+
+	@Override
+	public void updateBinaryStream(String columnLabel, InputStream x, long length) throws SQLException {
+		this.resultSet.updateBinaryStream(columnLabel, x, length);
+	}
+
+	@Override
+	public void updateBinaryStream(String columnLabel, InputStream x) throws SQLException {
+		this.resultSet.updateBinaryStream(columnLabel, x);
+	}
+
+	@Override
+	public void updateBinaryStream(int columnIndex, InputStream x, int length) throws SQLException {
+		this.resultSet.updateBinaryStream(columnIndex, x, length);
+	}
+
+	@Override
+	public void updateBinaryStream(int columnIndex, InputStream x, long length) throws SQLException {
+		this.resultSet.updateBinaryStream(columnIndex, x, length);
+	}
+
+	@Override
+	public void updateBinaryStream(int columnIndex, InputStream x) throws SQLException {
+		this.resultSet.updateBinaryStream(columnIndex, x);
+	}
+
+	@Override
+	public void updateBlob(String columnLabel, InputStream x, long length) throws SQLException {
+		this.resultSet.updateBlob(columnLabel, x, length);
+	}
+
+	@Override
+	public void updateBlob(String columnLabel, InputStream x) throws SQLException {
+		this.resultSet.updateBlob(columnLabel, x);
+	}
+
+	@Override
+	public void updateBlob(String columnLabel, Blob x) throws SQLException {
+		this.resultSet.updateBlob(columnLabel, x);
+	}
+
+	@Override
+	public void updateBlob(int columnIndex, InputStream x, long length) throws SQLException {
+		this.resultSet.updateBlob(columnIndex, x, length);
+	}
+
+	@Override
+	public void updateBlob(int columnIndex, InputStream x) throws SQLException {
+		this.resultSet.updateBlob(columnIndex, x);
+	}
+
+	@Override
+	public void updateBlob(int columnIndex, Blob x) throws SQLException {
+		this.resultSet.updateBlob(columnIndex, x);
+	}
+
+	@Override
+	public void updateBoolean(String columnLabel, boolean x) throws SQLException {
+		this.resultSet.updateBoolean(columnLabel, x);
+	}
+
+	@Override
+	public void updateBoolean(int columnIndex, boolean x) throws SQLException {
+		this.resultSet.updateBoolean(columnIndex, x);
+	}
+
+	@Override
+	public void updateByte(String columnLabel, byte x) throws SQLException {
+		this.resultSet.updateByte(columnLabel, x);
+	}
+
+	@Override
+	public void updateByte(int columnIndex, byte x) throws SQLException {
+		this.resultSet.updateByte(columnIndex, x);
+	}
+
+	@Override
+	public void updateBytes(String columnLabel, byte[] x) throws SQLException {
+		this.resultSet.updateBytes(columnLabel, x);
+	}
+
+	@Override
+	public void updateBytes(int columnIndex, byte[] x) throws SQLException {
+		this.resultSet.updateBytes(columnIndex, x);
+	}
+
+	@Override
+	public void updateCharacterStream(String columnLabel, Reader x, int length) throws SQLException {
+		this.resultSet.updateCharacterStream(columnLabel, x, length);
+	}
+
+	@Override
+	public void updateCharacterStream(String columnLabel, Reader x, long length) throws SQLException {
+		this.resultSet.updateCharacterStream(columnLabel, x, length);
+	}
+
+	@Override
+	public void updateCharacterStream(String columnLabel, Reader x) throws SQLException {
+		this.resultSet.updateCharacterStream(columnLabel, x);
+	}
+
+	@Override
+	public void updateCharacterStream(int columnIndex, Reader x, int length) throws SQLException {
+		this.resultSet.updateCharacterStream(columnIndex, x, length);
+	}
+
+	@Override
+	public void updateCharacterStream(int columnIndex, Reader x, long length) throws SQLException {
+		this.resultSet.updateCharacterStream(columnIndex, x, length);
+	}
+
+	@Override
+	public void updateCharacterStream(int columnIndex, Reader x) throws SQLException {
+		this.resultSet.updateCharacterStream(columnIndex, x);
+	}
+
+	@Override
+	public void updateClob(String columnLabel, Reader x, long length) throws SQLException {
+		this.resultSet.updateClob(columnLabel, x, length);
+	}
+
+	@Override
+	public void updateClob(String columnLabel, Reader x) throws SQLException {
+		this.resultSet.updateClob(columnLabel, x);
+	}
+
+	@Override
+	public void updateClob(String columnLabel, Clob x) throws SQLException {
+		this.resultSet.updateClob(columnLabel, x);
+	}
+
+	@Override
+	public void updateClob(int columnIndex, Reader x, long length) throws SQLException {
+		this.resultSet.updateClob(columnIndex, x, length);
+	}
+
+	@Override
+	public void updateClob(int columnIndex, Reader x) throws SQLException {
+		this.resultSet.updateClob(columnIndex, x);
+	}
+
+	@Override
+	public void updateClob(int columnIndex, Clob x) throws SQLException {
+		this.resultSet.updateClob(columnIndex, x);
+	}
+
+	@Override
+	public void updateDate(String columnLabel, Date x) throws SQLException {
+		this.resultSet.updateDate(columnLabel, x);
+	}
+
+	@Override
+	public void updateDate(int columnIndex, Date x) throws SQLException {
+		this.resultSet.updateDate(columnIndex, x);
+	}
+
+	@Override
+	public void updateDouble(String columnLabel, double x) throws SQLException {
+		this.resultSet.updateDouble(columnLabel, x);
+	}
+
+	@Override
+	public void updateDouble(int columnIndex, double x) throws SQLException {
+		this.resultSet.updateDouble(columnIndex, x);
+	}
+
+	@Override
+	public void updateFloat(String columnLabel, float x) throws SQLException {
+		this.resultSet.updateFloat(columnLabel, x);
+	}
+
+	@Override
+	public void updateFloat(int columnIndex, float x) throws SQLException {
+		this.resultSet.updateFloat(columnIndex, x);
+	}
+
+	@Override
+	public void updateInt(String columnLabel, int x) throws SQLException {
+		this.resultSet.updateInt(columnLabel, x);
+	}
+
+	@Override
+	public void updateInt(int columnIndex, int x) throws SQLException {
+		this.resultSet.updateInt(columnIndex, x);
+	}
+
+	@Override
+	public void updateLong(String columnLabel, long length) throws SQLException {
+		this.resultSet.updateLong(columnLabel, length);
+	}
+
+	@Override
+	public void updateLong(int columnIndex, long length) throws SQLException {
+		this.resultSet.updateLong(columnIndex, length);
+	}
+
+	@Override
+	public void updateNCharacterStream(String columnLabel, Reader x, long length) throws SQLException {
+		this.resultSet.updateNCharacterStream(columnLabel, x, length);
+	}
+
+	@Override
+	public void updateNCharacterStream(String columnLabel, Reader x) throws SQLException {
+		this.resultSet.updateNCharacterStream(columnLabel, x);
+	}
+
+	@Override
+	public void updateNCharacterStream(int columnIndex, Reader x, long length) throws SQLException {
+		this.resultSet.updateNCharacterStream(columnIndex, x, length);
+	}
+
+	@Override
+	public void updateNCharacterStream(int columnIndex, Reader x) throws SQLException {
+		this.resultSet.updateNCharacterStream(columnIndex, x);
+	}
+
+	@Override
+	public void updateNClob(String columnLabel, Reader x, long length) throws SQLException {
+		this.resultSet.updateNClob(columnLabel, x, length);
+	}
+
+	@Override
+	public void updateNClob(String columnLabel, Reader x) throws SQLException {
+		this.resultSet.updateNClob(columnLabel, x);
+	}
+
+	@Override
+	public void updateNClob(String columnLabel, NClob x) throws SQLException {
+		this.resultSet.updateNClob(columnLabel, x);
+	}
+
+	@Override
+	public void updateNClob(int columnIndex, Reader x, long length) throws SQLException {
+		this.resultSet.updateNClob(columnIndex, x, length);
+	}
+
+	@Override
+	public void updateNClob(int columnIndex, Reader x) throws SQLException {
+		this.resultSet.updateNClob(columnIndex, x);
+	}
+
+	@Override
+	public void updateNClob(int columnIndex, NClob x) throws SQLException {
+		this.resultSet.updateNClob(columnIndex, x);
+	}
+
+	@Override
+	public void updateNString(String columnLabel, String x) throws SQLException {
+		this.resultSet.updateNString(columnLabel, x);
+	}
+
+	@Override
+	public void updateNString(int columnIndex, String x) throws SQLException {
+		this.resultSet.updateNString(columnIndex, x);
+	}
+
+	@Override
+	public void updateNull(String columnLabel) throws SQLException {
+		this.resultSet.updateNull(columnLabel);
+	}
+
+	@Override
+	public void updateNull(int columnIndex) throws SQLException {
+		this.resultSet.updateNull(columnIndex);
+	}
+
+	@Override
+	public void updateObject(String columnLabel, Object x, int scaleOrLength) throws SQLException {
+		this.resultSet.updateObject(columnLabel, x, scaleOrLength);
+	}
+
+	@Override
+	public void updateObject(String columnLabel, Object x) throws SQLException {
+		this.resultSet.updateObject(columnLabel, x);
+	}
+
+	@Override
+	public void updateObject(int columnIndex, Object x, int scaleOrLength) throws SQLException {
+		this.resultSet.updateObject(columnIndex, x, scaleOrLength);
+	}
+
+	@Override
+	public void updateObject(int columnIndex, Object x) throws SQLException {
+		this.resultSet.updateObject(columnIndex, x);
+	}
+
+	@Override
+	public void updateRef(String columnLabel, Ref x) throws SQLException {
+		this.resultSet.updateRef(columnLabel, x);
+	}
+
+	@Override
+	public void updateRef(int columnIndex, Ref x) throws SQLException {
+		this.resultSet.updateRef(columnIndex, x);
+	}
+
+	@Override
+	public void updateRowId(String columnLabel, RowId x) throws SQLException {
+		this.resultSet.updateRowId(columnLabel, x);
+	}
+
+	@Override
+	public void updateRowId(int columnIndex, RowId x) throws SQLException {
+		this.resultSet.updateRowId(columnIndex, x);
+	}
+
+	@Override
+	public void updateRow() throws SQLException {
+		this.resultSet.updateRow();
+	}
+
+	@Override
+	public void updateSQLXML(String columnLabel, SQLXML x) throws SQLException {
+		this.resultSet.updateSQLXML(columnLabel, x);
+	}
+
+	@Override
+	public void updateSQLXML(int columnIndex, SQLXML x) throws SQLException {
+		this.resultSet.updateSQLXML(columnIndex, x);
+	}
+
+	@Override
+	public void updateShort(String columnLabel, short x) throws SQLException {
+		this.resultSet.updateShort(columnLabel, x);
+	}
+
+	@Override
+	public void updateShort(int columnIndex, short x) throws SQLException {
+		this.resultSet.updateShort(columnIndex, x);
+	}
+
+	@Override
+	public void updateString(String columnLabel, String x) throws SQLException {
+		this.resultSet.updateString(columnLabel, x);
+	}
+
+	@Override
+	public void updateString(int columnIndex, String x) throws SQLException {
+		this.resultSet.updateString(columnIndex, x);
+	}
+
+	@Override
+	public void updateTime(String columnLabel, Time x) throws SQLException {
+		this.resultSet.updateTime(columnLabel, x);
+	}
+
+	@Override
+	public void updateTime(int columnIndex, Time x) throws SQLException {
+		this.resultSet.updateTime(columnIndex, x);
+	}
+
+	@Override
+	public void updateTimestamp(String columnLabel, Timestamp x) throws SQLException {
+		this.resultSet.updateTimestamp(columnLabel, x);
+	}
+
+	@Override
+	public void updateTimestamp(int columnIndex, Timestamp x) throws SQLException {
+		this.resultSet.updateTimestamp(columnIndex, x);
+	}
+
+	@Override
+	public boolean wasNull() throws SQLException {
+		return this.resultSet.wasNull();
+	}
+}
@@ -0,0 +1,197 @@
+package kr.co.bomz.db.pool;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * ResultSet 자동 자원반납 시간 관리 타이머<p>
+ * 자동 종료 시간을 일정 간격(tick)으로 나눈 슬롯에 보관하는 해시 타이머 휠로 구성되며,
+ * 휠 크기보다 긴 시간은 남은 회전 수로 관리한다<br>
+ * 쿼리 스레드는 등록 / 취소 요청을 큐에 넣기만 하고, 슬롯 관리와 자동 종료는
+ * DatabasePoolManager 의 작업 스레드에서 한번에 하나씩 처리하므로 등록 / 취소 / 종료 모두 O(1) 로 처리된다
+ *
+ * @author Bomz
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+public class AutoCloseTimer {
+
+	/**		휠 슬롯 수 (2의 제곱수)		*/
+	private static final int WHEEL_SIZE = 64;
+
+	private final Bucket[] wheel = new Bucket[WHEEL_SIZE];
+
+	private final int mask = WHEEL_SIZE - 1;
+
+	/**		슬롯 간격 (단위:nanosecond)		*/
+	private final long tickDuration;
+
+	/**		타이머 시작 시간 (단위:nanosecond)		*/
+	private final long startTime = System.nanoTime();
+
+	/**		다음에 처리할 슬롯 순번		*/
+	private long tick = 0;
+
+	/**		슬롯에 들어있는 자원 수		*/
+	private int size = 0;
+
+	/**		슬롯에 넣기 전의 등록 요청		*/
+	private final Queue<AutoCloseResult> registerQueue = new ConcurrentLinkedQueue<AutoCloseResult>();
+
+	/**		슬롯에서 제거할 취소 요청		*/
+	private final Queue<AutoCloseResult> cancelQueue = new ConcurrentLinkedQueue<AutoCloseResult>();
+
+	/**
+	 * ResultSet 자동 종료 타이머
+	 * @param tickDuration		슬롯 간격 (단위:ms)
+	 */
+	AutoCloseTimer(long tickDuration){
+		this.tickDuration = tickDuration * 1000000L;
+		for(int i=0; i < WHEEL_SIZE; i++)		this.wheel[i] = new Bucket();
+	}
+
+	/**
+	 * 자동 종료 등록
+	 * @param acr						자동 종료할 자원
+	 * @param autoCloseTime		자동 종료까지의 시간 (단위:ms)
+	 */
+	void register(AutoCloseResult acr, long autoCloseTime){
+		acr.deadline = System.nanoTime() - this.startTime + autoCloseTime * 1000000L;
+		acr.setTimer(this);
+		this.registerQueue.offer(acr);
+	}
+
+	/**
+	 * 자동 종료 취소<br>
+	 * 자원반납은 이미 처리된 상태이며, 슬롯에서의 제거는 다음 expire() 호출 시 처리된다
+	 * @param acr		취소할 자원
+	 */
+	void cancel(AutoCloseResult acr){
+		this.cancelQueue.offer(acr);
+	}
+
+	/**
+	 * 현재 시간까지 지난 슬롯의 자원을 자동 종료<br>
+	 * DatabasePoolManager 의 작업 스레드에서만 호출한다
+	 */
+	void expire(){
+		long nowTick = (System.nanoTime() - this.startTime) / this.tickDuration;
+
+		this.processCancelled();
+
+		// 비어있는 동안 지난 슬롯은 처리할 필요가 없다
+		if( this.size == 0 && this.tick < nowTick )		this.tick = nowTick;
+
+		this.processRegistered();
+
+		for(; this.tick <= nowTick; this.tick++){
+			this.size -= this.wheel[(int)(this.tick & this.mask)].expire();
+		}
+	}
+
+	/**
+	 * 자동 종료를 기다리는 자원이 없는지 여부
+	 * @return		없을 경우 true
+	 */
+	boolean isEmpty(){
+		return this.size == 0 && this.registerQueue.isEmpty();
+	}
+
+	/**
+	 * 자동 종료를 기다리는 모든 자원을 바로 종료<br>
+	 * 데이터베이스풀 종료 시 DatabasePoolManager 의 작업 스레드에서 호출한다
+	 */
+	void expireAll(){
+		this.processCancelled();
+		this.processRegistered();
+
+		for(Bucket bucket : this.wheel)		bucket.expireAll();
+		this.size = 0;
+	}
+
+	/**		취소된 자원을 슬롯에서 제거		*/
+	private void processCancelled(){
+		AutoCloseResult acr;
+		while( (acr = this.cancelQueue.poll()) != null ){
+			if( acr.bucket == null )		continue;
+			acr.bucket.remove(acr);
+			this.size--;
+		}
+	}
+
+	/**		등록 요청된 자원을 자동 종료 시간에 맞는 슬롯에 추가		*/
+	private void processRegistered(){
+		AutoCloseResult acr;
+		while( (acr = this.registerQueue.poll()) != null ){
+			if( acr.isClosed() )		continue;		// 슬롯에 넣기 전에 사용자가 자원반납
+
+			// 자동 종료 시간보다 먼저 종료되지 않도록 올림 처리
+			long deadlineTick = (acr.deadline + this.tickDuration - 1) / this.tickDuration;
+			if( deadlineTick < this.tick )		deadlineTick = this.tick;		// 이미 지난 시간일 경우 다음 슬롯에서 처리
+
+			acr.remainingRounds = (deadlineTick - this.tick) / WHEEL_SIZE;
+			this.wheel[(int)(deadlineTick & this.mask)].add(acr);
+			this.size++;
+		}
+	}
+
+	/**		같은 슬롯의 자원 목록		*/
+	static class Bucket {
+		private AutoCloseResult head;
+		private AutoCloseResult tail;
+
+		private void add(AutoCloseResult acr){
+			acr.bucket = this;
+			acr.prev = this.tail;
+			acr.next = null;
+
+			if( this.tail == null )		this.head = acr;
+			else								this.tail.next = acr;
+			this.tail = acr;
+		}
+
+		private void remove(AutoCloseResult acr){
+			if( acr.prev == null )		this.head = acr.next;
+			else								acr.prev.next = acr.next;
+
+			if( acr.next == null )		this.tail = acr.prev;
+			else								acr.next.prev = acr.prev;
+
+			acr.bucket = null;
+			acr.prev = null;
+			acr.next = null;
+		}
+
+		/**
+		 * 남은 회전 수가 없는 자원을 자동 종료
+		 * @return		종료한 자원 수
+		 */
+		private int expire(){
+			int count = 0;
+			AutoCloseResult acr = this.head;
+			AutoCloseResult next;
+			while( acr != null ){
+				next = acr.next;
+				if( acr.remainingRounds <= 0 ){
+					this.remove(acr);
+					acr.closeResult();
+					count++;
+				}else{
+					acr.remainingRounds--;
+				}
+				acr = next;
+			}
+			return count;
+		}
+
+		/**		남은 회전 수와 관계없이 모든 자원을 종료		*/
+		private void expireAll(){
+			AutoCloseResult acr;
+			while( (acr = this.head) != null ){
+				this.remove(acr);
+				acr.closeResult();
+			}
+		}
+	}
+}
@@ -0,0 +1,24 @@
+package kr.co.bomz.db.pool;
+
+import java.sql.SQLException;
+
+/**
+ * PreparedQuery 배치 수행 시 로우별 파라메터 설정<p>
+ * 전달된 PreparedQuery 의 setInt(int, int) / setLong(int, long) 등으로 현재 로우의 파라메터를 설정하며,
+ * 설정하지 않은 파라메터는 이전 로우의 값이 그대로 사용된다
+ * 
+ * @author Bomz
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+public interface BatchBinder {
+
+	/**
+	 * 로우 파라메터 설정
+	 * @param query		파라메터를 설정할 쿼리
+	 * @param row			로우 순번 (0 부터 시작)
+	 * @throws SQLException		파라메터 설정 오류 시 발생
+	 */
+	void bindRow(PreparedQuery query, int row) throws SQLException;
+}
@@ -0,0 +1,182 @@
+package kr.co.bomz.db.pool;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLXML;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import javax.sql.rowset.serial.SerialArray;
+
+/**
+ * 커넥션과 분리된 셀렉트 쿼리 결과<p>
+ * 모든 로우를 메모리로 읽은 후 ResultSet 과 Statement 는 바로 자원반납되므로,
+ * 여러 스레드에서 DetachedResultSet 을 통해 동시에 읽을 수 있다<br>
+ * Clob / Blob / SQLXML / Array 값은 커넥션 없이 읽을 수 있도록 읽는 시점에 값으로 변환된다
+ *
+ * @author Bomz
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+public class CachedResult {
+
+	/**		로우 하나의 기본 메모리 크기 추정값 (단위:byte)		*/
+	private static final int ROW_OVERHEAD = 24;
+
+	/**		값 하나의 기본 메모리 크기 추정값 (단위:byte)		*/
+	private static final int VALUE_OVERHEAD = 16;
+
+	/**		컬럼 정보		*/
+	private final DetachedResultSetMetaData metaData;
+
+	/**		로우 목록. 로우별 컬럼 값 배열		*/
+	private final Object[][] rows;
+
+	/**
+	 * 컬럼 레이블 / 이름별 컬럼 순번 (1 부터 시작)
+	 * KEY : 소문자로 변환한 컬럼 레이블 또는 이름
+	 * VALUE : 컬럼 순번
+	 */
+	private final Map<String, Integer> columnIndexMap;
+
+	/**		메모리 사용량 추정값 (단위:byte)		*/
+	private final long weight;
+
+	private CachedResult(DetachedResultSetMetaData metaData, Object[][] rows, long weight){
+		this.metaData = metaData;
+		this.rows = rows;
+		this.weight = weight;
+
+		int count = metaData.getColumnCount();
+		this.columnIndexMap = new HashMap<String, Integer>(count * 4);
+		// 같은 이름의 컬럼이 여러개일 경우 첫번째 컬럼을 사용한다
+		for(int i=1; i <= count; i++)		this.columnIndexMap.putIfAbsent(metaData.getColumnLabel(i).toLowerCase(Locale.ROOT), i);
+		for(int i=1; i <= count; i++)		this.columnIndexMap.putIfAbsent(metaData.getColumnName(i).toLowerCase(Locale.ROOT), i);
+	}
+
+	/**
+	 * ResultSet 의 현재 위치부터 마지막 로우까지 읽는다<br>
+	 * ResultSet 은 종료하지 않는다
+	 * @param rs		셀렉트 쿼리 결과
+	 * @return			커넥션과 분리된 쿼리 결과
+	 * @throws SQLException		로우를 읽는 중 오류 발생 시
+	 */
+	static CachedResult read(ResultSet rs) throws SQLException{
+		ResultSetMetaData rsmd = rs.getMetaData();
+		DetachedResultSetMetaData metaData = new DetachedResultSetMetaData(rsmd);
+		int columnCount = metaData.getColumnCount();
+
+		List<Object[]> rows = new ArrayList<Object[]>();
+		long weight = 0;
+		Object[] row;
+		while( rs.next() ){
+			row = new Object[columnCount];
+			weight += ROW_OVERHEAD + 8L * columnCount;
+			for(int i=0; i < columnCount; i++){
+				row[i] = detach(rs.getObject(i + 1));
+				weight += weigh(row[i]);
+			}
+			rows.add(row);
+		}
+
+		return new CachedResult(metaData, rows.toArray(new Object[rows.size()][]), weight);
+	}
+
+	/**		커넥션이 필요한 값을 커넥션 없이 읽을 수 있는 값으로 변환		*/
+	static Object detach(Object value) throws SQLException{
+		if( value instanceof Clob ){
+			Clob clob = (Clob)value;
+			try{
+				return clob.getSubString(1, (int)clob.length());
+			}finally{
+				try{		clob.free();		}catch(Exception e){}
+			}
+		}else if( value instanceof Blob ){
+			Blob blob = (Blob)value;
+			try{
+				return blob.getBytes(1, (int)blob.length());
+			}finally{
+				try{		blob.free();		}catch(Exception e){}
+			}
+		}else if( value instanceof SQLXML ){
+			SQLXML xml = (SQLXML)value;
+			try{
+				return xml.getString();
+			}finally{
+				try{		xml.free();		}catch(Exception e){}
+			}
+		}else if( value instanceof Array ){
+			Array array = (Array)value;
+			try{
+				return new SerialArray(array);
+			}finally{
+				try{		array.free();		}catch(Exception e){}
+			}
+		}
+
+		return value;
+	}
+
+	/**		값의 메모리 크기 추정		*/
+	static long weigh(Object value){
+		if( value == null )		return 0;
+		if( value instanceof String )		return VALUE_OVERHEAD + 24 + ((String)value).length() * 2L;
+		if( value instanceof byte[] )		return VALUE_OVERHEAD + ((byte[])value).length;
+		if( value instanceof BigDecimal )		return VALUE_OVERHEAD + 40 + ((BigDecimal)value).precision() / 2;
+		if( value instanceof BigInteger )		return VALUE_OVERHEAD + 24 + ((BigInteger)value).bitLength() / 8;
+		if( value instanceof Number || value instanceof Boolean )		return VALUE_OVERHEAD + 8;
+		return VALUE_OVERHEAD + 32;
+	}
+
+	/**
+	 * 컬럼 정보
+	 * @return		컬럼 정보
+	 */
+	DetachedResultSetMetaData getMetaData(){
+		return this.metaData;
+	}
+
+	/**
+	 * 로우 목록
+	 * @return		로우별 컬럼 값 배열
+	 */
+	Object[][] getRows(){
+		return this.rows;
+	}
+
+	/**
+	 * 컬럼 레이블 또는 이름에 해당하는 컬럼 순번
+	 * @param columnLabel		컬럼 레이블 또는 이름 (대소문자 구분 없음)
+	 * @return					컬럼 순번 (1 부터 시작). 없을 경우 0
+	 */
+	int findColumn(String columnLabel){
+		Integer index = this.columnIndexMap.get(columnLabel.toLowerCase(Locale.ROOT));
+		return index == null ? 0 : index;
+	}
+
+	/**
+	 * 로우 수
+	 * @return		로우 수
+	 */
+	public int getRowCount(){
+		return this.rows.length;
+	}
+
+	/**
+	 * 메모리 사용량 추정값
+	 * @return		메모리 사용량 (단위:byte)
+	 */
+	public long getWeight(){
+		return this.weight;
+	}
+}
@@ -0,0 +1,196 @@
+package kr.co.bomz.db.pool;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 마감 시간이 지난 Statement 취소 타이머<p>
+ * AutoCloseTimer 와 같은 해시 타이머 휠로 구성되며, 관리 작업과 별도의 전용 스레드에서 동작하므로
+ * 유효성 검사나 커넥션 종료와 같은 데이터베이스 작업이 늦어지더라도 취소 시간이 밀리지 않는다<br>
+ * 쿼리 스레드는 등록 / 취소 요청을 큐에 넣기만 하므로 쿼리마다 공유 잠금을 사용하지 않으며,
+ * 슬롯 관리와 취소는 타이머 스레드만 처리한다. 취소를 기다리는 Statement 가 없을 경우 타이머 스레드는 대기한다
+ *
+ * @author Bomz
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+final class CancelTimer implements Runnable {
+
+	/**		휠 슬롯 수 (2의 제곱수)		*/
+	private static final int WHEEL_SIZE = 512;
+
+	/**		슬롯 간격 (단위:ms)		*/
+	private static final long TICK_DURATION = 10L;
+
+	private final Bucket[] wheel = new Bucket[WHEEL_SIZE];
+
+	private final int mask = WHEEL_SIZE - 1;
+
+	/**		슬롯 간격 (단위:nanosecond)		*/
+	private final long tickDuration = TimeUnit.MILLISECONDS.toNanos(TICK_DURATION);
+
+	/**		타이머 시작 시간 (단위:nanosecond)		*/
+	private final long startTime = System.nanoTime();
+
+	/**		다음에 처리할 슬롯 순번		*/
+	private long tick = 0;
+
+	/**		슬롯에 들어있는 취소 작업 수		*/
+	private int size = 0;
+
+	/**		슬롯에 넣기 전의 등록 요청		*/
+	private final Queue<StatementCanceller> registerQueue = new ConcurrentLinkedQueue<StatementCanceller>();
+
+	/**		슬롯에서 제거할 취소 요청		*/
+	private final Queue<StatementCanceller> cancelQueue = new ConcurrentLinkedQueue<StatementCanceller>();
+
+	private final Thread thread;
+
+	/**		취소를 기다리는 Statement 가 없어 대기 중인지 여부		*/
+	private volatile boolean waiting = false;
+
+	/**		종료 여부		*/
+	private volatile boolean stopped = false;
+
+	CancelTimer(){
+		for(int i=0; i < WHEEL_SIZE; i++)		this.wheel[i] = new Bucket();
+
+		this.thread = new DaemonThreadFactory("bomz-db-pool-canceller").newThread(this);
+		this.thread.start();
+	}
+
+	/**
+	 * 취소 작업 등록
+	 * @param canceller		취소 작업
+	 * @param delay			취소까지 남은 시간 (단위:ns)
+	 */
+	void register(StatementCanceller canceller, long delay){
+		canceller.deadline = System.nanoTime() - this.startTime + delay;
+		canceller.timer = this;
+		this.registerQueue.offer(canceller);
+
+		if( this.waiting )		LockSupport.unpark(this.thread);
+	}
+
+	/**
+	 * 취소 작업 제거<br>
+	 * 쿼리 수행은 이미 종료된 상태이며, 슬롯에서의 제거는 타이머 스레드에서 처리된다
+	 * @param canceller		제거할 취소 작업
+	 */
+	void cancel(StatementCanceller canceller){
+		this.cancelQueue.offer(canceller);
+	}
+
+	/**		타이머 종료. 취소를 기다리던 Statement 는 queryTimeout 으로만 처리된다		*/
+	void stop(){
+		this.stopped = true;
+		LockSupport.unpark(this.thread);
+	}
+
+	@Override
+	public void run(){
+		long nowTick;
+		while( !this.stopped ){
+			nowTick = (System.nanoTime() - this.startTime) / this.tickDuration;
+
+			this.processCancelled();
+
+			// 비어있는 동안 지난 슬롯은 처리할 필요가 없다
+			if( this.size == 0 && this.tick < nowTick )		this.tick = nowTick;
+
+			this.processRegistered();
+
+			for(; this.tick <= nowTick; this.tick++){
+				this.size -= this.wheel[(int)(this.tick & this.mask)].expire();
+			}
+
+			if( this.size == 0 ){
+				this.waiting = true;
+				// 대기 상태로 바꾸는 사이에 새로 등록된 취소 작업이 있을 경우 대기하지 않는다
+				if( this.registerQueue.isEmpty() && !this.stopped )		LockSupport.park(this);
+				this.waiting = false;
+			}else{
+				LockSupport.parkNanos(this, this.startTime + this.tick * this.tickDuration - System.nanoTime());
+			}
+		}
+	}
+
+	/**		제거된 취소 작업을 슬롯에서 제거		*/
+	private void processCancelled(){
+		StatementCanceller canceller;
+		while( (canceller = this.cancelQueue.poll()) != null ){
+			if( canceller.bucket == null )		continue;
+			canceller.bucket.remove(canceller);
+			this.size--;
+		}
+	}
+
+	/**		등록 요청된 취소 작업을 취소 시간에 맞는 슬롯에 추가		*/
+	private void processRegistered(){
+		StatementCanceller canceller;
+		while( (canceller = this.registerQueue.poll()) != null ){
+			if( canceller.isFinished() )		continue;		// 슬롯에 넣기 전에 쿼리 수행 종료
+
+			// 마감 시간보다 먼저 취소되지 않도록 올림 처리
+			long deadlineTick = (canceller.deadline + this.tickDuration - 1) / this.tickDuration;
+			if( deadlineTick < this.tick )		deadlineTick = this.tick;		// 이미 지난 시간일 경우 다음 슬롯에서 처리
+
+			canceller.remainingRounds = (deadlineTick - this.tick) / WHEEL_SIZE;
+			this.wheel[(int)(deadlineTick & this.mask)].add(canceller);
+			this.size++;
+		}
+	}
+
+	/**		같은 슬롯의 취소 작업 목록		*/
+	static class Bucket {
+		private StatementCanceller head;
+		private StatementCanceller tail;
+
+		private void add(StatementCanceller canceller){
+			canceller.bucket = this;
+			canceller.prev = this.tail;
+			canceller.next = null;
+
+			if( this.tail == null )		this.head = canceller;
+			else								this.tail.next = canceller;
+			this.tail = canceller;
+		}
+
+		private void remove(StatementCanceller canceller){
+			if( canceller.prev == null )		this.head = canceller.next;
+			else										canceller.prev.next = canceller.next;
+
+			if( canceller.next == null )		this.tail = canceller.prev;
+			else										canceller.next.prev = canceller.prev;
+
+			canceller.bucket = null;
+			canceller.prev = null;
+			canceller.next = null;
+		}
+
+		/**
+		 * 남은 회전 수가 없는 Statement 취소
+		 * @return		취소한 작업 수
+		 */
+		private int expire(){
+			int count = 0;
+			StatementCanceller canceller = this.head;
+			StatementCanceller next;
+			while( canceller != null ){
+				next = canceller.next;
+				if( canceller.remainingRounds <= 0 ){
+					this.remove(canceller);
+					canceller.run();
+					count++;
+				}else{
+					canceller.remainingRounds--;
+				}
+				canceller = next;
+			}
+			return count;
+		}
+	}
+}
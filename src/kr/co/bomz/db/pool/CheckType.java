@@ -1,17 +1,17 @@
 package kr.co.bomz.db.pool;
 
 /**
- * ˻ 
+ * 검사 결과
  * 
  * @author Bomz
  * @version 1.0
  * @since 1.0
  */
 public enum CheckType {
-	/**		˻  		*/
+	/**		검사 결과 성공		*/
 	SUCCESS,
-	/**		˻  		*/
+	/**		검사 결과 실패		*/
 	FAIL,
-	/**		˻ ڰ ̴		*/
+	/**		검사 자격 미달		*/
 	PASS
 }
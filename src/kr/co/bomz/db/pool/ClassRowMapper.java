@@ -0,0 +1,401 @@
+package kr.co.bomz.db.pool;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 셀렉트 쿼리 결과의 로우를 클래스 객체로 변환<p>
+ * 다음 중 하나의 방법으로 변환한다<br>
+ * 1. 레코드 클래스 : 컬럼 레이블과 이름이 같은 컴포넌트 값으로 생성자 호출<br>
+ * 2. 기본 생성자가 있는 클래스 : 객체 생성 후 컬럼 레이블과 이름이 같은 setXxx 메소드 또는 필드에 값 설정<br>
+ * 3. String / Integer / LocalDate 등의 단일 값 타입 : 첫번째 컬럼 값<p>
+ *
+ * 이름은 대소문자와 '_' 를 구분하지 않으므로 USER_NAME 컬럼은 userName 에 설정되며, 대상이 없는 컬럼은 무시된다<br>
+ * 컬럼 순번과 설정 메소드는 쿼리의 첫 결과를 받을 때 한번만 결정되며, 이후 로우는 리플렉션과 이름 검색 없이 변환된다<br>
+ * forQuery(Class, String) 로 생성한 변환 객체는 쿼리와 클래스별로 보관되어 재사용된다
+ *
+ * @author Bomz
+ * @version 1.0
+ * @since 1.0
+ *
+ * @param <T>		변환 결과 타입
+ */
+public class ClassRowMapper<T> implements RowMapper<T> {
+
+	/**		클래스별 보관할 최대 쿼리 수. 넘을 경우 해당 클래스의 변환 객체를 모두 비운다		*/
+	private static final int MAX_QUERY_SIZE = 256;
+
+	/**		리플렉션 접근 허용 후 MethodHandle 생성에 사용		*/
+	private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+	/**		클래스별 생성 방법과 설정 대상		*/
+	private static final ClassValue<ClassMapping> MAPPINGS = new ClassValue<ClassMapping>(){
+		@Override
+		protected ClassMapping computeValue(Class<?> type) {
+			return new ClassMapping(type);
+		}
+	};
+
+	/**		클래스별 쿼리별 변환 객체		*/
+	private static final ClassValue<Map<String, ClassRowMapper<?>>> MAPPERS = new ClassValue<Map<String, ClassRowMapper<?>>>(){
+		@Override
+		protected Map<String, ClassRowMapper<?>> computeValue(Class<?> type) {
+			return new ConcurrentHashMap<String, ClassRowMapper<?>>();
+		}
+	};
+
+	private final Class<T> type;
+
+	private final ClassMapping mapping;
+
+	/**		첫 결과의 컬럼 정보로 결정된 변환 방법		*/
+	private volatile CompiledMapper compiled = null;
+
+	private ClassRowMapper(Class<T> type){
+		this.type = type;
+		this.mapping = MAPPINGS.get(type);
+	}
+
+	/**
+	 * 쿼리와 클래스에 해당하는 변환 객체<br>
+	 * 같은 쿼리와 클래스로 다시 호출할 경우 이미 생성된 변환 객체를 리턴한다
+	 * @param type		변환 결과 타입
+	 * @param sql		쿼리
+	 * @return			변환 객체
+	 * @throws IllegalArgumentException		레코드가 아니면서 기본 생성자가 없는 클래스일 경우
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> ClassRowMapper<T> forQuery(Class<T> type, String sql){
+		Map<String, ClassRowMapper<?>> mappers = MAPPERS.get(type);
+		ClassRowMapper<?> mapper = mappers.get(sql);
+		if( mapper == null ){
+			if( mappers.size() >= MAX_QUERY_SIZE )		mappers.clear();
+			mapper = mappers.computeIfAbsent(sql, key -> new ClassRowMapper<T>(type));
+		}
+		return (ClassRowMapper<T>)mapper;
+	}
+
+	@Override
+	public T mapRow(ResultSet rs) throws SQLException {
+		CompiledMapper compiled = this.compiled;
+		if( compiled == null ){
+			compiled = this.mapping.compile(rs.getMetaData());
+			this.compiled = compiled;
+		}
+
+		try{
+			return this.type.cast(compiled.map(rs));
+		}catch(SQLException | RuntimeException | Error e){
+			throw e;
+		}catch(Throwable e){
+			throw new SQLException("failed to map row to " + this.type.getName(), e);
+		}
+	}
+
+	/**		대소문자와 '_' 를 제외한 이름		*/
+	private static String normalize(String name){
+		StringBuilder buffer = new StringBuilder(name.length());
+		char c;
+		for(int i=0; i < name.length(); i++){
+			c = name.charAt(i);
+			if( c != '_' )		buffer.append(c);
+		}
+		return buffer.toString().toLowerCase(Locale.ROOT);
+	}
+
+	/**		클래스의 생성 방법과 설정 대상		*/
+	private static final class ClassMapping {
+
+		/**		단일 값 타입일 경우 첫번째 컬럼 조회		*/
+		private final ColumnReader valueReader;
+
+		/**
+		 * 레코드 생성자. (Object[])Object 타입으로 변환되어 있다
+		 * 레코드가 아닐 경우 null
+		 */
+		private final MethodHandle recordConstructor;
+
+		/**		레코드 컴포넌트 타입		*/
+		private final Class<?>[] componentTypes;
+
+		/**		정규화된 이름별 레코드 컴포넌트 순번		*/
+		private final Map<String, Integer> componentIndexMap;
+
+		/**		기본 생성자. ()Object 타입으로 변환되어 있다		*/
+		private final MethodHandle beanConstructor;
+
+		/**		정규화된 이름별 설정 메소드. (Object,Object)void 타입으로 변환되어 있다		*/
+		private final Map<String, MethodHandle> setterMap;
+
+		/**		정규화된 이름별 설정 값 타입		*/
+		private final Map<String, Class<?>> setterTypeMap;
+
+		private ClassMapping(Class<?> type){
+			if( ColumnReader.isValueType(type) ){
+				this.valueReader = ColumnReader.forType(type);
+				this.recordConstructor = null;
+				this.componentTypes = null;
+				this.componentIndexMap = null;
+				this.beanConstructor = null;
+				this.setterMap = null;
+				this.setterTypeMap = null;
+			}else if( type.isRecord() ){
+				RecordComponent[] components = type.getRecordComponents();
+				this.componentTypes = new Class<?>[components.length];
+				this.componentIndexMap = new HashMap<String, Integer>();
+				for(int i=0; i < components.length; i++){
+					this.componentTypes[i] = components[i].getType();
+					this.componentIndexMap.put(normalize(components[i].getName()), i);
+				}
+
+				try{
+					Constructor<?> constructor = type.getDeclaredConstructor(this.componentTypes);
+					constructor.setAccessible(true);
+					this.recordConstructor = LOOKUP.unreflectConstructor(constructor)
+							.asSpreader(Object[].class, components.length)
+							.asType(MethodType.methodType(Object.class, Object[].class));
+				}catch(ReflectiveOperationException | RuntimeException e){
+					throw new IllegalArgumentException("cannot access record constructor of " + type.getName(), e);
+				}
+
+				this.valueReader = null;
+				this.beanConstructor = null;
+				this.setterMap = null;
+				this.setterTypeMap = null;
+			}else{
+				try{
+					Constructor<?> constructor = type.getDeclaredConstructor();
+					constructor.setAccessible(true);
+					this.beanConstructor = LOOKUP.unreflectConstructor(constructor).asType(MethodType.methodType(Object.class));
+				}catch(ReflectiveOperationException | RuntimeException e){
+					throw new IllegalArgumentException(type.getName() + " must be a record or have a no-argument constructor", e);
+				}
+
+				this.setterMap = new HashMap<String, MethodHandle>();
+				this.setterTypeMap = new HashMap<String, Class<?>>();
+				this.findSetters(type);
+				this.findFields(type);
+
+				this.valueReader = null;
+				this.recordConstructor = null;
+				this.componentTypes = null;
+				this.componentIndexMap = null;
+			}
+		}
+
+		/**		setXxx(value) 형태의 메소드. 하위 클래스의 메소드가 우선한다		*/
+		private void findSetters(Class<?> type){
+			MethodType setterType = MethodType.methodType(void.class, Object.class, Object.class);
+			for(Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()){
+				for(Method method : c.getDeclaredMethods()){
+					if( Modifier.isStatic(method.getModifiers()) || method.isBridge() || method.getParameterCount() != 1 )		continue;
+					if( method.getName().length() <= 3 || !method.getName().startsWith("set") )		continue;
+
+					String name = normalize(method.getName().substring(3));
+					if( this.setterMap.containsKey(name) )		continue;
+
+					try{
+						method.setAccessible(true);
+						this.setterMap.put(name, LOOKUP.unreflect(method).asType(setterType));
+						this.setterTypeMap.put(name, method.getParameterTypes()[0]);
+					}catch(ReflectiveOperationException | RuntimeException e){
+						// 접근할 수 없는 메소드는 제외
+					}
+				}
+			}
+		}
+
+		/**		설정 메소드가 없는 필드. 하위 클래스의 필드가 우선한다		*/
+		private void findFields(Class<?> type){
+			MethodType setterType = MethodType.methodType(void.class, Object.class, Object.class);
+			for(Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()){
+				for(Field field : c.getDeclaredFields()){
+					int modifiers = field.getModifiers();
+					if( Modifier.isStatic(modifiers) || Modifier.isFinal(modifiers) || field.isSynthetic() )		continue;
+
+					String name = normalize(field.getName());
+					if( this.setterMap.containsKey(name) )		continue;
+
+					try{
+						field.setAccessible(true);
+						this.setterMap.put(name, LOOKUP.unreflectSetter(field).asType(setterType));
+						this.setterTypeMap.put(name, field.getType());
+					}catch(ReflectiveOperationException | RuntimeException e){
+						// 접근할 수 없는 필드는 제외
+					}
+				}
+			}
+		}
+
+		/**
+		 * 컬럼 정보로 변환 방법 결정
+		 * @param rsmd		셀렉트 쿼리 결과의 컬럼 정보
+		 * @return			변환 방법
+		 * @throws SQLException		컬럼 정보 조회 오류 시 발생
+		 */
+		private CompiledMapper compile(ResultSetMetaData rsmd) throws SQLException{
+			if( this.valueReader != null )		return new ValueMapper(this.valueReader);
+
+			int columnCount = rsmd.getColumnCount();
+			List<Integer> columns = new ArrayList<Integer>(columnCount);
+			List<ColumnReader> readers = new ArrayList<ColumnReader>(columnCount);
+
+			if( this.recordConstructor != null ){
+				List<Integer> targets = new ArrayList<Integer>(columnCount);
+				boolean[] assigned = new boolean[this.componentTypes.length];
+				Integer component;
+				for(int column=1; column <= columnCount; column++){
+					component = this.componentIndexMap.get(normalize(columnLabel(rsmd, column)));
+					// 같은 이름의 컬럼이 여러개일 경우 첫번째 컬럼을 사용한다
+					if( component == null || assigned[component] )		continue;
+
+					assigned[component] = true;
+					columns.add(column);
+					readers.add(ColumnReader.forType(this.componentTypes[component]));
+					targets.add(component);
+				}
+
+				// 컬럼이 없는 컴포넌트는 기본값으로 생성한다
+				Object[] defaults = new Object[this.componentTypes.length];
+				for(int i=0; i < defaults.length; i++){
+					if( !assigned[i] && this.componentTypes[i].isPrimitive() )		defaults[i] = primitiveDefault(this.componentTypes[i]);
+				}
+
+				return new RecordMapper(this.recordConstructor, defaults, toArray(columns), readers.toArray(new ColumnReader[readers.size()]), toArray(targets));
+			}
+
+			List<MethodHandle> setters = new ArrayList<MethodHandle>(columnCount);
+			List<String> assigned = new ArrayList<String>(columnCount);
+			String name;
+			MethodHandle setter;
+			for(int column=1; column <= columnCount; column++){
+				name = normalize(columnLabel(rsmd, column));
+				setter = this.setterMap.get(name);
+				if( setter == null || assigned.contains(name) )		continue;
+
+				assigned.add(name);
+				columns.add(column);
+				readers.add(ColumnReader.forType(this.setterTypeMap.get(name)));
+				setters.add(setter);
+			}
+
+			return new BeanMapper(this.beanConstructor, toArray(columns), readers.toArray(new ColumnReader[readers.size()]), setters.toArray(new MethodHandle[setters.size()]));
+		}
+
+		private static String columnLabel(ResultSetMetaData rsmd, int column) throws SQLException{
+			String label = rsmd.getColumnLabel(column);
+			return label == null || label.isEmpty() ? rsmd.getColumnName(column) : label;
+		}
+
+		private static int[] toArray(List<Integer> list){
+			int[] array = new int[list.size()];
+			for(int i=0; i < array.length; i++)		array[i] = list.get(i);
+			return array;
+		}
+
+		private static Object primitiveDefault(Class<?> type){
+			if( type == boolean.class )		return false;
+			if( type == char.class )			return '\0';
+			if( type == byte.class )			return (byte)0;
+			if( type == short.class )			return (short)0;
+			if( type == int.class )			return 0;
+			if( type == long.class )			return 0L;
+			if( type == float.class )			return 0f;
+			return 0d;
+		}
+	}
+
+	/**		결정된 변환 방법		*/
+	private interface CompiledMapper {
+		Object map(ResultSet rs) throws Throwable;
+	}
+
+	/**		첫번째 컬럼 값		*/
+	private static final class ValueMapper implements CompiledMapper {
+
+		private final ColumnReader reader;
+
+		private ValueMapper(ColumnReader reader){
+			this.reader = reader;
+		}
+
+		@Override
+		public Object map(ResultSet rs) throws SQLException {
+			return this.reader.read(rs, 1);
+		}
+	}
+
+	/**		컬럼 값으로 레코드 생성자 호출		*/
+	private static final class RecordMapper implements CompiledMapper {
+
+		private final MethodHandle constructor;
+
+		/**		컬럼이 없는 컴포넌트의 기본값		*/
+		private final Object[] defaults;
+
+		private final int[] columns;
+
+		private final ColumnReader[] readers;
+
+		/**		컬럼별 컴포넌트 순번		*/
+		private final int[] targets;
+
+		private RecordMapper(MethodHandle constructor, Object[] defaults, int[] columns, ColumnReader[] readers, int[] targets){
+			this.constructor = constructor;
+			this.defaults = defaults;
+			this.columns = columns;
+			this.readers = readers;
+			this.targets = targets;
+		}
+
+		@Override
+		public Object map(ResultSet rs) throws Throwable {
+			Object[] args = this.defaults.clone();
+			int length = this.columns.length;
+			for(int i=0; i < length; i++)		args[this.targets[i]] = this.readers[i].read(rs, this.columns[i]);
+			return (Object)this.constructor.invokeExact(args);
+		}
+	}
+
+	/**		기본 생성자로 객체 생성 후 컬럼 값 설정		*/
+	private static final class BeanMapper implements CompiledMapper {
+
+		private final MethodHandle constructor;
+
+		private final int[] columns;
+
+		private final ColumnReader[] readers;
+
+		private final MethodHandle[] setters;
+
+		private BeanMapper(MethodHandle constructor, int[] columns, ColumnReader[] readers, MethodHandle[] setters){
+			this.constructor = constructor;
+			this.columns = columns;
+			this.readers = readers;
+			this.setters = setters;
+		}
+
+		@Override
+		public Object map(ResultSet rs) throws Throwable {
+			Object bean = (Object)this.constructor.invokeExact();
+			int length = this.columns.length;
+			for(int i=0; i < length; i++)		this.setters[i].invokeExact(bean, this.readers[i].read(rs, this.columns[i]));
+			return bean;
+		}
+	}
+}
@@ -1,7 +1,7 @@
 package kr.co.bomz.db.pool;
 
 /**
- * ͺ̽   ̺Ʈ
+ * 데이터베이스 연결 종료 이벤트
  * 
  * @author Bomz
  * @version 1.0
@@ -10,9 +10,9 @@ package kr.co.bomz.db.pool;
  */
 public interface CloseEvent {
 	
-	/**		 ̵  		*/
+	/**		고유 아이디 정보 리턴		*/
 	long getId();
 	
-	/**		ͺ̽  		*/
+	/**		데이터베이스 연결 종료		*/
 	void close();
 }
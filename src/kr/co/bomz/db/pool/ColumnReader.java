@@ -0,0 +1,178 @@
+package kr.co.bomz.db.pool;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.UUID;
+
+/**
+ * 대상 타입에 맞는 ResultSet 의 getMethod 로 컬럼 값 조회<p>
+ * 기본 타입은 null 일 경우 0 / false 를 리턴하며, 래퍼 타입은 null 을 리턴한다
+ *
+ * @author Bomz
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+interface ColumnReader {
+
+	/**
+	 * 컬럼 값 조회
+	 * @param rs			현재 로우에 위치한 ResultSet
+	 * @param column		컬럼 순번 (1 부터 시작)
+	 * @return				컬럼 값
+	 * @throws SQLException		값 조회 오류 시 발생
+	 */
+	Object read(ResultSet rs, int column) throws SQLException;
+
+	/**
+	 * 대상 타입이 ColumnReader 가 직접 변환하는 단일 값 타입인지 여부
+	 * @param type		대상 타입
+	 * @return			단일 값 타입일 경우 true
+	 */
+	static boolean isValueType(Class<?> type){
+		return type.isPrimitive() || type.isEnum() || type == String.class || Number.class.isAssignableFrom(type) || type == Boolean.class
+				|| type == Character.class || type == byte[].class || java.util.Date.class.isAssignableFrom(type) || type == UUID.class
+				|| type == LocalDate.class || type == LocalDateTime.class || type == LocalTime.class || type == Instant.class;
+	}
+
+	/**
+	 * 대상 타입에 맞는 ColumnReader
+	 * @param type		대상 타입
+	 * @return			컬럼 값 조회
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	static ColumnReader forType(Class<?> type){
+		if( type == String.class )			return ResultSet::getString;
+
+		if( type == int.class )				return ResultSet::getInt;
+		if( type == long.class )			return ResultSet::getLong;
+		if( type == double.class )			return ResultSet::getDouble;
+		if( type == boolean.class )		return ResultSet::getBoolean;
+		if( type == float.class )			return ResultSet::getFloat;
+		if( type == short.class )			return ResultSet::getShort;
+		if( type == byte.class )			return ResultSet::getByte;
+		if( type == char.class ){
+			return (rs, column) -> {
+				String value = rs.getString(column);
+				return value == null || value.isEmpty() ? '\0' : value.charAt(0);
+			};
+		}
+
+		if( type == Integer.class ){
+			return (rs, column) -> {
+				int value = rs.getInt(column);
+				return rs.wasNull() ? null : value;
+			};
+		}
+		if( type == Long.class ){
+			return (rs, column) -> {
+				long value = rs.getLong(column);
+				return rs.wasNull() ? null : value;
+			};
+		}
+		if( type == Double.class ){
+			return (rs, column) -> {
+				double value = rs.getDouble(column);
+				return rs.wasNull() ? null : value;
+			};
+		}
+		if( type == Boolean.class ){
+			return (rs, column) -> {
+				boolean value = rs.getBoolean(column);
+				return rs.wasNull() ? null : value;
+			};
+		}
+		if( type == Float.class ){
+			return (rs, column) -> {
+				float value = rs.getFloat(column);
+				return rs.wasNull() ? null : value;
+			};
+		}
+		if( type == Short.class ){
+			return (rs, column) -> {
+				short value = rs.getShort(column);
+				return rs.wasNull() ? null : value;
+			};
+		}
+		if( type == Byte.class ){
+			return (rs, column) -> {
+				byte value = rs.getByte(column);
+				return rs.wasNull() ? null : value;
+			};
+		}
+		if( type == Character.class ){
+			return (rs, column) -> {
+				String value = rs.getString(column);
+				return value == null || value.isEmpty() ? null : value.charAt(0);
+			};
+		}
+
+		if( type == BigDecimal.class )		return ResultSet::getBigDecimal;
+		if( type == BigInteger.class ){
+			return (rs, column) -> {
+				BigDecimal value = rs.getBigDecimal(column);
+				return value == null ? null : value.toBigInteger();
+			};
+		}
+		if( type == byte[].class )			return ResultSet::getBytes;
+		if( type == Timestamp.class )		return ResultSet::getTimestamp;
+		if( type == Date.class )			return ResultSet::getDate;
+		if( type == Time.class )			return ResultSet::getTime;
+		if( type == java.util.Date.class )	return ResultSet::getTimestamp;
+
+		// 드라이버마다 java.time 지원 여부가 다르므로 java.sql 타입으로 조회 후 변환
+		if( type == LocalDateTime.class ){
+			return (rs, column) -> {
+				Timestamp value = rs.getTimestamp(column);
+				return value == null ? null : value.toLocalDateTime();
+			};
+		}
+		if( type == LocalDate.class ){
+			return (rs, column) -> {
+				Date value = rs.getDate(column);
+				return value == null ? null : value.toLocalDate();
+			};
+		}
+		if( type == LocalTime.class ){
+			return (rs, column) -> {
+				Time value = rs.getTime(column);
+				return value == null ? null : value.toLocalTime();
+			};
+		}
+		if( type == Instant.class ){
+			return (rs, column) -> {
+				Timestamp value = rs.getTimestamp(column);
+				return value == null ? null : value.toInstant();
+			};
+		}
+		if( type == UUID.class ){
+			return (rs, column) -> {
+				Object value = rs.getObject(column);
+				return value == null || value instanceof UUID ? value : UUID.fromString(value.toString());
+			};
+		}
+
+		if( type.isEnum() ){
+			Class<? extends Enum> enumType = (Class<? extends Enum>)type;
+			return (rs, column) -> {
+				String value = rs.getString(column);
+				return value == null ? null : Enum.valueOf(enumType, value);
+			};
+		}
+
+		// 그 외의 타입은 드라이버에서 변환
+		return (rs, column) -> {
+			Object value = rs.getObject(column);
+			return value == null || type.isInstance(value) ? value : rs.getObject(column, type);
+		};
+	}
+}
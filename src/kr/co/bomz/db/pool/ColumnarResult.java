@@ -0,0 +1,605 @@
+package kr.co.bomz.db.pool;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 컬럼 단위로 보관되는 셀렉트 쿼리 결과<p>
+ * 대량의 로우를 읽는 분석용 쿼리에서 로우마다 Object[] 와 박싱된 값을 생성하지 않도록,
+ * 컬럼 타입에 따라 다음과 같이 보관한다<br>
+ * 1. 정수 (INTEGER, SMALLINT, TINYINT, 자리수 9 이하의 소수점 없는 NUMERIC / DECIMAL) : int 배열<br>
+ * 2. 큰 정수 (BIGINT, 자리수 18 이하의 소수점 없는 NUMERIC / DECIMAL) : long 배열<br>
+ * 3. 실수 (DOUBLE, FLOAT, REAL) : double 배열<br>
+ * 4. 논리값 (BOOLEAN, BIT) : 비트맵<br>
+ * 5. 문자열 (CHAR, VARCHAR 등) : 중복 제거된 문자열 사전과 로우별 사전 순번 int 배열<br>
+ * 6. 그 외 : 값 배열. Clob / Blob 등은 CachedResult 와 같이 값으로 변환된다<p>
+ *
+ * NULL 여부는 컬럼별 비트맵으로 보관되며, NULL 이 없는 컬럼은 비트맵을 생성하지 않는다<br>
+ * offHeap 으로 생성할 경우 int / long / double 배열과 사전 순번은 다 읽은 후 direct ByteBuffer 로 옮겨 힙 밖에 보관된다<p>
+ *
+ * 모든 로우를 읽은 후 ResultSet 과 Statement, 커넥션은 바로 자원반납되며, 생성 후에는 변경되지 않으므로 여러 스레드에서 동시에 읽을 수 있다<br>
+ * 로우 순번은 0 부터, 컬럼 순번은 JDBC 와 같이 1 부터 시작한다
+ *
+ * @author Bomz
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+public class ColumnarResult {
+
+	/**		컬럼 보관 방법		*/
+	public enum ColumnKind {
+		/**		int 배열		*/
+		INT,
+		/**		long 배열		*/
+		LONG,
+		/**		double 배열		*/
+		DOUBLE,
+		/**		비트맵		*/
+		BOOLEAN,
+		/**		문자열 사전과 사전 순번 int 배열		*/
+		STRING,
+		/**		값 배열		*/
+		OBJECT
+	}
+
+	/**		읽는 중 배열 초기 크기		*/
+	private static final int INITIAL_CAPACITY = 1024;
+
+	/**		컬럼 정보		*/
+	private final DetachedResultSetMetaData metaData;
+
+	private final Column[] columns;
+
+	private final int rowCount;
+
+	private final boolean offHeap;
+
+	/**
+	 * 컬럼 레이블 / 이름별 컬럼 순번 (1 부터 시작)
+	 * KEY : 소문자로 변환한 컬럼 레이블 또는 이름
+	 * VALUE : 컬럼 순번
+	 */
+	private final Map<String, Integer> columnIndexMap;
+
+	private ColumnarResult(DetachedResultSetMetaData metaData, Column[] columns, int rowCount, boolean offHeap){
+		this.metaData = metaData;
+		this.columns = columns;
+		this.rowCount = rowCount;
+		this.offHeap = offHeap;
+
+		int count = columns.length;
+		this.columnIndexMap = new HashMap<String, Integer>(count * 4);
+		// 같은 이름의 컬럼이 여러개일 경우 첫번째 컬럼을 사용한다
+		for(int i=1; i <= count; i++)		this.columnIndexMap.putIfAbsent(metaData.getColumnLabel(i).toLowerCase(Locale.ROOT), i);
+		for(int i=1; i <= count; i++)		this.columnIndexMap.putIfAbsent(metaData.getColumnName(i).toLowerCase(Locale.ROOT), i);
+	}
+
+	/**
+	 * ResultSet 의 현재 위치부터 마지막 로우까지 컬럼 단위로 읽는다<br>
+	 * ResultSet 은 종료하지 않는다
+	 * @param rs			셀렉트 쿼리 결과
+	 * @param offHeap	기본 타입 컬럼을 direct ByteBuffer 에 보관할지 여부
+	 * @return				컬럼 단위 쿼리 결과
+	 * @throws SQLException		로우를 읽는 중 오류 발생 시
+	 */
+	static ColumnarResult read(ResultSet rs, boolean offHeap) throws SQLException{
+		DetachedResultSetMetaData metaData = new DetachedResultSetMetaData(rs.getMetaData());
+		int columnCount = metaData.getColumnCount();
+
+		Column[] columns = new Column[columnCount];
+		for(int i=0; i < columnCount; i++)		columns[i] = new Column(kindOf(metaData, i + 1));
+
+		int row = 0;
+		while( rs.next() ){
+			for(int i=0; i < columnCount; i++)		columns[i].read(rs, i + 1, row);
+			row++;
+		}
+
+		for(int i=0; i < columnCount; i++)		columns[i].finish(row, offHeap);
+
+		return new ColumnarResult(metaData, columns, row, offHeap);
+	}
+
+	/**		컬럼 타입에 맞는 보관 방법		*/
+	private static ColumnKind kindOf(ResultSetMetaData rsmd, int column) throws SQLException{
+		switch( rsmd.getColumnType(column) ){
+		case Types.INTEGER :
+		case Types.SMALLINT :
+		case Types.TINYINT :
+			return ColumnKind.INT;
+
+		case Types.BIGINT :
+			return ColumnKind.LONG;
+
+		case Types.DOUBLE :
+		case Types.FLOAT :
+		case Types.REAL :
+			return ColumnKind.DOUBLE;
+
+		case Types.BOOLEAN :
+		case Types.BIT :
+			return ColumnKind.BOOLEAN;
+
+		case Types.CHAR :
+		case Types.VARCHAR :
+		case Types.LONGVARCHAR :
+		case Types.NCHAR :
+		case Types.NVARCHAR :
+		case Types.LONGNVARCHAR :
+			return ColumnKind.STRING;
+
+		case Types.NUMERIC :
+		case Types.DECIMAL :
+			// 자리수를 알 수 없는 경우(0 이하) 값이 잘리지 않도록 BigDecimal 로 보관한다
+			int precision = rsmd.getPrecision(column);
+			if( rsmd.getScale(column) != 0 || precision <= 0 )		return ColumnKind.OBJECT;
+			if( precision <= 9 )		return ColumnKind.INT;
+			if( precision <= 18 )		return ColumnKind.LONG;
+			return ColumnKind.OBJECT;
+
+		default :
+			return ColumnKind.OBJECT;
+		}
+	}
+
+	/**		컬럼 순번 검사 후 컬럼 리턴		*/
+	private Column column(int column) throws SQLException{
+		if( column < 1 || column > this.columns.length )		throw new SQLException("invalid column index " + column);
+		return this.columns[column - 1];
+	}
+
+	/**		로우 순번 검사		*/
+	private int row(int row) throws SQLException{
+		if( row < 0 || row >= this.rowCount )		throw new SQLException("invalid row index " + row);
+		return row;
+	}
+
+	/**
+	 * 컬럼 정보
+	 * @return		컬럼 정보
+	 */
+	public ResultSetMetaData getMetaData(){
+		return this.metaData;
+	}
+
+	/**
+	 * 로우 수
+	 * @return		로우 수
+	 */
+	public int getRowCount(){
+		return this.rowCount;
+	}
+
+	/**
+	 * 컬럼 수
+	 * @return		컬럼 수
+	 */
+	public int getColumnCount(){
+		return this.columns.length;
+	}
+
+	/**
+	 * 기본 타입 컬럼을 direct ByteBuffer 에 보관하는지 여부
+	 * @return		힙 밖에 보관할 경우 true
+	 */
+	public boolean isOffHeap(){
+		return this.offHeap;
+	}
+
+	/**
+	 * 컬럼 레이블 또는 이름에 해당하는 컬럼 순번
+	 * @param columnLabel		컬럼 레이블 또는 이름 (대소문자 구분 없음)
+	 * @return					컬럼 순번 (1 부터 시작)
+	 * @throws SQLException		해당 컬럼이 없을 경우
+	 */
+	public int findColumn(String columnLabel) throws SQLException{
+		Integer index = this.columnIndexMap.get(columnLabel.toLowerCase(Locale.ROOT));
+		if( index == null )		throw new SQLException("invalid column label " + columnLabel);
+		return index;
+	}
+
+	/**
+	 * 컬럼 보관 방법
+	 * @param column		컬럼 순번 (1 부터 시작)
+	 * @return				보관 방법
+	 * @throws SQLException		잘못된 컬럼 순번일 경우
+	 */
+	public ColumnKind getColumnKind(int column) throws SQLException{
+		return this.column(column).kind;
+	}
+
+	/**
+	 * 값이 NULL 인지 여부
+	 * @param row			로우 순번 (0 부터 시작)
+	 * @param column		컬럼 순번 (1 부터 시작)
+	 * @return				NULL 일 경우 true
+	 * @throws SQLException		잘못된 순번일 경우
+	 */
+	public boolean isNull(int row, int column) throws SQLException{
+		return this.column(column).isNull(this.row(row));
+	}
+
+	/**
+	 * int 값. NULL 일 경우 0
+	 * @param row			로우 순번 (0 부터 시작)
+	 * @param column		컬럼 순번 (1 부터 시작)
+	 * @return				값
+	 * @throws SQLException		잘못된 순번이거나 숫자 컬럼이 아닐 경우
+	 */
+	public int getInt(int row, int column) throws SQLException{
+		Column c = this.column(column);
+		if( c.kind == ColumnKind.INT )		return c.ints.get(this.row(row));
+		return (int)this.getLong(row, column);
+	}
+
+	/**
+	 * long 값. NULL 일 경우 0
+	 * @param row			로우 순번 (0 부터 시작)
+	 * @param column		컬럼 순번 (1 부터 시작)
+	 * @return				값
+	 * @throws SQLException		잘못된 순번이거나 숫자 컬럼이 아닐 경우
+	 */
+	public long getLong(int row, int column) throws SQLException{
+		Column c = this.column(column);
+		int index = this.row(row);
+		switch( c.kind ){
+		case INT :			return c.ints.get(index);
+		case LONG :		return c.longs.get(index);
+		case DOUBLE :		return (long)c.doubles.get(index);
+		case OBJECT :
+			Object value = c.objects[index];
+			if( value == null )		return 0;
+			if( value instanceof Number )		return ((Number)value).longValue();
+			throw new SQLException("column " + column + " is not a number column");
+		default :
+			throw new SQLException("column " + column + " is not a number column");
+		}
+	}
+
+	/**
+	 * double 값. NULL 일 경우 0
+	 * @param row			로우 순번 (0 부터 시작)
+	 * @param column		컬럼 순번 (1 부터 시작)
+	 * @return				값
+	 * @throws SQLException		잘못된 순번이거나 숫자 컬럼이 아닐 경우
+	 */
+	public double getDouble(int row, int column) throws SQLException{
+		Column c = this.column(column);
+		if( c.kind == ColumnKind.DOUBLE )		return c.doubles.get(this.row(row));
+		if( c.kind == ColumnKind.OBJECT ){
+			Object value = c.objects[this.row(row)];
+			if( value == null )		return 0;
+			if( value instanceof Number )		return ((Number)value).doubleValue();
+			throw new SQLException("column " + column + " is not a number column");
+		}
+		return this.getLong(row, column);
+	}
+
+	/**
+	 * boolean 값. NULL 일 경우 false
+	 * @param row			로우 순번 (0 부터 시작)
+	 * @param column		컬럼 순번 (1 부터 시작)
+	 * @return				값
+	 * @throws SQLException		잘못된 순번이거나 논리값 / 숫자 컬럼이 아닐 경우
+	 */
+	public boolean getBoolean(int row, int column) throws SQLException{
+		Column c = this.column(column);
+		if( c.kind == ColumnKind.BOOLEAN )		return Column.isSet(c.bits, this.row(row));
+		if( c.kind == ColumnKind.OBJECT && c.objects[this.row(row)] instanceof Boolean )		return (Boolean)c.objects[row];
+		return this.getLong(row, column) != 0;
+	}
+
+	/**
+	 * 문자열 값. 문자열 컬럼이 아닐 경우 값의 toString() 결과
+	 * @param row			로우 순번 (0 부터 시작)
+	 * @param column		컬럼 순번 (1 부터 시작)
+	 * @return				값. NULL 일 경우 null
+	 * @throws SQLException		잘못된 순번일 경우
+	 */
+	public String getString(int row, int column) throws SQLException{
+		Column c = this.column(column);
+		int index = this.row(row);
+		if( c.kind == ColumnKind.STRING )		return c.isNull(index) ? null : c.dictionary[c.ints.get(index)];
+
+		Object value = c.getObject(index);
+		return value == null ? null : value.toString();
+	}
+
+	/**
+	 * 값. 기본 타입 컬럼은 박싱된 값을 리턴한다
+	 * @param row			로우 순번 (0 부터 시작)
+	 * @param column		컬럼 순번 (1 부터 시작)
+	 * @return				값. NULL 일 경우 null
+	 * @throws SQLException		잘못된 순번일 경우
+	 */
+	public Object getObject(int row, int column) throws SQLException{
+		return this.column(column).getObject(this.row(row));
+	}
+
+	/**
+	 * INT 컬럼 값 또는 STRING 컬럼의 사전 순번을 읽기 전용 IntBuffer 로 리턴<br>
+	 * 값을 복사하지 않으며, NULL 인 로우의 값은 0 이다
+	 * @param column		컬럼 순번 (1 부터 시작)
+	 * @return				로우 수 크기의 IntBuffer
+	 * @throws SQLException		INT / STRING 컬럼이 아닐 경우
+	 */
+	public IntBuffer getIntColumn(int column) throws SQLException{
+		Column c = this.column(column);
+		if( c.ints == null )		throw new SQLException("column " + column + " is not an int column");
+		return c.ints.asReadOnlyBuffer();
+	}
+
+	/**
+	 * LONG 컬럼 값을 읽기 전용 LongBuffer 로 리턴<br>
+	 * 값을 복사하지 않으며, NULL 인 로우의 값은 0 이다
+	 * @param column		컬럼 순번 (1 부터 시작)
+	 * @return				로우 수 크기의 LongBuffer
+	 * @throws SQLException		LONG 컬럼이 아닐 경우
+	 */
+	public LongBuffer getLongColumn(int column) throws SQLException{
+		Column c = this.column(column);
+		if( c.longs == null )		throw new SQLException("column " + column + " is not a long column");
+		return c.longs.asReadOnlyBuffer();
+	}
+
+	/**
+	 * DOUBLE 컬럼 값을 읽기 전용 DoubleBuffer 로 리턴<br>
+	 * 값을 복사하지 않으며, NULL 인 로우의 값은 0 이다
+	 * @param column		컬럼 순번 (1 부터 시작)
+	 * @return				로우 수 크기의 DoubleBuffer
+	 * @throws SQLException		DOUBLE 컬럼이 아닐 경우
+	 */
+	public DoubleBuffer getDoubleColumn(int column) throws SQLException{
+		Column c = this.column(column);
+		if( c.doubles == null )		throw new SQLException("column " + column + " is not a double column");
+		return c.doubles.asReadOnlyBuffer();
+	}
+
+	/**
+	 * STRING 컬럼의 문자열 사전<br>
+	 * getIntColumn(int) 로 조회한 사전 순번이 배열 위치이다
+	 * @param column		컬럼 순번 (1 부터 시작)
+	 * @return				중복 제거된 문자열 배열의 복사본
+	 * @throws SQLException		STRING 컬럼이 아닐 경우
+	 */
+	public String[] getDictionary(int column) throws SQLException{
+		Column c = this.column(column);
+		if( c.dictionary == null )		throw new SQLException("column " + column + " is not a string column");
+		return c.dictionary.clone();
+	}
+
+	/**
+	 * 메모리 사용량 추정값. 힙 밖에 보관된 크기를 포함한다
+	 * @return		메모리 사용량 (단위:byte)
+	 */
+	public long getMemorySize(){
+		long size = 0;
+		for(Column column : this.columns)		size += column.memorySize();
+		return size;
+	}
+
+	/**		컬럼 하나의 값. 읽는 동안에는 배열에 보관한 후 finish() 에서 Buffer 로 변환한다		*/
+	private static final class Column {
+
+		private final ColumnKind kind;
+
+		/**		NULL 비트맵. NULL 이 없을 경우 null		*/
+		private long[] nulls;
+
+		/**		BOOLEAN 컬럼 값 비트맵		*/
+		private long[] bits;
+
+		/**		INT 컬럼 값 또는 STRING 컬럼의 사전 순번		*/
+		private IntBuffer ints;
+
+		private LongBuffer longs;
+
+		private DoubleBuffer doubles;
+
+		/**		STRING 컬럼 문자열 사전		*/
+		private String[] dictionary;
+
+		/**		OBJECT 컬럼 값		*/
+		private Object[] objects;
+
+		/*		읽는 동안 사용하는 배열		*/
+		private int[] intArray;
+		private long[] longArray;
+		private double[] doubleArray;
+		private Map<String, Integer> dictionaryIndexMap;
+		private List<String> dictionaryList;
+
+		private Column(ColumnKind kind){
+			this.kind = kind;
+			switch( kind ){
+			case INT :
+				this.intArray = new int[INITIAL_CAPACITY];
+				break;
+			case LONG :
+				this.longArray = new long[INITIAL_CAPACITY];
+				break;
+			case DOUBLE :
+				this.doubleArray = new double[INITIAL_CAPACITY];
+				break;
+			case BOOLEAN :
+				this.bits = new long[INITIAL_CAPACITY >> 6];
+				break;
+			case STRING :
+				this.intArray = new int[INITIAL_CAPACITY];
+				this.dictionaryIndexMap = new HashMap<String, Integer>();
+				this.dictionaryList = new ArrayList<String>();
+				break;
+			default :
+				this.objects = new Object[INITIAL_CAPACITY];
+			}
+		}
+
+		/**		현재 로우의 컬럼 값 보관		*/
+		private void read(ResultSet rs, int column, int row) throws SQLException{
+			switch( this.kind ){
+			case INT :
+				if( row == this.intArray.length )		this.intArray = Arrays.copyOf(this.intArray, row << 1);
+				this.intArray[row] = rs.getInt(column);
+				break;
+
+			case LONG :
+				if( row == this.longArray.length )		this.longArray = Arrays.copyOf(this.longArray, row << 1);
+				this.longArray[row] = rs.getLong(column);
+				break;
+
+			case DOUBLE :
+				if( row == this.doubleArray.length )		this.doubleArray = Arrays.copyOf(this.doubleArray, row << 1);
+				this.doubleArray[row] = rs.getDouble(column);
+				break;
+
+			case BOOLEAN :
+				boolean value = rs.getBoolean(column);
+				if( value )		this.bits = set(this.bits, row);
+				break;
+
+			case STRING :
+				if( row == this.intArray.length )		this.intArray = Arrays.copyOf(this.intArray, row << 1);
+				String text = rs.getString(column);
+				if( text == null ){
+					this.nulls = set(this.nulls, row);
+					return;
+				}
+
+				Integer code = this.dictionaryIndexMap.get(text);
+				if( code == null ){
+					code = this.dictionaryList.size();
+					this.dictionaryIndexMap.put(text, code);
+					this.dictionaryList.add(text);
+				}
+				this.intArray[row] = code;
+				return;
+
+			default :
+				if( row == this.objects.length )		this.objects = Arrays.copyOf(this.objects, row << 1);
+				this.objects[row] = CachedResult.detach(rs.getObject(column));
+				if( this.objects[row] == null )		this.nulls = set(this.nulls, row);
+				return;
+			}
+
+			if( rs.wasNull() )		this.nulls = set(this.nulls, row);
+		}
+
+		/**		읽기 완료 후 로우 수에 맞게 정리		*/
+		private void finish(int rowCount, boolean offHeap){
+			switch( this.kind ){
+			case INT :
+			case STRING :
+				if( offHeap ){
+					this.ints = allocate(rowCount, Integer.BYTES).asIntBuffer().put(this.intArray, 0, rowCount);
+					this.ints.clear();
+				}else{
+					this.ints = IntBuffer.wrap(Arrays.copyOf(this.intArray, rowCount));
+				}
+				this.intArray = null;
+				break;
+
+			case LONG :
+				if( offHeap ){
+					this.longs = allocate(rowCount, Long.BYTES).asLongBuffer().put(this.longArray, 0, rowCount);
+					this.longs.clear();
+				}else{
+					this.longs = LongBuffer.wrap(Arrays.copyOf(this.longArray, rowCount));
+				}
+				this.longArray = null;
+				break;
+
+			case DOUBLE :
+				if( offHeap ){
+					this.doubles = allocate(rowCount, Double.BYTES).asDoubleBuffer().put(this.doubleArray, 0, rowCount);
+					this.doubles.clear();
+				}else{
+					this.doubles = DoubleBuffer.wrap(Arrays.copyOf(this.doubleArray, rowCount));
+				}
+				this.doubleArray = null;
+				break;
+
+			case OBJECT :
+				this.objects = Arrays.copyOf(this.objects, rowCount);
+				break;
+
+			default :
+				break;
+			}
+
+			if( this.dictionaryList != null ){
+				this.dictionary = this.dictionaryList.toArray(new String[this.dictionaryList.size()]);
+				this.dictionaryList = null;
+				this.dictionaryIndexMap = null;
+			}
+		}
+
+		private static ByteBuffer allocate(int rowCount, int bytes){
+			return ByteBuffer.allocateDirect(rowCount * bytes).order(ByteOrder.nativeOrder());
+		}
+
+		/**		비트 설정. 비트맵이 없거나 작을 경우 새로 생성한다		*/
+		private static long[] set(long[] bitmap, int index){
+			int word = index >>> 6;
+			if( bitmap == null )		bitmap = new long[Math.max(word + 1, INITIAL_CAPACITY >> 6)];
+			else if( word >= bitmap.length )		bitmap = Arrays.copyOf(bitmap, Math.max(word + 1, bitmap.length << 1));
+			bitmap[word] |= 1L << index;
+			return bitmap;
+		}
+
+		/**		비트 설정 여부		*/
+		private static boolean isSet(long[] bitmap, int index){
+			int word = index >>> 6;
+			return bitmap != null && word < bitmap.length && (bitmap[word] & (1L << index)) != 0;
+		}
+
+		private boolean isNull(int row){
+			return isSet(this.nulls, row);
+		}
+
+		/**		값. 기본 타입은 박싱된다		*/
+		private Object getObject(int row){
+			if( this.isNull(row) )		return null;
+
+			switch( this.kind ){
+			case INT :			return this.ints.get(row);
+			case LONG :		return this.longs.get(row);
+			case DOUBLE :		return this.doubles.get(row);
+			case BOOLEAN :	return isSet(this.bits, row);
+			case STRING :		return this.dictionary[this.ints.get(row)];
+			default :			return this.objects[row];
+			}
+		}
+
+		/**		메모리 사용량 추정값		*/
+		private long memorySize(){
+			long size = 0;
+			if( this.nulls != null )		size += this.nulls.length * 8L;
+			if( this.bits != null )		size += this.bits.length * 8L;
+			if( this.ints != null )		size += this.ints.capacity() * 4L;
+			if( this.longs != null )		size += this.longs.capacity() * 8L;
+			if( this.doubles != null )		size += this.doubles.capacity() * 8L;
+			if( this.dictionary != null ){
+				for(String text : this.dictionary)		size += 40 + text.length() * 2L;
+			}
+			if( this.objects != null ){
+				size += this.objects.length * 8L;
+				for(Object value : this.objects)		size += CachedResult.weigh(value);
+			}
+			return size;
+		}
+	}
+}
@@ -0,0 +1,220 @@
+package kr.co.bomz.db.pool;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 데이터베이스 커넥션 보관 및 대여 관리<p>
+ * 각 스레드는 마지막으로 사용한 커넥션을 WeakReference 로 기억하고 있다가 다음 요청 시
+ * CAS 로 상태를 변경하여 다시 가져간다. 이 때 공유 큐를 거치지 않으므로 스레드간 경합이 발생하지 않는다<p>
+ * 스레드가 기억하는 커넥션을 가져올 수 없을 경우 전체 커넥션 목록에서 사용 대기 중인 커넥션을 가져오며
+ * (다른 스레드가 기억하고 있는 커넥션 포함) 그래도 없을 경우 반환되는 커넥션을 대기 순서대로 전달받는다
+ *
+ * @author Bomz
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+public class ConnectionBag {
+
+	/**		사용 대기 상태		*/
+	static final int STATE_NOT_IN_USE = 0;
+	/**		사용 중 상태		*/
+	static final int STATE_IN_USE = 1;
+	/**		제거된 상태		*/
+	static final int STATE_REMOVED = -1;
+	/**		유효성 검사 등 풀 내부 작업을 위해 예약된 상태		*/
+	static final int STATE_RESERVED = -2;
+
+	/**		스레드별 기억하는 커넥션 최대 수		*/
+	private static final int THREAD_LOCAL_MAX_SIZE = 16;
+
+	/**		관리중인 전체 커넥션 목록		*/
+	private final CopyOnWriteArrayList<DatabaseConnection> sharedList = new CopyOnWriteArrayList<DatabaseConnection>();
+
+	/**		스레드별 최근 사용한 커넥션 목록		*/
+	private final ThreadLocal<List<WeakReference<DatabaseConnection>>> threadList = new ThreadLocal<List<WeakReference<DatabaseConnection>>>(){
+		@Override
+		protected List<WeakReference<DatabaseConnection>> initialValue() {
+			return new ArrayList<WeakReference<DatabaseConnection>>(THREAD_LOCAL_MAX_SIZE);
+		}
+	};
+
+	/**		커넥션 반환을 기다리는 스레드 수		*/
+	private final AtomicInteger waiters = new AtomicInteger();
+
+	/**		반환된 커넥션을 기다리는 스레드에게 먼저 대기한 순서대로 직접 전달하기 위한 큐		*/
+	private final SynchronousQueue<DatabaseConnection> handoffQueue = new SynchronousQueue<DatabaseConnection>(true);
+
+	/**
+	 * 대기 없이 사용할 수 있는 커넥션을 가져온다<br>
+	 * 커넥션 반환을 기다리는 스레드가 있을 경우 먼저 기다린 스레드를 위해 가져오지 않는다
+	 * @return		사용할 수 있는 커넥션이 없을 경우 null
+	 */
+	DatabaseConnection borrow(){
+		if( this.waiters.get() > 0 )		return null;
+
+		// 현재 스레드가 최근 사용한 커넥션
+		List<WeakReference<DatabaseConnection>> list = this.threadList.get();
+		DatabaseConnection dc;
+		for(int i=list.size()-1; i >= 0; i--){
+			dc = list.remove(i).get();
+			if( dc != null && dc.compareAndSetState(STATE_NOT_IN_USE, STATE_IN_USE) )		return dc;
+		}
+
+		// 다른 스레드가 사용한 커넥션
+		return this.scanSharedList();
+	}
+
+	/**
+	 * 사용할 수 있는 커넥션이 반환될 때까지 지정된 시간 동안 대기<br>
+	 * 대기중인 스레드는 먼저 대기를 시작한 순서대로 반환된 커넥션을 전달받는다
+	 * @param timeout		최대 대기 시간 (단위:nanosecond)
+	 * @return					대기 시간이 초과되었을 경우 null
+	 * @throws InterruptedException		대기 중 인터럽트 발생 시
+	 */
+	DatabaseConnection borrow(long timeout) throws InterruptedException{
+		this.waiters.incrementAndGet();
+		try{
+			// 대기 스레드 등록 전에 반환된 커넥션
+			DatabaseConnection dc = this.scanSharedList();
+			if( dc != null )		return dc;
+
+			long deadline = System.nanoTime() + timeout;
+			while( timeout > 0 ){
+				dc = this.handoffQueue.poll(timeout, TimeUnit.NANOSECONDS);
+				if( dc == null )		return null;		// 대기 시간 초과
+				if( dc.compareAndSetState(STATE_NOT_IN_USE, STATE_IN_USE) )		return dc;
+
+				// 전달받는 사이에 다른 스레드가 가져갔을 경우 남은 시간 동안 다시 대기
+				timeout = deadline - System.nanoTime();
+			}
+			return null;
+		}finally{
+			this.waiters.decrementAndGet();
+		}
+	}
+
+	/**		전체 커넥션 목록에서 사용 대기 중인 커넥션 검색		*/
+	private DatabaseConnection scanSharedList(){
+		for(DatabaseConnection dc : this.sharedList){
+			if( dc.compareAndSetState(STATE_NOT_IN_USE, STATE_IN_USE) )		return dc;
+		}
+		return null;
+	}
+
+	/**
+	 * 사용이 끝난 커넥션 반환<br>
+	 * 반환을 기다리는 스레드가 있을 경우 가장 오래 기다린 스레드에게 직접 전달하며,
+	 * 없을 경우 현재 스레드의 최근 사용 커넥션으로 기억한다
+	 * @param dc		반환할 커넥션
+	 */
+	void requite(DatabaseConnection dc){
+		dc.setState(STATE_NOT_IN_USE);
+
+		if( this.handoff(dc) )		return;
+
+		List<WeakReference<DatabaseConnection>> list = this.threadList.get();
+		if( list.size() < THREAD_LOCAL_MAX_SIZE )		list.add(new WeakReference<DatabaseConnection>(dc));
+	}
+
+	/**
+	 * 사용 대기 상태의 커넥션을 기다리는 스레드에게 전달
+	 * @return		다른 스레드가 가져갔을 경우 true. 기다리는 스레드가 없을 경우 false
+	 */
+	private boolean handoff(DatabaseConnection dc){
+		for(int i=0; this.waiters.get() > 0; i++){
+			if( dc.getState() != STATE_NOT_IN_USE || this.handoffQueue.offer(dc) )		return true;
+
+			// 대기 스레드가 handoffQueue 에서 기다리기 전이므로 잠시 양보한 후 다시 시도
+			if( (i & 0xff) == 0xff )		LockSupport.parkNanos(10000L);
+			else									Thread.yield();
+		}
+		return false;
+	}
+
+	/**
+	 * 새로운 커넥션을 사용 대기 상태로 추가
+	 * @param dc		추가할 커넥션
+	 */
+	void add(DatabaseConnection dc){
+		dc.setState(STATE_NOT_IN_USE);
+		this.sharedList.add(dc);
+		this.handoff(dc);
+	}
+
+	/**
+	 * 새로운 커넥션을 사용 중 상태로 추가
+	 * @param dc		추가할 커넥션
+	 */
+	void addBorrowed(DatabaseConnection dc){
+		dc.setState(STATE_IN_USE);
+		this.sharedList.add(dc);
+	}
+
+	/**
+	 * 커넥션 제거<br>
+	 * 사용 중이거나 예약된 상태의 커넥션만 제거할 수 있으며, 같은 커넥션으로 여러번 호출되더라도 한번만 제거된다
+	 * @param dc		제거할 커넥션
+	 * @return			제거되었을 경우 true
+	 */
+	boolean remove(DatabaseConnection dc){
+		if( !dc.compareAndSetState(STATE_IN_USE, STATE_REMOVED) && !dc.compareAndSetState(STATE_RESERVED, STATE_REMOVED) )
+			return false;
+
+		this.sharedList.remove(dc);
+		return true;
+	}
+
+	/**
+	 * 사용 대기 중인 커넥션을 다른 스레드가 가져가지 못하도록 예약
+	 * @param dc		예약할 커넥션
+	 * @return			예약에 성공하였을 경우 true
+	 */
+	boolean reserve(DatabaseConnection dc){
+		return dc.compareAndSetState(STATE_NOT_IN_USE, STATE_RESERVED);
+	}
+
+	/**
+	 * 예약된 커넥션을 다시 사용 대기 상태로 변경
+	 * @param dc		예약된 커넥션
+	 */
+	void unreserve(DatabaseConnection dc){
+		if( dc.compareAndSetState(STATE_RESERVED, STATE_NOT_IN_USE) )		this.handoff(dc);
+	}
+
+	/**
+	 * 관리중인 전체 커넥션 목록
+	 * @return		전체 커넥션 목록의 복사본
+	 */
+	List<DatabaseConnection> values(){
+		return new ArrayList<DatabaseConnection>(this.sharedList);
+	}
+
+	/**
+	 * 지정한 상태의 커넥션 수
+	 * @param state		커넥션 상태
+	 * @return				해당 상태의 커넥션 수
+	 */
+	int getCount(int state){
+		int count = 0;
+		for(DatabaseConnection dc : this.sharedList){
+			if( dc.getState() == state )		count++;
+		}
+		return count;
+	}
+
+	/**
+	 * 커넥션 반환을 기다리는 스레드 수
+	 * @return		대기 스레드 수
+	 */
+	int getWaitingThreadCount(){
+		return this.waiters.get();
+	}
+}
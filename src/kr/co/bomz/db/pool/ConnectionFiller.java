@@ -0,0 +1,159 @@
+package kr.co.bomz.db.pool;
+
+import java.sql.SQLException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 백그라운드 커넥션 생성<p>
+ * 커넥션 요청 스레드가 직접 데이터베이스에 접속하지 않도록 별도 스레드에서 새로운 커넥션을 생성하여 ConnectionBag 에 추가한다<br>
+ * 새로 생성된 커넥션은 반환된 커넥션과 같은 방법으로 대기중인 스레드에게 전달되므로
+ * 대기중인 스레드는 둘 중 먼저 준비된 커넥션을 받는다<p>
+ * 동시에 생성하는 커넥션 수는 지정한 수를 넘지 않는다
+ *
+ * @author Bomz
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+public class ConnectionFiller {
+
+	private static final Logger logger = LoggerFactory.getLogger(ConnectionFiller.class);
+
+	/**		커넥션 생성 스레드 유지 시간 (단위:초)		*/
+	private static final long KEEP_ALIVE_TIME = 30L;
+
+	private final DatabasePool pool;
+
+	/**		커넥션 생성 스레드		*/
+	private final ThreadPoolExecutor executor;
+
+	/**		생성 중인 커넥션 수		*/
+	private final AtomicInteger pendingCount = new AtomicInteger();
+
+	/**		동시에 생성할 수 있는 최대 커넥션 수		*/
+	private volatile int maxPendingCount;
+
+	/**		마지막 커넥션 생성 실패 정보. 생성에 성공하면 null 로 변경된다		*/
+	private volatile ConnectFailure lastFailure = null;
+
+	/**
+	 * 백그라운드 커넥션 생성
+	 * @param pool						데이터베이스풀
+	 * @param maxPendingCount		동시에 생성할 수 있는 최대 커넥션 수
+	 */
+	ConnectionFiller(DatabasePool pool, int maxPendingCount){
+		this.pool = pool;
+		this.maxPendingCount = maxPendingCount;
+		this.executor = new ThreadPoolExecutor(maxPendingCount, maxPendingCount, KEEP_ALIVE_TIME, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<Runnable>(), new DaemonThreadFactory("bomz-db-pool-filler"));
+		this.executor.allowCoreThreadTimeOut(true);
+	}
+
+	/**
+	 * 동시에 생성할 수 있는 최대 커넥션 수 변경
+	 * @param maxPendingCount		동시에 생성할 수 있는 최대 커넥션 수
+	 */
+	synchronized void setMaxPendingCount(int maxPendingCount){
+		if( maxPendingCount > this.executor.getMaximumPoolSize() ){
+			this.executor.setMaximumPoolSize(maxPendingCount);
+			this.executor.setCorePoolSize(maxPendingCount);
+		}else{
+			this.executor.setCorePoolSize(maxPendingCount);
+			this.executor.setMaximumPoolSize(maxPendingCount);
+		}
+		this.maxPendingCount = maxPendingCount;
+	}
+
+	/**
+	 * 필요한 만큼 커넥션 생성 요청<br>
+	 * 호출 스레드는 생성을 기다리지 않는다
+	 * @param demand		이 호출 이후 커넥션 반환을 기다릴 스레드 수
+	 */
+	void fill(int demand){
+		int pending;
+		while( true ){
+			pending = this.pendingCount.get();
+			if( pending >= this.maxPendingCount )		return;
+			if( !this.pool.needConnection(pending, demand) )		return;
+			if( !this.pendingCount.compareAndSet(pending, pending + 1) )		continue;
+
+			// 최대 연결 수를 넘지 않도록 자리 예약
+			if( !this.pool.reserveConnection() ){
+				this.pendingCount.decrementAndGet();
+				return;
+			}
+
+			try{
+				this.executor.execute(this::connect);
+			}catch(RejectedExecutionException e){
+				this.pool.cancelReservedConnection();
+				this.pendingCount.decrementAndGet();
+				return;
+			}
+		}
+	}
+
+	/**		예약된 자리에 커넥션 생성		*/
+	private void connect(){
+		boolean success = false;
+		try{
+			this.pool.newReservedConnection(false);
+			this.lastFailure = null;
+			success = true;
+		}catch(SQLException e){
+			this.lastFailure = new ConnectFailure(e, System.nanoTime());
+			logger.warn("database connect fail", e);
+		}finally{
+			this.pendingCount.decrementAndGet();
+		}
+
+		// 성공하였을 경우 아직 부족한 커넥션이 있는지 다시 확인. 실패하였을 경우 다음 요청 시 다시 시도한다
+		if( success )		this.fill(0);
+	}
+
+	/**
+	 * 백그라운드 커넥션 생성 종료<br>
+	 * 이미 생성 중인 커넥션은 생성이 끝난 후 풀에서 제외된다
+	 */
+	void shutdown(){
+		this.executor.shutdown();
+	}
+
+	/**
+	 * 지정한 시각 이후에 실패한 마지막 커넥션 생성 실패 원인<br>
+	 * 커넥션 대기 중에 발생한 실패만 전달하여, 이전의 일시적인 실패가 단순 대기 시간 초과를 접속 오류로 바꾸지 않게 한다
+	 * @param since		기준 시각 (System.nanoTime())
+	 * @return				기준 시각 이후에 실패하지 않았거나 마지막 생성이 성공하였을 경우 null
+	 */
+	SQLException getLastError(long since){
+		ConnectFailure failure = this.lastFailure;
+		if( failure == null || failure.time - since < 0 )		return null;
+		return failure.error;
+	}
+
+	/**
+	 * 생성 중인 커넥션 수
+	 * @return		생성 중인 커넥션 수
+	 */
+	int getPendingCount(){
+		return this.pendingCount.get();
+	}
+
+	/**		커넥션 생성 실패 원인과 실패 시각		*/
+	private static class ConnectFailure {
+		private final SQLException error;
+		private final long time;
+
+		private ConnectFailure(SQLException error, long time){
+			this.error = error;
+			this.time = time;
+		}
+	}
+}
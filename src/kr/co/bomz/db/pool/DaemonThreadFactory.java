@@ -0,0 +1,34 @@
+package kr.co.bomz.db.pool;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 풀 내부 작업용 데몬 스레드 생성<p>
+ * 스레드 이름은 [prefix]-[순번] 으로 지정된다
+ * 
+ * @author Bomz
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+public class DaemonThreadFactory implements ThreadFactory{
+
+	private final String prefix;
+	
+	private final AtomicInteger count = new AtomicInteger();
+	
+	/**
+	 * @param prefix		스레드 이름
+	 */
+	DaemonThreadFactory(String prefix){
+		this.prefix = prefix;
+	}
+	
+	@Override
+	public Thread newThread(Runnable r) {
+		Thread thread = new Thread(r, this.prefix + "-" + this.count.incrementAndGet());
+		thread.setDaemon(true);
+		return thread;
+	}
+}
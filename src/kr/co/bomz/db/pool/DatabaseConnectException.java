@@ -3,7 +3,7 @@ package kr.co.bomz.db.pool;
 import java.sql.SQLException;
 
 /**
- * 	ͺ̽    ߻
+ * 	데이터베이스 접속 실패 시 발생
  * 
  * @author Bomz
  * @version 1.0
@@ -15,4 +15,11 @@ public class DatabaseConnectException extends SQLException{
 	private static final long serialVersionUID = -7649410773513995247L;
 
 	public DatabaseConnectException(){}
+	
+	/**
+	 * @param cause		드라이버에서 발생한 접속 실패 원인
+	 */
+	public DatabaseConnectException(Throwable cause){
+		super(cause);
+	}
 }
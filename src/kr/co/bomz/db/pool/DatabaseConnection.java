@@ -1,13 +1,17 @@
 package kr.co.bomz.db.pool;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Savepoint;
 import java.sql.Statement;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 
 /**
  * 
- * ͺ̽ Ŀ  
+ * 데이터베이스 커낵션 정보 관리
  * 
  * @author Bomz
  * @version 1.0
@@ -16,40 +20,83 @@ import java.sql.Statement;
  */
 public class DatabaseConnection implements CloseEvent{
 
-	/**		Ŀؼ  ̵		*/
+	/**		커넥션 관리 아이디		*/
 	private final long id;
 	
-	/**		ͺ̽ Ŀؼ		*/
+	/**		데이터베이스 커넥션		*/
 	private Connection conn;
 	
-	/**		Ʈ 		*/
+	/**		PreparedStatement / CallableStatement 캐시		*/
+	private final StatementCache statementCache;
+	
+	/**		트랜잭션 설정값		*/
 	private Savepoint savepoint = null;
+	
+	/**		트랜잭션 시작 시 변경하기 전의 격리 수준. 변경하지 않았을 경우 Transaction.DEFAULT_ISOLATION		*/
+	private int previousIsolation = Transaction.DEFAULT_ISOLATION;
+	
+	/**		읽기 전용으로 시작한 트랜잭션 여부		*/
+	private boolean readOnlyTransaction = false;
 		
-	/**		 Ŀؼ ȣ ð		*/
+	/**		마지막 커넥션 호출 시간		*/
 	private long lastCallTime = System.currentTimeMillis();
 	
+	/**		ConnectionBag 에서 관리하는 커넥션 상태		*/
+	private volatile int state = ConnectionBag.STATE_NOT_IN_USE;
+	
+	private static final AtomicIntegerFieldUpdater<DatabaseConnection> STATE_UPDATER =
+			AtomicIntegerFieldUpdater.newUpdater(DatabaseConnection.class, "state");
+	
+	/**		풀의 트랜잭션 관리 수에 포함되었는지 여부		*/
+	private boolean countedTransaction = false;
+	
+	/**		연결 오류로 풀에서 제외된 커넥션 여부		*/
+	private volatile boolean evicted = false;
+	
+	/**		최대 사용 시간이 지나 반납 시 풀에서 제외할 커넥션 여부		*/
+	private volatile boolean retired = false;
+	
+	/**		최대 사용 시간 만료 시간. 0 일 경우 만료되지 않음		*/
+	private long expireTime = 0L;
+	
+	/**		커넥션 종료 여부		*/
+	private boolean closed = false;
+	
 	/**
-	 * ͺ̽ Ŀؼ 
-	 * @param id			Ŀؼ ̵
-	 * @param conn		Ŀؼ ü
+	 * 트랜잭션 중 수행한 변경 쿼리. 트랜잭션 종료 시 쿼리 캐시를 한번 더 무효화하는데 사용된다<br>
+	 * null 값은 변경 테이블을 알 수 없는 쿼리를 의미한다
 	 */
-	DatabaseConnection(long id, Connection conn){
+	private Set<String> writtenQueries = null;
+	
+	/**
+	 * 데이터베이스 커넥션 정보
+	 * @param id			커넥션 아이디
+	 * @param conn		커넥션 객체
+	 * @param statementCache		Statement 캐시
+	 */
+	DatabaseConnection(long id, Connection conn, StatementCache statementCache){
 		this.id = id;
 		this.conn = conn;
+		this.statementCache = statementCache;
 	}
 	
 	@Override
-	public void close() {
-		if( this.conn == null )		return;
+	public synchronized void close() {
+		// 개별 종료와 연결 해제로 인한 일괄 종료가 겹칠 수 있으므로 한번만 처리
+		if( this.conn == null || this.closed )		return;
+		this.closed = true;
 		
-		//  ̹Ƿ  Ʈ Ǿ   ѹ ó
+		// 강제 종료이므로 만약 트랜잭션이 설정되어 있을 경우 롤백 처리
 		if( this.savepoint != null ){
 			try{
 				this.conn.rollback(this.savepoint);
 			}catch(Exception e){}
 		}
 		
-		// ͺ̽  
+		// 캐시된 Statement 종료
+		this.statementCache.close();
+		
+		// 데이터베이스 연결 해제
 		try{
 			this.conn.close();
 		}catch(Exception e){}
@@ -63,7 +110,7 @@ public class DatabaseConnection implements CloseEvent{
 	}
 
 	/**
-	 * Ʈ  
+	 * 트랜잭션 시작 여부
 	 * @return
 	 */
 	boolean isStartTransaction() {
@@ -71,8 +118,8 @@ public class DatabaseConnection implements CloseEvent{
 	}
 	
 	/**
-	 * Ʈ 
-	 * @throws SQLException		Ʈ  
+	 * 트랜잭션 시작
+	 * @throws SQLException		트랜잭션 시작 오류
 	 */
 	void startTransaction() throws SQLException{
 		this.conn.setAutoCommit(false);
@@ -80,9 +127,52 @@ public class DatabaseConnection implements CloseEvent{
 	}
 	
 	/**
-	 * ͺ̽ Ŀ
-	 * @throws NonTransactionException		Ʈ   ¿ ȣ  ߻
-	 * @throws SQLException						ͺ̽ ó   
+	 * 격리 수준과 읽기 전용 여부를 지정하여 트랜잭션 시작<br>
+	 * 변경한 설정은 트랜잭션 종료 시 원래대로 되돌린다
+	 * @param isolationLevel		격리 수준 (java.sql.Connection.TRANSACTION_...). Transaction.DEFAULT_ISOLATION 일 경우 변경하지 않음
+	 * @param readOnly				읽기 전용 트랜잭션 여부
+	 * @throws SQLException		트랜잭션 시작 오류
+	 */
+	void startTransaction(int isolationLevel, boolean readOnly) throws SQLException{
+		try{
+			if( isolationLevel != Transaction.DEFAULT_ISOLATION ){
+				int isolation = this.conn.getTransactionIsolation();
+				if( isolation != isolationLevel ){
+					this.conn.setTransactionIsolation(isolationLevel);
+					this.previousIsolation = isolation;
+				}
+			}
+			
+			// 드라이버에 따라 트랜잭션 중에는 변경할 수 없으므로 시작 전에 설정
+			if( readOnly ){
+				this.conn.setReadOnly(true);
+				this.readOnlyTransaction = true;
+			}
+			
+			this.startTransaction();
+		}catch(SQLException e){
+			this.resetTransactionOptions();
+			throw e;
+		}
+	}
+	
+	/**		트랜잭션 시작 시 변경한 격리 수준과 읽기 전용 설정을 원래대로 변경		*/
+	private void resetTransactionOptions(){
+		if( this.readOnlyTransaction ){
+			this.readOnlyTransaction = false;
+			try{		this.conn.setReadOnly(false);		}catch(Exception e){}
+		}
+		
+		if( this.previousIsolation != Transaction.DEFAULT_ISOLATION ){
+			try{		this.conn.setTransactionIsolation(this.previousIsolation);		}catch(Exception e){}
+			this.previousIsolation = Transaction.DEFAULT_ISOLATION;
+		}
+	}
+	
+	/**
+	 * 데이터베이스 커밋
+	 * @throws NonTransactionException		트랜잭션이 선언되지 않은 상태에서 호출 시 발생
+	 * @throws SQLException						데이터베이스 처리 중 오류 
 	 */
 	void commit() throws NonTransactionException, SQLException{
 		if( this.savepoint == null )		throw new NonTransactionException();
@@ -92,13 +182,14 @@ public class DatabaseConnection implements CloseEvent{
 			this.savepoint = null;
 			if( !this.conn.getAutoCommit() )
 				try{		this.conn.setAutoCommit(true);	}catch(Exception e){}
+			this.resetTransactionOptions();
 		}
 	}
 
 	/**
-	 * ͺ̽ ѹ
-	 * @throws NonTransactionException		Ʈ   ¿ ȣ  ߻
-	 * @throws SQLException						ͺ̽ ó   
+	 * 데이터베이스 롤백
+	 * @throws NonTransactionException		트랜잭션이 선언되지 않은 상태에서 호출 시 발생
+	 * @throws SQLException						데이터베이스 처리 중 오류 
 	 */
 	void rollback() throws NonTransactionException, SQLException{
 		if( this.savepoint == null )		throw new NonTransactionException();
@@ -108,43 +199,190 @@ public class DatabaseConnection implements CloseEvent{
 			this.savepoint = null;
 			if( !this.conn.getAutoCommit() )
 				try{		this.conn.setAutoCommit(true);	}catch(Exception e){}
+			this.resetTransactionOptions();
 		}
 	}
 	
 	/**
-	 * Ŀؼ  
-	 * @return		Ǿ  true
-	 * @throws SQLException		Ŀؼ Ῡ ˻   ߻
+	 * 커넥션 종료 여부
+	 * @return		종료되었을 경우 true
+	 * @throws SQLException		커넥션 연결여부 검사 오류 시 발생
 	 */
 	boolean isClosed() throws SQLException{
 		return this.conn.isClosed();
 	}
 	
 	/**
-	 *  
-	 * @param sql		ͺ̽ 
+	 * 커넥션 유효성 검사
+	 * @param timeout		응답 대기 시간 (단위:초)
+	 * @return				유효할 경우 true
+	 * @throws SQLException		검사 오류 시 발생
+	 */
+	boolean isValid(int timeout) throws SQLException{
+		return this.conn.isValid(timeout);
+	}
+	
+	/**
+	 * 쿼리 실행
+	 * @param sql		데이터베이스 쿼리
 	 * @param type	Statement type
-	 * @return			  
+	 * @param statementCacheSize		Statement 캐시 최대 크기. 0 일 경우 캐시를 사용하지 않음
+	 * @return			쿼리 실행 결과
 	 * @throws SQLException
 	 */
-	Statement getStatement(String sql, StatementType type) throws SQLException{
-		//  ȣ ð 
+	Statement getStatement(String sql, StatementType type, int statementCacheSize) throws SQLException{
+		// 마지막 호출 시간 변경
 		this.lastCallTime = System.currentTimeMillis();
 		
 		switch(type){
 		case STATEMENT :						return this.conn.createStatement();
-		case PREPARED_STATEMENT : return this.conn.prepareStatement(sql);
-		case CALLABLE_STATEMENT :	return this.conn.prepareCall(sql);
+		case PREPARED_STATEMENT : 
+		case CALLABLE_STATEMENT :	return this.statementCache.take(this.conn, sql, type, statementCacheSize);
 		default :										throw new QueryTypeException(type.name());
 		}
 		
 	}
+	
+	/**
+	 * 사용이 끝난 Statement 반납<br>
+	 * PreparedStatement / CallableStatement 는 캐시에 보관되며, 그 외에는 종료된다
+	 * @param sql		데이터베이스 쿼리
+	 * @param type	Statement type
+	 * @param st		사용이 끝난 Statement
+	 */
+	void releaseStatement(String sql, StatementType type, Statement st){
+		if( type == StatementType.STATEMENT ){
+			try{		st.close();		}catch(Exception e){}
+		}else{
+			this.statementCache.release(sql, type, (PreparedStatement)st);
+		}
+	}
 		
 	/**
-	 *  ȣ ð
+	 * ConnectionBag 에서 관리하는 커넥션 상태
+	 * @return		커넥션 상태
+	 */
+	int getState(){
+		return this.state;
+	}
+	
+	/**
+	 * ConnectionBag 에서 관리하는 커넥션 상태 변경
+	 * @param state		커넥션 상태
+	 */
+	void setState(int state){
+		this.state = state;
+	}
+	
+	/**
+	 * 현재 상태가 expect 와 같을 경우에만 커넥션 상태 변경
+	 * @param expect		변경 전 상태
+	 * @param update		변경할 상태
+	 * @return					변경하였을 경우 true
+	 */
+	boolean compareAndSetState(int expect, int update){
+		return STATE_UPDATER.compareAndSet(this, expect, update);
+	}
+	
+	/**
+	 * 풀의 트랜잭션 관리 수에 포함되었는지 여부
+	 * @return		포함되었을 경우 true
+	 */
+	boolean isCountedTransaction(){
+		return this.countedTransaction;
+	}
+	
+	/**
+	 * 풀의 트랜잭션 관리 수 포함 여부 설정
+	 * @param countedTransaction		포함 여부
+	 */
+	void setCountedTransaction(boolean countedTransaction){
+		this.countedTransaction = countedTransaction;
+	}
+	
+	/**
+	 * 마지막 호출 시간
 	 * @return
 	 */
 	long getLastCallTime(){
 		return this.lastCallTime;
 	}
+	
+	/**
+	 * 마지막 호출 시간 변경
+	 * @param lastCallTime		호출 시간
+	 */
+	void setLastCallTime(long lastCallTime){
+		this.lastCallTime = lastCallTime;
+	}
+	
+	/**		연결 오류로 풀에서 제외		*/
+	void evict(){
+		this.evicted = true;
+	}
+	
+	/**
+	 * 연결 오류로 풀에서 제외된 커넥션 여부
+	 * @return		제외되었을 경우 true
+	 */
+	boolean isEvicted(){
+		return this.evicted;
+	}
+	
+	/**		최대 사용 시간이 지났으므로 사용이 끝나면 풀에서 제외		*/
+	void retire(){
+		this.retired = true;
+	}
+	
+	/**
+	 * 최대 사용 시간이 지나 반납 시 풀에서 제외할 커넥션 여부
+	 * @return		제외할 경우 true
+	 */
+	boolean isRetired(){
+		return this.retired;
+	}
+	
+	/**
+	 * 최대 사용 시간 만료 시간 설정
+	 * @param expireTime		만료 시간. 0 일 경우 만료되지 않음
+	 */
+	void setExpireTime(long expireTime){
+		this.expireTime = expireTime;
+	}
+	
+	/**
+	 * 최대 사용 시간 만료 시간
+	 * @return		만료 시간. 0 일 경우 만료되지 않음
+	 */
+	long getExpireTime(){
+		return this.expireTime;
+	}
+	
+	/**
+	 * 트랜잭션 중 수행한 변경 쿼리 추가
+	 * @param sql		변경 쿼리. 변경 테이블을 알 수 없을 경우 null
+	 */
+	void addWrittenQuery(String sql){
+		if( this.writtenQueries == null )		this.writtenQueries = new HashSet<String>();
+		this.writtenQueries.add(sql);
+	}
+	
+	/**
+	 * 트랜잭션 중 수행한 변경 쿼리를 리턴한 후 비운다
+	 * @return		변경 쿼리 목록. 없을 경우 null
+	 */
+	Set<String> takeWrittenQueries(){
+		Set<String> writtenQueries = this.writtenQueries;
+		this.writtenQueries = null;
+		return writtenQueries;
+	}
+	
+	/**
+	 * 최대 사용 시간 만료 여부
+	 * @param now		현재 시간
+	 * @return			만료되었을 경우 true
+	 */
+	boolean isExpired(long now){
+		return this.expireTime > 0 && now >= this.expireTime;
+	}
 }
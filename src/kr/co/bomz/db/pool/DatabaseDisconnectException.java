@@ -4,7 +4,7 @@ import java.sql.SQLException;
 
 /**
  * 
- * ͺ̽    ߻
+ * 데이터베이스 접속 종료 시 발생
  * 
  * @author Bomz
  * @version 1.0
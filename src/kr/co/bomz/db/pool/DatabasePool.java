@@ -1,44 +1,55 @@
 package kr.co.bomz.db.pool;
 
-import java.math.BigDecimal;
-import java.net.URL;
-import java.sql.Array;
-import java.sql.Blob;
-import java.sql.Clob;
+import java.lang.management.ManagementFactory;
 import java.sql.Connection;
-import java.sql.Date;
+import java.sql.Driver;
 import java.sql.DriverManager;
-import java.sql.NClob;
 import java.sql.PreparedStatement;
-import java.sql.Ref;
 import java.sql.ResultSet;
-import java.sql.RowId;
 import java.sql.SQLException;
-import java.sql.SQLXML;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTimeoutException;
 import java.sql.Statement;
-import java.sql.Time;
-import java.sql.Timestamp;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
-import java.util.Queue;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 
 /**
- * ͺ̽ Ŀؼ Ǯ<p>
- *  )<br>
+ * 데이터베이스 커넥션 풀<p>
+ * 사용 예)<br>
  * <code>
  * 		DatabasePool pool = new DatabasePool(driver, url, id, pw);<br>
  * 		pool.setValidationQuery("SELECT 1");<br>
  * 		ResultSet rs = pool.selectQueryToStatement("SELECT NAME, AGE, ADDR FROM USER");<br>
  * </code>
  * <p>
- * selectQueryTo... ޼ҵ带   ResultSet    ð  ͺ̽ Ŀؼ Ǯ
- * ڵ    ȿ ޸𸮰 ؼ ڰ  ֱ⸦ մϴ<p>
- *   ͺ̽   setValidationQuery(String query) ޼ҵ忡 ϰ  ׽Ʈ
- * Ͽָ       ֽϴ<p> 
+ * selectQueryTo... 메소드를 통해 얻은 ResultSet 의 경우 일정 시간이 지나면 데이터베이스 커넥션 풀에서
+ * 자동으로 종료시켜주지만 좀 더 효율적인 메모리관리를 위해서 사용자가 직접 종료시켜주기를 권장합니다<p>
+ * 또한 지속적인 데이터베이스 연결을 위해 setValidationQuery(String query) 메소드에 부하가 적은 테스트쿼리를
+ * 설정하여주면 좀 더 좋은 성능을 발휘할 수 있습니다<p> 
  * 
  * @author Bomz
  * @version 1.0
@@ -51,64 +62,202 @@ public class DatabasePool {
 	
 	
 	/**	
-	 *  Ŀؼ      ִ Ŀؼ ȯ    ð (ms)
+	 * 모든 커넥션이 사용 중일 경우 사용할 수 있는 커넥션이 반환될 때 까지 대기 시간 (ms)
 	 */
 	private long returnConnectionWaitTime = 5000;
 	
 	/**
-	 *  java.sql.ResultSet ü ڵ ڿݳ ó ð
-	 * ⺻  = 15
+	 * 커넥션 대기 시간과 쿼리 수행 시간을 합한 기본 마감 시간 (ms)
+	 * 0 일 경우 사용하지 않음. 기본 값 = 0
+	 */
+	private long deadlineTime = 0;
+	
+	/**		startDeadline(long) 으로 시작한 스레드별 마감 시간		*/
+	private final ThreadLocal<Deadline> deadlines = new ThreadLocal<Deadline>();
+	
+	/**
+	 * 사용된 java.sql.ResultSet 객체의 자동 자원반납 처리 시간 (ms)
+	 * 기본 값 = 15초
 	 */
-	private static final long AUTO_CLOSE_RESULTSET_TIME = 15000L;
+	private long autoCloseResultTime = 15000L;
 	
-	/**		Ŀؼ ּ  		*/
+	/**		커넥션 최소 연결 수		*/
 	private int minConnectionQuantity = 5;
-	/**		Ŀؼ ִ  		*/
+	/**		커넥션 최대 연결 수		*/
 	private int maxConnectionQuantity = 15;
 	
+	/**		최소 사용 대기 커넥션 수. 사용 대기 커넥션이 이보다 적으면 미리 커넥션을 생성한다 (기본값 : 0)		*/
+	private int minIdleConnectionQuantity = 0;
+	
+	/**		백그라운드 커넥션 생성		*/
+	private final ConnectionFiller connectionFiller = new ConnectionFiller(this, 2);
+	
 	/**
-	 *    Ŀؼ  ť
+	 * 커넥션 보관 및 대여 관리<br>
+	 * 커넥션 반환을 기다리는 스레드가 있을 경우 반환 시 가장 오래 기다린 스레드에게 커넥션을 직접 전달한다
 	 */
-	private Queue<DatabaseConnection> connectionQueue = new java.util.concurrent.LinkedBlockingDeque<DatabaseConnection>();
+	private final ConnectionBag connectionBag = new ConnectionBag();
 	
 	/**
-	 * ͺ̽ Ʈ  
+	 * 데이터베이스 트랜잭션 관리 맵
 	 * KEY : Thread.currentThread.getId()
-	 * VALUE : ̵  Ŀؼ  ü
+	 * VALUE : 아이디에 대한 커넥션 연결 객체
 	 */
-	private Map<Long, DatabaseConnection> transactionMap = new HashMap<Long, DatabaseConnection>();
+	private Map<Long, DatabaseConnection> transactionMap = new ConcurrentHashMap<Long, DatabaseConnection>();
+	
+	/**		풀에서 생성하여 관리중인 전체 커넥션 수 (생성 중인 커넥션 포함)		*/
+	private final AtomicInteger totalConnectionCount = new AtomicInteger();
+	/**		트랜잭션이 시작된 커넥션 수		*/
+	private final AtomicInteger transactionConnectionCount = new AtomicInteger();
 	
-	/**		ͺ̽  URL		*/
+	/**		데이터베이스 접속 URL		*/
 	private String databaseUrl;
-	/**		ͺ̽  ̵		*/
+	/**		데이터베이스 접속 아이디		*/
 	private String databaseId;
-	/**		ͺ̽  ȣ		*/
+	/**		데이터베이스 접속 암호		*/
 	private String databasePassword;
 	
-	/**		ͺ̽ Ŀؼ  ̵ 		*/
+	/**		데이터베이스 접속 URL 을 처리하는 드라이버		*/
+	private Driver driver;
+	
+	/**		드라이버에 전달할 접속 정보 (user, password)		*/
+	private final Properties connectionProperties = new Properties();
+	
+	/**		데이터베이스 커넥션 관리 아이디 생성기		*/
 	private final IdGenerator idGenerator = new IdGenerator();
 	
-	/**		   ó ϴ DBCP Ŵ		*/
+	/**		설정값에 따른 여러 처리를 담당하는 DBCP 매니저		*/
 	private final DatabasePoolManager manager = new DatabasePoolManager(this);
 	
-	/**		 ͺ̽     		*/
+	/**		지속적인 데이터베이스 접속 유지를 위한 쿼리 설정		*/
 	private String validationQuery = null;
 	
-	/**		validationQuery ˻ ֱ (⺻ : 1ð)		*/
+	/**		validationQuery 검사 주기 (기본값 : 1시간)		*/
 	private long validationQueryTimeout = 3600000L;
+	
+	/**		validationQuery 응답 대기 시간 (기본값 : 5초)		*/
+	private int validationQueryResponseTimeout = 5;
+	
+	/**		최소 연결 수를 넘는 커넥션을 종료할 유휴 시간 (기본값 : 10분, 0 일 경우 종료하지 않음)		*/
+	private long idleTimeout = 600000L;
+	
+	/**		커넥션 최대 사용 시간 (기본값 : 30분, 0 일 경우 제한없음)		*/
+	private long maxLifetime = 1800000L;
+	
+	/**		커넥션 최대 사용 시간에서 임의로 줄일 최대 비율. 같은 시간에 생성된 커넥션이 한번에 종료되지 않도록 한다 (10%)		*/
+	private static final int MAX_LIFETIME_JITTER_DIVISOR = 10;
+	
+	/**		다음에 유효성 검사를 할 커넥션 위치. DatabasePoolManager 의 작업 스레드에서만 사용한다		*/
+	private int validationCursor = 0;
+	
+	/**		커넥션 대여 시 유효성 검사 여부 (기본값 : false)		*/
+	private volatile boolean testOnBorrow = false;
+	
+	/**		커넥션 대여 시 마지막 사용 후 이 시간이 지나지 않은 커넥션은 유효성 검사를 하지 않는다 (기본값 : 500ms)		*/
+	private long borrowValidationSkipTime = 500L;
+	
+	/**		커넥션 대여 시 Connection.isValid() 응답 대기 시간 (기본값 : 5초)		*/
+	private int borrowValidationTimeout = 5;
+	
+	/**		드라이버의 Connection.isValid() 지원 여부. 지원하지 않을 경우 validationQuery 로 검사한다		*/
+	private volatile boolean isValidSupported = true;
+	
+	/**		커넥션 오류 기록. 일정 시간 안에 여러 커넥션에서 오류가 발생하였을 경우에만 풀 전체를 다시 연결한다 (기본값 : 10초 안에 3번)		*/
+	private volatile FailureWindow failureWindow = new FailureWindow(3, 10000L);
+	
+	/**		배치 쿼리 수행 시 executeBatch() 를 호출할 파라메터 수 (기본값 : 1000)		*/
+	private int batchSize = 1000;
+	
+	/**		스트리밍 셀렉트 쿼리 수행 시 설정할 fetchSize (기본값 : 0, 드라이버 기본값 사용)		*/
+	private int fetchSize = 0;
+	
+	/**		커넥션별 PreparedStatement / CallableStatement 캐시 최대 크기 (기본값 : 0, 사용안함)		*/
+	private int statementCacheSize = 0;
+	
+	/**		Statement 캐시 적중 수		*/
+	private final LongAdder statementCacheHitCount = new LongAdder();
+	/**		Statement 캐시 실패 수		*/
+	private final LongAdder statementCacheMissCount = new LongAdder();
+	
+	/**		셀렉트 쿼리 결과 캐시 (기본값 : null, 사용안함)		*/
+	private volatile QueryCache queryCache = null;
+	
+	/**		쿼리 유형별 수행 통계 (기본값 : null, 사용안함)		*/
+	private volatile QueryStatistics queryStatistics = null;
+	
+	/**		셀렉트 쿼리로 리턴된 ResultSet 의 자원반납 누락 감지기. 사용하지 않을 경우 null		*/
+	private volatile ResultLeakDetector resultLeakDetector = null;
+	
+	/**		selectCachedQueryTo... 메소드에서 보관 시간을 지정하지 않았을 경우. QueryCache 의 기본 보관 시간을 사용한다		*/
+	private static final long DEFAULT_CACHE_TTL = -1L;
+	
+	/**		수행 수 및 수행 시간 기록		*/
+	private final DatabasePoolMetrics metrics = new DatabasePoolMetrics(this);
+	
+	/**		수행 수 및 수행 시간 기록 여부 (기본값 : false)		*/
+	private volatile boolean metricsEnabled = false;
+	
+	/**		JMX 에 등록된 이름		*/
+	private ObjectName mbeanName = null;
+	
+	/**		비동기 쿼리 수행 관리		*/
+	private final AsyncQueryExecutor asyncExecutor = new AsyncQueryExecutor(this);
+	
+	/**		StartupMode.PARALLEL 로 생성 시 최소 연결 수만큼 커넥션을 생성할 때까지 대기하는 최대 시간 (ms)		*/
+	private static final long STARTUP_TIMEOUT = 30000L;
+	
+	/**		생성 시 최소 연결 수만큼 커넥션을 생성할 때 동시에 생성할 수 있는 최대 커넥션 수		*/
+	private static final int MAX_STARTUP_CONCURRENCY = 16;
+	
+	/**		생성 시 커넥션 생성 작업 진행 상태		*/
+	private PoolStartup startup;
+	
+	/**		DatabasePoolRegistry 에 등록된 이름		*/
+	private String poolName = null;
+	
+	/**		풀 종료 여부		*/
+	private volatile boolean closed = false;
 
 	/**
-	 * ͺ̽ Ŀؼ Ǯ
+	 * 데이터베이스 커넥션 풀<br>
+	 * 최소 연결 수만큼의 커넥션을 병렬로 생성한 후 리턴한다 (StartupMode.PARALLEL)
 	 * 
-	 * @param driverClass		ͺ̽ ̹ Ŭ
-	 * @param url					ͺ̽  URL
-	 * @param id					ͺ̽ ̵
-	 * @param pw					ͺ̽ ȣ
-	 * @throws DatabasePropertyException		̹Ŭ ã    ߻
-	 * @throws NullPointerException					Ķ   null    ߻
-	 * @throws DatabaseConnectException		ͺ̽    ߻
+	 * @param driverClass		데이터베이스 드라이버 클래스
+	 * @param url					데이터베이스 접속 URL
+	 * @param id					데이터베이스 아이디
+	 * @param pw					데이터베이스 암호
+	 * @throws DatabasePropertyException		드라이버클래스를 찾을 수 없을 경우 발생
+	 * @throws NullPointerException					파라메터 값 중 null 이 존재할 경우 발생
+	 * @throws DatabaseConnectException		데이터베이스 연결 실패 시 발생
 	 */
 	public DatabasePool(String driverClass, String url, String id, String pw) throws SQLException{
+		this(driverClass, url, id, pw, StartupMode.PARALLEL);
+	}
+	
+	/**
+	 * 데이터베이스풀 생성<br>
+	 * 사용이 끝난 데이터베이스풀은 close() 를 호출하여 종료해야 한다
+	 * @param driverClass		데이터베이스 드라이버 클래스
+	 * @param url					데이터베이스 접속 URL
+	 * @param id					데이터베이스 아이디
+	 * @param pw					데이터베이스 암호
+	 * @param startupMode		최소 연결 수만큼 커넥션을 생성하는 방법
+	 * @throws DatabasePropertyException		드라이버클래스를 찾을 수 없을 경우 발생
+	 * @throws NullPointerException					파라메터 값 중 null 이 존재할 경우 발생
+	 * @throws DatabaseConnectException		StartupMode.PARALLEL 일 경우 커넥션을 하나도 생성하지 못했을 때 발생
+	 */
+	public DatabasePool(String driverClass, String url, String id, String pw, StartupMode startupMode) throws SQLException{
+		try{
+			this.init(driverClass, url, id, pw, startupMode);
+		}catch(SQLException | RuntimeException e){
+			// 생성에 실패하였을 경우 공유 스케줄러 사용 수 등 이미 시작된 자원을 정리
+			this.close();
+			throw e;
+		}
+	}
+	
+	/**		접속 정보 검사 후 커넥션 초기화		*/
+	private void init(String driverClass, String url, String id, String pw, StartupMode startupMode) throws SQLException{
 		if( driverClass == null || driverClass.trim().equals("") ){
 			if( this.logger.isDebugEnabled())		this.logger.debug("database driverClass is null");
 			throw new NullPointerException("driverClass is null");
@@ -138,36 +287,94 @@ public class DatabasePool {
 		this.databaseId = id.trim();
 		this.databasePassword = pw.trim();
 		
-		this.init();		// Ŀؼ ʱȭ 
+		this.connectionProperties.setProperty("user", this.databaseId);
+		this.connectionProperties.setProperty("password", this.databasePassword);
+		
+		// 커넥션 생성 시마다 DriverManager 의 드라이버 목록을 검색하지 않도록 URL 을 처리하는 드라이버를 보관
+		try{
+			this.driver = DriverManager.getDriver(this.databaseUrl);
+		}catch(SQLException e){
+			if( this.logger.isDebugEnabled())		this.logger.debug("no suitable driver for url {}", this.databaseUrl, e);
+			throw new DatabasePropertyException("no suitable driver for url " + this.databaseUrl);
+		}
+		
+		this.init(startupMode);		// 커넥션 초기화 실행
 	}
 	
 	/**
-	 * ͺ̽ Ǯ ʱȭ ۾<br>
-	 * ش ޼ҵ  ϸ, ̸ ͺ̽ ּ  ŭ   ش Ǯ ϰ   ȴ
+	 * 데이터베이스 풀 초기화 작업<br>
+	 * 최소 연결 수만큼의 커넥션을 병렬로 생성한다. StartupMode.LAZY 일 경우 생성 완료를 기다리지 않는다<br>
+	 * 일부 커넥션만 생성되었을 경우 경고 로그를 남기고 사용 가능한 상태로 시작하며, 부족한 커넥션은 이후 백그라운드에서 다시 생성된다
 	 * 
-	 * @throws SQLException							ͺ̽       ߻
-	 * @throws DatabasePropertyException		DB URL, ̵, ȣ  ʾ  ߻
-	 * @throws DatabaseConnectException		ͺ̽    ߻
+	 * @throws SQLException							데이터베이스 연결 후 쿼리 전송 오류 시 발생
+	 * @throws DatabasePropertyException		DB URL, 아이디, 암호가 설정되지 않았을 경우 발생
+	 * @throws DatabaseConnectException		데이터베이스 연결 실패 시 발생
 	 */
-	private void init() throws SQLException, DatabasePropertyException, DatabaseConnectException{
-		for(int i=0; i < this.minConnectionQuantity; i++){
-			if( this.connectionQueue.size() >= this.minConnectionQuantity )		break;
-			
-			try{
-				this.returnConnection( this.newConnection() );
-			}catch(DatabaseConnectException e){
-				throw e;
-			}catch(DatabasePropertyException e){
-				throw e;
-			}catch(SQLException e){
-				// Ŀؼ  ʱȭ 
-				throw e;
-			}
+	private void init(StartupMode startupMode) throws SQLException, DatabasePropertyException, DatabaseConnectException{
+		// 최소 연결 수만큼 자리 예약
+		int count = 0;
+		while( count < this.minConnectionQuantity && this.reserveConnection() )		count++;
+		
+		PoolStartup startup = new PoolStartup(count);
+		this.startup = startup;
+		if( count == 0 )		return;
+		
+		// 생성 작업이 끝나면 스레드도 종료된다
+		ExecutorService executor = Executors.newFixedThreadPool(Math.min(count, MAX_STARTUP_CONCURRENCY), new DaemonThreadFactory("bomz-db-pool-startup"));
+		for(int i=0; i < count; i++){
+			executor.execute(() -> {
+				try{
+					this.newReservedConnection(false);
+					startup.connected();
+				}catch(SQLException e){
+					startup.failed(e);
+				}
+			});
+		}
+		executor.shutdown();
+		
+		if( startupMode == StartupMode.LAZY )		return;
+		
+		boolean done;
+		try{
+			done = startup.await(STARTUP_TIMEOUT, TimeUnit.MILLISECONDS);
+		}catch(InterruptedException e){
+			Thread.currentThread().interrupt();
+			done = false;
 		}
+		
+		if( startup.getConnectedCount() > 0 ){
+			if( !done || startup.getFailedCount() > 0 )		this.logger.warn("startup connections partially created [{}]", startup, startup.getLastError());
+			return;
+		}
+		
+		// 하나도 생성하지 못했을 경우
+		if( startup.getLastError() != null )		throw startup.getLastError();
+		throw new DatabaseConnectException(new SQLTimeoutException("startup connection timeout " + STARTUP_TIMEOUT + "ms"));
+	}
+	
+	/**
+	 * 생성 시 최소 연결 수만큼 커넥션을 생성하는 작업이 끝날 때까지 대기<br>
+	 * StartupMode.LAZY 로 생성하였을 경우 사용할 수 있다
+	 * @param timeout		최대 대기 시간 (단위:ms)
+	 * @return					대기 시간 안에 모든 커넥션이 생성되었을 경우 true. 일부 생성에 실패하였거나 시간이 초과되었을 경우 false
+	 * @throws InterruptedException		대기 중 인터럽트 발생 시
+	 */
+	public boolean awaitReady(long timeout) throws InterruptedException{
+		PoolStartup startup = this.startup;
+		return startup.await(timeout, TimeUnit.MILLISECONDS) && startup.getFailedCount() == 0;
+	}
+	
+	/**
+	 * 생성 시 최소 연결 수만큼 커넥션을 생성하는 작업의 진행 상태
+	 * @return		생성된 커넥션 수, 실패한 커넥션 수 등 진행 상태
+	 */
+	public PoolStartup getStartup(){
+		return this.startup;
 	}
 		
 	/**
-	 * ͺ̼     
+	 * 데이터베이서 접속 유지를 위한 쿼리 설정
 	 * @param validationQuery
 	 */
 	public void setValidationQuery(String validationQuery){
@@ -176,9 +383,9 @@ public class DatabasePool {
 	}
 	
 	/**
-	 * Ŀؼ ּ   ִ   
-	 * @param minConnectionQuantity		ּ  1
-	 * @param maxConnectionQuantity		minConnectionQuantity    minConnectionQuantity + 1
+	 * 커넥션 최소 연결 수와 최대 연결 수 설정
+	 * @param minConnectionQuantity		최소 값 1
+	 * @param maxConnectionQuantity		minConnectionQuantity 보다 작을 경우 minConnectionQuantity + 1
 	 */
 	public void setConnectionQuantity(int minConnectionQuantity, int maxConnectionQuantity) {
 		if( minConnectionQuantity <= 0 )		minConnectionQuantity = this.minConnectionQuantity;
@@ -188,13 +395,41 @@ public class DatabasePool {
 		this.maxConnectionQuantity = maxConnectionQuantity;
 		
 		if( this.logger.isDebugEnabled())		this.logger.debug("setting connection quantity [min:{}, max:{}]", this.minConnectionQuantity, this.maxConnectionQuantity);
+		
+		// 최소 연결 수가 늘어났을 경우 백그라운드에서 커넥션 생성
+		this.connectionFiller.fill(0);
 	}
 
 	/**
-	 * ȿ ˻  ˻ ֱ<br>
-	 * ⺻ : 1ð
-	 * ּҰ : 10
-	 * @param validationQueryTimeout : (:10=10)
+	 * 최소 사용 대기 커넥션 수<br>
+	 * 사용 대기 중인 커넥션이 이 수보다 적어지면 최대 연결 수를 넘지 않는 범위에서 백그라운드로 미리 커넥션을 생성한다<br>
+	 * 기본값 : 0 (커넥션을 기다리는 스레드가 있을 때만 생성)
+	 * @param minIdleConnectionQuantity		최소 사용 대기 커넥션 수
+	 */
+	public void setMinIdleConnectionQuantity(int minIdleConnectionQuantity) {
+		this.minIdleConnectionQuantity = minIdleConnectionQuantity < 0 ? 0 : minIdleConnectionQuantity;
+		if( this.logger.isDebugEnabled())		this.logger.debug("setting min idle connection quantity [{}]", this.minIdleConnectionQuantity);
+		
+		this.connectionFiller.fill(0);
+	}
+	
+	/**
+	 * 백그라운드에서 동시에 생성할 수 있는 최대 커넥션 수<br>
+	 * 기본값 : 2
+	 * 최소값 : 1
+	 * @param maxConcurrentConnectQuantity		동시에 생성할 수 있는 최대 커넥션 수
+	 */
+	public void setMaxConcurrentConnectQuantity(int maxConcurrentConnectQuantity) {
+		if( maxConcurrentConnectQuantity < 1 )		maxConcurrentConnectQuantity = 1;
+		this.connectionFiller.setMaxPendingCount(maxConcurrentConnectQuantity);
+		if( this.logger.isDebugEnabled())		this.logger.debug("setting max concurrent connect quantity [{}]", maxConcurrentConnectQuantity);
+	}
+	
+	/**
+	 * 유효성 검사 쿼리 검사 주기<br>
+	 * 기본값 : 1시간
+	 * 최소값 : 10분
+	 * @param validationQueryTimeout 단위:분 (예:10분=10)
 	 */
 	public void setValidationQueryTimeout(long validationQueryTimeout) {
 		if( validationQueryTimeout <= 0 )		return;
@@ -203,394 +438,2101 @@ public class DatabasePool {
 		if( this.logger.isDebugEnabled())		this.logger.debug("setting validation query timeout [{} minute]", validationQueryTimeout);
 	}
 	
-	/**		ͺ̽ Ŀؼ ݳ		*/
-	private void returnConnection(DatabaseConnection dc){
-		if( dc == null )		return;
-		
-		if( this.idGenerator.getNowId() == dc.getId() ){
-			//  ʴ ̵  
-			
-			if( dc.isStartTransaction() )		this.transactionMap.put(Thread.currentThread().getId(), dc);
-			else											this.connectionQueue.offer(dc);
-		}
-//		else{
-//			ؾ ϴ ̵  
-//			 ó ʿ  DbcpManager  ڵ  Ų	
-//		}
+	/**
+	 * 유효성 검사 쿼리 응답 대기 시간<br>
+	 * 응답이 없는 커넥션의 검사가 관리 작업 스레드를 계속 점유하지 않도록 Statement.setQueryTimeout(int) 으로 설정된다<br>
+	 * 기본값 : 5
+	 * @param validationQueryResponseTimeout		대기 시간 (단위:초). 0 일 경우 드라이버 기본값
+	 */
+	public void setValidationQueryResponseTimeout(int validationQueryResponseTimeout) {
+		if( validationQueryResponseTimeout < 0 )		return;
+		this.validationQueryResponseTimeout = validationQueryResponseTimeout;
+		if( this.logger.isDebugEnabled())		this.logger.debug("setting validation query response timeout [{} second]", this.validationQueryResponseTimeout);
 	}
 	
 	/**
-	 * DatabasePoolManager  ȣѴ</br>
-	 *  Ŀؼ   ð  Ŀؼ validationQuery   ȿ Ȯ
+	 * 최소 연결 수를 넘는 커넥션 중 사용하지 않은 시간이 지정한 시간을 넘은 커넥션 종료<br>
+	 * 기본값 : 600000 (10분)
+	 * @param idleTimeout		유휴 시간 (단위:ms). 0 일 경우 종료하지 않음
 	 */
-	void checkConnectionValidation(){
-		//  ð ˻ ð Ѵ
-		long checkTime = System.currentTimeMillis() - this.validationQueryTimeout;
-		CheckType checkType = null;
-		
-		// connectionQueue   Ŀؼ ˻
-		int size = this.connectionQueue.size();
-		DatabaseConnection dc;
-		
-		for(int i=0; i < size; i++){
-			dc = this.connectionQueue.poll();
-			checkType = this.checkConnectionValidation( checkTime, dc, true );
-			
-			if( checkType == CheckType.SUCCESS ) 	this.returnConnection(dc);		// ˻ Ϸ Ŀؼ ݳ
-			else if( checkType == CheckType.FAIL )		break;
-			else  	 dc.close();		// return is CheckType.PASS
-		}
-		
-		// false  Ǿ   Ǿ 
-		if( checkType != null && checkType == CheckType.FAIL )		return;
-		
-		// transactionMap   Ŀؼ ˻
-		try{		// 忡  ó̱⶧ Map   ó   
-			java.util.Iterator<DatabaseConnection> connections = this.transactionMap.values().iterator();
-			while( connections.hasNext() ){
-				// fail    Ǿ 
-				if( this.checkConnectionValidation( checkTime, connections.next(), false ) == CheckType.FAIL)		break;
-			}
-		}catch(Exception e){}		// Ư  ó 
+	public void setIdleTimeout(long idleTimeout) {
+		if( idleTimeout < 0 )		return;
+		this.idleTimeout = idleTimeout;
+		if( this.logger.isDebugEnabled())		this.logger.debug("setting idle timeout [{} ms]", this.idleTimeout);
 	}
 	
-	/**		
-	 * 		ֱ  Ŀؼ   ð Ȯ  ð̻
-	 * 		  validationQuery Ͽ    
-	 * @param checkTime		 ð - validationQueryTimeout
-	 * @param dc					Ŀؼ 
-	 * @param pass				˻ н 
-	 * @return						 ߻  false
+	/**
+	 * 커넥션 최대 사용 시간<br>
+	 * 이 시간이 지난 커넥션은 사용이 끝난 후 종료되고 새로운 커넥션으로 교체된다.
+	 * 한번에 많은 커넥션이 교체되지 않도록 커넥션마다 최대 10% 까지 임의로 짧게 적용된다<br>
+	 * 기본값 : 1800000 (30분)
+	 * @param maxLifetime		최대 사용 시간 (단위:ms). 0 일 경우 제한없음
 	 */
-	private CheckType checkConnectionValidation(long checkTime, DatabaseConnection dc, boolean pass){
-		if( dc == null )		return CheckType.SUCCESS;
-		
-		//   ð ˻ ð  ʾ 
-		if( checkTime <= dc.getLastCallTime() )		return CheckType.SUCCESS;
-		
-		try{
-			if( pass && (this.minConnectionQuantity < this.transactionMap.size() + this.connectionQueue.size())){
-				//   Ŀؼ  ּ     ش ĿؼǸ Ḧ  PASS 
-				return CheckType.PASS;
-			}
-			this.testValidationQuery(dc);
-			return CheckType.SUCCESS;
-		}catch(SQLException e){
-			//      ó
-//			this.connectionQueue.offer(dc);		// ٽ ť  ʴ´. DatabasePoolManager  Ŵ
-			this.disconnectDatabase();
-			return CheckType.FAIL;
-		}
+	public void setMaxLifetime(long maxLifetime) {
+		if( maxLifetime < 0 )		return;
+		this.maxLifetime = maxLifetime;
+		if( this.logger.isDebugEnabled())		this.logger.debug("setting max lifetime [{} ms]", this.maxLifetime);
 	}
 	
-	/**		ͺ̽ Ŀؼ û		*/
-	private DatabaseConnection requestConnection() throws SQLException, DatabaseConnectException{
-		
-		//  Ʈ Ŀؼ 
-		DatabaseConnection resultConn = this.transactionMap.remove(Thread.currentThread().getId());
-		if( resultConn != null )		return resultConn;
-				
-		//   Ŀؼ 
-		while( true ){
-			resultConn = this.connectionQueue.poll();
-			if( resultConn == null )		break;		//  ̳   Ŀؼ ݳ 
-			if( resultConn.getId() == this.idGenerator.getNowId() ){
-				//   Ŀؼ ü ƴ 
-				return resultConn;
-			}
-			//   Ŀؼ ϵǾִ  poll()  ͸    ȯ
-		}
-		
-		//   Ŀؼ  ִġ  ʾҴٸ  Ͽ 
-		if( this.transactionMap.size() + this.connectionQueue.size() < this.maxConnectionQuantity )
-			return this.newConnection();		// ⼭  ߻ 
-				
-		// ִġ Ŀؼ ̶  ð    ȯ Ŀؼ 
-		resultConn = this.waitToReturnConnection();
-		if( resultConn != null )		return resultConn; 
-		
-		//   ִ Ŀؼ    ߻
-		throw new NotConnectionCanUseException();
+	/**
+	 * 커넥션 대여 시 유효성 검사 여부<br>
+	 * 드라이버가 Connection.isValid() 를 지원할 경우 이를 사용하며, 지원하지 않을 경우 validationQuery 를 수행한다.
+	 * 최근에 사용된 커넥션은 검사하지 않는다 (setBorrowValidationSkipTime 참고)<br>
+	 * 기본값 : false
+	 * @param testOnBorrow		검사할 경우 true
+	 */
+	public void setTestOnBorrow(boolean testOnBorrow) {
+		this.testOnBorrow = testOnBorrow;
+		if( this.logger.isDebugEnabled())		this.logger.debug("setting test on borrow [{}]", this.testOnBorrow);
 	}
 	
+	/**
+	 * 커넥션 대여 시 유효성 검사를 생략할 시간<br>
+	 * 마지막 사용 후 이 시간이 지나지 않은 커넥션은 검사하지 않는다<br>
+	 * 기본값 : 500
+	 * @param borrowValidationSkipTime		생략할 시간 (단위:ms). 0 일 경우 항상 검사
+	 */
+	public void setBorrowValidationSkipTime(long borrowValidationSkipTime) {
+		if( borrowValidationSkipTime < 0 )		return;
+		this.borrowValidationSkipTime = borrowValidationSkipTime;
+		if( this.logger.isDebugEnabled())		this.logger.debug("setting borrow validation skip time [{} ms]", this.borrowValidationSkipTime);
+	}
 	
-	/**		  ִ Ŀؼ ȯ  ð ϸ鼭 ȯ Ŀؼ Ȯ		*/
-	private DatabaseConnection waitToReturnConnection(){
-		int repeatNumber = (int)this.returnConnectionWaitTime / 100;
-		
-		DatabaseConnection result;
-		
-		for(int i=0; i < repeatNumber; i++){
-			try{		Thread.sleep(100);		}catch(Exception e){}
-			result = this.connectionQueue.poll();
-			if( result != null )		return result;
-		}
-		
-		return null;
+	/**
+	 * 커넥션 대여 시 Connection.isValid() 응답 대기 시간<br>
+	 * 기본값 : 5
+	 * @param borrowValidationTimeout		대기 시간 (단위:초). 0 일 경우 드라이버 기본값
+	 */
+	public void setBorrowValidationTimeout(int borrowValidationTimeout) {
+		if( borrowValidationTimeout < 0 )		return;
+		this.borrowValidationTimeout = borrowValidationTimeout;
+		if( this.logger.isDebugEnabled())		this.logger.debug("setting borrow validation timeout [{} second]", this.borrowValidationTimeout);
 	}
 	
-	/**		
-	 * ο ͺ̽ Ŀؼ 
-	 * 
-	 * @return	ͺ̽ Ŀؼ ü
-	 * @throws SQLException	ͺ̽    ߻
-	 * @throws DatabasePropertyException		ͺ̽    ʾ  ߻
+	/**
+	 * 풀 전체를 다시 연결할 커넥션 오류 기준<br>
+	 * 오류가 발생한 커넥션은 각각 풀에서 제외되며, window 시간 안에 failureCount 번 이상 오류가 발생하였을 경우에만
+	 * 데이터베이스 연결이 끊긴 것으로 판단하여 모든 커넥션을 다시 연결한다<br>
+	 * 기본값 : 10초 안에 3번
+	 * @param failureCount		오류 수. 1 일 경우 오류가 발생할 때마다 모든 커넥션을 다시 연결한다
+	 * @param window				오류 수를 계산할 시간 (단위:ms)
 	 */
-	private DatabaseConnection newConnection() throws SQLException, DatabasePropertyException, DatabaseConnectException{
-		//   ˻
-		if( this.databaseUrl == null || this.databaseUrl.equals("") )		throw new DatabasePropertyException("ͺ̽  URL   ʾҽϴ");
-		if( this.databaseId == null || this.databaseId.equals("") )		throw new DatabasePropertyException("ͺ̽  ̵   ʾҽϴ");
-		if( this.databasePassword == null || this.databasePassword.equals("") )		throw new DatabasePropertyException("ͺ̽  ȣ   ʾҽϴ");
-
-		Connection conn = null;
-		try{
-			conn = DriverManager.getConnection(this.databaseUrl, this.databaseId, this.databasePassword);
-		}catch(SQLException e){
-			throw new DatabaseConnectException();
-		}
-		
-		try{
-			DatabaseConnection result = new DatabaseConnection(this.idGenerator.getNowId(), conn);
-			this.testValidationQuery(result);	//    
-			
-			this.manager.addCloseEvent(result);		//  ̺Ʈ ó  ֵ Ŵ 
-			
-			return result;
-		}catch(SQLException e){
-			//  κп ܰ ߻  ͺ̽  Ȱɷ Ѵ
-			this.disconnectDatabase();
-			if( conn != null )		try{	conn.close();		}catch(Exception e1){}
-			throw e;
-		}
+	public void setPoolFlushThreshold(int failureCount, long window) {
+		if( failureCount < 1 || window < 0 )		return;
+		this.failureWindow = new FailureWindow(failureCount, window);
+		if( this.logger.isDebugEnabled())		this.logger.debug("setting pool flush threshold [{} fail / {} ms]", failureCount, window);
 	}
 	
-	/**		ο   ׽Ʈ  		*/
-	private void testValidationQuery(DatabaseConnection dc) throws SQLException{
-		if( this.validationQuery == null )		return;
-		
-		Statement st = null;
-		ResultSet rs = null;
-		try{
-			st = dc.getStatement(null, StatementType.STATEMENT);
-			rs = st.executeQuery(this.validationQuery);
-		}catch(SQLException e){
-			throw new SQLException("Validation Query : " + this.validationQuery, e);
-		}finally{
-			if( rs != null ){		try{		rs.close();		}catch(Exception e){}	}
-			if( st != null ){		try{		st.close();		}catch(Exception e){}	}
-		}
+	/**
+	 * 모든 커넥션이 사용 중일 경우 사용할 수 있는 커넥션의 반환을 기다리는 최대 시간<br>
+	 * 기본값 : 5000
+	 * @param returnConnectionWaitTime		대기 시간 (단위:ms)
+	 */
+	public void setReturnConnectionWaitTime(long returnConnectionWaitTime) {
+		if( returnConnectionWaitTime < 0 )		return;
+		this.returnConnectionWaitTime = returnConnectionWaitTime;
+		if( this.logger.isDebugEnabled())		this.logger.debug("setting return connection wait time [{} ms]", this.returnConnectionWaitTime);
 	}
 	
-	/**		ͺ̽  		*/
-	private void disconnectDatabase(){
-		
-		long id = this.idGenerator.getNowId();
-		
-		//  ų ̵ Ŵ 
-		this.manager.runCloseEvent(id);
-		
-		//  ̵  
-		this.idGenerator.next();
+	/**
+	 * 쿼리 호출마다 적용할 기본 마감 시간<br>
+	 * 커넥션 대기 시간은 returnConnectionWaitTime 과 남은 마감 시간 중 짧은 시간으로 제한되며,
+	 * 커넥션을 받은 후 남은 시간은 Statement.setQueryTimeout(int) 으로 설정되고 마감 시간이 지나면 Statement.cancel() 로 취소된다<br>
+	 * 마감 시간이 지났을 경우 DeadlineExceededException 이 발생한다<br>
+	 * startDeadline(long) 으로 시작한 마감 시간이 있을 경우 해당 마감 시간이 우선한다<br>
+	 * 기본값 : 0 (사용안함)
+	 * @param deadlineTime		마감 시간 (단위:ms)
+	 */
+	public void setDeadlineTime(long deadlineTime) {
+		if( deadlineTime < 0 )		return;
+		this.deadlineTime = deadlineTime;
+		if( this.logger.isDebugEnabled())		this.logger.debug("setting deadline time [{} ms]", this.deadlineTime);
 	}
 	
 	/**
-	 * Ʈ <br>
-	 * ش ޼ҵ带 ȣ ݵ commit() Ǵ rollback()  ȣؾ 
-	 * @throws SQLException Ŀؼ   ų Ʈ   ߻ 
+	 * 커넥션별 PreparedStatement / CallableStatement 캐시 최대 크기<br>
+	 * 같은 쿼리를 반복 수행할 경우 Statement 를 다시 생성하지 않고 재사용한다<br>
+	 * 기본값 : 0 (사용안함)
+	 * @param statementCacheSize		커넥션별 캐시 최대 크기
 	 */
-	public void startTransaction() throws SQLException{
-		DatabaseConnection dc = this.requestConnection();
-		dc.startTransaction();
-		this.transactionMap.put(Thread.currentThread().getId(), dc);
+	public void setStatementCacheSize(int statementCacheSize) {
+		if( statementCacheSize < 0 )		statementCacheSize = 0;
+		this.statementCacheSize = statementCacheSize;
+		if( this.logger.isDebugEnabled())		this.logger.debug("setting statement cache size [{}]", this.statementCacheSize);
 	}
 	
 	/**
-	 * ͺ̽ Ŀ
-	 * @throws NonTransactionException		Ʈ   ¿ ȣ  ߻
-	 * @throws SQLException						ͺ̽ ó   
+	 * 배치 쿼리 수행 시 한번에 전송할 파라메터 수<br>
+	 * 지정한 수만큼 addBatch() 가 호출될 때마다 executeBatch() 를 호출한다<br>
+	 * 기본값 : 1000
+	 * @param batchSize		한번에 전송할 파라메터 수
 	 */
-	public void commit() throws NonTransactionException, SQLException{
-		DatabaseConnection dc = this.requestConnection();
-		dc.commit();
-		this.returnConnection(dc);
+	public void setBatchSize(int batchSize) {
+		if( batchSize <= 0 )		return;
+		this.batchSize = batchSize;
+		if( this.logger.isDebugEnabled())		this.logger.debug("setting batch size [{}]", this.batchSize);
 	}
 	
 	/**
-	 * ͺ̽ ѹ
-	 * @throws NonTransactionException		Ʈ   ¿ ȣ  ߻
-	 * @throws SQLException						ͺ̽ ó   
+	 * 셀렉트 쿼리로 리턴된 java.sql.ResultSet 의 자동 자원반납 처리 시간<br>
+	 * 사용자가 ResultSet.close() 를 호출하지 않더라도 이 시간이 지나면 자원반납된다<br>
+	 * 0 이하일 경우 자동 자원반납을 하지 않으므로 반드시 ResultSet.close() 를 호출해야 한다<br>
+	 * 기본값 : 15000 (15초)
+	 * @param autoCloseResultTime		자동 자원반납 처리 시간 (단위:ms)
 	 */
-	public void rollback() throws NonTransactionException, SQLException{
-		DatabaseConnection dc = this.requestConnection();
-		dc.rollback();
-		this.returnConnection(dc);
+	public void setAutoCloseResultTime(long autoCloseResultTime) {
+		this.autoCloseResultTime = autoCloseResultTime;
+		if( this.logger.isDebugEnabled())		this.logger.debug("setting auto close result time [{}]", this.autoCloseResultTime);
 	}
 	
 	/**
-	 * java.sql.Statement  ̿ UPDATE / INSERT / DELETE  
-	 * @param sql		
-	 * @return			༺ ο 
-	 * @throws SQLException
+	 * 스트리밍 셀렉트 쿼리(RowHandler, RowMapper 사용) 수행 시 java.sql.Statement 에 설정할 fetchSize<br>
+	 * 드라이버가 결과를 한번에 모두 읽지 않고 지정한 수만큼 나누어 읽게 하여 메모리 사용량을 일정하게 유지한다<br>
+	 * 드라이버마다 스트리밍을 위한 값이 다를 수 있다 (예: MySQL 은 Integer.MIN_VALUE)<br>
+	 * 기본값 : 0 (드라이버 기본값 사용)
+	 * @param fetchSize		fetchSize
 	 */
-	public int queryToStatement(String sql) throws SQLException{
-		return (Integer)this.executeQuery(StatementType.STATEMENT, false, sql);
+	public void setFetchSize(int fetchSize) {
+		this.fetchSize = fetchSize;
+		if( this.logger.isDebugEnabled())		this.logger.debug("setting fetch size [{}]", this.fetchSize);
 	}
 	
 	/**
-	 * java.sql.PraparedStatement  ̿ UPDATE / INSERT / DELETE  
-	 * @param sql			
-	 * @param param		  Ķ
-	 * @return				༺ ο 
-	 * @throws SQLException
+	 * Statement 캐시 적중 수
+	 * @return		캐시된 Statement 를 재사용한 수
 	 */
-	public int queryToPreparedStatement(String sql, Object ... param) throws SQLException{
-		return (Integer)this.executeQuery(StatementType.PREPARED_STATEMENT, false, sql, param);
+	public long getStatementCacheHitCount(){
+		return this.statementCacheHitCount.sum();
 	}
 	
 	/**
-	 * java.sql.CallableStatement  ̿ UPDATE / INSERT / DELETE  
-	 * @param sql			
-	 * @param param		  Ķ
-	 * @return				༺ ο 
-	 * @throws SQLException
+	 * Statement 캐시 실패 수
+	 * @return		캐시된 Statement 가 없어 새로 생성한 수
 	 */
-	public int queryToCallableStatement(String sql, Object ... param) throws SQLException{
-		return (Integer)this.executeQuery(StatementType.CALLABLE_STATEMENT, false, sql, param);
+	public long getStatementCacheMissCount(){
+		return this.statementCacheMissCount.sum();
 	}
 	
 	/**
-	 * java.sql.Statement  ̿ Ʈ  
-	 * @param sql			
-	 * @return				ResutSet
-	 * @throws SQLException
+	 * 셀렉트 쿼리 결과 캐시<br>
+	 * selectCachedQueryTo... 메소드로 수행한 셀렉트 쿼리의 결과를 보관하며,
+	 * queryTo... / batchQueryTo... 메소드로 데이터를 변경하면 변경된 테이블을 참조하는 결과가 제거된다<br>
+	 * 여러 풀에서 같은 QueryCache 를 사용할 수 있다<br>
+	 * 기본값 : null (사용안함)
+	 * @param queryCache		쿼리 결과 캐시
 	 */
-	public ResultSet selectQueryToStatement(String sql) throws SQLException{
-		return this.selectQuery(StatementType.STATEMENT, sql);
+	public void setQueryCache(QueryCache queryCache) {
+		this.queryCache = queryCache;
+		if( this.logger.isDebugEnabled())		this.logger.debug("setting query cache [{}]", queryCache);
 	}
-
+	
 	/**
-	 * java.sql.PreparedStatement  ̿ Ʈ  
-	 * @param sql			
-	 * @param param		  Ķ
-	 * @return				ResutSet
-	 * @throws SQLException
+	 * 셀렉트 쿼리 결과 캐시
+	 * @return		쿼리 결과 캐시. 사용하지 않을 경우 null
 	 */
-	public ResultSet selectQueryToPreparedStatement(String sql, Object ... param) throws SQLException{
-		return this.selectQuery(StatementType.PREPARED_STATEMENT, sql, param);
+	public QueryCache getQueryCache(){
+		return this.queryCache;
 	}
 	
 	/**
-	 * java.sql.CallableStatement  ̿ Ʈ  
-	 * @param sql			
-	 * @param param		  Ķ
-	 * @return				ResutSet
-	 * @throws SQLException
-	 */	
-	public ResultSet selectQueryToCallableStatement(String sql, Object ... param) throws SQLException{
-		return this.selectQuery(StatementType.CALLABLE_STATEMENT, sql, param);
+	 * 쿼리 유형별 수행 통계<br>
+	 * 설정할 경우 쿼리마다 상수를 제거한 쿼리 유형별로 수행 수, 수행 시간, 오류 수를 기록하며,
+	 * 느린 쿼리 기준 시간을 넘은 쿼리는 파라메터 값을 제외하고 로그로 기록한다<br>
+	 * 여러 풀에서 같은 QueryStatistics 를 사용할 수 있다<br>
+	 * 기본값 : null (사용안함)
+	 * @param queryStatistics		쿼리 유형별 수행 통계
+	 */
+	public void setQueryStatistics(QueryStatistics queryStatistics) {
+		this.queryStatistics = queryStatistics;
+		if( this.logger.isDebugEnabled())		this.logger.debug("setting query statistics [{}]", queryStatistics);
 	}
 	
-	/**		Ʈ  		*/
-	private ResultSet selectQuery(StatementType sType, String sql, Object ... param) throws SQLException{
-		try{
-			return ((AutoCloseResult)this.executeQuery(sType, true, sql, param)).getResultSet();
-		}catch(DatabaseDisconnectException e){
-			//     ѹ  õϿ  ó  ˻   ְ 
-			return ((AutoCloseResult)this.executeQuery(sType, true, sql, param)).getResultSet();
-		}
+	/**
+	 * 쿼리 유형별 수행 통계
+	 * @return		쿼리 유형별 수행 통계. 사용하지 않을 경우 null
+	 */
+	public QueryStatistics getQueryStatistics(){
+		return this.queryStatistics;
 	}
 	
-	/**		 		*/
-	private Object executeQuery(StatementType sType, boolean select, String sql, Object ... param) throws SQLException{
-		DatabaseConnection dc = this.requestConnection();
-
-		Statement st = dc.getStatement(sql, sType);
-		
-		Object result;
-		
-		try{
-			if( sType == StatementType.STATEMENT ){
-				// statement
-				if( select )		result = new AutoCloseResult(st, st.executeQuery(sql), System.currentTimeMillis() + AUTO_CLOSE_RESULTSET_TIME);		// SELECT
-				else				result = st.executeUpdate(sql);	// INSERT, UPDATE, DELETE
-			}else{
-				// preparedStatement or callableStatement
-				PreparedStatement pst = (PreparedStatement)st;
-				// Ķ 
-				this.settingParameter(pst, param);
-				//  
-				if( select )		result = new AutoCloseResult(st, pst.executeQuery(), System.currentTimeMillis() + AUTO_CLOSE_RESULTSET_TIME);		// SELECT
-				else				result = pst.executeUpdate();		// INSERT, UPDATE, DELETE
-			}
-			
-			/*
-			 * ڰ resultSet.close() , st.close()     ޸𸮰  ϹǷ
-			 * ڵ close()  ȣϱ  Ŵ ϽŲ
-			 */
-			if( select )		this.manager.addAutoCloseResult((AutoCloseResult)result);
-			
-			return result;
-		}catch(SQLException e){
-			//  ߻      ȮѴ
-			try{		st.close();		}catch(Exception e1){}		//    ڿݳ
-			if( this.checkConnectionClosed(dc) )		throw new DatabaseDisconnectException();		//     ó
-			else			throw e;		// ٸ   
-		}finally{
-			if( !select )		try{		st.close();		}catch(Exception e1){}		// ResultSet  ƴ  ڿݳ
-			this.returnConnection(dc);			// Ŀؼ ݳ
-		}
+	/**
+	 * 셀렉트 쿼리로 리턴된 java.sql.ResultSet 의 자원반납 누락 감지기<br>
+	 * 설정할 경우 selectQueryTo... 메소드로 리턴한 ResultSet 중 기준 시간이 지나도록 close() 가 호출되지 않은 ResultSet 을
+	 * 리턴한 위치의 호출 스택과 함께 로그로 기록하며, close() 호출 없이 가비지 컬렉션 된 ResultSet 은 바로 자원반납한다<br>
+	 * 여러 풀에서 같은 ResultLeakDetector 를 사용할 수 있다<br>
+	 * 기본값 : null (사용안함)
+	 * @param resultLeakDetector		자원반납 누락 감지기
+	 */
+	public void setResultLeakDetector(ResultLeakDetector resultLeakDetector) {
+		this.resultLeakDetector = resultLeakDetector;
+		if( this.logger.isDebugEnabled())		this.logger.debug("setting result leak detector [{}]", resultLeakDetector);
 	}
 	
-	/**		ͺ̽   ˻		*/
-	private boolean checkConnectionClosed(DatabaseConnection dc){
-		try{
-			if( !dc.isClosed() )		return false;
-			
-			// ͺ̽   
-			this.disconnectDatabase();
-			
-			return true;
-		}catch(Exception e){
-			//   쿡  ɷ ó
-			this.disconnectDatabase();
-			return false;
-		}
+	/**
+	 * 셀렉트 쿼리로 리턴된 java.sql.ResultSet 의 자원반납 누락 감지기
+	 * @return		자원반납 누락 감지기. 사용하지 않을 경우 null
+	 */
+	public ResultLeakDetector getResultLeakDetector(){
+		return this.resultLeakDetector;
 	}
 	
 	/**
-	 * Ķ ŸԿ ´ setMethod ȣϿ  
-	 * @param pst			ͺ̽ ü
-	 * @param param		  Ķ
-	 * @throws SQLException		setMethod ȣ  ߻ 
+	 * 커넥션 요청 / 생성 수와 쿼리 수행 수, 각각의 수행 시간 기록 여부<br>
+	 * 사용하지 않을 경우 쿼리 수행 시 추가 비용이 없다<br>
+	 * 기본값 : false
+	 * @param metricsEnabled		기록 여부
 	 */
-	private void settingParameter(PreparedStatement pst, Object ... param) throws SQLException{
-		int length = param.length;
-		for(int i=0; i < length; i++){
-			if( param[i] == null )							pst.setString(i+1, null);
-			else if( param[i] instanceof String )	pst.setString(i+1, (String)param[i]);
-			else if( param[i] instanceof Integer)	pst.setInt(i+1, (Integer)param[i]);
-			else if( param[i] instanceof Boolean)	pst.setBoolean(i+1,  (Boolean)param[i]);
-			else if( param[i] instanceof Float)	pst.setFloat(i+1,  (Float)param[i]);
-			else if( param[i] instanceof Long)		pst.setLong(i+1,  (Long)param[i]);
-			else if( param[i] instanceof Double)	pst.setDouble(i+1,  (Double)param[i]);
-			else if( param[i] instanceof Short)	pst.setShort(i+1,  (Short)param[i]);
-			else if( param[i] instanceof Byte)		pst.setByte(i+1,  (Byte)param[i]);
-			else if( param[i] instanceof Byte[])	pst.setBytes(i+1,  (byte[])param[i]);
-			else if( param[i] instanceof Date)		pst.setDate(i+1,  (Date)param[i]);
-			else if( param[i] instanceof Time)		pst.setTime(i+1,  (Time)param[i]);
-			else if( param[i] instanceof Timestamp)		pst.setTimestamp(i+1,  (Timestamp)param[i]);
-			else if( param[i] instanceof Object)	pst.setObject(i+1,  param[i]);
-			else if( param[i] instanceof URL)		pst.setURL(i+1,  (URL)param[i]);
-			else if( param[i] instanceof SQLXML)		pst.setSQLXML(i+1,  (SQLXML)param[i]);
-			else if( param[i] instanceof Array)	pst.setArray(i+1,  (Array)param[i]);
-			else if( param[i] instanceof BigDecimal)		pst.setBigDecimal(i+1,  (BigDecimal)param[i]);
-			else if( param[i] instanceof Blob)		pst.setBlob(i+1,  (Blob)param[i]);
-			else if( param[i] instanceof Clob)		pst.setClob(i+1,  (Clob)param[i]);
-			else if( param[i] instanceof Ref)		pst.setRef(i+1,  (Ref)param[i]);
-			else if( param[i] instanceof RowId)	pst.setRowId(i+1,  (RowId)param[i]);
-			else if( param[i] instanceof NClob)	pst.setNClob(i+1,  (NClob)param[i]);
-			else													pst.setObject(i+1, param[i]);
-		}
+	public void setMetricsEnabled(boolean metricsEnabled) {
+		this.metricsEnabled = metricsEnabled;
+		if( this.logger.isDebugEnabled())		this.logger.debug("setting metrics enabled [{}]", this.metricsEnabled);
+	}
+	
+	/**
+	 * 비동기 쿼리(xxxAsync 메소드)를 수행할 Executor<br>
+	 * 동시에 수행되는 비동기 쿼리 수는 최대 연결 수로 제한되며, 초과된 요청은 호출 스레드를 막지 않고 대기한다<br>
+	 * 기본값 : null (JDK 21 이상일 경우 가상 스레드, 그 외에는 데몬 스레드 풀 사용)
+	 * @param asyncExecutor		비동기 쿼리를 수행할 Executor
+	 */
+	public void setAsyncExecutor(Executor asyncExecutor) {
+		this.asyncExecutor.setExecutor(asyncExecutor);
+		if( this.logger.isDebugEnabled())		this.logger.debug("setting async executor [{}]", asyncExecutor);
+	}
+	
+	/**
+	 * 현재 풀 상태 정보<br>
+	 * 수행 수와 수행 시간은 setMetricsEnabled(true) 로 설정한 이후의 값이다
+	 * @return		현재 풀 상태 정보
+	 */
+	public DatabasePoolSnapshot getMetricsSnapshot(){
+		return this.metrics.snapshot();
+	}
+	
+	/**
+	 * 풀 상태 정보를 JMX 에 등록한다<br>
+	 * kr.co.bomz.db.pool:type=DatabasePool,name=[name] 으로 등록되며, 이미 등록되어 있을 경우 기존 등록을 해제한다
+	 * @param name		JMX 에 등록할 풀 이름
+	 * @return			등록 성공 여부
+	 */
+	public synchronized boolean registerMBean(String name){
+		this.unregisterMBean();
+		
+		try{
+			ObjectName objectName = new ObjectName("kr.co.bomz.db.pool:type=DatabasePool,name=" + ObjectName.quote(name));
+			ManagementFactory.getPlatformMBeanServer().registerMBean(this.metrics, objectName);
+			this.mbeanName = objectName;
+			if( this.logger.isDebugEnabled())		this.logger.debug("register mbean [{}]", objectName);
+			return true;
+		}catch(JMException e){
+			this.logger.warn("mbean register fail [{}]", name, e);
+			return false;
+		}
+	}
+	
+	/**
+	 * 데이터베이스풀 이름 설정<br>
+	 * 설정한 이름으로 DatabasePoolRegistry 에 등록되어 DatabasePoolRegistry.getPool(name) 으로 찾을 수 있다.
+	 * 이미 다른 이름으로 등록되어 있을 경우 이전 이름의 등록은 해제된다
+	 * @param poolName		데이터베이스풀 이름
+	 * @throws DatabasePropertyException		같은 이름으로 다른 데이터베이스풀이 등록되어 있거나 종료된 풀일 경우 발생
+	 */
+	public synchronized void setPoolName(String poolName) throws DatabasePropertyException{
+		if( poolName == null || poolName.trim().equals("") )		throw new DatabasePropertyException("pool name is null");
+		if( this.closed )		throw new DatabasePropertyException("database pool closed");
+		
+		poolName = poolName.trim();
+		DatabasePoolRegistry.register(poolName, this);
+		if( this.poolName != null && !this.poolName.equals(poolName) )		DatabasePoolRegistry.unregister(this.poolName, this);
+		this.poolName = poolName;
+		if( this.logger.isDebugEnabled())		this.logger.debug("setting pool name [{}]", this.poolName);
+	}
+	
+	/**
+	 * 데이터베이스풀 이름
+	 * @return		이름을 설정하지 않았을 경우 null
+	 */
+	public synchronized String getPoolName(){
+		return this.poolName;
+	}
+	
+	/**
+	 * 데이터베이스풀 종료<br>
+	 * 사용 대기 중인 커넥션은 바로 종료되며, 사용 중인 커넥션은 반납될 때 종료된다.
+	 * 자동 자원반납을 기다리는 ResultSet 도 모두 자원반납된다<br>
+	 * 종료 후 커넥션을 요청할 경우 DatabasePoolClosedException 이 발생한다. 여러번 호출되더라도 한번만 처리된다
+	 */
+	public void close(){
+		synchronized( this ){
+			if( this.closed )		return;
+			this.closed = true;
+			
+			if( this.poolName != null )		DatabasePoolRegistry.unregister(this.poolName, this);
+		}
+		
+		this.unregisterMBean();
+		this.connectionFiller.shutdown();
+		this.asyncExecutor.shutdown();
+		
+		// 사용 대기 중인 커넥션 종료
+		for(DatabaseConnection dc : this.connectionBag.values()){
+			if( this.connectionBag.reserve(dc) )		this.discardConnection(dc);
+		}
+		
+		this.manager.shutdown();
+		if( this.logger.isDebugEnabled())		this.logger.debug("database pool closed [{}]", this.poolName);
+	}
+	
+	/**
+	 * 데이터베이스풀 종료 여부
+	 * @return		close() 가 호출되었을 경우 true
+	 */
+	public boolean isClosed(){
+		return this.closed;
+	}
+	
+	/**
+	 * JMX 에 등록된 풀 상태 정보를 해제한다
+	 */
+	public synchronized void unregisterMBean(){
+		if( this.mbeanName == null )		return;
+		
+		try{
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			if( server.isRegistered(this.mbeanName) )		server.unregisterMBean(this.mbeanName);
+		}catch(JMException e){
+			this.logger.warn("mbean unregister fail [{}]", this.mbeanName, e);
+		}
+		this.mbeanName = null;
+	}
+	
+	/**		데이터베이스 커넥션 반납		*/
+	void returnConnection(DatabaseConnection dc){
+		if( dc == null )		return;
+		
+		if( !this.isAlive(dc) ){
+			// 연결 오류 커넥션이거나 삭제해야 하는 아이디 값일 경우
+			// 연결 종료는 DbcpManager 에서 처리하므로 관리 수에서만 제외시킨다
+			this.discardConnection(dc);
+		}else if( dc.isStartTransaction() ){
+			this.transactionMap.put(Thread.currentThread().getId(), dc);
+		}else if( dc.isRetired() ){
+			// 최대 사용 시간이 지난 커넥션은 트랜잭션이 끝난 후 교체
+			this.discardConnection(dc);
+		}else{
+			this.connectionBag.requite(dc);
+		}
+	}
+	
+	/**
+	 * ConnectionBag 에서 가져온 커넥션을 호출자에게 빌려줄 수 있는지 검사<br>
+	 * 빌려줄 수 없는 커넥션은 풀에서 제외한다
+	 * @param dc		ConnectionBag 에서 가져온 커넥션
+	 * @return			빌려줄 수 있을 경우 true
+	 */
+	private boolean acceptBorrowed(DatabaseConnection dc){
+		if( !this.isUsable(dc) ){
+			this.discardConnection(dc);
+			return false;
+		}
+		
+		if( this.testOnBorrow && !this.validateOnBorrow(dc) ){
+			this.evictConnection(dc);
+			this.discardConnection(dc);
+			return false;
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * 커넥션 대여 시 유효성 검사<br>
+	 * 최근 borrowValidationSkipTime 안에 사용된 커넥션은 검사하지 않는다.
+	 * 드라이버가 Connection.isValid() 를 지원할 경우 이를 사용하며, 지원하지 않을 경우 validationQuery 를 수행한다
+	 * @param dc		검사할 커넥션
+	 * @return			유효한 커넥션일 경우 true
+	 */
+	private boolean validateOnBorrow(DatabaseConnection dc){
+		long now = System.currentTimeMillis();
+		if( now - dc.getLastCallTime() < this.borrowValidationSkipTime )		return true;
+		
+		try{
+			if( this.isValidSupported ){
+				try{
+					if( !dc.isValid(this.borrowValidationTimeout) )		return false;
+					dc.setLastCallTime(now);
+					return true;
+				}catch(SQLFeatureNotSupportedException | AbstractMethodError e){
+					// JDBC4 를 지원하지 않는 드라이버일 경우 이후 validationQuery 사용
+					this.isValidSupported = false;
+					if( this.logger.isDebugEnabled())		this.logger.debug("Connection.isValid() not supported. use validation query");
+				}
+			}
+			
+			this.testValidationQuery(dc);
+			return true;
+		}catch(SQLException e){
+			if( this.logger.isDebugEnabled())		this.logger.debug("borrow validation fail", e);
+			return false;
+		}
+	}
+	
+	/**
+	 * 연결 오류가 없고 풀 전체 연결 해제 대상도 아닌 커넥션 여부
+	 * @param dc		커넥션
+	 * @return			사용할 수 있을 경우 true
+	 */
+	private boolean isAlive(DatabaseConnection dc){
+		return !dc.isEvicted() && dc.getId() == this.idGenerator.getNowId() && !this.closed;
+	}
+	
+	/**
+	 * 다른 스레드에게 빌려줄 수 있는 커넥션 여부
+	 * @param dc		커넥션
+	 * @return			빌려줄 수 있을 경우 true
+	 */
+	private boolean isUsable(DatabaseConnection dc){
+		return !dc.isRetired() && this.isAlive(dc);
+	}
+	
+	/**
+	 * 더 이상 풀에서 사용하지 않는 커넥션을 ConnectionBag 과 관리 수에서 제외한다<br>
+	 * 같은 커넥션으로 여러번 호출되더라도 한번만 처리된다
+	 * @param dc		제외할 커넥션 (사용 중이거나 예약된 상태)
+	 */
+	private void discardConnection(DatabaseConnection dc){
+		if( !this.connectionBag.remove(dc) )		return;
+		
+		this.totalConnectionCount.decrementAndGet();
+		if( this.metricsEnabled )		this.metrics.recordConnectionClosed();
+		if( dc.isCountedTransaction() )		this.transactionConnectionCount.decrementAndGet();
+		
+		// 풀 전체 연결 해제 대상이 아닌 커넥션은 개별적으로 종료
+		if( dc.getId() == this.idGenerator.getNowId() )		this.manager.closeConnection(dc);
+		
+		// 최소 연결 수와 최소 사용 대기 커넥션 수를 유지하기 위해 필요할 경우 새로운 커넥션 생성
+		this.connectionFiller.fill(0);
+	}
+	
+	/**
+	 * 최대 연결 수를 넘지 않는 범위에서 새로운 커넥션 생성을 위한 자리를 예약한다<br>
+	 * 예약에 성공하였을 경우 반드시 newReservedConnection() 을 호출해야 한다
+	 * @return		최대 연결 수에 도달하였을 경우 false
+	 */
+	boolean reserveConnection(){
+		int total;
+		do{
+			total = this.totalConnectionCount.get();
+			if( total >= this.maxConnectionQuantity )		return false;
+		}while( !this.totalConnectionCount.compareAndSet(total, total + 1) );
+		
+		return true;
+	}
+	
+	/**
+	 * 예약된 자리에 새로운 커넥션을 생성하여 ConnectionBag 에 추가한다<br>
+	 * 생성에 실패하였을 경우 예약된 자리를 반환한다
+	 * @param borrowed		true 일 경우 사용 중 상태로, false 일 경우 사용 대기 상태로 추가
+	 */
+	DatabaseConnection newReservedConnection(boolean borrowed) throws SQLException{
+		boolean success = false;
+		try{
+			DatabaseConnection dc = this.newConnection();
+			if( borrowed )		this.connectionBag.addBorrowed(dc);
+			else					this.connectionBag.add(dc);
+			success = true;
+			
+			// 생성 중 풀이 종료되었을 경우
+			if( this.closed && !borrowed && this.connectionBag.reserve(dc) )		this.discardConnection(dc);
+			return dc;
+		}finally{
+			if( !success )		this.totalConnectionCount.decrementAndGet();
+		}
+	}
+	
+	/**
+	 * reserveConnection() 으로 예약한 자리를 커넥션 생성 없이 반환한다
+	 */
+	void cancelReservedConnection(){
+		this.totalConnectionCount.decrementAndGet();
+	}
+	
+	/**
+	 * ConnectionFiller 에서 호출한다<br>
+	 * 최대 연결 수를 넘지 않는 범위에서 최소 연결 수, 최소 사용 대기 커넥션 수, 대기 스레드 수를 채우기 위해 커넥션이 더 필요한지 여부
+	 * @param pending		생성 중인 커넥션 수
+	 * @param demand		커넥션 반환을 기다릴 예정인 스레드 수
+	 * @return				새로운 커넥션이 필요할 경우 true
+	 */
+	boolean needConnection(int pending, int demand){
+		if( this.closed )		return false;
+		
+		int total = this.totalConnectionCount.get();
+		if( total >= this.maxConnectionQuantity )		return false;
+		if( total < this.minConnectionQuantity )		return true;
+		
+		int need = Math.max(this.minIdleConnectionQuantity, this.connectionBag.getWaitingThreadCount() + demand);
+		if( need <= pending )		return false;
+		
+		return this.connectionBag.getCount(ConnectionBag.STATE_NOT_IN_USE) + pending < need;
+	}
+	
+	/**
+	 * 풀에서 관리중인 전체 커넥션 수
+	 * @return		전체 커넥션 수
+	 */
+	public int getTotalConnectionCount(){
+		return this.totalConnectionCount.get();
+	}
+	
+	/**
+	 * 사용 대기 중인 커넥션 수
+	 * @return		사용 대기 중인 커넥션 수
+	 */
+	public int getIdleConnectionCount(){
+		return this.connectionBag.getCount(ConnectionBag.STATE_NOT_IN_USE);
+	}
+	
+	/**
+	 * 쿼리 수행 또는 트랜잭션을 위해 사용 중인 커넥션 수
+	 * @return		사용 중인 커넥션 수
+	 */
+	public int getBorrowedConnectionCount(){
+		return Math.max(0, this.totalConnectionCount.get() - this.getIdleConnectionCount());
+	}
+	
+	/**
+	 * 트랜잭션이 시작된 커넥션 수
+	 * @return		트랜잭션이 시작된 커넥션 수
+	 */
+	public int getTransactionConnectionCount(){
+		return this.transactionConnectionCount.get();
+	}
+	
+	/**
+	 * 모든 커넥션이 사용 중이어서 커넥션 반환을 기다리는 스레드 수
+	 * @return		대기 스레드 수
+	 */
+	public int getWaitingThreadCount(){
+		return this.connectionBag.getWaitingThreadCount();
+	}
+	
+	/**
+	 * 최대 연결 수
+	 * @return		최대 연결 수
+	 */
+	int getMaxConnectionQuantity(){
+		return this.maxConnectionQuantity;
+	}
+	
+	/**
+	 * DatabasePoolManager 에서 매 주기마다 호출한다</br>
+	 * 관리중인 커넥션 중 일정 시간이 지난 커넥션은 validationQuery 를 통해 유효성 확인<br>
+	 * 한번에 모든 커넥션을 검사하지 않고 호출될 때마다 일부 커넥션만 검사하여, passCount 번 호출되면 모든 커넥션을 한번씩 검사한다.
+	 * 검사 중인 커넥션 하나만 다른 스레드가 가져가지 못하며 나머지 커넥션은 그대로 사용할 수 있다
+	 * @param passCount		모든 커넥션을 한번씩 검사하기까지의 호출 수
+	 */
+	void checkConnectionValidation(int passCount){
+		// 현재 시간에서 검사대기 시간을 제외한다
+		long checkTime = System.currentTimeMillis() - this.validationQueryTimeout;
+		CheckType checkType = null;
+		
+		// connectionBag 에 보관중인 커넥션 검사
+		long nowId = this.idGenerator.getNowId();
+		
+		List<DatabaseConnection> connections = this.connectionBag.values();
+		int size = connections.size();
+		if( this.validationCursor >= size )		this.validationCursor = 0;
+		
+		// 이번 호출에서 검사할 커넥션 수
+		int count = (size + passCount - 1) / passCount;
+		boolean endOfPass = false;
+		DatabaseConnection dc;
+		
+		for(int i=0; i < count; i++){
+			dc = connections.get(this.validationCursor++);
+			if( this.validationCursor >= size ){
+				this.validationCursor = 0;
+				endOfPass = true;
+			}
+			
+			// 최근에 사용된 커넥션은 예약하지 않고 넘어간다
+			if( checkTime <= dc.getLastCallTime() && this.isAlive(dc) )		continue;
+			
+			// 사용 중인 커넥션은 검사하지 않으며, 검사 중에는 다른 스레드가 가져가지 못하도록 예약
+			if( !this.connectionBag.reserve(dc) )		continue;
+			
+			if( dc.getId() != nowId || dc.isEvicted() ){
+				// 연결 종료 커넥션은 DatabasePoolManager 가 종료시키므로 제외만 한다
+				this.discardConnection(dc);
+				continue;
+			}
+			
+			checkType = this.checkConnectionValidation( checkTime, dc, true );
+			
+			if( checkType == CheckType.SUCCESS ) 	this.connectionBag.unreserve(dc);		// 검사 완료 커넥션은 반납
+			else{
+				// 오류 커넥션 또는 최소 연결 수를 넘는 커넥션은 풀에서 제외
+				this.discardConnection(dc);
+				
+				// 풀 전체 연결이 해제되었을 경우 나머지 커넥션은 검사하지 않는다
+				if( checkType == CheckType.FAIL && this.idGenerator.getNowId() != nowId )		return;
+			}
+		}
+		
+		// transactionMap 에 보관중인 커넥션은 모든 커넥션을 한번씩 검사한 후에 검사
+		if( !endOfPass )		return;
+		
+		try{		// 스레드에 의한 처리이기때문에 Map 에서 동시 처리시 오류날 가망성이 있음
+			java.util.Iterator<DatabaseConnection> transactions = this.transactionMap.values().iterator();
+			while( transactions.hasNext() ){
+				// 오류 커넥션은 트랜잭션이 끝날 때 제외되며, 풀 전체 연결이 해제되었을 경우 나머지 커넥션은 검사하지 않는다
+				if( this.checkConnectionValidation( checkTime, transactions.next(), false ) == CheckType.FAIL
+						&& this.idGenerator.getNowId() != nowId )		break;
+			}
+		}catch(Exception e){}		// 특별한 예외 처리는 없음
+	}
+	
+	/**		
+	 * 		주기적으로 연결된 커넥션의 마지막 사용 시간을 확인 후 일정시간이상
+	 * 		지났을 경우 validationQuery를 수행하여 연결 유지 관리를 수행
+	 * @param checkTime		현재 시간 - validationQueryTimeout
+	 * @param dc					커넥션 정보
+	 * @param pass				검사 패스 여부
+	 * @return						오류 발생 시 false
+	 */
+	private CheckType checkConnectionValidation(long checkTime, DatabaseConnection dc, boolean pass){
+		if( dc == null )		return CheckType.SUCCESS;
+		
+		// 마지막 사용 시간이 검사대기 시간을 지나지 않았을 경우
+		if( checkTime <= dc.getLastCallTime() )		return CheckType.SUCCESS;
+		
+		try{
+			if( pass && (this.minConnectionQuantity < this.totalConnectionCount.get())){
+				// 현재 관리중인 커넥션 수가 최소 연결 수보다 많을 경우 해당 커넥션만 종료를 위해 PASS 리턴
+				return CheckType.PASS;
+			}
+			this.testValidationQuery(dc);
+			return CheckType.SUCCESS;
+		}catch(SQLException e){
+			// 에러가 났을 경우 해당 커넥션만 연결 종료 처리
+			this.evictConnection(dc);
+			return CheckType.FAIL;
+		}
+	}
+	
+	/**
+	 * DatabasePoolManager 에서 호출한다<br>
+	 * 최대 사용 시간이 지난 커넥션과 최소 연결 수를 넘는 커넥션 중 유휴 시간이 지난 커넥션을 풀에서 제외한다.
+	 * 사용 중인 커넥션은 사용이 끝난 후 제외된다
+	 * @return		남은 커넥션 중 가장 먼저 정리 대상이 되는 시간까지 남은 시간 (단위:ms)
+	 */
+	long retireConnections(){
+		long now = System.currentTimeMillis();
+		long idleTime = now - this.idleTimeout;
+		long next = Long.MAX_VALUE;
+		boolean expired;
+		
+		for(DatabaseConnection dc : this.connectionBag.values()){
+			if( dc.isRetired() )		continue;
+			
+			expired = dc.isExpired(now);
+			if( !expired && (this.idleTimeout <= 0 || dc.getLastCallTime() > idleTime) ){
+				// 다음 정리 시간 계산
+				if( dc.getExpireTime() > 0 )		next = Math.min(next, dc.getExpireTime());
+				if( this.idleTimeout > 0 )		next = Math.min(next, dc.getLastCallTime() + this.idleTimeout);
+				continue;
+			}
+			
+			if( !this.connectionBag.reserve(dc) ){
+				// 사용 중인 커넥션은 반납 시 제외
+				if( expired )		dc.retire();
+				continue;
+			}
+			
+			if( expired || this.minConnectionQuantity < this.totalConnectionCount.get() ){
+				if( this.logger.isDebugEnabled())		this.logger.debug("retire connection [{}]", expired ? "max lifetime" : "idle timeout");
+				this.discardConnection(dc);
+			}else{
+				this.connectionBag.unreserve(dc);
+			}
+		}
+		
+		return next == Long.MAX_VALUE ? Long.MAX_VALUE : next - now;
+	}
+	
+	/**
+	 * 연결 오류가 발생한 커넥션을 풀에서 제외한다<br>
+	 * 일정 시간 안에 여러 커넥션에서 오류가 발생하였을 경우에는 풀 전체 연결을 해제한다
+	 * @param dc		연결 오류가 발생한 커넥션
+	 */
+	private void evictConnection(DatabaseConnection dc){
+		dc.evict();
+		this.recordConnectionFailure();
+	}
+	
+	/**		커넥션 오류 기록 후 기준을 넘었을 경우 풀 전체 연결 해제		*/
+	private void recordConnectionFailure(){
+		if( !this.failureWindow.record(System.currentTimeMillis()) )		return;
+		
+		this.logger.warn("connection failure threshold reached. reconnect all connections");
+		this.disconnectDatabase(this.idGenerator.getNowId());
+	}
+	
+	/**		데이터베이스 커넥션 요청		*/
+	DatabaseConnection requestConnection() throws SQLException, DatabaseConnectException{
+		return this.requestConnection(null, this.callDeadline());
+	}
+	
+	/**
+	 * 쿼리 수행에 사용할 커넥션 요청
+	 * @param owned		호출자가 보유하고 있는 트랜잭션 커넥션. null 일 경우 풀에 커넥션 요청
+	 * @param deadline	마감 시각. 0 일 경우 returnConnectionWaitTime 동안 대기
+	 */
+	private DatabaseConnection requestConnection(DatabaseConnection owned, long deadline) throws SQLException, DatabaseConnectException{
+		if( owned != null )		return owned;
+		
+		// 사용중인 트랜잭션 커넥션 리턴. 스레드별 트랜잭션이 없을 경우 맵 조회를 생략한다
+		if( !this.transactionMap.isEmpty() ){
+			DatabaseConnection resultConn = this.transactionMap.remove(Thread.currentThread().getId());
+			if( resultConn != null )		return resultConn;
+		}
+		
+		return this.borrowConnection(deadline);
+	}
+	
+	/**		현재 스레드의 트랜잭션 커넥션. 스레드별 트랜잭션 중이 아닐 경우 null		*/
+	private DatabaseConnection threadTransaction(){
+		if( this.transactionMap.isEmpty() )		return null;
+		return this.transactionMap.get(Thread.currentThread().getId());
+	}
+	
+	/**
+	 * 쿼리 수행이 끝난 커넥션 반납
+	 * @param owned		호출자가 보유하고 있는 트랜잭션 커넥션. null 이 아닐 경우 반납하지 않는다
+	 */
+	private void returnConnection(DatabaseConnection owned, DatabaseConnection dc){
+		if( owned == null )		this.returnConnection(dc);
+	}
+	
+	/**		스레드별 트랜잭션 커넥션을 제외한 공동 사용 커넥션 요청		*/
+	DatabaseConnection borrowConnection() throws SQLException, DatabaseConnectException{
+		return this.borrowConnection(0L);
+	}
+	
+	/**
+	 * 스레드별 트랜잭션 커넥션을 제외한 공동 사용 커넥션 요청
+	 * @param deadline	마감 시각. 0 일 경우 returnConnectionWaitTime 동안 대기
+	 */
+	private DatabaseConnection borrowConnection(long deadline) throws SQLException, DatabaseConnectException{
+		if( this.closed )		throw new DatabasePoolClosedException();
+		if( !this.metricsEnabled )		return this.takeConnection(deadline);
+		
+		long startTime = System.nanoTime();
+		boolean timeout = false;
+		try{
+			return this.takeConnection(deadline);
+		}catch(NotConnectionCanUseException | DeadlineExceededException e){
+			timeout = true;
+			throw e;
+		}finally{
+			this.metrics.recordBorrow(System.nanoTime() - startTime, timeout);
+		}
+	}
+	
+	/**		사용할 수 있는 커넥션을 가져오거나 새로 생성		*/
+	private DatabaseConnection takeConnection(long deadline) throws SQLException, DatabaseConnectException{
+		DatabaseConnection resultConn;
+		
+		// 공동 사용 커넥션 리턴
+		while( true ){
+			resultConn = this.connectionBag.borrow();
+			if( resultConn == null )		break;		// 새로 접속이나 사용 중인 커넥션 반납 대기
+			if( this.acceptBorrowed(resultConn) ){
+				// 연결 종료 커넥션 객체가 아닐 경우
+				// 사용 대기 커넥션이 최소 사용 대기 커넥션 수보다 적어졌을 경우 미리 생성
+				if( this.minIdleConnectionQuantity > 0 )		this.connectionFiller.fill(0);
+				return resultConn;
+			}
+			// 연결 종료 커넥션으로 등록되어있는 경우 가져온 데이터를 버리고 새로 루프 순환
+		}
+		
+		// 최대 연결 수를 넘지 않는 범위에서 백그라운드로 새로운 커넥션 생성 요청
+		long waitStartTime = System.nanoTime();
+		this.connectionFiller.fill(1);
+				
+		// 반환되는 커넥션과 새로 생성되는 커넥션 중 먼저 준비된 커넥션 리턴
+		resultConn = this.waitToReturnConnection(deadline);
+		if( resultConn != null )		return resultConn; 
+		
+		// 마감 시간으로 대기가 끝났을 경우 사용할 수 있는 커넥션이 없는 경우와 구분한다
+		if( deadline != 0 && deadline - System.nanoTime() <= 0 )		throw new DeadlineExceededException("deadline exceeded while waiting for a connection");
+		
+		// 대기 중에 커넥션 생성에 실패하여 사용할 수 있는 커넥션이 없을 경우 접속 실패 원인 전달
+		SQLException connectError = this.connectionFiller.getLastError(waitStartTime);
+		if( connectError instanceof DatabaseConnectException )		throw new DatabaseConnectException(connectError.getCause());
+		else if( connectError != null )										throw new DatabaseConnectException(connectError);
+		
+		// 사용할 수 있는 커넥션이 없을 경우 예외 발생
+		throw new NotConnectionCanUseException();
+	}
+	
+	
+	/**
+	 * 사용할 수 있는 커넥션이 반환될 때까지 최대 returnConnectionWaitTime 동안 대기<br>
+	 * 대기중인 스레드는 먼저 대기를 시작한 순서대로 반환된 커넥션을 전달받는다
+	 * @param callDeadline		호출의 마감 시각. 0 이 아닐 경우 마감 시각까지만 대기
+	 */
+	private DatabaseConnection waitToReturnConnection(long callDeadline){
+		long waitTime = TimeUnit.MILLISECONDS.toNanos(this.returnConnectionWaitTime);
+		if( callDeadline != 0 )		waitTime = Math.min(waitTime, callDeadline - System.nanoTime());
+		long deadline = System.nanoTime() + waitTime;
+		
+		DatabaseConnection result;
+		
+		while( waitTime > 0 ){
+			try{
+				result = this.connectionBag.borrow(waitTime);
+			}catch(InterruptedException e){
+				Thread.currentThread().interrupt();
+				return null;
+			}
+			
+			if( result == null )		return null;		// 대기 시간 초과
+			if( this.acceptBorrowed(result) )		return result;
+			
+			// 종료 예정 커넥션일 경우 남은 시간 동안 다시 대기
+			waitTime = deadline - System.nanoTime();
+		}
+		
+		return null;
+	}
+	
+	/**		
+	 * 새로운 데이터베이스 커넥션 생성
+	 * 
+	 * @return	데이터베이스 커넥션 객체
+	 * @throws SQLException	데이터베이스 연결 실패 시 발생
+	 * @throws DatabasePropertyException		데이터베이스 접속 정보가 설정되지 않았을 경우 발생
+	 */
+	private DatabaseConnection newConnection() throws SQLException, DatabasePropertyException, DatabaseConnectException{
+		// 설정 값 검사
+		if( this.databaseUrl == null || this.databaseUrl.equals("") )		throw new DatabasePropertyException("데이터베이스 접속 URL 값이 설정되지 않았습니다");
+		if( this.databaseId == null || this.databaseId.equals("") )		throw new DatabasePropertyException("데이터베이스 접속 아이디 값이 설정되지 않았습니다");
+		if( this.databasePassword == null || this.databasePassword.equals("") )		throw new DatabasePropertyException("데이터베이스 접속 암호 값이 설정되지 않았습니다");
+
+		boolean metricsEnabled = this.metricsEnabled;
+		long startTime = metricsEnabled ? System.nanoTime() : 0L;
+		
+		Connection conn = null;
+		try{
+			conn = this.driver.connect(this.databaseUrl, this.connectionProperties);
+			if( conn == null )		throw new SQLException("driver does not accept url " + this.databaseUrl);
+		}catch(SQLException e){
+			if( metricsEnabled )		this.metrics.recordConnectionCreate(System.nanoTime() - startTime, false);
+			throw new DatabaseConnectException(e);
+		}
+		
+		if( metricsEnabled )		this.metrics.recordConnectionCreate(System.nanoTime() - startTime, true);
+		
+		try{
+			DatabaseConnection result = new DatabaseConnection(this.idGenerator.getNowId(), conn, 
+					new StatementCache(this.statementCacheHitCount, this.statementCacheMissCount));
+			this.testValidationQuery(result);	// 접속 유지 쿼리 실행
+			
+			// 같은 시간에 생성된 커넥션이 한번에 교체되지 않도록 최대 사용 시간을 임의로 줄인다
+			long maxLifetime = this.maxLifetime;
+			if( maxLifetime > 0 )
+				result.setExpireTime(System.currentTimeMillis() + maxLifetime
+						- ThreadLocalRandom.current().nextLong(maxLifetime / MAX_LIFETIME_JITTER_DIVISOR + 1));
+			
+			this.manager.addCloseEvent(result);		// 연결해제시 이벤트 처리할 수 있도록 매니저에 등록
+			
+			return result;
+		}catch(SQLException e){
+			// 이 부분에서 예외가 발생했을 경우 커넥션 오류로 기록한다
+			this.recordConnectionFailure();
+			if( conn != null )		try{	conn.close();		}catch(Exception e1){}
+			throw e;
+		}
+	}
+	
+	/**		새로운 접속 시 테스트 쿼리 실행		*/
+	private void testValidationQuery(DatabaseConnection dc) throws SQLException{
+		if( this.validationQuery == null )		return;
+		
+		Statement st = null;
+		ResultSet rs = null;
+		try{
+			st = dc.getStatement(null, StatementType.STATEMENT, 0);
+			if( this.validationQueryResponseTimeout > 0 )		st.setQueryTimeout(this.validationQueryResponseTimeout);
+			rs = st.executeQuery(this.validationQuery);
+		}catch(SQLException e){
+			throw new SQLException("Validation Query : " + this.validationQuery, e);
+		}finally{
+			if( rs != null ){		try{		rs.close();		}catch(Exception e){}	}
+			if( st != null ){		try{		st.close();		}catch(Exception e){}	}
+		}
+	}
+	
+	/**
+	 * 데이터베이스 연결 종료<br>
+	 * 여러 스레드에서 같은 아이디로 동시에 호출하더라도 한번만 처리된다
+	 * @param id		연결이 종료된 커넥션의 관리 아이디
+	 */
+	private void disconnectDatabase(long id){
+		// 관리 아이디 값 변경. 다른 스레드에서 이미 변경하였을 경우 처리하지 않는다
+		if( !this.idGenerator.next(id) )		return;
+		
+		// 연결 종료시킬 아이디를 매니저에 등록
+		this.manager.runCloseEvent(id);
+		
+		// 사용 대기 중인 커넥션은 바로 풀에서 제외하여 새로운 커넥션으로 교체되도록 한다. 사용 중인 커넥션은 반납 시 제외된다
+		for(DatabaseConnection dc : this.connectionBag.values()){
+			if( dc.getId() == id && this.connectionBag.reserve(dc) )		this.discardConnection(dc);
+		}
+	}
+	
+	/**
+	 * 현재 스레드에서 수행하는 쿼리의 마감 시간 시작<br>
+	 * 리턴된 Deadline 을 close() 할 때까지 현재 스레드에서 수행하는 쿼리는 setDeadlineTime(long) 대신 해당 마감 시간을 사용한다
+	 * @param timeout		마감 시간 (단위:ms)
+	 * @return					마감 시간. try-with-resources 로 사용한다
+	 * @see Deadline
+	 */
+	public Deadline startDeadline(long timeout){
+		return new Deadline(this.deadlines, timeout);
+	}
+	
+	/**
+	 * 현재 호출의 마감 시각
+	 * @return		System.nanoTime() 기준 마감 시각. 마감 시간이 없을 경우 0
+	 */
+	private long callDeadline(){
+		Deadline deadline = this.deadlines.get();
+		if( deadline != null )		return deadline.getExpireTime();
+		
+		long deadlineTime = this.deadlineTime;
+		return deadlineTime > 0 ? Deadline.toExpireTime(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(deadlineTime)) : 0L;
+	}
+	
+	/**
+	 * 트랜잭션 시작<br>
+	 * 해당 메소드를 호출했으면 반드시 commit() 또는 rollback() 을 호출해야 함
+	 * @throws SQLException 커넥션을 가져올 수 없거나 트랜잭션 시작 중 발생 가능
+	 */
+	public void startTransaction() throws SQLException{
+		DatabaseConnection dc = this.requestConnection();
+		try{
+			dc.startTransaction();
+		}catch(SQLException e){
+			this.returnConnection(dc);
+			throw e;
+		}
+		this.countTransaction(dc);
+		this.transactionMap.put(Thread.currentThread().getId(), dc);
+	}
+	
+	/**
+	 * 트랜잭션 시작<br>
+	 * 트랜잭션 커넥션은 리턴된 Transaction 이 보유하므로 스레드와 관계없이 Transaction 의 쿼리 메소드로 사용하며,
+	 * 반드시 commit() 또는 rollback() 을 호출하거나 try-with-resources 로 사용해야 한다
+	 * @return		트랜잭션
+	 * @throws SQLException 커넥션을 가져올 수 없거나 트랜잭션 시작 중 발생 가능
+	 */
+	public Transaction beginTransaction() throws SQLException{
+		return this.beginTransaction(Transaction.DEFAULT_ISOLATION, false);
+	}
+	
+	/**
+	 * 격리 수준과 읽기 전용 여부를 지정하여 트랜잭션 시작<br>
+	 * 읽기 전용 트랜잭션은 데이터베이스가 변경을 위한 잠금 등을 생략할 수 있게 한다 (드라이버에 따라 무시될 수 있음)<br>
+	 * 변경한 설정은 트랜잭션 종료 시 원래대로 되돌린다
+	 * @param isolationLevel		격리 수준 (java.sql.Connection.TRANSACTION_...). Transaction.DEFAULT_ISOLATION 일 경우 변경하지 않음
+	 * @param readOnly				읽기 전용 트랜잭션 여부
+	 * @return		트랜잭션
+	 * @throws SQLException 커넥션을 가져올 수 없거나 트랜잭션 시작 중 발생 가능
+	 */
+	public Transaction beginTransaction(int isolationLevel, boolean readOnly) throws SQLException{
+		DatabaseConnection dc = this.borrowConnection(this.callDeadline());
+		try{
+			dc.startTransaction(isolationLevel, readOnly);
+		}catch(SQLException e){
+			this.returnConnection(dc);
+			throw e;
+		}
+		this.countTransaction(dc);
+		return new Transaction(this, dc, readOnly);
+	}
+	
+	/**
+	 * 현재 스레드에서 트랜잭션이 시작되었는지 여부
+	 * @return		startTransaction() 호출 후 commit() 또는 rollback() 을 호출하지 않았을 경우 true
+	 */
+	public boolean isTransactionStarted(){
+		return !this.transactionMap.isEmpty() && this.transactionMap.containsKey(Thread.currentThread().getId());
+	}
+	
+	/**		트랜잭션이 시작된 커넥션을 트랜잭션 관리 수에 포함		*/
+	void countTransaction(DatabaseConnection dc){
+		dc.setCountedTransaction(true);
+		this.transactionConnectionCount.incrementAndGet();
+	}
+	
+	/**
+	 * 데이터베이스 커밋
+	 * @throws NonTransactionException		트랜잭션이 선언되지 않은 상태에서 호출 시 발생
+	 * @throws SQLException						데이터베이스 처리 중 오류 
+	 */
+	public void commit() throws NonTransactionException, SQLException{
+		DatabaseConnection dc = this.requestConnection();
+		try{
+			dc.commit();
+		}finally{
+			this.endTransaction(dc);
+		}
+	}
+	
+	/**
+	 * 데이터베이스 롤백
+	 * @throws NonTransactionException		트랜잭션이 선언되지 않은 상태에서 호출 시 발생
+	 * @throws SQLException						데이터베이스 처리 중 오류 
+	 */
+	public void rollback() throws NonTransactionException, SQLException{
+		DatabaseConnection dc = this.requestConnection();
+		try{
+			dc.rollback();
+		}finally{
+			this.endTransaction(dc);
+		}
+	}
+	
+	/**		커밋 또는 롤백이 끝난 커넥션을 트랜잭션 관리 수에서 제외한 후 반납		*/
+	void endTransaction(DatabaseConnection dc){
+		// 트랜잭션 중 보관된 변경 전 결과가 남지 않도록 변경 테이블을 한번 더 무효화
+		Set<String> writtenQueries = dc.takeWrittenQueries();
+		if( writtenQueries != null )		this.invalidateQueryCache(writtenQueries);
+		
+		if( dc.isCountedTransaction() ){
+			dc.setCountedTransaction(false);
+			this.transactionConnectionCount.decrementAndGet();
+		}
+		this.returnConnection(dc);
+	}
+	
+	/**
+	 * java.sql.Statement 를 이용한 UPDATE / INSERT / DELETE 쿼리 수행
+	 * @param sql		쿼리
+	 * @return			실행성공 로우 수
+	 * @throws SQLException
+	 */
+	public int queryToStatement(String sql) throws SQLException{
+		return (Integer)this.executeQuery(null, StatementType.STATEMENT, 0, false, sql);
+	}
+	
+	/**
+	 * java.sql.PraparedStatement 를 이용한 UPDATE / INSERT / DELETE 쿼리 수행
+	 * @param sql			쿼리
+	 * @param param		쿼리 설정 파라메터
+	 * @return				실행성공 로우 수
+	 * @throws SQLException
+	 */
+	public int queryToPreparedStatement(String sql, Object ... param) throws SQLException{
+		return (Integer)this.executeQuery(null, StatementType.PREPARED_STATEMENT, 0, false, sql, param);
+	}
+	
+	/**
+	 * java.sql.CallableStatement 를 이용한 UPDATE / INSERT / DELETE 쿼리 수행
+	 * @param sql			쿼리
+	 * @param param		쿼리 설정 파라메터
+	 * @return				실행성공 로우 수
+	 * @throws SQLException
+	 */
+	public int queryToCallableStatement(String sql, Object ... param) throws SQLException{
+		return (Integer)this.executeQuery(null, StatementType.CALLABLE_STATEMENT, 0, false, sql, param);
+	}
+	
+	/**
+	 * 반복 수행할 java.sql.PreparedStatement 쿼리 생성<br>
+	 * 파라메터 위치별로 설정 메소드를 한번만 결정하며, setInt(int, int) 등의 기본 타입 파라메터는 박싱 없이 설정된다<br>
+	 * 생성한 PreparedQuery 는 여러 스레드에서 동시에 사용할 수 없다
+	 * @param sql		쿼리
+	 * @return			쿼리 수행 객체
+	 */
+	public PreparedQuery prepareQuery(String sql){
+		if( sql == null )		throw new NullPointerException("sql is null");
+		return new PreparedQuery(this, sql);
+	}
+	
+	/**
+	 * java.sql.PreparedStatement 의 배치 기능을 이용한 UPDATE / INSERT / DELETE 쿼리 수행<br>
+	 * 하나의 커넥션에서 모든 파라메터를 처리하며, setBatchSize(int) 로 지정한 수마다 데이터베이스로 전송한다<br>
+	 * 트랜잭션이 시작된 스레드에서 호출할 경우 해당 트랜잭션 안에서 수행된다
+	 * @param sql			쿼리
+	 * @param params		로우별 쿼리 설정 파라메터
+	 * @return				로우별 실행성공 로우 수 (java.sql.Statement.executeBatch() 결과)
+	 * @throws SQLException
+	 */
+	public int[] batchQueryToPreparedStatement(String sql, List<Object[]> params) throws SQLException{
+		return this.executeBatch(null, sql, params.iterator(), params.size());
+	}
+	
+	/**
+	 * java.sql.PreparedStatement 의 배치 기능을 이용한 UPDATE / INSERT / DELETE 쿼리 수행<br>
+	 * 하나의 커넥션에서 모든 파라메터를 처리하며, setBatchSize(int) 로 지정한 수마다 데이터베이스로 전송한다<br>
+	 * 트랜잭션이 시작된 스레드에서 호출할 경우 해당 트랜잭션 안에서 수행된다
+	 * @param sql			쿼리
+	 * @param params		로우별 쿼리 설정 파라메터
+	 * @return				로우별 실행성공 로우 수 (java.sql.Statement.executeBatch() 결과)
+	 * @throws SQLException
+	 */
+	public int[] batchQueryToPreparedStatement(String sql, Iterator<Object[]> params) throws SQLException{
+		return this.executeBatch(null, sql, params, this.batchSize);
+	}
+	
+	/**
+	 * 배치 쿼리 수행
+	 * @param owned		호출자가 보유하고 있는 트랜잭션 커넥션. null 일 경우 풀에 커넥션 요청
+	 * @param sql			쿼리
+	 * @param params		로우별 쿼리 설정 파라메터
+	 * @param sizeHint	예상 로우 수
+	 * @return				로우별 실행성공 로우 수
+	 * @throws SQLException
+	 */
+	int[] executeBatch(DatabaseConnection owned, String sql, Iterator<Object[]> params, int sizeHint) throws SQLException{
+		return this.executeBatch(owned, sql, pst -> {
+			if( !params.hasNext() )		return false;
+			
+			Object[] param = params.next();
+			if( param != null )		this.settingParameter(pst, param);
+			return true;
+		}, sizeHint);
+	}
+	
+	/**
+	 * PreparedQuery 배치 쿼리 수행
+	 * @param query		쿼리
+	 * @param rows		로우 수
+	 * @param binder		로우별 파라메터 설정
+	 * @return				로우별 실행성공 로우 수
+	 * @throws SQLException
+	 */
+	int[] executeBatch(PreparedQuery query, int rows, BatchBinder binder) throws SQLException{
+		int[] row = new int[1];
+		return this.executeBatch(null, query.getSql(), pst -> {
+			if( row[0] >= rows )		return false;
+			
+			binder.bindRow(query, row[0]++);
+			query.bind(pst);
+			return true;
+		}, rows);
+	}
+	
+	/**
+	 * 배치 쿼리 수행
+	 * @param owned		호출자가 보유하고 있는 트랜잭션 커넥션. null 일 경우 풀에 커넥션 요청
+	 * @param sql			쿼리
+	 * @param rows		로우별 파라메터 설정
+	 * @param sizeHint	예상 로우 수
+	 * @return				로우별 실행성공 로우 수
+	 * @throws SQLException
+	 */
+	private int[] executeBatch(DatabaseConnection owned, String sql, BatchRows rows, int sizeHint) throws SQLException{
+		long deadline = this.callDeadline();
+		DatabaseConnection dc = this.requestConnection(owned, deadline);
+		
+		PreparedStatement pst = null;
+		StatementCanceller canceller = null;
+		boolean release = true;
+		
+		boolean recording = this.isQueryRecording();
+		long startTime = recording ? System.nanoTime() : 0L;
+		boolean success = false;
+		
+		int[] result = new int[sizeHint > 0 ? sizeHint : 16];
+		int resultSize = 0;
+		int batchCount = 0;
+		int[] batchResult;
+		
+		try{
+			pst = (PreparedStatement)dc.getStatement(sql, StatementType.PREPARED_STATEMENT, this.statementCacheSize);
+			canceller = this.startDeadline(pst, deadline);
+			
+			while( rows.bindNext(pst) ){
+				pst.addBatch();
+				
+				// 지정한 수만큼 쌓였을 경우 데이터베이스로 전송
+				if( ++batchCount >= this.batchSize ){
+					// 전송마다 남은 마감 시간으로 queryTimeout 을 다시 설정한다
+					if( deadline != 0 )		setQueryTimeout(pst, deadline);
+					batchResult = pst.executeBatch();
+					result = this.appendBatchResult(result, resultSize, batchResult);
+					resultSize += batchResult.length;
+					batchCount = 0;
+				}
+			}
+			
+			if( batchCount > 0 ){
+				if( deadline != 0 )		setQueryTimeout(pst, deadline);
+				batchResult = pst.executeBatch();
+				result = this.appendBatchResult(result, resultSize, batchResult);
+				resultSize += batchResult.length;
+			}
+			
+			finishDeadline(pst, canceller);
+			success = true;
+			this.invalidateQueryCache(dc, StatementType.PREPARED_STATEMENT, sql);
+			return resultSize == result.length ? result : Arrays.copyOf(result, resultSize);
+		}catch(SQLException e){
+			// 예외 발생 시 쿼리 오류인지 접속종료 오류인지 확인한다
+			release = false;
+			if( canceller != null )		canceller.finish();
+			if( pst != null )		try{		pst.close();		}catch(Exception e1){}		// 오류 났을 경우 자원반납 (캐시하지 않음)
+			if( this.checkConnectionClosed(dc) )		throw new DatabaseDisconnectException();		// 정상적으로 연결이 끊겼을 경우 처리
+			else			throw deadlineError(e, deadline, canceller);		// 다른 오류로 인한 경우
+		}finally{
+			if( release && pst != null )		dc.releaseStatement(sql, StatementType.PREPARED_STATEMENT, pst);
+			this.returnConnection(owned, dc);			// 커넥션 반납
+			if( recording )		this.recordQuery(sql, startTime, success, resultSize);
+		}
+	}
+	
+	/**		executeBatch() 결과를 전체 결과 배열에 추가		*/
+	private int[] appendBatchResult(int[] result, int resultSize, int[] batchResult){
+		if( resultSize + batchResult.length > result.length )
+			result = Arrays.copyOf(result, Math.max(result.length << 1, resultSize + batchResult.length));
+		
+		System.arraycopy(batchResult, 0, result, resultSize, batchResult.length);
+		return result;
+	}
+	
+	/**
+	 * java.sql.Statement 를 이용한 셀렉트 쿼리 수행
+	 * @param sql			쿼리
+	 * @return				ResutSet
+	 * @throws SQLException
+	 */
+	public ResultSet selectQueryToStatement(String sql) throws SQLException{
+		return this.selectQuery(this.autoCloseResultTime, StatementType.STATEMENT, sql);
+	}
+	
+	/**
+	 * java.sql.Statement 를 이용한 셀렉트 쿼리 수행
+	 * @param autoCloseTime	ResultSet 자동 자원반납 처리 시간 (단위:ms. 0 이하일 경우 자동 자원반납하지 않음)
+	 * @param sql					쿼리
+	 * @return						ResutSet
+	 * @throws SQLException
+	 */
+	public ResultSet selectQueryToStatement(long autoCloseTime, String sql) throws SQLException{
+		return this.selectQuery(autoCloseTime, StatementType.STATEMENT, sql);
+	}
+
+	/**
+	 * java.sql.PreparedStatement 를 이용한 셀렉트 쿼리 수행
+	 * @param sql			쿼리
+	 * @param param		쿼리 설정 파라메터
+	 * @return				ResutSet
+	 * @throws SQLException
+	 */
+	public ResultSet selectQueryToPreparedStatement(String sql, Object ... param) throws SQLException{
+		return this.selectQuery(this.autoCloseResultTime, StatementType.PREPARED_STATEMENT, sql, param);
+	}
+	
+	/**
+	 * java.sql.PreparedStatement 를 이용한 셀렉트 쿼리 수행
+	 * @param autoCloseTime	ResultSet 자동 자원반납 처리 시간 (단위:ms. 0 이하일 경우 자동 자원반납하지 않음)
+	 * @param sql					쿼리
+	 * @param param				쿼리 설정 파라메터
+	 * @return						ResutSet
+	 * @throws SQLException
+	 */
+	public ResultSet selectQueryToPreparedStatement(long autoCloseTime, String sql, Object ... param) throws SQLException{
+		return this.selectQuery(autoCloseTime, StatementType.PREPARED_STATEMENT, sql, param);
+	}
+	
+	/**
+	 * java.sql.CallableStatement 를 이용한 셀렉트 쿼리 수행
+	 * @param sql			쿼리
+	 * @param param		쿼리 설정 파라메터
+	 * @return				ResutSet
+	 * @throws SQLException
+	 */	
+	public ResultSet selectQueryToCallableStatement(String sql, Object ... param) throws SQLException{
+		return this.selectQuery(this.autoCloseResultTime, StatementType.CALLABLE_STATEMENT, sql, param);
+	}
+	
+	/**
+	 * java.sql.CallableStatement 를 이용한 셀렉트 쿼리 수행
+	 * @param autoCloseTime	ResultSet 자동 자원반납 처리 시간 (단위:ms. 0 이하일 경우 자동 자원반납하지 않음)
+	 * @param sql					쿼리
+	 * @param param				쿼리 설정 파라메터
+	 * @return						ResutSet
+	 * @throws SQLException
+	 */	
+	public ResultSet selectQueryToCallableStatement(long autoCloseTime, String sql, Object ... param) throws SQLException{
+		return this.selectQuery(autoCloseTime, StatementType.CALLABLE_STATEMENT, sql, param);
+	}
+	
+	/**
+	 * java.sql.Statement 를 이용한 셀렉트 쿼리 수행 후 결과를 쿼리 캐시에 보관<br>
+	 * 같은 쿼리의 결과가 보관되어 있을 경우 데이터베이스에 요청하지 않고 보관된 결과를 리턴한다<br>
+	 * 리턴되는 ResultSet 은 커넥션과 분리된 읽기 전용 결과로, 커넥션은 바로 반납되므로 close() 를 호출하지 않아도 된다<br>
+	 * setQueryCache(QueryCache) 를 설정하지 않았거나 트랜잭션 안에서 호출할 경우 결과를 보관하지 않는다
+	 * @param sql			쿼리
+	 * @return				커넥션과 분리된 ResultSet
+	 * @throws SQLException
+	 */
+	public ResultSet selectCachedQueryToStatement(String sql) throws SQLException{
+		return this.selectCachedQuery(DEFAULT_CACHE_TTL, StatementType.STATEMENT, sql);
+	}
+	
+	/**
+	 * java.sql.Statement 를 이용한 셀렉트 쿼리 수행 후 결과를 쿼리 캐시에 보관
+	 * @param ttl			결과 보관 시간 (단위:ms)
+	 * @param sql			쿼리
+	 * @return				커넥션과 분리된 ResultSet
+	 * @throws SQLException
+	 * @see #selectCachedQueryToStatement(String)
+	 */
+	public ResultSet selectCachedQueryToStatement(long ttl, String sql) throws SQLException{
+		return this.selectCachedQuery(ttl, StatementType.STATEMENT, sql);
+	}
+	
+	/**
+	 * java.sql.PreparedStatement 를 이용한 셀렉트 쿼리 수행 후 결과를 쿼리 캐시에 보관<br>
+	 * 쿼리와 파라메터 값이 모두 같을 경우에만 보관된 결과를 리턴한다
+	 * @param sql			쿼리
+	 * @param param		쿼리 설정 파라메터
+	 * @return				커넥션과 분리된 ResultSet
+	 * @throws SQLException
+	 * @see #selectCachedQueryToStatement(String)
+	 */
+	public ResultSet selectCachedQueryToPreparedStatement(String sql, Object ... param) throws SQLException{
+		return this.selectCachedQuery(DEFAULT_CACHE_TTL, StatementType.PREPARED_STATEMENT, sql, param);
+	}
+	
+	/**
+	 * java.sql.PreparedStatement 를 이용한 셀렉트 쿼리 수행 후 결과를 쿼리 캐시에 보관
+	 * @param ttl			결과 보관 시간 (단위:ms)
+	 * @param sql			쿼리
+	 * @param param		쿼리 설정 파라메터
+	 * @return				커넥션과 분리된 ResultSet
+	 * @throws SQLException
+	 * @see #selectCachedQueryToPreparedStatement(String, Object...)
+	 */
+	public ResultSet selectCachedQueryToPreparedStatement(long ttl, String sql, Object ... param) throws SQLException{
+		return this.selectCachedQuery(ttl, StatementType.PREPARED_STATEMENT, sql, param);
+	}
+	
+	/**
+	 * java.sql.Statement 를 이용한 셀렉트 쿼리 수행 후 결과를 로우 단위로 처리<br>
+	 * 모든 로우를 처리하거나 처리 중 예외가 발생하면 ResultSet 과 Statement 는 바로 자원반납된다
+	 * @param handler	로우 처리
+	 * @param sql			쿼리
+	 * @return				처리한 로우 수
+	 * @throws SQLException
+	 */
+	public int selectQueryToStatement(RowHandler handler, String sql) throws SQLException{
+		return this.selectQuery(null, handler, StatementType.STATEMENT, sql);
+	}
+	
+	/**
+	 * java.sql.PreparedStatement 를 이용한 셀렉트 쿼리 수행 후 결과를 로우 단위로 처리<br>
+	 * 모든 로우를 처리하거나 처리 중 예외가 발생하면 ResultSet 과 Statement 는 바로 자원반납된다
+	 * @param handler	로우 처리
+	 * @param sql			쿼리
+	 * @param param		쿼리 설정 파라메터
+	 * @return				처리한 로우 수
+	 * @throws SQLException
+	 */
+	public int selectQueryToPreparedStatement(RowHandler handler, String sql, Object ... param) throws SQLException{
+		return this.selectQuery(null, handler, StatementType.PREPARED_STATEMENT, sql, param);
+	}
+	
+	/**
+	 * java.sql.CallableStatement 를 이용한 셀렉트 쿼리 수행 후 결과를 로우 단위로 처리<br>
+	 * 모든 로우를 처리하거나 처리 중 예외가 발생하면 ResultSet 과 Statement 는 바로 자원반납된다
+	 * @param handler	로우 처리
+	 * @param sql			쿼리
+	 * @param param		쿼리 설정 파라메터
+	 * @return				처리한 로우 수
+	 * @throws SQLException
+	 */
+	public int selectQueryToCallableStatement(RowHandler handler, String sql, Object ... param) throws SQLException{
+		return this.selectQuery(null, handler, StatementType.CALLABLE_STATEMENT, sql, param);
+	}
+	
+	/**
+	 * java.sql.Statement 를 이용한 셀렉트 쿼리 결과를 java.util.stream.Stream 으로 리턴<br>
+	 * 로우는 Stream 을 처리할 때 하나씩 읽으며, 그동안 커넥션을 사용한다<br>
+	 * 마지막 로우까지 처리하거나 처리 중 예외가 발생하면 바로 자원반납되며,
+	 * 모든 로우를 처리하지 않는 경우(limit, findFirst 등)를 위해 try-with-resources 로 사용해야 한다<br>
+	 * 처리 중 발생한 SQLException 은 UncheckedSQLException 으로 전달된다
+	 * @param mapper		로우 변환
+	 * @param sql			쿼리
+	 * @return				변환된 로우 Stream
+	 * @throws SQLException
+	 */
+	public <T> Stream<T> streamQueryToStatement(RowMapper<T> mapper, String sql) throws SQLException{
+		return this.streamQuery(mapper, StatementType.STATEMENT, sql);
+	}
+	
+	/**
+	 * java.sql.PreparedStatement 를 이용한 셀렉트 쿼리 결과를 java.util.stream.Stream 으로 리턴<br>
+	 * 로우는 Stream 을 처리할 때 하나씩 읽으며, 그동안 커넥션을 사용한다<br>
+	 * 마지막 로우까지 처리하거나 처리 중 예외가 발생하면 바로 자원반납되며,
+	 * 모든 로우를 처리하지 않는 경우(limit, findFirst 등)를 위해 try-with-resources 로 사용해야 한다<br>
+	 * 처리 중 발생한 SQLException 은 UncheckedSQLException 으로 전달된다
+	 * @param mapper		로우 변환
+	 * @param sql			쿼리
+	 * @param param		쿼리 설정 파라메터
+	 * @return				변환된 로우 Stream
+	 * @throws SQLException
+	 */
+	public <T> Stream<T> streamQueryToPreparedStatement(RowMapper<T> mapper, String sql, Object ... param) throws SQLException{
+		return this.streamQuery(mapper, StatementType.PREPARED_STATEMENT, sql, param);
+	}
+	
+	/**
+	 * java.sql.CallableStatement 를 이용한 셀렉트 쿼리 결과를 java.util.stream.Stream 으로 리턴<br>
+	 * 로우는 Stream 을 처리할 때 하나씩 읽으며, 그동안 커넥션을 사용한다<br>
+	 * 마지막 로우까지 처리하거나 처리 중 예외가 발생하면 바로 자원반납되며,
+	 * 모든 로우를 처리하지 않는 경우(limit, findFirst 등)를 위해 try-with-resources 로 사용해야 한다<br>
+	 * 처리 중 발생한 SQLException 은 UncheckedSQLException 으로 전달된다
+	 * @param mapper		로우 변환
+	 * @param sql			쿼리
+	 * @param param		쿼리 설정 파라메터
+	 * @return				변환된 로우 Stream
+	 * @throws SQLException
+	 */
+	public <T> Stream<T> streamQueryToCallableStatement(RowMapper<T> mapper, String sql, Object ... param) throws SQLException{
+		return this.streamQuery(mapper, StatementType.CALLABLE_STATEMENT, sql, param);
+	}
+	
+	/**
+	 * java.sql.Statement 를 이용한 셀렉트 쿼리 결과를 대상 클래스 객체 목록으로 리턴<br>
+	 * 컬럼 라벨과 대상 클래스의 설정 메소드 / 필드 / 레코드 컴포넌트 매핑은 쿼리와 클래스별로 한번만 결정된다<br>
+	 * 대상 클래스가 String / Integer 등 단일 값 타입일 경우 첫번째 컬럼 값을 리턴한다
+	 * @param type		대상 클래스
+	 * @param sql			쿼리
+	 * @return				변환된 로우 목록
+	 * @throws SQLException
+	 */
+	public <T> List<T> selectQueryToStatement(Class<T> type, String sql) throws SQLException{
+		return this.selectList(null, ClassRowMapper.forQuery(type, sql), StatementType.STATEMENT, sql);
+	}
+	
+	/**
+	 * java.sql.PreparedStatement 를 이용한 셀렉트 쿼리 결과를 대상 클래스 객체 목록으로 리턴<br>
+	 * 컬럼 라벨과 대상 클래스의 설정 메소드 / 필드 / 레코드 컴포넌트 매핑은 쿼리와 클래스별로 한번만 결정된다<br>
+	 * 대상 클래스가 String / Integer 등 단일 값 타입일 경우 첫번째 컬럼 값을 리턴한다
+	 * @param type		대상 클래스
+	 * @param sql			쿼리
+	 * @param param		쿼리 설정 파라메터
+	 * @return				변환된 로우 목록
+	 * @throws SQLException
+	 */
+	public <T> List<T> selectQueryToPreparedStatement(Class<T> type, String sql, Object ... param) throws SQLException{
+		return this.selectList(null, ClassRowMapper.forQuery(type, sql), StatementType.PREPARED_STATEMENT, sql, param);
+	}
+	
+	/**
+	 * java.sql.PreparedStatement 를 이용한 셀렉트 쿼리 결과를 대상 클래스 객체 Stream 으로 리턴<br>
+	 * 모든 로우를 처리하지 않는 경우(limit, findFirst 등)를 위해 try-with-resources 로 사용해야 한다
+	 * @param type		대상 클래스
+	 * @param sql			쿼리
+	 * @param param		쿼리 설정 파라메터
+	 * @return				변환된 로우 Stream
+	 * @throws SQLException
+	 */
+	public <T> Stream<T> streamQueryToPreparedStatement(Class<T> type, String sql, Object ... param) throws SQLException{
+		return this.streamQuery(ClassRowMapper.forQuery(type, sql), StatementType.PREPARED_STATEMENT, sql, param);
+	}
+	
+	/**
+	 * java.sql.Statement 를 이용한 셀렉트 쿼리 결과를 컬럼 단위로 읽어 리턴<br>
+	 * 숫자 컬럼은 기본 타입 배열로, 문자열 컬럼은 문자열 사전으로 보관되며, 모든 로우를 읽은 후 커넥션은 바로 반납된다
+	 * @param sql			쿼리
+	 * @return				컬럼 단위 쿼리 결과
+	 * @throws SQLException
+	 * @see ColumnarResult
+	 */
+	public ColumnarResult selectColumnarQueryToStatement(String sql) throws SQLException{
+		return this.readColumnar(false, StatementType.STATEMENT, sql);
+	}
+	
+	/**
+	 * java.sql.Statement 를 이용한 셀렉트 쿼리 결과를 컬럼 단위로 읽어 리턴<br>
+	 * 숫자 컬럼은 기본 타입 배열로, 문자열 컬럼은 문자열 사전으로 보관되며, 모든 로우를 읽은 후 커넥션은 바로 반납된다
+	 * @param offHeap	기본 타입 컬럼을 direct ByteBuffer 에 보관할지 여부
+	 * @param sql			쿼리
+	 * @return				컬럼 단위 쿼리 결과
+	 * @throws SQLException
+	 * @see ColumnarResult
+	 */
+	public ColumnarResult selectColumnarQueryToStatement(boolean offHeap, String sql) throws SQLException{
+		return this.readColumnar(offHeap, StatementType.STATEMENT, sql);
+	}
+	
+	/**
+	 * java.sql.PreparedStatement 를 이용한 셀렉트 쿼리 결과를 컬럼 단위로 읽어 리턴<br>
+	 * 숫자 컬럼은 기본 타입 배열로, 문자열 컬럼은 문자열 사전으로 보관되며, 모든 로우를 읽은 후 커넥션은 바로 반납된다
+	 * @param sql			쿼리
+	 * @param param		쿼리 설정 파라메터
+	 * @return				컬럼 단위 쿼리 결과
+	 * @throws SQLException
+	 * @see ColumnarResult
+	 */
+	public ColumnarResult selectColumnarQueryToPreparedStatement(String sql, Object ... param) throws SQLException{
+		return this.readColumnar(false, StatementType.PREPARED_STATEMENT, sql, param);
+	}
+	
+	/**
+	 * java.sql.PreparedStatement 를 이용한 셀렉트 쿼리 결과를 컬럼 단위로 읽어 리턴<br>
+	 * 숫자 컬럼은 기본 타입 배열로, 문자열 컬럼은 문자열 사전으로 보관되며, 모든 로우를 읽은 후 커넥션은 바로 반납된다
+	 * @param offHeap	기본 타입 컬럼을 direct ByteBuffer 에 보관할지 여부
+	 * @param sql			쿼리
+	 * @param param		쿼리 설정 파라메터
+	 * @return				컬럼 단위 쿼리 결과
+	 * @throws SQLException
+	 * @see ColumnarResult
+	 */
+	public ColumnarResult selectColumnarQueryToPreparedStatement(boolean offHeap, String sql, Object ... param) throws SQLException{
+		return this.readColumnar(offHeap, StatementType.PREPARED_STATEMENT, sql, param);
+	}
+	
+	/**
+	 * 비동기 트랜잭션 시작<br>
+	 * 트랜잭션 커넥션은 리턴된 AsyncTransaction 이 보유하며, commit() 또는 rollback() 을 호출할 때까지
+	 * 비동기 쿼리 동시 수행 수에 포함된다<br>
+	 * 리턴된 CompletableFuture 를 취소하거나 시간이 지나 트랜잭션을 전달하지 못했을 경우에는 바로 롤백하고 커넥션을 반납한다
+	 * @return		비동기 트랜잭션
+	 */
+	public CompletableFuture<AsyncTransaction> startTransactionAsync(){
+		return this.asyncExecutor.submit(() -> {
+			DatabaseConnection dc = this.borrowConnection();
+			try{
+				dc.startTransaction();
+			}catch(SQLException e){
+				this.returnConnection(dc);
+				throw e;
+			}
+			this.countTransaction(dc);
+			return new AsyncTransaction(this, this.asyncExecutor, dc);
+		}, AsyncTransaction::abandon);
+	}
+	
+	/**
+	 * java.sql.Statement 를 이용한 UPDATE / INSERT / DELETE 쿼리를 비동기로 수행
+	 * @param sql		쿼리
+	 * @return			실행성공 로우 수
+	 */
+	public CompletableFuture<Integer> queryToStatementAsync(String sql){
+		return this.asyncExecutor.submit(() -> this.executePooled(false, dc -> (Integer)this.executeQuery(dc, StatementType.STATEMENT, 0, false, sql)));
+	}
+	
+	/**
+	 * java.sql.PreparedStatement 를 이용한 UPDATE / INSERT / DELETE 쿼리를 비동기로 수행
+	 * @param sql			쿼리
+	 * @param param		쿼리 설정 파라메터
+	 * @return				실행성공 로우 수
+	 */
+	public CompletableFuture<Integer> queryToPreparedStatementAsync(String sql, Object ... param){
+		return this.asyncExecutor.submit(() -> this.executePooled(false, dc -> (Integer)this.executeQuery(dc, StatementType.PREPARED_STATEMENT, 0, false, sql, param)));
+	}
+	
+	/**
+	 * java.sql.CallableStatement 를 이용한 UPDATE / INSERT / DELETE 쿼리를 비동기로 수행
+	 * @param sql			쿼리
+	 * @param param		쿼리 설정 파라메터
+	 * @return				실행성공 로우 수
+	 */
+	public CompletableFuture<Integer> queryToCallableStatementAsync(String sql, Object ... param){
+		return this.asyncExecutor.submit(() -> this.executePooled(false, dc -> (Integer)this.executeQuery(dc, StatementType.CALLABLE_STATEMENT, 0, false, sql, param)));
+	}
+	
+	/**
+	 * java.sql.PreparedStatement 를 이용한 배치 쿼리를 비동기로 수행
+	 * @param sql			쿼리
+	 * @param params		로우별 쿼리 설정 파라메터
+	 * @return				로우별 실행성공 로우 수
+	 */
+	public CompletableFuture<int[]> batchQueryToPreparedStatementAsync(String sql, List<Object[]> params){
+		return this.asyncExecutor.submit(() -> this.executePooled(false, dc -> this.executeBatch(dc, sql, params.iterator(), params.size())));
+	}
+	
+	/**
+	 * java.sql.Statement 를 이용한 셀렉트 쿼리를 비동기로 수행 후 변환된 로우 목록 리턴
+	 * @param mapper		로우 변환
+	 * @param sql			쿼리
+	 * @return				변환된 로우 목록
+	 */
+	public <T> CompletableFuture<List<T>> selectQueryToStatementAsync(RowMapper<T> mapper, String sql){
+		return this.asyncExecutor.submit(() -> this.executePooled(true, dc -> this.selectList(dc, mapper, StatementType.STATEMENT, sql)));
+	}
+	
+	/**
+	 * java.sql.PreparedStatement 를 이용한 셀렉트 쿼리를 비동기로 수행 후 변환된 로우 목록 리턴
+	 * @param mapper		로우 변환
+	 * @param sql			쿼리
+	 * @param param		쿼리 설정 파라메터
+	 * @return				변환된 로우 목록
+	 */
+	public <T> CompletableFuture<List<T>> selectQueryToPreparedStatementAsync(RowMapper<T> mapper, String sql, Object ... param){
+		return this.asyncExecutor.submit(() -> this.executePooled(true, dc -> this.selectList(dc, mapper, StatementType.PREPARED_STATEMENT, sql, param)));
+	}
+	
+	/**
+	 * java.sql.CallableStatement 를 이용한 셀렉트 쿼리를 비동기로 수행 후 변환된 로우 목록 리턴
+	 * @param mapper		로우 변환
+	 * @param sql			쿼리
+	 * @param param		쿼리 설정 파라메터
+	 * @return				변환된 로우 목록
+	 */
+	public <T> CompletableFuture<List<T>> selectQueryToCallableStatementAsync(RowMapper<T> mapper, String sql, Object ... param){
+		return this.asyncExecutor.submit(() -> this.executePooled(true, dc -> this.selectList(dc, mapper, StatementType.CALLABLE_STATEMENT, sql, param)));
+	}
+	
+	/**
+	 * 스레드별 트랜잭션 커넥션을 사용하지 않고 풀에서 빌린 커넥션으로 작업 수행<br>
+	 * 비동기 작업은 요청한 스레드와 다른 스레드에서 수행되므로, 실행 스레드에서 시작된 트랜잭션에 포함되지 않아야 한다
+	 * @param retry		연결 종료 오류 시 새로운 커넥션으로 한번 더 시도할지 여부
+	 * @param task		빌린 커넥션으로 수행할 작업
+	 * @return			작업 결과
+	 */
+	private <T> T executePooled(boolean retry, PooledTask<T> task) throws SQLException{
+		try{
+			return this.executePooled(task);
+		}catch(DatabaseDisconnectException e){
+			if( !retry )		throw e;
+			// 연결 종료 오류 시 한번 더 시도하여 재접속 처리 후 검색쿼리를 수행할 수 있게 함
+			return this.executePooled(task);
+		}
+	}
+	
+	/**		풀에서 빌린 커넥션으로 작업 수행 후 반납		*/
+	private <T> T executePooled(PooledTask<T> task) throws SQLException{
+		DatabaseConnection dc = this.borrowConnection(this.callDeadline());
+		try{
+			return task.call(dc);
+		}finally{
+			this.returnConnection(dc);
+		}
+	}
+	
+	/**
+	 * 셀렉트 쿼리 수행 후 변환된 로우 목록 리턴
+	 * @param owned		호출자가 보유하고 있는 트랜잭션 커넥션. null 일 경우 풀에 커넥션 요청
+	 */
+	<T> List<T> selectList(DatabaseConnection owned, RowMapper<T> mapper, StatementType sType, String sql, Object ... param) throws SQLException{
+		List<T> result = new ArrayList<T>();
+		this.selectQuery(owned, rs -> result.add(mapper.mapRow(rs)), sType, sql, param);
+		return result;
+	}
+	
+	/**
+	 * 셀렉트 쿼리 수행 후 로우 단위 처리
+	 * @param owned		호출자가 보유하고 있는 트랜잭션 커넥션. null 일 경우 풀에 커넥션 요청
+	 */
+	int selectQuery(DatabaseConnection owned, RowHandler handler, StatementType sType, String sql, Object ... param) throws SQLException{
+		return this.handleRows(this.openCursor(owned, sType, sql, null, param), handler);
+	}
+	
+	/**		PreparedQuery 셀렉트 쿼리 수행 후 로우 단위 처리		*/
+	int selectQuery(PreparedQuery query, RowHandler handler) throws SQLException{
+		return this.handleRows(this.openCursor(null, StatementType.PREPARED_STATEMENT, query.getSql(), query, null), handler);
+	}
+	
+	/**		모든 로우 처리 후 자원반납		*/
+	private int handleRows(QueryCursor cursor, RowHandler handler) throws SQLException{
+		try{
+			ResultSet rs = cursor.getResultSet();
+			int count = 0;
+			while( rs.next() ){
+				handler.handleRow(rs);
+				count++;
+			}
+			return count;
+		}catch(SQLException e){
+			throw cursor.deadlineError(e);
+		}finally{
+			cursor.close();
+		}
+	}
+	
+	/**		셀렉트 쿼리 결과를 Stream 으로 리턴		*/
+	private <T> Stream<T> streamQuery(RowMapper<T> mapper, StatementType sType, String sql, Object ... param) throws SQLException{
+		QueryCursor cursor = this.openCursor(null, sType, sql, null, param);
+		return StreamSupport.stream(new RowSpliterator<T>(cursor, mapper), false).onClose(cursor::close);
+	}
+	
+	/**
+	 * 스트리밍 셀렉트 쿼리 수행<br>
+	 * 스레드별 트랜잭션 중일 경우 트랜잭션 커넥션을 맵에 둔 채 보유한 커넥션으로 사용하므로,
+	 * 로우 처리 중 수행하는 쿼리와 commit() / rollback() 도 같은 트랜잭션에서 처리되며 커서 종료 시 커넥션을 반납하지 않는다
+	 */
+	private QueryCursor openCursor(DatabaseConnection owned, StatementType sType, String sql, PreparedQuery query, Object[] param) throws SQLException{
+		if( owned == null )		owned = this.threadTransaction();
+		
+		try{
+			return this.executeCursor(owned, sType, sql, query, param);
+		}catch(DatabaseDisconnectException e){
+			// 보유한 트랜잭션 커넥션의 연결이 끊겼을 경우 다시 시도할 수 없다
+			if( owned != null )		throw e;
+			// 연결 종료 오류 시 한번 더 시도하여 재접속 처리 후 검색쿼리를 수행할 수 있게 함
+			return this.executeCursor(null, sType, sql, query, param);
+		}
+	}
+	
+	/**
+	 * 셀렉트 쿼리를 수행하고 커넥션을 반납하지 않은 상태로 결과를 리턴<br>
+	 * 커넥션과 Statement 는 QueryCursor.close() 호출 시 반납된다
+	 */
+	private QueryCursor executeCursor(DatabaseConnection owned, StatementType sType, String sql, PreparedQuery query, Object[] param) throws SQLException{
+		long deadline = this.callDeadline();
+		DatabaseConnection dc = this.requestConnection(owned, deadline);
+		
+		Statement st = null;
+		StatementCanceller canceller = null;
+		
+		boolean recording = this.isQueryRecording();
+		long startTime = recording ? System.nanoTime() : 0L;
+		
+		try{
+			st = dc.getStatement(sql, sType, this.statementCacheSize);
+			if( this.fetchSize != 0 )		st.setFetchSize(this.fetchSize);
+			// 로우를 모두 읽을 때까지 마감 시간을 적용하며, 취소 작업은 QueryCursor.close() 에서 정리된다
+			canceller = this.startDeadline(st, deadline);
+			
+			ResultSet rs;
+			if( sType == StatementType.STATEMENT ){
+				rs = st.executeQuery(sql);
+			}else{
+				PreparedStatement pst = (PreparedStatement)st;
+				this.bindParameter(pst, query, param);
+				rs = pst.executeQuery();
+			}
+			
+			// 스트리밍 쿼리는 첫 결과를 받을 때까지의 시간을 기록한다
+			if( recording )		this.recordQuery(sql, startTime, true, parameterCount(query, param));
+			
+			return new QueryCursor(this, dc, owned == null, sql, sType, st, rs, this.fetchSize != 0, canceller);
+		}catch(SQLException e){
+			// 예외 발생 시 쿼리 오류인지 접속종료 오류인지 확인한다
+			if( recording )		this.recordQuery(sql, startTime, false, parameterCount(query, param));
+			if( canceller != null )		canceller.finish();
+			if( st != null )		try{		st.close();		}catch(Exception e1){}		// 오류 났을 경우 자원반납 (캐시하지 않음)
+			boolean closed = this.checkConnectionClosed(dc);
+			this.returnConnection(owned, dc);			// 커넥션 반납
+			
+			if( closed )		throw new DatabaseDisconnectException();		// 정상적으로 연결이 끊겼을 경우 처리
+			else				throw deadlineError(e, deadline, canceller);		// 다른 오류로 인한 경우
+		}
+	}
+	
+	/**		셀렉트 쿼리 수행		*/
+	private ResultSet selectQuery(long autoCloseTime, StatementType sType, String sql, Object ... param) throws SQLException{
+		return this.selectQuery(autoCloseTime, sType, sql, null, param);
+	}
+	
+	/**		PreparedQuery 셀렉트 쿼리 수행		*/
+	ResultSet selectQuery(PreparedQuery query) throws SQLException{
+		return this.selectQuery(this.autoCloseResultTime, StatementType.PREPARED_STATEMENT, query.getSql(), query, null);
+	}
+	
+	/**		PreparedQuery 셀렉트 쿼리 수행		*/
+	ResultSet selectQuery(PreparedQuery query, long autoCloseTime) throws SQLException{
+		return this.selectQuery(autoCloseTime, StatementType.PREPARED_STATEMENT, query.getSql(), query, null);
+	}
+	
+	/**		셀렉트 쿼리 수행		*/
+	private ResultSet selectQuery(long autoCloseTime, StatementType sType, String sql, PreparedQuery query, Object[] param) throws SQLException{
+		try{
+			return (ResultSet)this.executeStatement(null, sType, autoCloseTime, true, sql, query, param);
+		}catch(DatabaseDisconnectException e){
+			// 연결 종료 오류 시 한번 더 시도하여 재접속 처리 후 검색쿼리를 수행할 수 있게 함
+			return (ResultSet)this.executeStatement(null, sType, autoCloseTime, true, sql, query, param);
+		}
+	}
+	
+	/**		PreparedQuery UPDATE / INSERT / DELETE 쿼리 수행		*/
+	int executeUpdate(PreparedQuery query) throws SQLException{
+		return (Integer)this.executeStatement(null, StatementType.PREPARED_STATEMENT, 0, false, query.getSql(), query, null);
+	}
+	
+	/**
+	 * 쿼리 수행
+	 * @param owned		호출자가 보유하고 있는 트랜잭션 커넥션. null 일 경우 풀에 커넥션 요청
+	 */
+	Object executeQuery(DatabaseConnection owned, StatementType sType, long autoCloseTime, boolean select, String sql, Object ... param) throws SQLException{
+		return this.executeStatement(owned, sType, autoCloseTime, select, sql, null, param);
+	}
+	
+	/**
+	 * 쿼리 수행
+	 * @param owned		호출자가 보유하고 있는 트랜잭션 커넥션. null 일 경우 풀에 커넥션 요청
+	 * @param query		파라메터를 설정할 PreparedQuery. null 일 경우 param 으로 설정
+	 */
+	private Object executeStatement(DatabaseConnection owned, StatementType sType, long autoCloseTime, boolean select, String sql, PreparedQuery query, Object[] param) throws SQLException{
+		long deadline = this.callDeadline();
+		DatabaseConnection dc = this.requestConnection(owned, deadline);
+
+		Statement st = null;
+		StatementCanceller canceller = null;
+		boolean release = !select;
+		ResultLeakDetector leakDetector = select ? this.resultLeakDetector : null;
+		
+		boolean recording = this.isQueryRecording();
+		long startTime = recording ? System.nanoTime() : 0L;
+		boolean success = false;
+		
+		Object result;
+		
+		try{
+			st = dc.getStatement(sql, sType, this.statementCacheSize);
+			canceller = this.startDeadline(st, deadline);
+			
+			if( sType == StatementType.STATEMENT ){
+				// statement
+				if( select )		result = new AutoCloseResult(dc, sql, sType, st, st.executeQuery(sql), System.currentTimeMillis() + autoCloseTime, leakDetector);		// SELECT
+				else				result = st.executeUpdate(sql);	// INSERT, UPDATE, DELETE
+			}else{
+				// preparedStatement or callableStatement
+				PreparedStatement pst = (PreparedStatement)st;
+				// 파라메터 셋팅
+				this.bindParameter(pst, query, param);
+				// 쿼리 수행
+				if( select )		result = new AutoCloseResult(dc, sql, sType, st, pst.executeQuery(), System.currentTimeMillis() + autoCloseTime, leakDetector);		// SELECT
+				else				result = pst.executeUpdate();		// INSERT, UPDATE, DELETE
+			}
+			
+			// 리턴된 ResultSet 을 읽는 동안에는 취소하지 않는다
+			finishDeadline(st, canceller);
+			
+			/*
+			 * 사용자가 resultSet.close() , st.close() 를 하지 않을 경우 메모리가 무한 증가하므로
+			 * 자동으로 close() 를 호출하기 위해 매니저에 등록시킨다
+			 */
+			if( select ){
+				AutoCloseResult acr = (AutoCloseResult)result;
+				result = acr.getResultSet();
+				if( autoCloseTime > 0 )		this.manager.addAutoCloseResult(acr, autoCloseTime);
+				if( leakDetector != null )		this.manager.addResultLeakCheck(leakDetector);
+			}else{
+				this.invalidateQueryCache(dc, sType, sql);
+			}
+			
+			success = true;
+			return result;
+		}catch(SQLException e){
+			// 예외 발생 시 쿼리 오류인지 접속종료 오류인지 확인한다
+			release = false;
+			if( canceller != null )		canceller.finish();
+			if( st != null )		try{		st.close();		}catch(Exception e1){}		// 오류 났을 경우 자원반납 (캐시하지 않음)
+			if( this.checkConnectionClosed(dc) )		throw new DatabaseDisconnectException();		// 정상적으로 연결이 끊겼을 경우 처리
+			else			throw deadlineError(e, deadline, canceller);		// 다른 오류로 인한 경우
+		}finally{
+			if( release )		dc.releaseStatement(sql, sType, st);		// ResultSet 리턴이 아닐 경우 자원반납
+			this.returnConnection(owned, dc);			// 커넥션 반납
+			if( recording )		this.recordQuery(sql, startTime, success, parameterCount(query, param));
+		}
+	}
+	
+	/**		캐시된 셀렉트 쿼리 수행		*/
+	private ResultSet selectCachedQuery(long ttl, StatementType sType, String sql, Object ... param) throws SQLException{
+		QueryCache cache = this.queryCache;
+		// 트랜잭션 안에서는 커밋되지 않은 데이터가 보관되지 않도록 캐시를 사용하지 않는다
+		if( cache == null || this.isTransactionStarted() )		return new DetachedResultSet(this.readResult(sType, sql, param));
+		
+		QueryCache.Key key = new QueryCache.Key(sql, param);
+		CachedResult result = cache.get(key);
+		if( result == null ){
+			// 쿼리 수행 중 테이블이 변경되었을 경우 결과를 보관하지 않도록 수행 전의 변경 횟수를 기록
+			long version = cache.version(key);
+			result = this.readResult(sType, sql, param);
+			cache.put(key, result, ttl == DEFAULT_CACHE_TTL ? cache.getDefaultTtl() : ttl, version);
+		}
+		
+		return new DetachedResultSet(result);
+	}
+	
+	/**		셀렉트 쿼리 수행 후 모든 로우를 컬럼 단위로 읽고 바로 자원반납		*/
+	private ColumnarResult readColumnar(boolean offHeap, StatementType sType, String sql, Object ... param) throws SQLException{
+		QueryCursor cursor = this.openCursor(null, sType, sql, null, param);
+		try{
+			return ColumnarResult.read(cursor.getResultSet(), offHeap);
+		}catch(SQLException e){
+			throw cursor.deadlineError(e);
+		}finally{
+			cursor.close();
+		}
+	}
+	
+	/**		셀렉트 쿼리 수행 후 모든 로우를 읽고 바로 자원반납		*/
+	private CachedResult readResult(StatementType sType, String sql, Object ... param) throws SQLException{
+		QueryCursor cursor = this.openCursor(null, sType, sql, null, param);
+		try{
+			return CachedResult.read(cursor.getResultSet());
+		}catch(SQLException e){
+			throw cursor.deadlineError(e);
+		}finally{
+			cursor.close();
+		}
+	}
+	
+	/**		쿼리 수행 시간을 기록하는지 여부		*/
+	private boolean isQueryRecording(){
+		return this.metricsEnabled || this.queryStatistics != null;
+	}
+	
+	/**
+	 * 쿼리 수행 기록
+	 * @param sql						수행한 쿼리
+	 * @param startTime				수행 시작 시각 (System.nanoTime() 기준)
+	 * @param success					수행 성공 여부
+	 * @param parameterCount		쿼리 파라메터 수. 배치 쿼리일 경우 로우 수
+	 */
+	private void recordQuery(String sql, long startTime, boolean success, int parameterCount){
+		long nanos = System.nanoTime() - startTime;
+		if( this.metricsEnabled )		this.metrics.recordQuery(nanos, success);
+		
+		QueryStatistics statistics = this.queryStatistics;
+		if( statistics != null )		statistics.record(sql, nanos, success, parameterCount);
+	}
+	
+	/**		쿼리 파라메터 수		*/
+	private static int parameterCount(PreparedQuery query, Object[] param){
+		if( query != null )		return query.getParameterCount();
+		return param == null ? 0 : param.length;
+	}
+	
+	/**
+	 * 남은 마감 시간을 Statement 의 queryTimeout 으로 설정하고 마감 시각에 취소되도록 등록
+	 * @param st				쿼리를 수행할 Statement
+	 * @param deadline		마감 시각. 0 일 경우 처리하지 않음
+	 * @return					취소 작업. 마감 시간이 없을 경우 null
+	 * @throws SQLException	마감 시간이 이미 지났거나 queryTimeout 설정 오류 시 발생
+	 */
+	private StatementCanceller startDeadline(Statement st, long deadline) throws SQLException{
+		if( deadline == 0 )		return null;
+		return new StatementCanceller(st, this.manager, setQueryTimeout(st, deadline));
+	}
+	
+	/**
+	 * 남은 마감 시간을 Statement 의 queryTimeout 으로 설정<br>
+	 * queryTimeout 은 초 단위이므로 올림하여 설정하며, 초 단위 이하의 마감 시간은 Statement.cancel() 로 처리된다
+	 * @return		남은 시간 (단위:ns)
+	 */
+	private static long setQueryTimeout(Statement st, long deadline) throws SQLException{
+		long remaining = deadline - System.nanoTime();
+		if( remaining <= 0 )		throw new DeadlineExceededException("deadline exceeded before query execution");
+		
+		st.setQueryTimeout((int)Math.min(Integer.MAX_VALUE, (remaining + 999999999L) / 1000000000L));
+		return remaining;
+	}
+	
+	/**		쿼리 수행 후 취소 작업 제거. 캐시되는 Statement 일 경우 다른 쿼리에 영향을 주지 않도록 queryTimeout 원복		*/
+	private static void finishDeadline(Statement st, StatementCanceller canceller){
+		if( canceller == null )		return;
+		
+		canceller.finish();
+		try{		st.setQueryTimeout(0);		}catch(Exception e){}
+	}
+	
+	/**		마감 시간이 지나 발생한 오류일 경우 DeadlineExceededException 으로 변환		*/
+	private static SQLException deadlineError(SQLException e, long deadline, StatementCanceller canceller){
+		if( deadline == 0 || e instanceof DeadlineExceededException )		return e;
+		if( (canceller != null && canceller.isCancelled()) || deadline - System.nanoTime() <= 0 )
+			return new DeadlineExceededException("deadline exceeded during query execution", e);
+		return e;
+	}
+	
+	/**
+	 * 변경 쿼리가 변경한 테이블을 참조하는 캐시 결과 제거
+	 * @param dc			쿼리를 수행한 커넥션
+	 * @param sType		쿼리 타입
+	 * @param sql			변경 쿼리
+	 */
+	private void invalidateQueryCache(DatabaseConnection dc, StatementType sType, String sql){
+		QueryCache cache = this.queryCache;
+		if( cache == null )		return;
+		
+		// CallableStatement 는 변경 테이블을 알 수 없으므로 전체 결과를 제거한다
+		String query = sType == StatementType.CALLABLE_STATEMENT ? null : sql;
+		if( query == null )		cache.invalidateAll();
+		else						cache.invalidateQuery(query);
+		
+		// 커밋 전까지 다른 스레드가 변경 전 데이터를 다시 보관할 수 있으므로 트랜잭션 종료 시 한번 더 제거한다
+		if( dc.isStartTransaction() )		dc.addWrittenQuery(query);
+	}
+	
+	/**		트랜잭션 중 수행한 변경 쿼리가 변경한 테이블을 참조하는 캐시 결과 제거		*/
+	private void invalidateQueryCache(Set<String> writtenQueries){
+		QueryCache cache = this.queryCache;
+		if( cache == null )		return;
+		
+		if( writtenQueries.contains(null) ){
+			cache.invalidateAll();
+			return;
+		}
+		
+		for(String sql : writtenQueries)		cache.invalidateQuery(sql);
+	}
+	
+	/**		데이터베이스 접속 종료 검사		*/
+	private boolean checkConnectionClosed(DatabaseConnection dc){
+		try{
+			if( !dc.isClosed() )		return false;
+			
+			// 데이터베이스 연결이 끊겼을 경우 해당 커넥션만 제외
+			this.evictConnection(dc);
+			
+			return true;
+		}catch(Exception e){
+			// 에러가 날 경우에도 연결이 끊긴걸로 처리
+			this.evictConnection(dc);
+			return false;
+		}
+	}
+	
+	/**
+	 * 파라메터 타입에 맞는 setMethod를 호출하여 설정값 대입<br>
+	 * 타입별 setMethod 는 클래스마다 한번만 결정된다
+	 * @param pst			데이터베이스 객체
+	 * @param param		쿼리에 사용될 파라메터
+	 * @throws SQLException		setMethod 호출 시 발생 가능
+	 */
+	void settingParameter(PreparedStatement pst, Object ... param) throws SQLException{
+		int length = param.length;
+		for(int i=0; i < length; i++)		ParameterBinder.bindValue(pst, i+1, param[i]);
+	}
+	
+	/**		PreparedQuery 가 있을 경우 PreparedQuery 의 파라메터로, 없을 경우 param 으로 설정		*/
+	private void bindParameter(PreparedStatement pst, PreparedQuery query, Object[] param) throws SQLException{
+		if( query != null )		query.bind(pst);
+		else						this.settingParameter(pst, param);
+	}
+	
+	/**		풀에서 빌린 커넥션으로 수행할 작업		*/
+	private interface PooledTask<T> {
+		
+		/**
+		 * 작업 수행
+		 * @param dc		풀에서 빌린 커넥션
+		 * @return		작업 결과
+		 * @throws SQLException		작업 오류 시 발생
+		 */
+		T call(DatabaseConnection dc) throws SQLException;
+	}
+	
+	/**		배치 쿼리의 로우별 파라메터 설정		*/
+	private interface BatchRows {
+		
+		/**
+		 * 다음 로우의 파라메터 설정
+		 * @param pst		데이터베이스 객체
+		 * @return			설정할 로우가 없을 경우 false
+		 * @throws SQLException		파라메터 설정 오류 시 발생
+		 */
+		boolean bindNext(PreparedStatement pst) throws SQLException;
 	}
 			
 }
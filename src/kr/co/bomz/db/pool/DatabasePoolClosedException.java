@@ -0,0 +1,18 @@
+package kr.co.bomz.db.pool;
+
+import java.sql.SQLException;
+
+/**
+ * 
+ * 종료된 데이터베이스풀에 커넥션을 요청하였을 경우 발생
+ * 
+ * @author Bomz
+ * @since 1.0
+ * @version 1.0
+ *
+ */
+public class DatabasePoolClosedException extends SQLException{
+
+	private static final long serialVersionUID = 4270925362014387217L;
+
+}
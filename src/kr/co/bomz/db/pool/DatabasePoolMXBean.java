@@ -0,0 +1,58 @@
+package kr.co.bomz.db.pool;
+
+/**
+ * JMX 로 제공되는 데이터베이스풀 상태 정보<p>
+ * 커넥션 수는 항상 제공되며, 수행 수와 수행 시간은 DatabasePool.setMetricsEnabled(true) 로 설정하였을 경우에만 기록된다
+ *
+ * @author Bomz
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+public interface DatabasePoolMXBean {
+
+	/**		풀에서 관리중인 전체 커넥션 수		*/
+	int getTotalConnectionCount();
+
+	/**		사용 대기 중인 커넥션 수		*/
+	int getIdleConnectionCount();
+
+	/**		사용 중인 커넥션 수		*/
+	int getBorrowedConnectionCount();
+
+	/**		트랜잭션이 시작된 커넥션 수		*/
+	int getTransactionConnectionCount();
+
+	/**		커넥션 반환을 기다리는 스레드 수		*/
+	int getWaitingThreadCount();
+
+	/**		커넥션 요청 수		*/
+	long getBorrowCount();
+
+	/**		대기 시간 초과로 커넥션을 가져오지 못한 수		*/
+	long getBorrowTimeoutCount();
+
+	/**		새로 생성한 커넥션 수		*/
+	long getConnectionCreatedCount();
+
+	/**		커넥션 생성 실패 수		*/
+	long getConnectionCreateFailCount();
+
+	/**		풀에서 제외된 커넥션 수		*/
+	long getConnectionClosedCount();
+
+	/**		쿼리 수행 수		*/
+	long getQueryCount();
+
+	/**		쿼리 수행 오류 수		*/
+	long getQueryErrorCount();
+
+	/**		커넥션 요청 시간 분포		*/
+	LatencySnapshot getBorrowTime();
+
+	/**		커넥션 생성 시간 분포		*/
+	LatencySnapshot getConnectionCreateTime();
+
+	/**		쿼리 수행 시간 분포		*/
+	LatencySnapshot getQueryTime();
+}
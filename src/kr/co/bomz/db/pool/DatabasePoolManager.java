@@ -1,105 +1,326 @@
 package kr.co.bomz.db.pool;
 
-import java.util.ArrayDeque;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
- * ͺ̽      
- * 
+ * 데이터베이스 연결 관리 및 유지 설정 관리<p>
+ * 모든 데이터베이스풀의 관리 작업은 하나의 공유 스케줄러 스레드에서 수행 시간을 관리하며,
+ * 각 작업은 처리할 일이 생겼거나 수행 시간이 되었을 때만 실행된다<br>
+ * 유효성 검사 쿼리나 커넥션 / ResultSet 종료와 같이 데이터베이스 응답을 기다리는 작업은 공유 작업 스레드 풀에서
+ * 데이터베이스풀별로 한번에 하나씩 수행되므로, 한 데이터베이스풀의 응답 지연이 스케줄러나 다른 데이터베이스풀의 관리 작업을 막지 않는다<br>
+ * 쿼리 마감 시간에 Statement 를 취소하는 작업은 관리 작업에 밀리지 않도록 전용 타이머 스레드(CancelTimer)에서 처리된다<br>
+ * 공유 스케줄러와 작업 스레드 풀, 취소 타이머는 첫 데이터베이스풀 생성 시 시작되고 마지막 데이터베이스풀 종료 시 함께 종료된다
+ *
  * @author Bomz
  * @version 1.0
  * @since 1.0
  *
  */
-public class DatabasePoolManager extends Thread{
-
-	/**		ͺ̽   ݺ  ð		*/
+public class DatabasePoolManager {
+	
+	private static final Logger logger = LoggerFactory.getLogger(DatabasePoolManager.class);
+	
+	/**		ResultSet 자동 종료 타이머 슬롯 간격		*/
 	private static final long CHECK_SLEEP_TIME = 1000;
 	
-	/**		ͺ̽ VALIDATION_QUERY ˻ û ֱ(10)		*/
-	private static final int VALIDATION_COUNT = 600;
+	/**		모든 커넥션을 VALIDATION_QUERY 검사 대상으로 한번씩 확인하는 주기(10분). 커넥션 수에 맞춰 나누어 확인한다		*/
+	private static final long VALIDATION_PERIOD = 600000L;
+	
+	/**		유효성 검사 작업의 최소 실행 간격		*/
+	private static final long MIN_TASK_DELAY = 1000L;
+	
+	/**		유휴 시간 및 최대 사용 시간이 지난 커넥션 정리 작업의 최대 실행 간격(30초)		*/
+	private static final long MAX_RETIRE_DELAY = 30000L;
+	
+	/**		데이터베이스풀 종료 시 관리 작업 종료를 기다리는 최대 시간		*/
+	private static final long SHUTDOWN_TIMEOUT = 10000L;
+	
+	/**		관리 작업을 수행하는 공유 작업 스레드 최대 수		*/
+	private static final int WORKER_THREAD_COUNT = 4;
+	
+	/**		사용하지 않는 공유 작업 스레드 종료 시간		*/
+	private static final long WORKER_KEEP_ALIVE_TIME = 60000L;
+	
+	/**		모든 데이터베이스풀이 함께 사용하는 스케줄러. 작업 수행 시간 관리에만 사용한다		*/
+	private static ScheduledThreadPoolExecutor sharedScheduler = null;
+	
+	/**		모든 데이터베이스풀이 함께 사용하는 작업 스레드 풀. 데이터베이스 응답을 기다리는 관리 작업을 수행한다		*/
+	private static ThreadPoolExecutor sharedWorker = null;
+	
+	/**		모든 데이터베이스풀이 함께 사용하는 Statement 취소 타이머		*/
+	private static CancelTimer sharedCancelTimer = null;
+	
+	/**		공유 스케줄러를 사용 중인 매니저 수		*/
+	private static int managerCount = 0;
 	
 	/**
-	 * ͺ̽    ߻ϴ ̺Ʈ  Ŀؼ  ϴ 
-	 * KEY : ͺ̽  ̵
-	 * VALUE : ̵  Ŀؼ ü Ʈ
+	 * 데이터베이스 연결 종료 시 발생하는 이벤트를 등록한 커넥션 정보를 관리하는 맵
+	 * KEY : 데이터베이스 관리 아이디
+	 * VALUE : 아이디에 따른 커넥션 객체 리스트
 	 */
 	private Map<Long, List<CloseEvent>> closeEventMap = new HashMap<Long, List<CloseEvent>>();
 	
-	/**		  Ŀؼ ̵  ť		*/
-	private Queue<Long> closeEventIdWaitQueue = new ArrayDeque<Long>();
+	/**		연결 종료된 커넥션 아이디 관리 큐		*/
+	private Queue<Long> closeEventIdWaitQueue = new ConcurrentLinkedQueue<Long>();
+	
+	/**		풀에서 개별적으로 제외되어 종료를 기다리는 커넥션 큐		*/
+	private Queue<CloseEvent> closeWaitQueue = new ConcurrentLinkedQueue<CloseEvent>();
+	
+	/**		ResultSet / Statement 자동종료 타이머		*/
+	private final AutoCloseTimer autoCloseTimer = new AutoCloseTimer(CHECK_SLEEP_TIME);
 	
-	/**		ڵ ۾  ResultSet / Statement Ʈ		*/
-	private List<AutoCloseResult> autoCloseResultList = new ArrayList<AutoCloseResult>();
-		
 	private final DatabasePool databasePool;
 	
+	private final ScheduledThreadPoolExecutor scheduler;
+	
+	/**		이 데이터베이스풀의 관리 작업을 한번에 하나씩 수행하는 작업 스레드		*/
+	private final SerialExecutor worker;
+	
+	private final CancelTimer cancelTimer;
+	
+	/**		커넥션 종료 작업 등록 여부		*/
+	private final AtomicBoolean closeScheduled = new AtomicBoolean(false);
+	
+	/**		ResultSet 자동 종료 작업 등록 여부		*/
+	private final AtomicBoolean autoCloseScheduled = new AtomicBoolean(false);
+	
+	/**		다음 유효성 검사 작업		*/
+	private volatile ScheduledFuture<?> validationFuture;
+	
+	/**		다음 커넥션 정리 작업		*/
+	private volatile ScheduledFuture<?> retireFuture;
+	
+	/**		종료 여부		*/
+	private volatile boolean shutdown = false;
+	
 	
 	/**
-	 * ͺ̽Ǯ 
+	 * 데이터베이스풀 관리자
 	 * @param databasePool
 	 */
 	DatabasePoolManager(DatabasePool databasePool){
 		this.databasePool = databasePool;
-		super.setDaemon(true);
-		start();
-	} 
-	
-	public void run(){
-		int count = 0;
+		this.scheduler = acquireScheduler();
+		this.worker = new SerialExecutor(sharedWorker);
+		this.cancelTimer = sharedCancelTimer;
 		
-		while(true){
-			
-			try{		Thread.sleep(CHECK_SLEEP_TIME);		}catch(Exception e){}
-			
-			//   ̵  
-			while( !this.closeEventIdWaitQueue.isEmpty() )
-				this.executeCloseEvent(this.closeEventIdWaitQueue.poll());
+		this.validationFuture = this.scheduleWork(this::checkValidation, VALIDATION_PERIOD / 2);
+		this.retireFuture = this.scheduleWork(this::retireConnections, MAX_RETIRE_DELAY);
+	}
+	
+	/**		공유 스케줄러와 작업 스레드 풀, 취소 타이머 사용 시작. 처음 사용할 경우 생성		*/
+	private static synchronized ScheduledThreadPoolExecutor acquireScheduler(){
+		if( sharedScheduler == null ){
+			sharedScheduler = new ScheduledThreadPoolExecutor(1, new DaemonThreadFactory("bomz-db-pool-manager"));
+			sharedScheduler.setRemoveOnCancelPolicy(true);
+			sharedScheduler.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
 			
-			// ResultSet ڵ ڿ ݳ ó
-			this.executeAutoCloseResult();
+			sharedWorker = new ThreadPoolExecutor(WORKER_THREAD_COUNT, WORKER_THREAD_COUNT, WORKER_KEEP_ALIVE_TIME, TimeUnit.MILLISECONDS,
+					new LinkedBlockingQueue<Runnable>(), new DaemonThreadFactory("bomz-db-pool-worker"));
+			sharedWorker.allowCoreThreadTimeOut(true);
 			
-			// Ŀؼ    validationQuery 
-			if( count++ >= VALIDATION_COUNT ){
-				this.databasePool.checkConnectionValidation();
-				count = 0;
-			}
+			sharedCancelTimer = new CancelTimer();
 		}
-				
+		managerCount++;
+		return sharedScheduler;
+	}
+	
+	/**		공유 스케줄러와 작업 스레드 풀, 취소 타이머 사용 종료. 사용 중인 매니저가 없을 경우 종료		*/
+	private static synchronized void releaseScheduler(){
+		if( --managerCount > 0 )		return;
+		
+		sharedScheduler.shutdown();
+		sharedScheduler = null;
+		sharedWorker.shutdown();
+		sharedWorker = null;
+		sharedCancelTimer.stop();
+		sharedCancelTimer = null;
+	}
+	
+	/**		커넥션 종료 작업 등록. 이미 등록되어 있을 경우 등록된 작업에서 함께 처리된다		*/
+	private void scheduleClose(){
+		if( this.shutdown ){
+			// 종료 후 반납된 커넥션은 호출 스레드에서 바로 종료
+			this.processCloseQueue();
+			return;
+		}
+		
+		if( !this.closeScheduled.compareAndSet(false, true) )		return;
+		
+		try{
+			this.worker.execute(this::processCloseQueue);
+		}catch(RejectedExecutionException e){
+			this.processCloseQueue();
+		}
+	}
+	
+	/**		대기중인 연결종료 아이디와 개별적으로 제외된 커넥션 종료		*/
+	private void processCloseQueue(){
+		this.closeScheduled.set(false);
+		
+		Long id;
+		while( (id = this.closeEventIdWaitQueue.poll()) != null )
+			this.executeCloseEvent(id);
+		
+		CloseEvent event;
+		while( (event = this.closeWaitQueue.poll()) != null )
+			event.close();
+	}
+	
+	/**		ResultSet 자동 자원 반납 처리. 자동 종료를 기다리는 자원이 있는 동안에만 반복된다		*/
+	private void expireAutoClose(){
+		try{
+			this.autoCloseTimer.expire();
+		}catch(Throwable e){
+			logger.warn("auto close result fail", e);
+		}
+		
+		if( this.autoCloseTimer.isEmpty() ){
+			this.autoCloseScheduled.set(false);
+			// 작업 등록 여부를 변경하는 사이에 새로 등록된 자원이 있을 경우
+			if( this.autoCloseTimer.isEmpty() || !this.autoCloseScheduled.compareAndSet(false, true) )		return;
+		}
+		
+		if( this.scheduleWork(this::expireAutoClose, CHECK_SLEEP_TIME) == null )		this.autoCloseScheduled.set(false);
+	}
+	
+	/**		ResultSet 자원반납 누락 확인. 추적 중인 ResultSet 이 있는 동안에만 반복된다		*/
+	private void checkResultLeak(ResultLeakDetector detector){
+		try{
+			detector.check();
+		}catch(Throwable e){
+			logger.warn("result leak check fail", e);
+		}
+		
+		if( detector.isEmpty() ){
+			detector.setCheckScheduled(false);
+			// 작업 등록 여부를 변경하는 사이에 새로 추적된 자원이 있을 경우
+			if( detector.isEmpty() || !detector.setCheckScheduled(true) )		return;
+		}
+		
+		// 종료되어 등록하지 못했을 경우 같은 감지기를 사용하는 다른 풀에서 등록할 수 있게 한다
+		if( this.schedule(() -> this.checkResultLeak(detector), CHECK_SLEEP_TIME) == null )		detector.setCheckScheduled(false);
 	}
 	
 	/**
-	 *  ð  ResultSet   ڿݳ Ų
+	 * 커넥션 연결유지 관리를 위한 validationQuery 실행<br>
+	 * 커넥션 수에 맞춰 실행 간격을 정하여 VALIDATION_PERIOD 동안 모든 커넥션을 한번씩 확인한다
 	 */
-	private void executeAutoCloseResult(){
-		if( this.autoCloseResultList.isEmpty() )		return;
+	private void checkValidation(){
+		if( this.shutdown )		return;
 		
-		long nowTime = System.currentTimeMillis();		//  ð
-		int size = this.autoCloseResultList.size();
+		int size = Math.max(1, this.databasePool.getTotalConnectionCount());
+		long delay = Math.max(MIN_TASK_DELAY, VALIDATION_PERIOD / size);
 		
-		for(int i=0; i < size; i++){
-			if( nowTime >= this.autoCloseResultList.get(i).getAutoCloseTime() ){
-				// ڵ  ð Ǿ 
-				this.autoCloseResultList.remove(i).closeResult();
-				size--;		// remove Ƿ ü ũ 
-				i--;			// remove Ƿ  ġ 
-			}else{
-				break;		//   Ͱ  ð  ʾ  ٽ ó
-			}
+		try{
+			this.databasePool.checkConnectionValidation((int)(VALIDATION_PERIOD / delay));
+		}catch(Throwable e){
+			logger.warn("connection validation fail", e);
+		}
+		
+		this.validationFuture = this.scheduleWork(this::checkValidation, delay);
+	}
+	
+	/**		유휴 시간 및 최대 사용 시간이 지난 커넥션 정리 후 다음 정리 시간에 다시 실행		*/
+	private void retireConnections(){
+		if( this.shutdown )		return;
+		
+		long delay = MAX_RETIRE_DELAY;
+		try{
+			delay = this.databasePool.retireConnections();
+		}catch(Throwable e){
+			logger.warn("connection retire fail", e);
 		}
 		
+		delay = Math.min(MAX_RETIRE_DELAY, Math.max(MIN_TASK_DELAY, delay));
+		this.retireFuture = this.scheduleWork(this::retireConnections, delay);
 	}
 	
-	/**	
-	 * ش ̵  CloseEvent ü close() ȣ ۾ 
+	/**
+	 * 마감 시간에 Statement 를 취소하는 작업 등록<br>
+	 * 종료된 경우 등록하지 않으며, 쿼리는 queryTimeout 으로만 처리된다
+	 * @param canceller		취소 작업
+	 * @param delay			취소까지 남은 시간 (단위:ns)
+	 */
+	void scheduleCancel(StatementCanceller canceller, long delay){
+		if( this.shutdown )		return;
+		this.cancelTimer.register(canceller, delay);
+	}
+	
+	/**		종료되지 않았을 경우 작업 등록		*/
+	private ScheduledFuture<?> schedule(Runnable task, long delay){
+		if( this.shutdown )		return null;
+		
+		try{
+			return this.scheduler.schedule(task, delay, TimeUnit.MILLISECONDS);
+		}catch(RejectedExecutionException e){
+			return null;
+		}
+	}
+	
+	/**		종료되지 않았을 경우 지정한 시간 후 작업 스레드에서 수행되도록 등록		*/
+	private ScheduledFuture<?> scheduleWork(Runnable task, long delay){
+		return this.schedule(() -> this.worker.execute(task), delay);
+	}
+	
+	/**
+	 * 관리 작업 종료<br>
+	 * 등록된 작업을 취소하고, 종료를 기다리는 커넥션과 자동 종료를 기다리는 ResultSet 을 모두 종료한 후
+	 * 공유 스케줄러 사용을 끝낸다. 여러번 호출되더라도 한번만 처리된다
+	 */
+	void shutdown(){
+		synchronized( this ){
+			if( this.shutdown )		return;
+			this.shutdown = true;
+		}
+		
+		if( this.validationFuture != null )		this.validationFuture.cancel(false);
+		if( this.retireFuture != null )		this.retireFuture.cancel(false);
+		
+		// 작업 스레드에서 수행 중인 관리 작업이 끝난 후 정리되도록 같은 작업 스레드에서 처리
+		FutureTask<Void> cleanup = new FutureTask<Void>(() -> {
+			this.autoCloseTimer.expireAll();
+			this.processCloseQueue();
+		}, null);
+		
+		try{
+			this.worker.execute(cleanup);
+			cleanup.get(SHUTDOWN_TIMEOUT, TimeUnit.MILLISECONDS);
+		}catch(InterruptedException e){
+			Thread.currentThread().interrupt();
+		}catch(ExecutionException | TimeoutException | RejectedExecutionException e){
+			logger.warn("database pool manager shutdown fail", e);
+		}
+		
+		releaseScheduler();
+	}
+	
+	/**
+	 * 해당 아이디와 동일한 CloseEvent 객체의 close() 호출 작업을 수행
 	 * @param id
 	 */
 	private void executeCloseEvent(long id){
-		List<CloseEvent> list = this.closeEventMap.remove(id);
+		List<CloseEvent> list;
+		synchronized( this ){
+			list = this.closeEventMap.remove(id);
+		}
 		
 		if( list == null )		return;
 		
@@ -112,7 +333,7 @@ public class DatabasePoolManager extends Thread{
 	}
 	
 	/**
-	 * ͺ̽   ȣ   ֵ ̺Ʈ 
+	 * 데이터베이스 연결 해제시 호출 받을 수 있도록 이벤트 등록
 	 * @param event
 	 */
 	synchronized void addCloseEvent(CloseEvent event){
@@ -130,19 +351,56 @@ public class DatabasePoolManager extends Thread{
 	}
 	
 	/**
-	 *   Ŀؼ  ̵ Ͽ ڵ ǰԲ Ѵ
-	 * @param id		ͺ̽  ̵
+	 * 연결이 종료된 커넥션 관리 아이디를 등록하여 자동 종료되게끔 한다
+	 * @param id		데이터베이스 관리 아이디
 	 */
 	void runCloseEvent(long id){
 		this.closeEventIdWaitQueue.offer(id);
+		this.scheduleClose();
+	}
+	
+	/**
+	 * 풀에서 개별적으로 제외된 커넥션을 연결해제 이벤트 목록에서 삭제한 후 종료 대기 큐에 등록한다<br>
+	 * 커넥션 종료는 매니저 작업 스레드에서 처리하므로 호출 스레드는 종료를 기다리지 않는다
+	 * @param event		종료할 커넥션
+	 */
+	void closeConnection(CloseEvent event){
+		synchronized( this ){
+			List<CloseEvent> list = this.closeEventMap.get(event.getId());
+			if( list != null ){
+				list.remove(event);
+				if( list.isEmpty() )		this.closeEventMap.remove(event.getId());
+			}
+		}
+		
+		this.closeWaitQueue.offer(event);
+		this.scheduleClose();
 	}
 	
 	/**
-	 * SELECT    ResultSet  ڵ ڿ ݳ 
-	 * @param acrs		ResultSet ڵ  Ŭ
+	 * SELECT 쿼리로 인해 사용된 ResultSet 의 자동 자원 반납 등록<br>
+	 * 여러 쿼리 스레드에서 동시에 호출할 수 있다
+	 * @param acrs					ResultSet 자동 종료 클레스
+	 * @param autoCloseTime		자동 종료까지의 시간 (단위:ms)
 	 */
-	void addAutoCloseResult(AutoCloseResult acrs){
-		this.autoCloseResultList.add(acrs);
+	void addAutoCloseResult(AutoCloseResult acrs, long autoCloseTime){
+		this.autoCloseTimer.register(acrs, autoCloseTime);
+		
+		if( !this.autoCloseScheduled.compareAndSet(false, true) )		return;
+		
+		// 종료되어 등록하지 못했을 경우 다음 등록 시 다시 시도할 수 있게 한다
+		if( this.scheduleWork(this::expireAutoClose, CHECK_SLEEP_TIME) == null )		this.autoCloseScheduled.set(false);
 	}
 	
+	/**
+	 * 자원반납 누락 감지기가 추적 중인 ResultSet 확인 작업 등록<br>
+	 * 여러 쿼리 스레드에서 동시에 호출할 수 있으며, 이미 등록되어 있을 경우 등록된 작업에서 함께 처리된다
+	 * @param detector		자원반납 누락 감지기
+	 */
+	void addResultLeakCheck(ResultLeakDetector detector){
+		if( !detector.setCheckScheduled(true) )		return;
+		
+		if( this.schedule(() -> this.checkResultLeak(detector), CHECK_SLEEP_TIME) == null )		detector.setCheckScheduled(false);
+	}
+
 }
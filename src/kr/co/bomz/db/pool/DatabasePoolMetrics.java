@@ -0,0 +1,162 @@
+package kr.co.bomz.db.pool;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 데이터베이스풀 수행 수와 수행 시간 기록<p>
+ * 기록 메소드는 DatabasePool 에서 수치 기록을 사용하도록 설정하였을 경우에만 호출된다
+ *
+ * @author Bomz
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+public class DatabasePoolMetrics implements DatabasePoolMXBean {
+
+	private final DatabasePool pool;
+
+	private final LongAdder borrowCount = new LongAdder();
+
+	private final LongAdder borrowTimeoutCount = new LongAdder();
+
+	private final LongAdder connectionCreatedCount = new LongAdder();
+
+	private final LongAdder connectionCreateFailCount = new LongAdder();
+
+	private final LongAdder connectionClosedCount = new LongAdder();
+
+	private final LongAdder queryCount = new LongAdder();
+
+	private final LongAdder queryErrorCount = new LongAdder();
+
+	private final LatencyHistogram borrowTime = new LatencyHistogram();
+
+	private final LatencyHistogram connectionCreateTime = new LatencyHistogram();
+
+	private final LatencyHistogram queryTime = new LatencyHistogram();
+
+	DatabasePoolMetrics(DatabasePool pool){
+		this.pool = pool;
+	}
+
+	/**
+	 * 커넥션 요청 기록
+	 * @param nanos			요청 시간 (단위:nanosecond)
+	 * @param timeout		대기 시간 초과로 커넥션을 가져오지 못했을 경우 true
+	 */
+	void recordBorrow(long nanos, boolean timeout){
+		this.borrowCount.increment();
+		if( timeout )		this.borrowTimeoutCount.increment();
+		this.borrowTime.record(nanos);
+	}
+
+	/**
+	 * 커넥션 생성 기록
+	 * @param nanos			생성 시간 (단위:nanosecond)
+	 * @param success		생성 성공 여부
+	 */
+	void recordConnectionCreate(long nanos, boolean success){
+		if( success )		this.connectionCreatedCount.increment();
+		else					this.connectionCreateFailCount.increment();
+		this.connectionCreateTime.record(nanos);
+	}
+
+	/**		풀에서 커넥션 제외 기록		*/
+	void recordConnectionClosed(){
+		this.connectionClosedCount.increment();
+	}
+
+	/**
+	 * 쿼리 수행 기록
+	 * @param nanos			수행 시간 (단위:nanosecond)
+	 * @param success		수행 성공 여부
+	 */
+	void recordQuery(long nanos, boolean success){
+		this.queryCount.increment();
+		if( !success )		this.queryErrorCount.increment();
+		this.queryTime.record(nanos);
+	}
+
+	/**
+	 * 현재 상태 정보
+	 * @return		현재 상태 정보
+	 */
+	public DatabasePoolSnapshot snapshot(){
+		return new DatabasePoolSnapshot(this);
+	}
+
+	@Override
+	public int getTotalConnectionCount() {
+		return this.pool.getTotalConnectionCount();
+	}
+
+	@Override
+	public int getIdleConnectionCount() {
+		return this.pool.getIdleConnectionCount();
+	}
+
+	@Override
+	public int getBorrowedConnectionCount() {
+		return this.pool.getBorrowedConnectionCount();
+	}
+
+	@Override
+	public int getTransactionConnectionCount() {
+		return this.pool.getTransactionConnectionCount();
+	}
+
+	@Override
+	public int getWaitingThreadCount() {
+		return this.pool.getWaitingThreadCount();
+	}
+
+	@Override
+	public long getBorrowCount() {
+		return this.borrowCount.sum();
+	}
+
+	@Override
+	public long getBorrowTimeoutCount() {
+		return this.borrowTimeoutCount.sum();
+	}
+
+	@Override
+	public long getConnectionCreatedCount() {
+		return this.connectionCreatedCount.sum();
+	}
+
+	@Override
+	public long getConnectionCreateFailCount() {
+		return this.connectionCreateFailCount.sum();
+	}
+
+	@Override
+	public long getConnectionClosedCount() {
+		return this.connectionClosedCount.sum();
+	}
+
+	@Override
+	public long getQueryCount() {
+		return this.queryCount.sum();
+	}
+
+	@Override
+	public long getQueryErrorCount() {
+		return this.queryErrorCount.sum();
+	}
+
+	@Override
+	public LatencySnapshot getBorrowTime() {
+		return this.borrowTime.snapshot();
+	}
+
+	@Override
+	public LatencySnapshot getConnectionCreateTime() {
+		return this.connectionCreateTime.snapshot();
+	}
+
+	@Override
+	public LatencySnapshot getQueryTime() {
+		return this.queryTime.snapshot();
+	}
+}
@@ -0,0 +1,80 @@
+package kr.co.bomz.db.pool;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 이름이 설정된 데이터베이스풀 목록<p>
+ * DatabasePool.setPoolName(name) 으로 이름을 설정한 데이터베이스풀은 이 목록에 등록되며,
+ * 데이터베이스풀 종료 시 목록에서 제외된다
+ *
+ * <code>
+ * 		pool.setPoolName("tenant-a");<br>
+ * 		DatabasePool pool = DatabasePoolRegistry.getPool("tenant-a");<br>
+ * </code>
+ *
+ * @author Bomz
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+public class DatabasePoolRegistry {
+
+	/**
+	 * 등록된 데이터베이스풀
+	 * KEY : 데이터베이스풀 이름
+	 * VALUE : 데이터베이스풀
+	 */
+	private static final Map<String, DatabasePool> pools = new ConcurrentHashMap<String, DatabasePool>();
+
+	private DatabasePoolRegistry(){}
+
+	/**
+	 * 데이터베이스풀 등록
+	 * @param name		데이터베이스풀 이름
+	 * @param pool		데이터베이스풀
+	 * @throws DatabasePropertyException		같은 이름으로 다른 데이터베이스풀이 등록되어 있을 경우 발생
+	 */
+	static void register(String name, DatabasePool pool) throws DatabasePropertyException{
+		DatabasePool registered = pools.putIfAbsent(name, pool);
+		if( registered != null && registered != pool )		throw new DatabasePropertyException("pool name already used [" + name + "]");
+	}
+
+	/**
+	 * 데이터베이스풀 등록 해제
+	 * @param name		데이터베이스풀 이름
+	 * @param pool		데이터베이스풀. 같은 이름으로 등록된 풀이 다를 경우 해제하지 않는다
+	 */
+	static void unregister(String name, DatabasePool pool){
+		pools.remove(name, pool);
+	}
+
+	/**
+	 * 이름으로 데이터베이스풀 검색
+	 * @param name		데이터베이스풀 이름
+	 * @return			등록되지 않았을 경우 null
+	 */
+	public static DatabasePool getPool(String name){
+		return name == null ? null : pools.get(name);
+	}
+
+	/**
+	 * 등록된 데이터베이스풀 이름 목록
+	 * @return		이름 목록
+	 */
+	public static List<String> getPoolNames(){
+		return Collections.unmodifiableList(new ArrayList<String>(pools.keySet()));
+	}
+
+	/**
+	 * 등록된 모든 데이터베이스풀 종료
+	 */
+	public static void closeAll(){
+		for(DatabasePool pool : new ArrayList<DatabasePool>(pools.values())){
+			pool.close();
+		}
+	}
+}
@@ -0,0 +1,202 @@
+package kr.co.bomz.db.pool;
+
+/**
+ * 특정 시점의 데이터베이스풀 상태 정보<p>
+ * 수행 수와 수행 시간은 수치 기록을 사용하도록 설정한 이후의 값이다
+ *
+ * @author Bomz
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+public class DatabasePoolSnapshot {
+
+	/**		상태 정보 생성 시간 (ms)		*/
+	private final long time = System.currentTimeMillis();
+
+	private final int totalConnectionCount;
+
+	private final int idleConnectionCount;
+
+	private final int borrowedConnectionCount;
+
+	private final int transactionConnectionCount;
+
+	private final int waitingThreadCount;
+
+	private final long borrowCount;
+
+	private final long borrowTimeoutCount;
+
+	private final long connectionCreatedCount;
+
+	private final long connectionCreateFailCount;
+
+	private final long connectionClosedCount;
+
+	private final long queryCount;
+
+	private final long queryErrorCount;
+
+	private final LatencySnapshot borrowTime;
+
+	private final LatencySnapshot connectionCreateTime;
+
+	private final LatencySnapshot queryTime;
+
+	DatabasePoolSnapshot(DatabasePoolMXBean metrics){
+		this.totalConnectionCount = metrics.getTotalConnectionCount();
+		this.idleConnectionCount = metrics.getIdleConnectionCount();
+		this.borrowedConnectionCount = metrics.getBorrowedConnectionCount();
+		this.transactionConnectionCount = metrics.getTransactionConnectionCount();
+		this.waitingThreadCount = metrics.getWaitingThreadCount();
+		this.borrowCount = metrics.getBorrowCount();
+		this.borrowTimeoutCount = metrics.getBorrowTimeoutCount();
+		this.connectionCreatedCount = metrics.getConnectionCreatedCount();
+		this.connectionCreateFailCount = metrics.getConnectionCreateFailCount();
+		this.connectionClosedCount = metrics.getConnectionClosedCount();
+		this.queryCount = metrics.getQueryCount();
+		this.queryErrorCount = metrics.getQueryErrorCount();
+		this.borrowTime = metrics.getBorrowTime();
+		this.connectionCreateTime = metrics.getConnectionCreateTime();
+		this.queryTime = metrics.getQueryTime();
+	}
+
+	/**
+	 * 상태 정보 생성 시간
+	 * @return		상태 정보 생성 시간 (단위:ms)
+	 */
+	public long getTime() {
+		return time;
+	}
+
+	/**
+	 * 풀에서 관리중인 전체 커넥션 수
+	 * @return		전체 커넥션 수
+	 */
+	public int getTotalConnectionCount() {
+		return totalConnectionCount;
+	}
+
+	/**
+	 * 사용 대기 중인 커넥션 수
+	 * @return		사용 대기 중인 커넥션 수
+	 */
+	public int getIdleConnectionCount() {
+		return idleConnectionCount;
+	}
+
+	/**
+	 * 사용 중인 커넥션 수
+	 * @return		사용 중인 커넥션 수
+	 */
+	public int getBorrowedConnectionCount() {
+		return borrowedConnectionCount;
+	}
+
+	/**
+	 * 트랜잭션이 시작된 커넥션 수
+	 * @return		트랜잭션이 시작된 커넥션 수
+	 */
+	public int getTransactionConnectionCount() {
+		return transactionConnectionCount;
+	}
+
+	/**
+	 * 커넥션 반환을 기다리는 스레드 수
+	 * @return		대기 스레드 수
+	 */
+	public int getWaitingThreadCount() {
+		return waitingThreadCount;
+	}
+
+	/**
+	 * 커넥션 요청 수
+	 * @return		커넥션 요청 수
+	 */
+	public long getBorrowCount() {
+		return borrowCount;
+	}
+
+	/**
+	 * 대기 시간 초과로 커넥션을 가져오지 못한 수
+	 * @return		대기 시간 초과 수
+	 */
+	public long getBorrowTimeoutCount() {
+		return borrowTimeoutCount;
+	}
+
+	/**
+	 * 새로 생성한 커넥션 수
+	 * @return		생성한 커넥션 수
+	 */
+	public long getConnectionCreatedCount() {
+		return connectionCreatedCount;
+	}
+
+	/**
+	 * 커넥션 생성 실패 수
+	 * @return		생성 실패 수
+	 */
+	public long getConnectionCreateFailCount() {
+		return connectionCreateFailCount;
+	}
+
+	/**
+	 * 풀에서 제외된 커넥션 수
+	 * @return		제외된 커넥션 수
+	 */
+	public long getConnectionClosedCount() {
+		return connectionClosedCount;
+	}
+
+	/**
+	 * 쿼리 수행 수
+	 * @return		쿼리 수행 수
+	 */
+	public long getQueryCount() {
+		return queryCount;
+	}
+
+	/**
+	 * 쿼리 수행 오류 수
+	 * @return		쿼리 수행 오류 수
+	 */
+	public long getQueryErrorCount() {
+		return queryErrorCount;
+	}
+
+	/**
+	 * 커넥션 요청 시간 분포
+	 * @return		커넥션 요청 시간 분포
+	 */
+	public LatencySnapshot getBorrowTime() {
+		return borrowTime;
+	}
+
+	/**
+	 * 커넥션 생성 시간 분포
+	 * @return		커넥션 생성 시간 분포
+	 */
+	public LatencySnapshot getConnectionCreateTime() {
+		return connectionCreateTime;
+	}
+
+	/**
+	 * 쿼리 수행 시간 분포
+	 * @return		쿼리 수행 시간 분포
+	 */
+	public LatencySnapshot getQueryTime() {
+		return queryTime;
+	}
+
+	@Override
+	public String toString() {
+		return "total=" + this.totalConnectionCount + ", idle=" + this.idleConnectionCount +
+				", borrowed=" + this.borrowedConnectionCount + ", transaction=" + this.transactionConnectionCount +
+				", waiting=" + this.waitingThreadCount + ", borrow=" + this.borrowCount + ", borrowTimeout=" + this.borrowTimeoutCount +
+				", created=" + this.connectionCreatedCount + ", createFail=" + this.connectionCreateFailCount +
+				", closed=" + this.connectionClosedCount + ", query=" + this.queryCount + ", queryError=" + this.queryErrorCount +
+				", borrowTime=[" + this.borrowTime + "], createTime=[" + this.connectionCreateTime + "], queryTime=[" + this.queryTime + "]";
+	}
+}
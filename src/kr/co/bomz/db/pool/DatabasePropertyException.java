@@ -3,7 +3,7 @@ package kr.co.bomz.db.pool;
 import java.sql.SQLException;
 
 /**
- * ͺ̽  ߸ Ǿ  ߻
+ * 데이터베이스 설정값이 잘못 되었을 경우 발생
  * 
  * @author Bomz
  * @since 1.0
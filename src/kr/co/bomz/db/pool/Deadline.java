@@ -0,0 +1,99 @@
+package kr.co.bomz.db.pool;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 현재 스레드에서 수행하는 쿼리의 마감 시간<p>
+ * DatabasePool.startDeadline(long) 으로 시작하며, close() 를 호출할 때까지 같은 스레드에서 수행하는 모든 쿼리는
+ * 커넥션 대기 시간과 쿼리 수행 시간을 합해 마감 시간 안에 끝나야 한다<br>
+ * 마감 시간이 지나면 DeadlineExceededException 이 발생하며, 수행 중인 쿼리는 Statement.cancel() 로 취소된다<p>
+ * 
+ * 중첩해서 시작할 경우 바깥 마감 시간보다 늦어지지 않으며, close() 시 바깥 마감 시간으로 돌아간다<br>
+ * 다른 스레드에서 수행되는 비동기 쿼리에는 적용되지 않으므로 try-with-resources 로 사용한다
+ * <pre>
+ * try( Deadline deadline = pool.startDeadline(500) ){
+ * 	pool.selectQueryToPreparedStatement(handler, sql, param);
+ * 	pool.executeQueryToPreparedStatement(sql, param);
+ * }
+ * </pre>
+ * 
+ * @author Bomz
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+public class Deadline implements AutoCloseable{
+
+	private final ThreadLocal<Deadline> owner;
+	
+	/**		시작 전의 마감 시간. 없을 경우 null		*/
+	private final Deadline previous;
+	
+	/**		마감 시각 (System.nanoTime() 기준)		*/
+	private final long expireTime;
+	
+	private boolean closed = false;
+	
+	/**
+	 * @param owner			데이터베이스풀의 스레드별 마감 시간
+	 * @param timeout		마감 시간 (단위:ms)
+	 */
+	Deadline(ThreadLocal<Deadline> owner, long timeout){
+		this.owner = owner;
+		this.previous = owner.get();
+		
+		long expireTime = toExpireTime(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout));
+		// 바깥 마감 시간보다 늦어지지 않도록 한다
+		if( this.previous != null && this.previous.expireTime - expireTime < 0 )		expireTime = this.previous.expireTime;
+		this.expireTime = expireTime;
+		
+		owner.set(this);
+	}
+	
+	/**		마감 시간 없음을 나타내는 0 을 피한 마감 시각		*/
+	static long toExpireTime(long nanoTime){
+		return nanoTime == 0 ? 1 : nanoTime;
+	}
+	
+	/**
+	 * 마감 시각
+	 * @return		System.nanoTime() 기준 마감 시각
+	 */
+	long getExpireTime(){
+		return this.expireTime;
+	}
+	
+	/**
+	 * 마감 시간까지 남은 시간
+	 * @return		남은 시간 (단위:ms). 지났을 경우 0
+	 */
+	public long getRemainingTime(){
+		return Math.max(0, TimeUnit.NANOSECONDS.toMillis(this.expireTime - System.nanoTime()));
+	}
+	
+	/**
+	 * 마감 시간이 지났는지 여부
+	 * @return		지났을 경우 true
+	 */
+	public boolean isExpired(){
+		return this.expireTime - System.nanoTime() <= 0;
+	}
+	
+	/**
+	 * 마감 시간 종료. 시작 전의 마감 시간으로 돌아간다<br>
+	 * 여러번 호출되더라도 한번만 처리된다
+	 */
+	@Override
+	public void close() {
+		if( this.closed )		return;
+		this.closed = true;
+		
+		if( this.owner.get() != this )		return;		// 안쪽 마감 시간이 종료되지 않은 경우 해당 마감 시간이 종료될 때 정리된다
+		
+		Deadline previous = this.previous;
+		while( previous != null && previous.closed )		previous = previous.previous;
+		
+		if( previous == null )		this.owner.remove();
+		else							this.owner.set(previous);
+	}
+}
@@ -0,0 +1,34 @@
+package kr.co.bomz.db.pool;
+
+import java.sql.SQLTimeoutException;
+
+/**
+ * 
+ * 커넥션 대기와 쿼리 수행을 합한 시간이 마감 시간을 넘었을 경우 발생<br>
+ * 커넥션 대기 중 마감 시간이 지났을 경우 NotConnectionCanUseException 대신 발생하며,
+ * 쿼리 수행 중 마감 시간이 지났을 경우 Statement.cancel() 로 취소된 후 발생한다
+ * 
+ * @author Bomz
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+public class DeadlineExceededException extends SQLTimeoutException{
+
+	private static final long serialVersionUID = 3348159257120546117L;
+
+	/**
+	 * @param reason		마감 시간이 지난 단계
+	 */
+	public DeadlineExceededException(String reason){
+		super(reason);
+	}
+	
+	/**
+	 * @param reason		마감 시간이 지난 단계
+	 * @param cause		쿼리 취소로 드라이버에서 발생한 예외
+	 */
+	public DeadlineExceededException(String reason, Throwable cause){
+		super(reason, cause);
+	}
+}
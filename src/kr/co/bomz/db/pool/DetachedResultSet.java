@@ -0,0 +1,1249 @@
+package kr.co.bomz.db.pool;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Date;
+import java.sql.NClob;
+import java.sql.Ref;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.RowId;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLWarning;
+import java.sql.SQLXML;
+import java.sql.Statement;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.util.Calendar;
+import java.util.Map;
+
+import javax.sql.rowset.serial.SerialBlob;
+import javax.sql.rowset.serial.SerialClob;
+
+/**
+ * 커넥션과 분리된 읽기 전용 ResultSet<p>
+ * 메모리에 보관된 CachedResult 의 로우를 읽으며, 커서는 ResultSet 마다 별도로 관리된다<br>
+ * 스크롤은 자유롭게 가능하지만 값 변경 메소드는 SQLFeatureNotSupportedException 이 발생한다<br>
+ * close() 를 호출하지 않아도 반납할 자원은 없다
+ *
+ * @author Bomz
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+public class DetachedResultSet implements ResultSet {
+
+	/**		읽을 쿼리 결과		*/
+	private final CachedResult result;
+
+	/**		로우 목록		*/
+	private final Object[][] rows;
+
+	/**		현재 커서 위치. -1 일 경우 첫번째 로우 이전, rows.length 일 경우 마지막 로우 이후		*/
+	private int cursor = -1;
+
+	/**		마지막으로 읽은 값이 null 인지 여부		*/
+	private boolean wasNull = false;
+
+	private boolean closed = false;
+
+	private int fetchSize = 0;
+
+	DetachedResultSet(CachedResult result){
+		this.result = result;
+		this.rows = result.getRows();
+	}
+
+	/**		값 변경 메소드 호출 시 발생할 예외		*/
+	private static SQLFeatureNotSupportedException readOnly(){
+		return new SQLFeatureNotSupportedException("detached result set is read only");
+	}
+
+	private void checkClosed() throws SQLException{
+		if( this.closed )		throw new SQLException("result set is closed");
+	}
+
+	/**
+	 * 현재 로우의 컬럼 값
+	 * @param columnIndex		컬럼 순번 (1 부터 시작)
+	 * @return					컬럼 값
+	 * @throws SQLException		종료되었거나 커서가 로우를 가리키지 않거나 잘못된 컬럼 순번일 경우
+	 */
+	private Object value(int columnIndex) throws SQLException{
+		this.checkClosed();
+		if( this.cursor < 0 || this.cursor >= this.rows.length )		throw new SQLException("cursor is not on a row");
+
+		Object[] row = this.rows[this.cursor];
+		if( columnIndex < 1 || columnIndex > row.length )		throw new SQLException("invalid column index " + columnIndex);
+
+		Object value = row[columnIndex - 1];
+		this.wasNull = value == null;
+		return value;
+	}
+
+	/**		숫자로 변환할 수 없는 값일 경우 발생할 예외		*/
+	private static SQLException cannotConvert(Object value, String type){
+		return new SQLException("cannot convert " + value.getClass().getName() + " to " + type);
+	}
+
+	/**		숫자 타입 컬럼 값. null 일 경우 null 리턴		*/
+	private Number number(int columnIndex, String type) throws SQLException{
+		Object value = this.value(columnIndex);
+		if( value == null )		return null;
+		if( value instanceof Number )		return (Number)value;
+		if( value instanceof Boolean )		return ((Boolean)value) ? 1 : 0;
+		if( value instanceof String ){
+			try{
+				return new BigDecimal(((String)value).trim());
+			}catch(NumberFormatException e){
+				throw new SQLException("cannot convert '" + value + "' to " + type, e);
+			}
+		}
+		throw cannotConvert(value, type);
+	}
+
+	@Override
+	public boolean next() throws SQLException {
+		this.checkClosed();
+		if( this.cursor < this.rows.length )		this.cursor++;
+		return this.cursor < this.rows.length;
+	}
+
+	@Override
+	public boolean previous() throws SQLException {
+		this.checkClosed();
+		if( this.cursor >= 0 )		this.cursor--;
+		return this.cursor >= 0;
+	}
+
+	@Override
+	public boolean absolute(int row) throws SQLException {
+		this.checkClosed();
+		if( row > 0 )		this.cursor = Math.min(row - 1, this.rows.length);
+		else if( row < 0 )		this.cursor = Math.max(this.rows.length + row, -1);
+		else		this.cursor = -1;
+		return this.cursor >= 0 && this.cursor < this.rows.length;
+	}
+
+	@Override
+	public boolean relative(int rows) throws SQLException {
+		this.checkClosed();
+		long target = (long)this.cursor + rows;
+		this.cursor = (int)Math.max(-1, Math.min(target, this.rows.length));
+		return this.cursor >= 0 && this.cursor < this.rows.length;
+	}
+
+	@Override
+	public boolean first() throws SQLException {
+		this.checkClosed();
+		this.cursor = this.rows.length == 0 ? -1 : 0;
+		return this.rows.length != 0;
+	}
+
+	@Override
+	public boolean last() throws SQLException {
+		this.checkClosed();
+		this.cursor = this.rows.length - 1;
+		return this.rows.length != 0;
+	}
+
+	@Override
+	public void beforeFirst() throws SQLException {
+		this.checkClosed();
+		this.cursor = -1;
+	}
+
+	@Override
+	public void afterLast() throws SQLException {
+		this.checkClosed();
+		this.cursor = this.rows.length;
+	}
+
+	@Override
+	public boolean isBeforeFirst() throws SQLException {
+		this.checkClosed();
+		return this.cursor == -1 && this.rows.length != 0;
+	}
+
+	@Override
+	public boolean isAfterLast() throws SQLException {
+		this.checkClosed();
+		return this.cursor == this.rows.length && this.rows.length != 0;
+	}
+
+	@Override
+	public boolean isFirst() throws SQLException {
+		this.checkClosed();
+		return this.cursor == 0 && this.rows.length != 0;
+	}
+
+	@Override
+	public boolean isLast() throws SQLException {
+		this.checkClosed();
+		return this.cursor == this.rows.length - 1 && this.rows.length != 0;
+	}
+
+	@Override
+	public int getRow() throws SQLException {
+		this.checkClosed();
+		return this.cursor >= 0 && this.cursor < this.rows.length ? this.cursor + 1 : 0;
+	}
+
+	@Override
+	public void close() {
+		this.closed = true;
+	}
+
+	@Override
+	public boolean isClosed() {
+		return this.closed;
+	}
+
+	@Override
+	public boolean wasNull() throws SQLException {
+		this.checkClosed();
+		return this.wasNull;
+	}
+
+	@Override
+	public int findColumn(String columnLabel) throws SQLException {
+		this.checkClosed();
+		int index = this.result.findColumn(columnLabel);
+		if( index == 0 )		throw new SQLException("column '" + columnLabel + "' not found");
+		return index;
+	}
+
+	@Override
+	public ResultSetMetaData getMetaData() throws SQLException {
+		this.checkClosed();
+		return this.result.getMetaData();
+	}
+
+	@Override
+	public String getString(int columnIndex) throws SQLException {
+		Object value = this.value(columnIndex);
+		if( value == null )		return null;
+		if( value instanceof byte[] )		return new String((byte[])value, StandardCharsets.UTF_8);
+		if( value instanceof BigDecimal )		return ((BigDecimal)value).toPlainString();
+		return value.toString();
+	}
+
+	@Override
+	public String getNString(int columnIndex) throws SQLException {
+		return this.getString(columnIndex);
+	}
+
+	@Override
+	public boolean getBoolean(int columnIndex) throws SQLException {
+		Object value = this.value(columnIndex);
+		if( value == null )		return false;
+		if( value instanceof Boolean )		return (Boolean)value;
+		if( value instanceof Number )		return ((Number)value).doubleValue() != 0;
+		if( value instanceof String ){
+			String str = ((String)value).trim();
+			return str.equals("1") || str.equalsIgnoreCase("true") || str.equalsIgnoreCase("y");
+		}
+		throw cannotConvert(value, "boolean");
+	}
+
+	@Override
+	public byte getByte(int columnIndex) throws SQLException {
+		Number value = this.number(columnIndex, "byte");
+		return value == null ? 0 : value.byteValue();
+	}
+
+	@Override
+	public short getShort(int columnIndex) throws SQLException {
+		Number value = this.number(columnIndex, "short");
+		return value == null ? 0 : value.shortValue();
+	}
+
+	@Override
+	public int getInt(int columnIndex) throws SQLException {
+		Number value = this.number(columnIndex, "int");
+		return value == null ? 0 : value.intValue();
+	}
+
+	@Override
+	public long getLong(int columnIndex) throws SQLException {
+		Number value = this.number(columnIndex, "long");
+		return value == null ? 0 : value.longValue();
+	}
+
+	@Override
+	public float getFloat(int columnIndex) throws SQLException {
+		Number value = this.number(columnIndex, "float");
+		return value == null ? 0 : value.floatValue();
+	}
+
+	@Override
+	public double getDouble(int columnIndex) throws SQLException {
+		Number value = this.number(columnIndex, "double");
+		return value == null ? 0 : value.doubleValue();
+	}
+
+	@Override
+	public BigDecimal getBigDecimal(int columnIndex) throws SQLException {
+		Number value = this.number(columnIndex, "BigDecimal");
+		if( value == null )		return null;
+		if( value instanceof BigDecimal )		return (BigDecimal)value;
+		if( value instanceof BigInteger )		return new BigDecimal((BigInteger)value);
+		if( value instanceof Double || value instanceof Float )		return BigDecimal.valueOf(value.doubleValue());
+		return BigDecimal.valueOf(value.longValue());
+	}
+
+	@Override
+	@Deprecated
+	public BigDecimal getBigDecimal(int columnIndex, int scale) throws SQLException {
+		BigDecimal value = this.getBigDecimal(columnIndex);
+		return value == null ? null : value.setScale(scale, RoundingMode.HALF_UP);
+	}
+
+	@Override
+	public byte[] getBytes(int columnIndex) throws SQLException {
+		Object value = this.value(columnIndex);
+		if( value == null )		return null;
+		// 캐시된 원본 값이 변경되지 않도록 복사본을 리턴한다
+		if( value instanceof byte[] )		return ((byte[])value).clone();
+		if( value instanceof String )		return ((String)value).getBytes(StandardCharsets.UTF_8);
+		throw cannotConvert(value, "byte[]");
+	}
+
+	@Override
+	public Date getDate(int columnIndex) throws SQLException {
+		Object value = this.value(columnIndex);
+		if( value == null )		return null;
+		if( value instanceof Date )		return (Date)value;
+		if( value instanceof java.util.Date )		return new Date(((java.util.Date)value).getTime());
+		if( value instanceof LocalDate )		return Date.valueOf((LocalDate)value);
+		if( value instanceof LocalDateTime )		return Date.valueOf(((LocalDateTime)value).toLocalDate());
+		if( value instanceof String ){
+			try{
+				return Date.valueOf(((String)value).trim());
+			}catch(IllegalArgumentException e){
+				throw new SQLException("cannot convert '" + value + "' to Date", e);
+			}
+		}
+		throw cannotConvert(value, "Date");
+	}
+
+	@Override
+	public Time getTime(int columnIndex) throws SQLException {
+		Object value = this.value(columnIndex);
+		if( value == null )		return null;
+		if( value instanceof Time )		return (Time)value;
+		if( value instanceof java.util.Date )		return new Time(((java.util.Date)value).getTime());
+		if( value instanceof LocalTime )		return Time.valueOf((LocalTime)value);
+		if( value instanceof LocalDateTime )		return Time.valueOf(((LocalDateTime)value).toLocalTime());
+		if( value instanceof String ){
+			try{
+				return Time.valueOf(((String)value).trim());
+			}catch(IllegalArgumentException e){
+				throw new SQLException("cannot convert '" + value + "' to Time", e);
+			}
+		}
+		throw cannotConvert(value, "Time");
+	}
+
+	@Override
+	public Timestamp getTimestamp(int columnIndex) throws SQLException {
+		Object value = this.value(columnIndex);
+		if( value == null )		return null;
+		if( value instanceof Timestamp )		return (Timestamp)value;
+		if( value instanceof java.util.Date )		return new Timestamp(((java.util.Date)value).getTime());
+		if( value instanceof LocalDateTime )		return Timestamp.valueOf((LocalDateTime)value);
+		if( value instanceof LocalDate )		return Timestamp.valueOf(((LocalDate)value).atStartOfDay());
+		if( value instanceof OffsetDateTime )		return Timestamp.from(((OffsetDateTime)value).toInstant());
+		if( value instanceof ZonedDateTime )		return Timestamp.from(((ZonedDateTime)value).toInstant());
+		if( value instanceof Instant )		return Timestamp.from((Instant)value);
+		if( value instanceof String ){
+			try{
+				return Timestamp.valueOf(((String)value).trim());
+			}catch(IllegalArgumentException e){
+				throw new SQLException("cannot convert '" + value + "' to Timestamp", e);
+			}
+		}
+		throw cannotConvert(value, "Timestamp");
+	}
+
+	/*
+	 * 값은 캐시 시점에 드라이버가 변환한 값으로 보관되므로 Calendar 는 사용하지 않는다
+	 */
+	@Override
+	public Date getDate(int columnIndex, Calendar cal) throws SQLException {
+		return this.getDate(columnIndex);
+	}
+
+	@Override
+	public Time getTime(int columnIndex, Calendar cal) throws SQLException {
+		return this.getTime(columnIndex);
+	}
+
+	@Override
+	public Timestamp getTimestamp(int columnIndex, Calendar cal) throws SQLException {
+		return this.getTimestamp(columnIndex);
+	}
+
+	@Override
+	public InputStream getAsciiStream(int columnIndex) throws SQLException {
+		String value = this.getString(columnIndex);
+		return value == null ? null : new ByteArrayInputStream(value.getBytes(StandardCharsets.US_ASCII));
+	}
+
+	@Override
+	@Deprecated
+	public InputStream getUnicodeStream(int columnIndex) throws SQLException {
+		throw new SQLFeatureNotSupportedException("getUnicodeStream");
+	}
+
+	@Override
+	public InputStream getBinaryStream(int columnIndex) throws SQLException {
+		byte[] value = this.getBytes(columnIndex);
+		return value == null ? null : new ByteArrayInputStream(value);
+	}
+
+	@Override
+	public Reader getCharacterStream(int columnIndex) throws SQLException {
+		String value = this.getString(columnIndex);
+		return value == null ? null : new StringReader(value);
+	}
+
+	@Override
+	public Reader getNCharacterStream(int columnIndex) throws SQLException {
+		return this.getCharacterStream(columnIndex);
+	}
+
+	@Override
+	public Blob getBlob(int columnIndex) throws SQLException {
+		byte[] value = this.getBytes(columnIndex);
+		return value == null ? null : new SerialBlob(value);
+	}
+
+	@Override
+	public Clob getClob(int columnIndex) throws SQLException {
+		String value = this.getString(columnIndex);
+		return value == null ? null : new SerialClob(value.toCharArray());
+	}
+
+	@Override
+	public NClob getNClob(int columnIndex) throws SQLException {
+		throw new SQLFeatureNotSupportedException("getNClob");
+	}
+
+	@Override
+	public SQLXML getSQLXML(int columnIndex) throws SQLException {
+		throw new SQLFeatureNotSupportedException("getSQLXML");
+	}
+
+	@Override
+	public Array getArray(int columnIndex) throws SQLException {
+		Object value = this.value(columnIndex);
+		if( value == null )		return null;
+		if( value instanceof Array )		return (Array)value;
+		throw cannotConvert(value, "Array");
+	}
+
+	@Override
+	public Ref getRef(int columnIndex) throws SQLException {
+		Object value = this.value(columnIndex);
+		if( value == null )		return null;
+		if( value instanceof Ref )		return (Ref)value;
+		throw cannotConvert(value, "Ref");
+	}
+
+	@Override
+	public RowId getRowId(int columnIndex) throws SQLException {
+		Object value = this.value(columnIndex);
+		if( value == null )		return null;
+		if( value instanceof RowId )		return (RowId)value;
+		throw cannotConvert(value, "RowId");
+	}
+
+	@Override
+	public URL getURL(int columnIndex) throws SQLException {
+		Object value = this.value(columnIndex);
+		if( value == null )		return null;
+		if( value instanceof URL )		return (URL)value;
+		try{
+			return new URL(value.toString());
+		}catch(MalformedURLException e){
+			throw new SQLException("cannot convert '" + value + "' to URL", e);
+		}
+	}
+
+	@Override
+	public Object getObject(int columnIndex) throws SQLException {
+		Object value = this.value(columnIndex);
+		return value instanceof byte[] ? ((byte[])value).clone() : value;
+	}
+
+	@Override
+	public Object getObject(int columnIndex, Map<String, Class<?>> map) throws SQLException {
+		return this.getObject(columnIndex);
+	}
+
+	@Override
+	public <T> T getObject(int columnIndex, Class<T> type) throws SQLException {
+		if( type == null )		throw new SQLException("type is null");
+
+		Object value = this.value(columnIndex);
+		if( value == null )		return null;
+		if( type == byte[].class )		return type.cast(this.getBytes(columnIndex));
+		if( type.isInstance(value) )		return type.cast(value);
+
+		if( type == String.class )		return type.cast(this.getString(columnIndex));
+		if( type == Integer.class )		return type.cast(this.getInt(columnIndex));
+		if( type == Long.class )		return type.cast(this.getLong(columnIndex));
+		if( type == Short.class )		return type.cast(this.getShort(columnIndex));
+		if( type == Byte.class )		return type.cast(this.getByte(columnIndex));
+		if( type == Double.class )		return type.cast(this.getDouble(columnIndex));
+		if( type == Float.class )		return type.cast(this.getFloat(columnIndex));
+		if( type == Boolean.class )		return type.cast(this.getBoolean(columnIndex));
+		if( type == BigDecimal.class )		return type.cast(this.getBigDecimal(columnIndex));
+		if( type == BigInteger.class )		return type.cast(this.getBigDecimal(columnIndex).toBigInteger());
+		if( type == Date.class )		return type.cast(this.getDate(columnIndex));
+		if( type == Time.class )		return type.cast(this.getTime(columnIndex));
+		if( type == Timestamp.class )		return type.cast(this.getTimestamp(columnIndex));
+		if( type == LocalDate.class )		return type.cast(this.getDate(columnIndex).toLocalDate());
+		if( type == LocalTime.class )		return type.cast(this.getTime(columnIndex).toLocalTime());
+		if( type == LocalDateTime.class )		return type.cast(this.getTimestamp(columnIndex).toLocalDateTime());
+		if( type == Instant.class )		return type.cast(this.getTimestamp(columnIndex).toInstant());
+		if( type == Blob.class )		return type.cast(this.getBlob(columnIndex));
+		if( type == Clob.class )		return type.cast(this.getClob(columnIndex));
+		if( type == URL.class )		return type.cast(this.getURL(columnIndex));
+
+		throw cannotConvert(value, type.getName());
+	}
+
+	@Override
+	public int getType() throws SQLException {
+		this.checkClosed();
+		return ResultSet.TYPE_SCROLL_INSENSITIVE;
+	}
+
+	@Override
+	public int getConcurrency() throws SQLException {
+		this.checkClosed();
+		return ResultSet.CONCUR_READ_ONLY;
+	}
+
+	@Override
+	public int getHoldability() throws SQLException {
+		this.checkClosed();
+		return ResultSet.HOLD_CURSORS_OVER_COMMIT;
+	}
+
+	@Override
+	public int getFetchDirection() throws SQLException {
+		this.checkClosed();
+		return ResultSet.FETCH_FORWARD;
+	}
+
+	@Override
+	public void setFetchDirection(int direction) throws SQLException {
+		this.checkClosed();
+		if( direction != ResultSet.FETCH_FORWARD && direction != ResultSet.FETCH_REVERSE && direction != ResultSet.FETCH_UNKNOWN )
+			throw new SQLException("invalid fetch direction " + direction);
+	}
+
+	@Override
+	public int getFetchSize() throws SQLException {
+		this.checkClosed();
+		return this.fetchSize;
+	}
+
+	@Override
+	public void setFetchSize(int rows) throws SQLException {
+		this.checkClosed();
+		if( rows < 0 )		throw new SQLException("invalid fetch size " + rows);
+		this.fetchSize = rows;
+	}
+
+	@Override
+	public String getCursorName() throws SQLException {
+		throw new SQLFeatureNotSupportedException("getCursorName");
+	}
+
+	@Override
+	public Statement getStatement() throws SQLException {
+		this.checkClosed();
+		return null;
+	}
+
+	@Override
+	public SQLWarning getWarnings() throws SQLException {
+		this.checkClosed();
+		return null;
+	}
+
+	@Override
+	public void clearWarnings() throws SQLException {
+		this.checkClosed();
+	}
+
+	@Override
+	public boolean rowUpdated() throws SQLException {
+		this.checkClosed();
+		return false;
+	}
+
+	@Override
+	public boolean rowInserted() throws SQLException {
+		this.checkClosed();
+		return false;
+	}
+
+	@Override
+	public boolean rowDeleted() throws SQLException {
+		this.checkClosed();
+		return false;
+	}
+
+	@Override
+	public <T> T unwrap(Class<T> iface) throws SQLException {
+		if( iface.isInstance(this) )		return iface.cast(this);
+		throw new SQLException("not a wrapper for " + iface.getName());
+	}
+
+	@Override
+	public boolean isWrapperFor(Class<?> iface) {
+		return iface.isInstance(this);
+	}
+
+	@Override
+	public Array getArray(String columnLabel) throws SQLException {
+		return this.getArray(this.findColumn(columnLabel));
+	}
+
+	@Override
+	public InputStream getAsciiStream(String columnLabel) throws SQLException {
+		return this.getAsciiStream(this.findColumn(columnLabel));
+	}
+
+	@Override
+	@Deprecated
+	public BigDecimal getBigDecimal(String columnLabel, int scale) throws SQLException {
+		return this.getBigDecimal(this.findColumn(columnLabel), scale);
+	}
+
+	@Override
+	public BigDecimal getBigDecimal(String columnLabel) throws SQLException {
+		return this.getBigDecimal(this.findColumn(columnLabel));
+	}
+
+	@Override
+	public InputStream getBinaryStream(String columnLabel) throws SQLException {
+		return this.getBinaryStream(this.findColumn(columnLabel));
+	}
+
+	@Override
+	public Blob getBlob(String columnLabel) throws SQLException {
+		return this.getBlob(this.findColumn(columnLabel));
+	}
+
+	@Override
+	public boolean getBoolean(String columnLabel) throws SQLException {
+		return this.getBoolean(this.findColumn(columnLabel));
+	}
+
+	@Override
+	public byte getByte(String columnLabel) throws SQLException {
+		return this.getByte(this.findColumn(columnLabel));
+	}
+
+	@Override
+	public byte[] getBytes(String columnLabel) throws SQLException {
+		return this.getBytes(this.findColumn(columnLabel));
+	}
+
+	@Override
+	public Reader getCharacterStream(String columnLabel) throws SQLException {
+		return this.getCharacterStream(this.findColumn(columnLabel));
+	}
+
+	@Override
+	public Clob getClob(String columnLabel) throws SQLException {
+		return this.getClob(this.findColumn(columnLabel));
+	}
+
+	@Override
+	public Date getDate(String columnLabel, Calendar cal) throws SQLException {
+		return this.getDate(this.findColumn(columnLabel), cal);
+	}
+
+	@Override
+	public Date getDate(String columnLabel) throws SQLException {
+		return this.getDate(this.findColumn(columnLabel));
+	}
+
+	@Override
+	public double getDouble(String columnLabel) throws SQLException {
+		return this.getDouble(this.findColumn(columnLabel));
+	}
+
+	@Override
+	public float getFloat(String columnLabel) throws SQLException {
+		return this.getFloat(this.findColumn(columnLabel));
+	}
+
+	@Override
+	public int getInt(String columnLabel) throws SQLException {
+		return this.getInt(this.findColumn(columnLabel));
+	}
+
+	@Override
+	public long getLong(String columnLabel) throws SQLException {
+		return this.getLong(this.findColumn(columnLabel));
+	}
+
+	@Override
+	public Reader getNCharacterStream(String columnLabel) throws SQLException {
+		return this.getNCharacterStream(this.findColumn(columnLabel));
+	}
+
+	@Override
+	public NClob getNClob(String columnLabel) throws SQLException {
+		return this.getNClob(this.findColumn(columnLabel));
+	}
+
+	@Override
+	public String getNString(String columnLabel) throws SQLException {
+		return this.getNString(this.findColumn(columnLabel));
+	}
+
+	@Override
+	public <T> T getObject(String columnLabel, Class<T> type) throws SQLException {
+		return this.getObject(this.findColumn(columnLabel), type);
+	}
+
+	@Override
+	public Object getObject(String columnLabel, Map<String, Class<?>> map) throws SQLException {
+		return this.getObject(this.findColumn(columnLabel), map);
+	}
+
+	@Override
+	public Object getObject(String columnLabel) throws SQLException {
+		return this.getObject(this.findColumn(columnLabel));
+	}
+
+	@Override
+	public Ref getRef(String columnLabel) throws SQLException {
+		return this.getRef(this.findColumn(columnLabel));
+	}
+
+	@Override
+	public RowId getRowId(String columnLabel) throws SQLException {
+		return this.getRowId(this.findColumn(columnLabel));
+	}
+
+	@Override
+	public SQLXML getSQLXML(String columnLabel) throws SQLException {
+		return this.getSQLXML(this.findColumn(columnLabel));
+	}
+
+	@Override
+	public short getShort(String columnLabel) throws SQLException {
+		return this.getShort(this.findColumn(columnLabel));
+	}
+
+	@Override
+	public String getString(String columnLabel) throws SQLException {
+		return this.getString(this.findColumn(columnLabel));
+	}
+
+	@Override
+	public Time getTime(String columnLabel, Calendar cal) throws SQLException {
+		return this.getTime(this.findColumn(columnLabel), cal);
+	}
+
+	@Override
+	public Time getTime(String columnLabel) throws SQLException {
+		return this.getTime(this.findColumn(columnLabel));
+	}
+
+	@Override
+	public Timestamp getTimestamp(String columnLabel, Calendar cal) throws SQLException {
+		return this.getTimestamp(this.findColumn(columnLabel), cal);
+	}
+
+	@Override
+	public Timestamp getTimestamp(String columnLabel) throws SQLException {
+		return this.getTimestamp(this.findColumn(columnLabel));
+	}
+
+	@Override
+	public URL getURL(String columnLabel) throws SQLException {
+		return this.getURL(this.findColumn(columnLabel));
+	}
+
+	@Override
+	@Deprecated
+	public InputStream getUnicodeStream(String columnLabel) throws SQLException {
+		return this.getUnicodeStream(this.findColumn(columnLabel));
+	}
+
+
+	@Override
+	public void cancelRowUpdates() throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void deleteRow() throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void insertRow() throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void moveToCurrentRow() throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void moveToInsertRow() throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void refreshRow() throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateArray(String columnLabel, Array x) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateArray(int columnIndex, Array x) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateAsciiStream(String columnLabel, InputStream x, int length) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateAsciiStream(String columnLabel, InputStream x, long length) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateAsciiStream(String columnLabel, InputStream x) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateAsciiStream(int columnIndex, InputStream x, int length) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateAsciiStream(int columnIndex, InputStream x, long length) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateAsciiStream(int columnIndex, InputStream x) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateBigDecimal(String columnLabel, BigDecimal x) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateBigDecimal(int columnIndex, BigDecimal x) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateBinaryStream(String columnLabel, InputStream x, int length) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateBinaryStream(String columnLabel, InputStream x, long length) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateBinaryStream(String columnLabel, InputStream x) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateBinaryStream(int columnIndex, InputStream x, int length) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateBinaryStream(int columnIndex, InputStream x, long length) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateBinaryStream(int columnIndex, InputStream x) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateBlob(String columnLabel, InputStream x, long length) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateBlob(String columnLabel, InputStream x) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateBlob(String columnLabel, Blob x) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateBlob(int columnIndex, InputStream x, long length) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateBlob(int columnIndex, InputStream x) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateBlob(int columnIndex, Blob x) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateBoolean(String columnLabel, boolean x) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateBoolean(int columnIndex, boolean x) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateByte(String columnLabel, byte x) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateByte(int columnIndex, byte x) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateBytes(String columnLabel, byte[] x) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateBytes(int columnIndex, byte[] x) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateCharacterStream(String columnLabel, Reader x, int length) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateCharacterStream(String columnLabel, Reader x, long length) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateCharacterStream(String columnLabel, Reader x) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateCharacterStream(int columnIndex, Reader x, int length) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateCharacterStream(int columnIndex, Reader x, long length) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateCharacterStream(int columnIndex, Reader x) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateClob(String columnLabel, Reader x, long length) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateClob(String columnLabel, Reader x) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateClob(String columnLabel, Clob x) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateClob(int columnIndex, Reader x, long length) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateClob(int columnIndex, Reader x) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateClob(int columnIndex, Clob x) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateDate(String columnLabel, Date x) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateDate(int columnIndex, Date x) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateDouble(String columnLabel, double x) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateDouble(int columnIndex, double x) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateFloat(String columnLabel, float x) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateFloat(int columnIndex, float x) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateInt(String columnLabel, int x) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateInt(int columnIndex, int x) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateLong(String columnLabel, long length) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateLong(int columnIndex, long length) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateNCharacterStream(String columnLabel, Reader x, long length) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateNCharacterStream(String columnLabel, Reader x) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateNCharacterStream(int columnIndex, Reader x, long length) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateNCharacterStream(int columnIndex, Reader x) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateNClob(String columnLabel, Reader x, long length) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateNClob(String columnLabel, Reader x) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateNClob(String columnLabel, NClob x) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateNClob(int columnIndex, Reader x, long length) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateNClob(int columnIndex, Reader x) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateNClob(int columnIndex, NClob x) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateNString(String columnLabel, String x) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateNString(int columnIndex, String x) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateNull(String columnLabel) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateNull(int columnIndex) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateObject(String columnLabel, Object x, int scaleOrLength) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateObject(String columnLabel, Object x) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateObject(int columnIndex, Object x, int scaleOrLength) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateObject(int columnIndex, Object x) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateRef(String columnLabel, Ref x) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateRef(int columnIndex, Ref x) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateRowId(String columnLabel, RowId x) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateRowId(int columnIndex, RowId x) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateRow() throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateSQLXML(String columnLabel, SQLXML x) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateSQLXML(int columnIndex, SQLXML x) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateShort(String columnLabel, short x) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateShort(int columnIndex, short x) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateString(String columnLabel, String x) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateString(int columnIndex, String x) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateTime(String columnLabel, Time x) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateTime(int columnIndex, Time x) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateTimestamp(String columnLabel, Timestamp x) throws SQLException {
+		throw readOnly();
+	}
+
+	@Override
+	public void updateTimestamp(int columnIndex, Timestamp x) throws SQLException {
+		throw readOnly();
+	}
+
+}
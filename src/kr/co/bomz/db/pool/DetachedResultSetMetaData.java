@@ -0,0 +1,224 @@
+package kr.co.bomz.db.pool;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+
+/**
+ * 커넥션과 분리된 셀렉트 쿼리 결과의 컬럼 정보<p>
+ * 드라이버가 지원하지 않는 정보는 기본값으로 보관된다
+ *
+ * @author Bomz
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+public class DetachedResultSetMetaData implements ResultSetMetaData {
+
+	private final int columnCount;
+
+	private final String[] columnLabels;
+	private final String[] columnNames;
+	private final int[] columnTypes;
+	private final String[] columnTypeNames;
+	private final String[] columnClassNames;
+	private final int[] precisions;
+	private final int[] scales;
+	private final int[] nullables;
+	private final int[] displaySizes;
+	private final String[] tableNames;
+	private final String[] schemaNames;
+	private final String[] catalogNames;
+	private final boolean[] autoIncrements;
+	private final boolean[] caseSensitives;
+	private final boolean[] searchables;
+	private final boolean[] currencies;
+	private final boolean[] signeds;
+
+	/**
+	 * @param rsmd		원본 컬럼 정보
+	 * @throws SQLException		컬럼 수를 읽을 수 없을 경우 발생
+	 */
+	DetachedResultSetMetaData(ResultSetMetaData rsmd) throws SQLException{
+		int count = rsmd.getColumnCount();
+		this.columnCount = count;
+
+		this.columnLabels = new String[count];
+		this.columnNames = new String[count];
+		this.columnTypes = new int[count];
+		this.columnTypeNames = new String[count];
+		this.columnClassNames = new String[count];
+		this.precisions = new int[count];
+		this.scales = new int[count];
+		this.nullables = new int[count];
+		this.displaySizes = new int[count];
+		this.tableNames = new String[count];
+		this.schemaNames = new String[count];
+		this.catalogNames = new String[count];
+		this.autoIncrements = new boolean[count];
+		this.caseSensitives = new boolean[count];
+		this.searchables = new boolean[count];
+		this.currencies = new boolean[count];
+		this.signeds = new boolean[count];
+
+		for(int i=0; i < count; i++){
+			final int column = i + 1;
+			this.columnNames[i] = this.read(() -> rsmd.getColumnName(column), "");
+			this.columnLabels[i] = this.read(() -> rsmd.getColumnLabel(column), this.columnNames[i]);
+			this.columnTypes[i] = this.read(() -> rsmd.getColumnType(column), java.sql.Types.OTHER);
+			this.columnTypeNames[i] = this.read(() -> rsmd.getColumnTypeName(column), "");
+			this.columnClassNames[i] = this.read(() -> rsmd.getColumnClassName(column), Object.class.getName());
+			this.precisions[i] = this.read(() -> rsmd.getPrecision(column), 0);
+			this.scales[i] = this.read(() -> rsmd.getScale(column), 0);
+			this.nullables[i] = this.read(() -> rsmd.isNullable(column), columnNullableUnknown);
+			this.displaySizes[i] = this.read(() -> rsmd.getColumnDisplaySize(column), 0);
+			this.tableNames[i] = this.read(() -> rsmd.getTableName(column), "");
+			this.schemaNames[i] = this.read(() -> rsmd.getSchemaName(column), "");
+			this.catalogNames[i] = this.read(() -> rsmd.getCatalogName(column), "");
+			this.autoIncrements[i] = this.read(() -> rsmd.isAutoIncrement(column), false);
+			this.caseSensitives[i] = this.read(() -> rsmd.isCaseSensitive(column), false);
+			this.searchables[i] = this.read(() -> rsmd.isSearchable(column), false);
+			this.currencies[i] = this.read(() -> rsmd.isCurrency(column), false);
+			this.signeds[i] = this.read(() -> rsmd.isSigned(column), false);
+		}
+	}
+
+	/**		드라이버가 지원하지 않거나 null 일 경우 기본값 사용		*/
+	private <T> T read(Info<T> info, T defaultValue){
+		try{
+			T value = info.get();
+			return value == null ? defaultValue : value;
+		}catch(SQLException | RuntimeException e){
+			return defaultValue;
+		}
+	}
+
+	/**		컬럼 순번 검사 후 배열 위치 리턴		*/
+	private int index(int column) throws SQLException{
+		if( column < 1 || column > this.columnCount )		throw new SQLException("invalid column index " + column);
+		return column - 1;
+	}
+
+	@Override
+	public int getColumnCount() {
+		return this.columnCount;
+	}
+
+	@Override
+	public String getColumnLabel(int column) {
+		return this.columnLabels[column - 1];
+	}
+
+	@Override
+	public String getColumnName(int column) {
+		return this.columnNames[column - 1];
+	}
+
+	@Override
+	public boolean isAutoIncrement(int column) throws SQLException {
+		return this.autoIncrements[this.index(column)];
+	}
+
+	@Override
+	public boolean isCaseSensitive(int column) throws SQLException {
+		return this.caseSensitives[this.index(column)];
+	}
+
+	@Override
+	public boolean isSearchable(int column) throws SQLException {
+		return this.searchables[this.index(column)];
+	}
+
+	@Override
+	public boolean isCurrency(int column) throws SQLException {
+		return this.currencies[this.index(column)];
+	}
+
+	@Override
+	public int isNullable(int column) throws SQLException {
+		return this.nullables[this.index(column)];
+	}
+
+	@Override
+	public boolean isSigned(int column) throws SQLException {
+		return this.signeds[this.index(column)];
+	}
+
+	@Override
+	public int getColumnDisplaySize(int column) throws SQLException {
+		return this.displaySizes[this.index(column)];
+	}
+
+	@Override
+	public String getSchemaName(int column) throws SQLException {
+		return this.schemaNames[this.index(column)];
+	}
+
+	@Override
+	public int getPrecision(int column) throws SQLException {
+		return this.precisions[this.index(column)];
+	}
+
+	@Override
+	public int getScale(int column) throws SQLException {
+		return this.scales[this.index(column)];
+	}
+
+	@Override
+	public String getTableName(int column) throws SQLException {
+		return this.tableNames[this.index(column)];
+	}
+
+	@Override
+	public String getCatalogName(int column) throws SQLException {
+		return this.catalogNames[this.index(column)];
+	}
+
+	@Override
+	public int getColumnType(int column) throws SQLException {
+		return this.columnTypes[this.index(column)];
+	}
+
+	@Override
+	public String getColumnTypeName(int column) throws SQLException {
+		return this.columnTypeNames[this.index(column)];
+	}
+
+	@Override
+	public boolean isReadOnly(int column) throws SQLException {
+		this.index(column);
+		return true;
+	}
+
+	@Override
+	public boolean isWritable(int column) throws SQLException {
+		this.index(column);
+		return false;
+	}
+
+	@Override
+	public boolean isDefinitelyWritable(int column) throws SQLException {
+		this.index(column);
+		return false;
+	}
+
+	@Override
+	public String getColumnClassName(int column) throws SQLException {
+		return this.columnClassNames[this.index(column)];
+	}
+
+	@Override
+	public <T> T unwrap(Class<T> iface) throws SQLException {
+		if( iface.isInstance(this) )		return iface.cast(this);
+		throw new SQLException("not a wrapper for " + iface.getName());
+	}
+
+	@Override
+	public boolean isWrapperFor(Class<?> iface) {
+		return iface.isInstance(this);
+	}
+
+	/**		원본 컬럼 정보 조회		*/
+	private interface Info<T> {
+		T get() throws SQLException;
+	}
+}
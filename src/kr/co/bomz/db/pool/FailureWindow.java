@@ -0,0 +1,67 @@
+package kr.co.bomz.db.pool;
+
+import java.util.Arrays;
+
+/**
+ * 일정 시간 안에 발생한 커넥션 오류 수 기록<p>
+ * 오류가 발생한 커넥션은 각각 풀에서 제외되며, 지정한 시간 안에 지정한 수 이상의 커넥션에서 오류가 발생하였을 경우에만
+ * 데이터베이스 연결이 끊긴 것으로 판단하여 풀 전체를 다시 연결한다
+ *
+ * @author Bomz
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+class FailureWindow {
+
+	/**		최근 오류 발생 시간. 가장 오래된 오류부터 순환하며 기록된다		*/
+	private final long[] failTimes;
+
+	/**		오류 수를 계산할 시간 (단위:ms)		*/
+	private final long window;
+
+	/**		다음 오류를 기록할 위치		*/
+	private int index = 0;
+
+	/**
+	 * @param failureCount		풀 전체를 다시 연결할 오류 수
+	 * @param window				오류 수를 계산할 시간 (단위:ms)
+	 */
+	FailureWindow(int failureCount, long window){
+		this.failTimes = new long[failureCount];
+		this.window = window;
+	}
+
+	/**
+	 * 커넥션 오류 기록
+	 * @param now		오류 발생 시간 (단위:ms)
+	 * @return			지정한 시간 안에 지정한 수 이상의 오류가 발생하였을 경우 true. 이 경우 기록은 초기화된다
+	 */
+	synchronized boolean record(long now){
+		this.failTimes[this.index] = now;
+		this.index = (this.index + 1) % this.failTimes.length;
+
+		// 다음 기록 위치에는 가장 오래된 오류 시간이 저장되어 있다
+		long oldest = this.failTimes[this.index];
+		if( oldest == 0 || now - oldest > this.window )		return false;
+
+		Arrays.fill(this.failTimes, 0L);
+		return true;
+	}
+
+	/**
+	 * 풀 전체를 다시 연결할 오류 수
+	 * @return		오류 수
+	 */
+	int getFailureCount(){
+		return this.failTimes.length;
+	}
+
+	/**
+	 * 오류 수를 계산할 시간
+	 * @return		시간 (단위:ms)
+	 */
+	long getWindow(){
+		return this.window;
+	}
+}
@@ -1,7 +1,9 @@
 package kr.co.bomz.db.pool;
 
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
- * ̵   
+ * 아이디 정보를 생성 관리
  * 
  * @author Bomz
  * @since 1.0
@@ -10,17 +12,26 @@ package kr.co.bomz.db.pool;
  */
 public class IdGenerator {
 
-	private long id = System.currentTimeMillis();
+	private final AtomicLong id = new AtomicLong(System.currentTimeMillis());
 	
 	long next(){
-		return ++this.id;
+		return this.id.incrementAndGet();
+	}
+	
+	/**
+	 * 현재 아이디가 expectId 와 같을 경우에만 다음 아이디로 변경
+	 * @param expectId		변경 전 아이디
+	 * @return					변경하였을 경우 true
+	 */
+	boolean next(long expectId){
+		return this.id.compareAndSet(expectId, expectId + 1);
 	}
 	
 	long getNowId(){
-		return this.id;
+		return this.id.get();
 	}
 	
 	long getNextId(){
-		return this.id + 1;
+		return this.id.get() + 1;
 	}
 }
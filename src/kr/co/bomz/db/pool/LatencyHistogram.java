@@ -0,0 +1,108 @@
+package kr.co.bomz.db.pool;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 수행 시간 분포 기록<p>
+ * 2의 제곱수 구간을 다시 16개로 나눈 고정 크기 구간에 수를 기록하므로
+ * 기록 시 객체 생성이 없으며 백분위 값의 오차는 약 6% 이내이다<br>
+ * 여러 스레드에서 동시에 기록할 수 있다
+ *
+ * @author Bomz
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+public class LatencyHistogram {
+
+	/**		2의 제곱수 구간별 세부 구간 비트 수		*/
+	private static final int SUB_BUCKET_BITS = 4;
+
+	/**		2의 제곱수 구간별 세부 구간 수		*/
+	private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+	/**		전체 구간 수 (0 ~ Long.MAX_VALUE)		*/
+	private static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+	/**		구간별 기록 수		*/
+	private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+
+	/**		전체 기록 수		*/
+	private final LongAdder count = new LongAdder();
+
+	/**		기록된 시간의 합		*/
+	private final LongAdder sum = new LongAdder();
+
+	/**		기록된 최대 시간		*/
+	private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+
+	LatencyHistogram(){}
+
+	/**
+	 * 수행 시간 기록
+	 * @param nanos		수행 시간 (단위:nanosecond)
+	 */
+	void record(long nanos){
+		if( nanos < 0 )		nanos = 0;
+
+		this.buckets.incrementAndGet(index(nanos));
+		this.count.increment();
+		this.sum.add(nanos);
+		this.max.accumulate(nanos);
+	}
+
+	/**
+	 * 현재까지 기록된 수행 시간 분포의 요약 정보
+	 * @return		수행 시간 요약 정보
+	 */
+	public LatencySnapshot snapshot(){
+		long[] counts = new long[BUCKET_COUNT];
+		long total = 0;
+		for(int i=0; i < BUCKET_COUNT; i++){
+			counts[i] = this.buckets.get(i);
+			total += counts[i];
+		}
+
+		long max = this.max.get();
+		return new LatencySnapshot(
+				total,
+				total == 0 ? 0 : this.sum.sum() / total,
+				percentile(counts, total, max, 0.5),
+				percentile(counts, total, max, 0.99),
+				percentile(counts, total, max, 0.999),
+				max
+			);
+	}
+
+	/**		지정한 백분위에 해당하는 구간의 최대값		*/
+	private static long percentile(long[] counts, long total, long max, double percentile){
+		if( total == 0 )		return 0;
+
+		long target = (long)Math.ceil(total * percentile);
+		long sum = 0;
+		for(int i=0; i < BUCKET_COUNT; i++){
+			sum += counts[i];
+			if( sum >= target )		return Math.min(upperBound(i), max);
+		}
+		return max;
+	}
+
+	/**		값이 속한 구간 위치		*/
+	private static int index(long value){
+		if( value < SUB_BUCKET_COUNT )		return (int)value;
+
+		int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+		return ((shift + 1) << SUB_BUCKET_BITS) + (int)((value >>> shift) & (SUB_BUCKET_COUNT - 1));
+	}
+
+	/**		구간에 속하는 최대값		*/
+	private static long upperBound(int index){
+		if( index < SUB_BUCKET_COUNT )		return index;
+
+		int shift = (index >> SUB_BUCKET_BITS) - 1;
+		long lower = (long)(SUB_BUCKET_COUNT + (index & (SUB_BUCKET_COUNT - 1))) << shift;
+		return lower + (1L << shift) - 1;
+	}
+}
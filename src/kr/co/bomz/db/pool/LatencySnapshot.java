@@ -0,0 +1,94 @@
+package kr.co.bomz.db.pool;
+
+import java.beans.ConstructorProperties;
+
+/**
+ * 수행 시간 분포 요약 정보<p>
+ * 모든 시간의 단위는 nanosecond 이다
+ *
+ * @author Bomz
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+public class LatencySnapshot {
+
+	/**		기록 수		*/
+	private final long count;
+
+	/**		평균 시간		*/
+	private final long mean;
+
+	private final long p50;
+
+	private final long p99;
+
+	private final long p999;
+
+	/**		최대 시간		*/
+	private final long max;
+
+	@ConstructorProperties({"count", "mean", "p50", "p99", "p999", "max"})
+	public LatencySnapshot(long count, long mean, long p50, long p99, long p999, long max){
+		this.count = count;
+		this.mean = mean;
+		this.p50 = p50;
+		this.p99 = p99;
+		this.p999 = p999;
+		this.max = max;
+	}
+
+	/**
+	 * 기록 수
+	 * @return		기록 수
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 * 평균 시간
+	 * @return		평균 시간 (단위:nanosecond)
+	 */
+	public long getMean() {
+		return mean;
+	}
+
+	/**
+	 * 50% 백분위 시간
+	 * @return		50% 백분위 시간 (단위:nanosecond)
+	 */
+	public long getP50() {
+		return p50;
+	}
+
+	/**
+	 * 99% 백분위 시간
+	 * @return		99% 백분위 시간 (단위:nanosecond)
+	 */
+	public long getP99() {
+		return p99;
+	}
+
+	/**
+	 * 99.9% 백분위 시간
+	 * @return		99.9% 백분위 시간 (단위:nanosecond)
+	 */
+	public long getP999() {
+		return p999;
+	}
+
+	/**
+	 * 최대 시간
+	 * @return		최대 시간 (단위:nanosecond)
+	 */
+	public long getMax() {
+		return max;
+	}
+
+	@Override
+	public String toString() {
+		return "count=" + this.count + ", mean=" + this.mean + "ns, p50=" + this.p50 + "ns, p99=" + this.p99 +
+				"ns, p999=" + this.p999 + "ns, max=" + this.max + "ns";
+	}
+}
@@ -3,7 +3,7 @@ package kr.co.bomz.db.pool;
 import java.sql.SQLException;
 
 /**
- * Ʈ ۵ ʾҴµ Ŀ̳ ѹ۾ ûϿ  ߻
+ * 트랜잭션이 시작되지 않았는데 커밋이나 롤백작업을 요청하였을 경우 발생
  * 
  * @author Bomz
  * @since 1.0
@@ -4,8 +4,8 @@ import java.sql.SQLException;
 
 /**
  * 
- * Ŀؼ  ûϿ   ִ Ŀؼ   ߻<br>
- * ذå : ִ   øų Ʈ  Ŀؼ  ðȿ Ŀ/ѹ Ų
+ * 커넥션 정보를 요청하였으나 사용할 수 있는 커넥션이 없을 경우 발생<br>
+ * 해결책 : 최대 연결 수를 늘리거나 트랜잭션 사용중인 커넥션은 빠른 시간안에 커밋/롤백 시킨다
  * 
  * @author Bomz
  * @since 1.0
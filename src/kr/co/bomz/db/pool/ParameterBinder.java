@@ -0,0 +1,105 @@
+package kr.co.bomz.db.pool;
+
+import java.math.BigDecimal;
+import java.net.URL;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Date;
+import java.sql.NClob;
+import java.sql.PreparedStatement;
+import java.sql.Ref;
+import java.sql.RowId;
+import java.sql.SQLException;
+import java.sql.SQLXML;
+import java.sql.Time;
+import java.sql.Timestamp;
+
+/**
+ * 파라메터 타입에 맞는 PreparedStatement 설정 메소드 호출<p>
+ * 타입별 설정 메소드는 클래스마다 처음 한번만 결정되어 ClassValue 에 보관되므로,
+ * 파라메터마다 instanceof 검사를 반복하지 않는다
+ *
+ * @author Bomz
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+interface ParameterBinder {
+
+	/**
+	 * 파라메터 설정
+	 * @param pst			데이터베이스 객체
+	 * @param index		파라메터 순번 (1 부터 시작)
+	 * @param value		파라메터 값. null 이 아니어야 한다
+	 * @throws SQLException		설정 메소드 호출 시 발생 가능
+	 */
+	void bind(PreparedStatement pst, int index, Object value) throws SQLException;
+
+	/**
+	 * 파라메터 값의 타입에 맞는 설정 메소드로 파라메터 설정
+	 * @param pst			데이터베이스 객체
+	 * @param index		파라메터 순번 (1 부터 시작)
+	 * @param value		파라메터 값
+	 * @throws SQLException		설정 메소드 호출 시 발생 가능
+	 */
+	static void bindValue(PreparedStatement pst, int index, Object value) throws SQLException{
+		if( value == null )		pst.setString(index, null);
+		else						Binders.TYPE_BINDERS.get(value.getClass()).bind(pst, index, value);
+	}
+
+	/**
+	 * 타입에 맞는 설정 메소드
+	 * @param type		파라메터 타입
+	 * @return			설정 메소드
+	 */
+	static ParameterBinder forType(Class<?> type){
+		return Binders.TYPE_BINDERS.get(type);
+	}
+
+	/**		타입별 설정 메소드 보관		*/
+	final class Binders {
+
+		private static final ClassValue<ParameterBinder> TYPE_BINDERS = new ClassValue<ParameterBinder>(){
+			@Override
+			protected ParameterBinder computeValue(Class<?> type) {
+				return resolve(type);
+			}
+		};
+
+		private Binders(){}
+
+		/**
+		 * 타입에 맞는 설정 메소드 결정<br>
+		 * 하위 타입이 상위 타입보다 먼저 검사되어야 한다 (예: NClob 은 Clob 보다 먼저)
+		 */
+		private static ParameterBinder resolve(Class<?> type){
+			if( type == String.class )		return (pst, index, value) -> pst.setString(index, (String)value);
+			if( type == Integer.class )		return (pst, index, value) -> pst.setInt(index, (Integer)value);
+			if( type == Long.class )			return (pst, index, value) -> pst.setLong(index, (Long)value);
+			if( type == Boolean.class )		return (pst, index, value) -> pst.setBoolean(index, (Boolean)value);
+			if( type == Double.class )		return (pst, index, value) -> pst.setDouble(index, (Double)value);
+			if( type == Float.class )			return (pst, index, value) -> pst.setFloat(index, (Float)value);
+			if( type == Short.class )			return (pst, index, value) -> pst.setShort(index, (Short)value);
+			if( type == Byte.class )			return (pst, index, value) -> pst.setByte(index, (Byte)value);
+			if( type == byte[].class )		return (pst, index, value) -> pst.setBytes(index, (byte[])value);
+			if( type == BigDecimal.class )	return (pst, index, value) -> pst.setBigDecimal(index, (BigDecimal)value);
+			if( type == URL.class )			return (pst, index, value) -> pst.setURL(index, (URL)value);
+
+			// 하위 클래스 또는 드라이버 구현 클래스로 전달되는 JDBC 타입
+			if( Timestamp.class.isAssignableFrom(type) )	return (pst, index, value) -> pst.setTimestamp(index, (Timestamp)value);
+			if( Date.class.isAssignableFrom(type) )			return (pst, index, value) -> pst.setDate(index, (Date)value);
+			if( Time.class.isAssignableFrom(type) )			return (pst, index, value) -> pst.setTime(index, (Time)value);
+			if( SQLXML.class.isAssignableFrom(type) )		return (pst, index, value) -> pst.setSQLXML(index, (SQLXML)value);
+			if( Array.class.isAssignableFrom(type) )		return (pst, index, value) -> pst.setArray(index, (Array)value);
+			if( NClob.class.isAssignableFrom(type) )		return (pst, index, value) -> pst.setNClob(index, (NClob)value);
+			if( Clob.class.isAssignableFrom(type) )		return (pst, index, value) -> pst.setClob(index, (Clob)value);
+			if( Blob.class.isAssignableFrom(type) )		return (pst, index, value) -> pst.setBlob(index, (Blob)value);
+			if( Ref.class.isAssignableFrom(type) )			return (pst, index, value) -> pst.setRef(index, (Ref)value);
+			if( RowId.class.isAssignableFrom(type) )		return (pst, index, value) -> pst.setRowId(index, (RowId)value);
+
+			// java.time 타입 등 그 외의 타입은 드라이버에서 변환
+			return (pst, index, value) -> pst.setObject(index, value);
+		}
+	}
+}
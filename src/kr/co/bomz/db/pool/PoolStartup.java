@@ -0,0 +1,112 @@
+package kr.co.bomz.db.pool;
+
+import java.sql.SQLException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 데이터베이스풀 생성 시 최소 연결 수만큼 커넥션을 생성하는 작업의 진행 상태<p>
+ * 일부 커넥션 생성에 실패하더라도 나머지 커넥션은 사용할 수 있으며,
+ * 부족한 커넥션은 이후 백그라운드에서 다시 생성된다
+ *
+ * @author Bomz
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+public class PoolStartup {
+
+	/**		생성 요청 커넥션 수		*/
+	private final int requestedCount;
+
+	private final AtomicInteger connectedCount = new AtomicInteger();
+
+	private final AtomicInteger failedCount = new AtomicInteger();
+
+	/**		마지막 생성 실패 원인		*/
+	private volatile SQLException lastError = null;
+
+	/**		생성이 끝날 때마다 감소		*/
+	private final CountDownLatch latch;
+
+	/**
+	 * @param requestedCount		생성 요청 커넥션 수
+	 */
+	PoolStartup(int requestedCount){
+		this.requestedCount = requestedCount;
+		this.latch = new CountDownLatch(requestedCount);
+	}
+
+	/**		커넥션 생성 성공		*/
+	void connected(){
+		this.connectedCount.incrementAndGet();
+		this.latch.countDown();
+	}
+
+	/**
+	 * 커넥션 생성 실패
+	 * @param e		실패 원인
+	 */
+	void failed(SQLException e){
+		this.lastError = e;
+		this.failedCount.incrementAndGet();
+		this.latch.countDown();
+	}
+
+	/**
+	 * 모든 커넥션 생성 작업이 끝날 때까지 대기
+	 * @param timeout		최대 대기 시간
+	 * @param unit			대기 시간 단위
+	 * @return					대기 시간 안에 끝났을 경우 true
+	 * @throws InterruptedException		대기 중 인터럽트 발생 시
+	 */
+	public boolean await(long timeout, TimeUnit unit) throws InterruptedException{
+		return this.latch.await(timeout, unit);
+	}
+
+	/**
+	 * 모든 커넥션 생성 작업이 끝났는지 여부
+	 * @return		끝났을 경우 true
+	 */
+	public boolean isDone(){
+		return this.latch.getCount() == 0;
+	}
+
+	/**
+	 * 생성 요청 커넥션 수
+	 * @return		생성 요청 커넥션 수
+	 */
+	public int getRequestedCount() {
+		return requestedCount;
+	}
+
+	/**
+	 * 생성에 성공한 커넥션 수
+	 * @return		생성에 성공한 커넥션 수
+	 */
+	public int getConnectedCount() {
+		return connectedCount.get();
+	}
+
+	/**
+	 * 생성에 실패한 커넥션 수
+	 * @return		생성에 실패한 커넥션 수
+	 */
+	public int getFailedCount() {
+		return failedCount.get();
+	}
+
+	/**
+	 * 마지막 생성 실패 원인
+	 * @return		실패한 적이 없을 경우 null
+	 */
+	public SQLException getLastError() {
+		return lastError;
+	}
+
+	@Override
+	public String toString() {
+		return "requested=" + this.requestedCount + ", connected=" + this.connectedCount.get() + ", failed=" + this.failedCount.get();
+	}
+}
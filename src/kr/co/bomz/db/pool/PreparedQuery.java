@@ -0,0 +1,296 @@
+package kr.co.bomz.db.pool;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+/**
+ * 파라메터 설정 방법을 미리 결정해 둔 PreparedStatement 쿼리<p>
+ * DatabasePool.prepareQuery(String) 로 생성하며, 한번 생성한 후 반복해서 사용한다<br>
+ * setInt(int, int) / setLong(int, long) / setDouble(int, double) / setBoolean(int, boolean) 은
+ * 값을 박싱하지 않고 보관하며, 그 외의 타입은 파라메터 위치별로 설정 메소드를 한번만 결정한다<br>
+ * 설정한 파라메터는 clearParameters() 를 호출하거나 다시 설정하기 전까지 유지된다<p>
+ *
+ * 쿼리는 DatabasePool 의 쿼리 메소드와 같은 방식으로 수행되며, 트랜잭션이 시작된 스레드에서 수행할 경우 해당 트랜잭션 안에서 수행된다<br>
+ * 파라메터 값을 보관하므로 여러 스레드에서 동시에 사용할 수 없다
+ *
+ * @author Bomz
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+public class PreparedQuery {
+
+	private static final byte KIND_UNSET = 0;
+	private static final byte KIND_INT = 1;
+	private static final byte KIND_LONG = 2;
+	private static final byte KIND_DOUBLE = 3;
+	private static final byte KIND_BOOLEAN = 4;
+	private static final byte KIND_NULL = 5;
+	private static final byte KIND_OBJECT = 6;
+
+	private final DatabasePool pool;
+
+	private final String sql;
+
+	/**		쿼리의 파라메터 수. 쿼리에서 센 ? 수와 설정된 마지막 파라메터 순번 중 큰 값		*/
+	private int parameterCount;
+
+	/**		파라메터 위치별 값 종류		*/
+	private byte[] kinds;
+
+	/**		int / long / boolean 값 또는 setNull 의 SQL 타입		*/
+	private long[] longValues;
+
+	private double[] doubleValues;
+
+	private Object[] objectValues;
+
+	/**		파라메터 위치별 설정 메소드와 설정 메소드를 결정한 타입		*/
+	private ParameterBinder[] binders;
+	private Class<?>[] binderTypes;
+
+	PreparedQuery(DatabasePool pool, String sql){
+		this.pool = pool;
+		this.sql = sql;
+		this.parameterCount = countParameter(sql);
+
+		int capacity = Math.max(this.parameterCount, 4);
+		this.kinds = new byte[capacity];
+		this.longValues = new long[capacity];
+		this.doubleValues = new double[capacity];
+		this.objectValues = new Object[capacity];
+		this.binders = new ParameterBinder[capacity];
+		this.binderTypes = new Class<?>[capacity];
+	}
+
+	/**		문자열 상수와 주석을 제외한 ? 수		*/
+	private static int countParameter(String sql){
+		int count = 0;
+		int length = sql.length();
+		char c;
+		for(int i=0; i < length; i++){
+			c = sql.charAt(i);
+			if( c == '?' ){
+				count++;
+			}else if( c == '\'' || c == '"' ){
+				int end = sql.indexOf(c, i + 1);
+				i = end < 0 ? length : end;
+			}else if( c == '-' && i + 1 < length && sql.charAt(i + 1) == '-' ){
+				int end = sql.indexOf('\n', i + 2);
+				i = end < 0 ? length : end;
+			}else if( c == '/' && i + 1 < length && sql.charAt(i + 1) == '*' ){
+				int end = sql.indexOf("*/", i + 2);
+				i = end < 0 ? length : end + 1;
+			}
+		}
+		return count;
+	}
+
+	/**		파라메터 위치 검사 후 배열 위치 리턴		*/
+	private int slot(int index, byte kind) throws SQLException{
+		if( index < 1 )		throw new SQLException("invalid parameter index " + index);
+
+		int slot = index - 1;
+		if( slot >= this.kinds.length ){
+			int capacity = Math.max(this.kinds.length << 1, index);
+			this.kinds = Arrays.copyOf(this.kinds, capacity);
+			this.longValues = Arrays.copyOf(this.longValues, capacity);
+			this.doubleValues = Arrays.copyOf(this.doubleValues, capacity);
+			this.objectValues = Arrays.copyOf(this.objectValues, capacity);
+			this.binders = Arrays.copyOf(this.binders, capacity);
+			this.binderTypes = Arrays.copyOf(this.binderTypes, capacity);
+		}
+		if( index > this.parameterCount )		this.parameterCount = index;
+
+		this.kinds[slot] = kind;
+		// 이전에 설정한 객체가 남아 있지 않도록 한다
+		if( kind != KIND_OBJECT )		this.objectValues[slot] = null;
+		return slot;
+	}
+
+	/**
+	 * int 파라메터 설정
+	 * @param index		파라메터 순번 (1 부터 시작)
+	 * @param value		값
+	 * @throws SQLException		잘못된 순번일 경우
+	 */
+	public void setInt(int index, int value) throws SQLException{
+		this.longValues[this.slot(index, KIND_INT)] = value;
+	}
+
+	/**
+	 * long 파라메터 설정
+	 * @param index		파라메터 순번 (1 부터 시작)
+	 * @param value		값
+	 * @throws SQLException		잘못된 순번일 경우
+	 */
+	public void setLong(int index, long value) throws SQLException{
+		this.longValues[this.slot(index, KIND_LONG)] = value;
+	}
+
+	/**
+	 * double 파라메터 설정
+	 * @param index		파라메터 순번 (1 부터 시작)
+	 * @param value		값
+	 * @throws SQLException		잘못된 순번일 경우
+	 */
+	public void setDouble(int index, double value) throws SQLException{
+		this.doubleValues[this.slot(index, KIND_DOUBLE)] = value;
+	}
+
+	/**
+	 * boolean 파라메터 설정
+	 * @param index		파라메터 순번 (1 부터 시작)
+	 * @param value		값
+	 * @throws SQLException		잘못된 순번일 경우
+	 */
+	public void setBoolean(int index, boolean value) throws SQLException{
+		this.longValues[this.slot(index, KIND_BOOLEAN)] = value ? 1L : 0L;
+	}
+
+	/**
+	 * NULL 파라메터 설정
+	 * @param index		파라메터 순번 (1 부터 시작)
+	 * @param sqlType		java.sql.Types 의 SQL 타입
+	 * @throws SQLException		잘못된 순번일 경우
+	 */
+	public void setNull(int index, int sqlType) throws SQLException{
+		this.longValues[this.slot(index, KIND_NULL)] = sqlType;
+	}
+
+	/**
+	 * 문자열 파라메터 설정
+	 * @param index		파라메터 순번 (1 부터 시작)
+	 * @param value		값
+	 * @throws SQLException		잘못된 순번일 경우
+	 */
+	public void setString(int index, String value) throws SQLException{
+		this.setObject(index, value);
+	}
+
+	/**
+	 * 파라메터 설정<br>
+	 * 값의 타입에 맞는 설정 메소드는 같은 위치에 다른 타입의 값이 설정될 때만 다시 결정된다<br>
+	 * null 일 경우 DatabasePool 의 쿼리 메소드와 같이 setString(index, null) 로 설정된다
+	 * @param index		파라메터 순번 (1 부터 시작)
+	 * @param value		값
+	 * @throws SQLException		잘못된 순번일 경우
+	 */
+	public void setObject(int index, Object value) throws SQLException{
+		int slot = this.slot(index, KIND_OBJECT);
+		this.objectValues[slot] = value;
+
+		if( value == null )		return;
+
+		Class<?> type = value.getClass();
+		if( this.binderTypes[slot] != type ){
+			this.binders[slot] = ParameterBinder.forType(type);
+			this.binderTypes[slot] = type;
+		}
+	}
+
+	/**
+	 * 설정한 파라메터를 모두 제거
+	 */
+	public void clearParameters(){
+		Arrays.fill(this.kinds, KIND_UNSET);
+		Arrays.fill(this.objectValues, null);
+	}
+
+	/**
+	 * 설정된 파라메터를 PreparedStatement 에 설정
+	 * @param pst		데이터베이스 객체
+	 * @throws SQLException		설정하지 않은 파라메터가 있거나 설정 메소드 호출 시 발생
+	 */
+	void bind(PreparedStatement pst) throws SQLException{
+		int count = this.parameterCount;
+		int index;
+		for(int i=0; i < count; i++){
+			index = i + 1;
+			switch( this.kinds[i] ){
+			case KIND_INT :			pst.setInt(index, (int)this.longValues[i]);		break;
+			case KIND_LONG :		pst.setLong(index, this.longValues[i]);			break;
+			case KIND_DOUBLE :		pst.setDouble(index, this.doubleValues[i]);		break;
+			case KIND_BOOLEAN :	pst.setBoolean(index, this.longValues[i] != 0);	break;
+			case KIND_NULL :		pst.setNull(index, (int)this.longValues[i]);		break;
+			case KIND_OBJECT :
+				if( this.objectValues[i] == null )		pst.setString(index, null);
+				else											this.binders[i].bind(pst, index, this.objectValues[i]);
+				break;
+			default :
+				// 캐시된 Statement 는 이전 파라메터를 유지하므로 설정하지 않은 파라메터는 오류로 처리한다
+				throw new SQLException("parameter " + index + " is not set");
+			}
+		}
+	}
+
+	/**
+	 * UPDATE / INSERT / DELETE 쿼리 수행
+	 * @return		실행성공 로우 수
+	 * @throws SQLException
+	 */
+	public int executeUpdate() throws SQLException{
+		return this.pool.executeUpdate(this);
+	}
+
+	/**
+	 * 셀렉트 쿼리 수행<br>
+	 * DatabasePool.setAutoCloseResultTime(long) 으로 설정한 시간이 지나면 자동 자원반납된다
+	 * @return		ResultSet
+	 * @throws SQLException
+	 */
+	public ResultSet executeQuery() throws SQLException{
+		return this.pool.selectQuery(this);
+	}
+
+	/**
+	 * 셀렉트 쿼리 수행
+	 * @param autoCloseTime	ResultSet 자동 자원반납 처리 시간 (단위:ms. 0 이하일 경우 자동 자원반납하지 않음)
+	 * @return						ResultSet
+	 * @throws SQLException
+	 */
+	public ResultSet executeQuery(long autoCloseTime) throws SQLException{
+		return this.pool.selectQuery(this, autoCloseTime);
+	}
+
+	/**
+	 * 셀렉트 쿼리 수행 후 결과를 로우 단위로 처리<br>
+	 * 모든 로우를 처리하거나 처리 중 예외가 발생하면 ResultSet 과 Statement 는 바로 자원반납된다
+	 * @param handler	로우 처리
+	 * @return				처리한 로우 수
+	 * @throws SQLException
+	 */
+	public int executeQuery(RowHandler handler) throws SQLException{
+		return this.pool.selectQuery(this, handler);
+	}
+
+	/**
+	 * 배치 쿼리 수행<br>
+	 * 로우마다 binder 로 파라메터를 설정한 후 addBatch() 하며, DatabasePool.setBatchSize(int) 로 지정한 수마다 데이터베이스로 전송한다
+	 * @param rows		로우 수
+	 * @param binder		로우별 파라메터 설정
+	 * @return				로우별 실행성공 로우 수 (java.sql.Statement.executeBatch() 결과)
+	 * @throws SQLException
+	 */
+	public int[] executeBatch(int rows, BatchBinder binder) throws SQLException{
+		return this.pool.executeBatch(this, rows, binder);
+	}
+
+	/**
+	 * 쿼리 파라메터 수
+	 * @return		쿼리에서 센 ? 수와 설정된 마지막 파라메터 순번 중 큰 값
+	 */
+	int getParameterCount(){
+		return this.parameterCount;
+	}
+
+	/**
+	 * 쿼리
+	 * @return		쿼리
+	 */
+	public String getSql(){
+		return this.sql;
+	}
+}
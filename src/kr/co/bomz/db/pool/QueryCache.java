@@ -0,0 +1,559 @@
+package kr.co.bomz.db.pool;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 셀렉트 쿼리 결과 캐시<p>
+ * 쿼리와 파라메터가 같은 셀렉트 쿼리의 결과를 커넥션과 분리된 CachedResult 로 보관한다<br>
+ * DatabasePool.setQueryCache(QueryCache) 로 설정한 후 selectCachedQueryTo... 메소드로 조회할 때만 사용된다<p>
+ *
+ * 보관된 결과는 다음의 경우 제거된다<br>
+ * 1. 보관 시간(TTL)이 지났을 경우<br>
+ * 2. 전체 메모리 사용량 추정값이 최대값을 넘어 가장 오래 사용되지 않은 결과부터 제거될 경우 (LRU)<br>
+ * 3. 같은 풀의 queryTo... / batchQueryTo... 메소드로 결과가 참조하는 테이블이 변경되었을 경우<br>
+ * 4. invalidateTable(String) / invalidateAll() 을 호출했을 경우<p>
+ *
+ * 테이블 이름은 쿼리의 FROM / JOIN / INTO / UPDATE 등의 다음 단어로 판단하며 스키마 이름과 대소문자는 구분하지 않는다<br>
+ * 변경 테이블을 알 수 없는 쿼리와 CallableStatement 쿼리는 전체 결과를 제거한다<br>
+ * 풀을 거치지 않은 데이터 변경은 알 수 없으므로 보관 시간을 짧게 설정하거나 직접 invalidateTable(String) 을 호출해야 한다
+ *
+ * @author Bomz
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+public class QueryCache {
+
+	private final Logger logger = LoggerFactory.getLogger(QueryCache.class);
+
+	/**		쿼리별 테이블 이름 캐시의 최대 크기. 넘을 경우 모두 비운다		*/
+	private static final int MAX_PARSED_QUERY_SIZE = 4096;
+
+	private static final String[] EMPTY_TABLES = new String[0];
+
+	private static final Object[] EMPTY_PARAM = new Object[0];
+
+	/**		FROM 절에서 테이블 목록의 끝을 의미하는 단어		*/
+	private static final Set<String> CLAUSE_KEYWORDS = new HashSet<String>(Arrays.asList(
+			"WHERE", "GROUP", "ORDER", "HAVING", "UNION", "INTERSECT", "EXCEPT", "MINUS",
+			"JOIN", "INNER", "LEFT", "RIGHT", "FULL", "CROSS", "OUTER", "NATURAL", "STRAIGHT_JOIN",
+			"ON", "USING", "LIMIT", "OFFSET", "FETCH", "FOR", "WINDOW", "CONNECT", "START", "SET", "VALUES", "SELECT"
+	));
+
+	/**
+	 * 보관 중인 결과. 접근 순서로 정렬되어 가장 오래 사용되지 않은 결과가 처음에 위치한다
+	 * 동기화 : this
+	 */
+	private final LinkedHashMap<Key, Entry> entryMap = new LinkedHashMap<Key, Entry>(64, 0.75f, true);
+
+	/**
+	 * 테이블별 해당 테이블을 참조하는 결과 목록
+	 * 동기화 : this
+	 */
+	private final Map<String, Set<Key>> tableIndexMap = new HashMap<String, Set<Key>>();
+
+	/**
+	 * 테이블별 변경 횟수<br>
+	 * 쿼리 수행 중 테이블이 변경되었을 경우 이전 데이터가 보관되지 않도록 보관 전에 비교한다
+	 */
+	private final ConcurrentHashMap<String, AtomicLong> tableVersionMap = new ConcurrentHashMap<String, AtomicLong>();
+
+	/**		invalidateAll() 호출 횟수		*/
+	private final AtomicLong globalVersion = new AtomicLong();
+
+	/**		셀렉트 쿼리별 참조 테이블 이름		*/
+	private final ConcurrentHashMap<String, String[]> readTableMap = new ConcurrentHashMap<String, String[]>();
+
+	/**		변경 쿼리별 변경 테이블 이름		*/
+	private final ConcurrentHashMap<String, String[]> writeTableMap = new ConcurrentHashMap<String, String[]>();
+
+	/**		보관 중인 결과의 메모리 사용량 추정값 합계 (단위:byte). 동기화 : this		*/
+	private long weight = 0;
+
+	/**		최대 메모리 사용량 추정값 (단위:byte. 기본값 : 64MB)		*/
+	private volatile long maxWeight;
+
+	/**		기본 보관 시간 (단위:ms. 기본값 : 60초)		*/
+	private volatile long defaultTtl;
+
+	private final LongAdder hitCount = new LongAdder();
+	private final LongAdder missCount = new LongAdder();
+	private final LongAdder evictionCount = new LongAdder();
+	private final LongAdder invalidationCount = new LongAdder();
+
+	/**
+	 * 최대 메모리 사용량 64MB, 기본 보관 시간 60초의 쿼리 캐시
+	 */
+	public QueryCache(){
+		this(64L * 1024 * 1024, 60000L);
+	}
+
+	/**
+	 * @param maxWeight		최대 메모리 사용량 추정값 (단위:byte)
+	 * @param defaultTtl		기본 보관 시간 (단위:ms)
+	 */
+	public QueryCache(long maxWeight, long defaultTtl){
+		this.setMaxWeight(maxWeight);
+		this.setDefaultTtl(defaultTtl);
+	}
+
+	/**
+	 * 최대 메모리 사용량 추정값 설정<br>
+	 * 넘을 경우 가장 오래 사용되지 않은 결과부터 제거되며, 혼자서 최대값을 넘는 결과는 보관하지 않는다
+	 * @param maxWeight		최대 메모리 사용량 (단위:byte)
+	 */
+	public void setMaxWeight(long maxWeight){
+		if( maxWeight <= 0 )		throw new IllegalArgumentException("maxWeight must be greater than 0");
+		if( this.logger.isDebugEnabled())		this.logger.debug("setting query cache maxWeight [{}]", maxWeight);
+		this.maxWeight = maxWeight;
+
+		synchronized( this ){
+			this.evict();
+		}
+	}
+
+	/**
+	 * 기본 보관 시간 설정<br>
+	 * 보관 시간을 지정하지 않은 selectCachedQueryTo... 메소드에 사용된다
+	 * @param defaultTtl		보관 시간 (단위:ms)
+	 */
+	public void setDefaultTtl(long defaultTtl){
+		if( defaultTtl <= 0 )		throw new IllegalArgumentException("defaultTtl must be greater than 0");
+		if( this.logger.isDebugEnabled())		this.logger.debug("setting query cache defaultTtl [{}]", defaultTtl);
+		this.defaultTtl = defaultTtl;
+	}
+
+	/**
+	 * 기본 보관 시간
+	 * @return		보관 시간 (단위:ms)
+	 */
+	public long getDefaultTtl(){
+		return this.defaultTtl;
+	}
+
+	/**
+	 * 보관 중인 결과
+	 * @param key		쿼리와 파라메터
+	 * @return			보관 중인 결과. 없거나 보관 시간이 지났을 경우 null
+	 */
+	CachedResult get(Key key){
+		Entry entry;
+		synchronized( this ){
+			entry = this.entryMap.get(key);
+			if( entry != null && entry.expireTime - System.currentTimeMillis() <= 0 ){
+				this.remove(key, entry);
+				entry = null;
+			}
+		}
+
+		if( entry == null ){
+			this.missCount.increment();
+			return null;
+		}
+
+		this.hitCount.increment();
+		return entry.result;
+	}
+
+	/**
+	 * 쿼리 수행 전 참조 테이블의 변경 횟수<br>
+	 * put() 호출 시 같은 값이어야 결과가 보관된다
+	 * @param key		쿼리와 파라메터
+	 * @return			참조 테이블의 변경 횟수
+	 */
+	long version(Key key){
+		long version = this.globalVersion.get();
+		AtomicLong tableVersion;
+		for(String table : this.readTables(key.sql)){
+			tableVersion = this.tableVersionMap.get(table);
+			if( tableVersion != null )		version += tableVersion.get();
+		}
+		return version;
+	}
+
+	/**
+	 * 결과 보관<br>
+	 * 쿼리 수행 중 참조 테이블이 변경되었을 경우 보관하지 않는다
+	 * @param key			쿼리와 파라메터
+	 * @param result		쿼리 결과
+	 * @param ttl			보관 시간 (단위:ms)
+	 * @param version		쿼리 수행 전 version(Key) 의 결과
+	 */
+	void put(Key key, CachedResult result, long ttl, long version){
+		if( ttl <= 0 || result.getWeight() > this.maxWeight )		return;
+
+		String[] tables = this.readTables(key.sql);
+		Entry entry = new Entry(result, tables, System.currentTimeMillis() + ttl);
+
+		synchronized( this ){
+			if( this.version(key) != version )		return;
+
+			Entry old = this.entryMap.put(key, entry);
+			if( old != null )		this.weight -= old.result.getWeight();
+			this.weight += result.getWeight();
+
+			Set<Key> keys;
+			for(String table : tables){
+				keys = this.tableIndexMap.get(table);
+				if( keys == null ){
+					keys = new HashSet<Key>();
+					this.tableIndexMap.put(table, keys);
+				}
+				keys.add(key);
+			}
+
+			this.evict();
+		}
+	}
+
+	/**		최대 메모리 사용량 추정값을 넘지 않을 때까지 가장 오래 사용되지 않은 결과 제거. 동기화 : this		*/
+	private void evict(){
+		Iterator<Map.Entry<Key, Entry>> iterator = this.entryMap.entrySet().iterator();
+		Map.Entry<Key, Entry> eldest;
+		while( this.weight > this.maxWeight && iterator.hasNext() ){
+			eldest = iterator.next();
+			iterator.remove();
+			this.unindex(eldest.getKey(), eldest.getValue());
+			this.evictionCount.increment();
+		}
+	}
+
+	/**		결과 제거. 동기화 : this		*/
+	private void remove(Key key, Entry entry){
+		this.entryMap.remove(key);
+		this.unindex(key, entry);
+	}
+
+	/**		테이블별 결과 목록에서 제거 후 메모리 사용량 차감. 동기화 : this		*/
+	private void unindex(Key key, Entry entry){
+		this.weight -= entry.result.getWeight();
+
+		Set<Key> keys;
+		for(String table : entry.tables){
+			keys = this.tableIndexMap.get(table);
+			if( keys == null )		continue;
+			keys.remove(key);
+			if( keys.isEmpty() )		this.tableIndexMap.remove(table);
+		}
+	}
+
+	/**
+	 * 변경 쿼리가 변경하는 테이블을 참조하는 결과 제거<br>
+	 * 변경 테이블을 알 수 없을 경우 전체 결과를 제거한다
+	 * @param sql		INSERT / UPDATE / DELETE / MERGE 등의 변경 쿼리
+	 */
+	void invalidateQuery(String sql){
+		String[] tables = this.writeTables(sql);
+		if( tables.length == 0 ){
+			this.invalidateAll();
+			return;
+		}
+
+		for(String table : tables)		this.invalidate(table);
+	}
+
+	/**
+	 * 테이블을 참조하는 결과 제거<br>
+	 * 풀을 거치지 않고 데이터를 변경했을 경우 호출한다
+	 * @param table		테이블 이름. 스키마 이름과 대소문자는 구분하지 않는다
+	 */
+	public void invalidateTable(String table){
+		this.invalidate(normalize(table));
+	}
+
+	/**		정규화된 테이블 이름의 결과 제거		*/
+	private void invalidate(String table){
+		// 변경 횟수를 먼저 증가시켜 수행 중인 셀렉트 쿼리의 결과가 보관되지 않도록 한다
+		AtomicLong tableVersion = this.tableVersionMap.get(table);
+		if( tableVersion == null ){
+			tableVersion = new AtomicLong();
+			AtomicLong old = this.tableVersionMap.putIfAbsent(table, tableVersion);
+			if( old != null )		tableVersion = old;
+		}
+		tableVersion.incrementAndGet();
+		this.invalidationCount.increment();
+
+		synchronized( this ){
+			Set<Key> keys = this.tableIndexMap.remove(table);
+			if( keys == null )		return;
+
+			Entry entry;
+			for(Key key : keys){
+				entry = this.entryMap.remove(key);
+				if( entry != null )		this.unindex(key, entry);
+			}
+		}
+	}
+
+	/**
+	 * 보관 중인 모든 결과 제거
+	 */
+	public void invalidateAll(){
+		this.globalVersion.incrementAndGet();
+		this.invalidationCount.increment();
+
+		synchronized( this ){
+			this.entryMap.clear();
+			this.tableIndexMap.clear();
+			this.weight = 0;
+		}
+	}
+
+	/**
+	 * 보관 중인 결과 수
+	 * @return		결과 수
+	 */
+	public synchronized int getSize(){
+		return this.entryMap.size();
+	}
+
+	/**
+	 * 보관 중인 결과의 메모리 사용량 추정값 합계
+	 * @return		메모리 사용량 (단위:byte)
+	 */
+	public synchronized long getWeight(){
+		return this.weight;
+	}
+
+	/**
+	 * 보관된 결과를 리턴한 횟수
+	 * @return		횟수
+	 */
+	public long getHitCount(){
+		return this.hitCount.sum();
+	}
+
+	/**
+	 * 보관된 결과가 없어 쿼리를 수행한 횟수
+	 * @return		횟수
+	 */
+	public long getMissCount(){
+		return this.missCount.sum();
+	}
+
+	/**
+	 * 최대 메모리 사용량을 넘어 제거된 결과 수
+	 * @return		결과 수
+	 */
+	public long getEvictionCount(){
+		return this.evictionCount.sum();
+	}
+
+	/**
+	 * 테이블 변경 또는 직접 호출로 인한 무효화 횟수
+	 * @return		횟수
+	 */
+	public long getInvalidationCount(){
+		return this.invalidationCount.sum();
+	}
+
+	/**		셀렉트 쿼리의 참조 테이블 이름		*/
+	private String[] readTables(String sql){
+		String[] tables = this.readTableMap.get(sql);
+		if( tables == null ){
+			tables = parseReadTables(tokenize(sql));
+			if( this.readTableMap.size() >= MAX_PARSED_QUERY_SIZE )		this.readTableMap.clear();
+			this.readTableMap.put(sql, tables);
+		}
+		return tables;
+	}
+
+	/**		변경 쿼리의 변경 테이블 이름		*/
+	private String[] writeTables(String sql){
+		String[] tables = this.writeTableMap.get(sql);
+		if( tables == null ){
+			tables = parseWriteTables(tokenize(sql));
+			if( this.writeTableMap.size() >= MAX_PARSED_QUERY_SIZE )		this.writeTableMap.clear();
+			this.writeTableMap.put(sql, tables);
+		}
+		return tables;
+	}
+
+	/**		FROM / JOIN 다음에 오는 테이블 이름 목록		*/
+	private static String[] parseReadTables(List<String> tokens){
+		Set<String> tables = new HashSet<String>();
+		int size = tokens.size();
+		String token;
+		for(int i=0; i < size; i++){
+			token = tokens.get(i);
+			boolean from = token.equalsIgnoreCase("FROM");
+			if( !from && !token.equalsIgnoreCase("JOIN") )		continue;
+
+			// FROM a x, b y 처럼 쉼표로 나열된 테이블까지 읽는다. 서브쿼리는 다음 FROM 에서 처리된다
+			int index = i + 1;
+			while( index < size && isIdentifier(tokens.get(index)) ){
+				tables.add(normalize(tokens.get(index++)));
+				while( index < size && isIdentifier(tokens.get(index)) && !CLAUSE_KEYWORDS.contains(tokens.get(index).toUpperCase(Locale.ROOT)) )		index++;
+				if( !from || index >= size || !tokens.get(index).equals(",") )		break;
+				index++;
+			}
+		}
+		return tables.toArray(EMPTY_TABLES);
+	}
+
+	/**		INTO / UPDATE / DELETE FROM / TRUNCATE / TABLE 등의 다음에 오는 테이블 이름 목록		*/
+	private static String[] parseWriteTables(List<String> tokens){
+		Set<String> tables = new HashSet<String>();
+		int size = tokens.size();
+		String token;
+		String next;
+		for(int i=0; i < size - 1; i++){
+			token = tokens.get(i).toUpperCase(Locale.ROOT);
+			if( !token.equals("INTO") && !token.equals("UPDATE") && !token.equals("DELETE") && !token.equals("TRUNCATE") && !token.equals("TABLE") )		continue;
+
+			int index = i + 1;
+			// DELETE FROM / TRUNCATE TABLE / DROP TABLE IF EXISTS / CREATE TABLE IF NOT EXISTS
+			while( index < size && isSkipWord(tokens.get(index)) )		index++;
+			if( index >= size )		break;
+
+			next = tokens.get(index);
+			if( isIdentifier(next) && !CLAUSE_KEYWORDS.contains(next.toUpperCase(Locale.ROOT)) )		tables.add(normalize(next));
+		}
+		return tables.toArray(EMPTY_TABLES);
+	}
+
+	private static boolean isSkipWord(String token){
+		return token.equalsIgnoreCase("FROM") || token.equalsIgnoreCase("TABLE") || token.equalsIgnoreCase("IF") || token.equalsIgnoreCase("NOT") || token.equalsIgnoreCase("EXISTS")
+				|| token.equalsIgnoreCase("ONLY") || token.equalsIgnoreCase("IGNORE") || token.equalsIgnoreCase("LOW_PRIORITY");
+	}
+
+	private static boolean isIdentifier(String token){
+		char c = token.charAt(0);
+		return Character.isLetterOrDigit(c) || c == '_' || c == '"' || c == '`' || c == '[' || c == '$' || c == '#';
+	}
+
+	/**		테이블 이름에서 따옴표와 스키마 이름을 제거한 후 소문자로 변환		*/
+	private static String normalize(String table){
+		int dot = table.lastIndexOf('.');
+		if( dot >= 0 )		table = table.substring(dot + 1);
+
+		StringBuilder buffer = new StringBuilder(table.length());
+		char c;
+		for(int i=0; i < table.length(); i++){
+			c = table.charAt(i);
+			if( c != '"' && c != '`' && c != '[' && c != ']' )		buffer.append(c);
+		}
+		return buffer.toString().toLowerCase(Locale.ROOT);
+	}
+
+	/**		주석과 문자열 상수를 제외한 단어와 기호 목록		*/
+	private static List<String> tokenize(String sql){
+		List<String> tokens = new ArrayList<String>();
+		int length = sql.length();
+		int index = 0;
+		char c;
+		while( index < length ){
+			c = sql.charAt(index);
+			if( Character.isWhitespace(c) ){
+				index++;
+			}else if( c == '-' && index + 1 < length && sql.charAt(index + 1) == '-' ){
+				while( index < length && sql.charAt(index) != '\n' )		index++;
+			}else if( c == '/' && index + 1 < length && sql.charAt(index + 1) == '*' ){
+				int end = sql.indexOf("*/", index + 2);
+				index = end < 0 ? length : end + 2;
+			}else if( c == '\'' ){
+				index++;
+				while( index < length ){
+					if( sql.charAt(index) == '\'' ){
+						// '' 는 문자열 안의 따옴표
+						if( index + 1 < length && sql.charAt(index + 1) == '\'' )		index += 2;
+						else		break;
+					}else{
+						index++;
+					}
+				}
+				index++;
+			}else if( isIdentifier(String.valueOf(c)) ){
+				int start = index;
+				while( index < length ){
+					c = sql.charAt(index);
+					if( c == '"' || c == '`' ){
+						int end = sql.indexOf(c, index + 1);
+						index = end < 0 ? length : end + 1;
+					}else if( c == '[' ){
+						int end = sql.indexOf(']', index + 1);
+						index = end < 0 ? length : end + 1;
+					}else if( Character.isLetterOrDigit(c) || c == '_' || c == '$' || c == '#' || c == '.' ){
+						index++;
+					}else{
+						break;
+					}
+				}
+				tokens.add(sql.substring(start, index));
+			}else{
+				tokens.add(String.valueOf(c));
+				index++;
+			}
+		}
+		return tokens;
+	}
+
+	/**
+	 * 결과 캐시 키. 쿼리와 파라메터 값이 같을 경우 같은 키이다
+	 */
+	static final class Key {
+
+		private final String sql;
+
+		private final Object[] param;
+
+		private final int hashCode;
+
+		/**
+		 * @param sql		쿼리
+		 * @param param	쿼리 설정 파라메터. 호출자가 배열을 변경할 수 있으므로 복사하여 보관한다
+		 */
+		Key(String sql, Object[] param){
+			this.sql = sql;
+			this.param = param == null || param.length == 0 ? EMPTY_PARAM : param.clone();
+			this.hashCode = sql.hashCode() * 31 + Arrays.deepHashCode(this.param);
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if( this == obj )		return true;
+			if( !(obj instanceof Key) )		return false;
+
+			Key other = (Key)obj;
+			return this.hashCode == other.hashCode && this.sql.equals(other.sql) && Arrays.deepEquals(this.param, other.param);
+		}
+	}
+
+	/**		보관 중인 결과		*/
+	private static final class Entry {
+
+		private final CachedResult result;
+
+		/**		참조 테이블 이름		*/
+		private final String[] tables;
+
+		/**		보관 만료 시간		*/
+		private final long expireTime;
+
+		private Entry(CachedResult result, String[] tables, long expireTime){
+			this.result = result;
+			this.tables = tables;
+			this.expireTime = expireTime;
+		}
+	}
+}
@@ -0,0 +1,95 @@
+package kr.co.bomz.db.pool;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * 스트리밍 셀렉트 쿼리 수행 중 사용되는 자원 관리<p>
+ * 로우를 모두 읽을 때까지 커넥션을 반납하지 않으며, close() 호출 시
+ * ResultSet 종료, Statement 반납, 커넥션 반납을 한번에 처리한다
+ * 
+ * @author Bomz
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+public class QueryCursor implements AutoCloseable{
+
+	private final DatabasePool pool;
+	
+	private final DatabaseConnection connection;
+	
+	/**		close() 호출 시 커넥션 반납 여부. 호출자가 보유한 트랜잭션 커넥션일 경우 false		*/
+	private final boolean returnConnection;
+	
+	private final String sql;
+	
+	private final StatementType type;
+	
+	private final Statement statement;
+	
+	private final ResultSet resultSet;
+	
+	/**		Statement 에 fetchSize 를 설정하였는지 여부		*/
+	private final boolean fetchSizeChanged;
+	
+	/**		마감 시간 취소 작업. 마감 시간이 없을 경우 null		*/
+	private final StatementCanceller canceller;
+	
+	/**		자원 반납 여부		*/
+	private boolean closed = false;
+	
+	QueryCursor(DatabasePool pool, DatabaseConnection connection, boolean returnConnection, String sql, StatementType type, 
+			Statement statement, ResultSet resultSet, boolean fetchSizeChanged, StatementCanceller canceller){
+		this.pool = pool;
+		this.connection = connection;
+		this.returnConnection = returnConnection;
+		this.sql = sql;
+		this.type = type;
+		this.statement = statement;
+		this.resultSet = resultSet;
+		this.fetchSizeChanged = fetchSizeChanged;
+		this.canceller = canceller;
+	}
+	
+	/**
+	 * 쿼리 결과
+	 * @return		ResultSet
+	 */
+	ResultSet getResultSet(){
+		return this.resultSet;
+	}
+	
+	/**
+	 * 로우를 읽는 중 마감 시간이 지나 취소되었을 경우 DeadlineExceededException 으로 변환
+	 * @param e		로우를 읽는 중 발생한 예외
+	 * @return		전달할 예외
+	 */
+	SQLException deadlineError(SQLException e){
+		if( this.canceller == null || !this.canceller.isCancelled() || e instanceof DeadlineExceededException )		return e;
+		return new DeadlineExceededException("deadline exceeded while reading rows", e);
+	}
+	
+	/**
+	 * ResultSet 종료 후 Statement 와 커넥션 반납<br>
+	 * 여러번 호출되더라도 한번만 처리된다
+	 */
+	@Override
+	public synchronized void close() {
+		if( this.closed )		return;
+		this.closed = true;
+		
+		// 반납된 Statement 가 다른 쿼리에서 사용되는 중에 취소되지 않도록 먼저 취소 작업을 제거
+		if( this.canceller != null )		this.canceller.finish();
+		
+		try{		this.resultSet.close();		}catch(Exception e){}
+		
+		// 캐시되는 Statement 일 경우 다른 쿼리에 영향을 주지 않도록 fetchSize 원복
+		if( this.fetchSizeChanged )		try{		this.statement.setFetchSize(0);		}catch(Exception e){}
+		if( this.canceller != null )		try{		this.statement.setQueryTimeout(0);		}catch(Exception e){}
+		
+		this.connection.releaseStatement(this.sql, this.type, this.statement);
+		if( this.returnConnection )		this.pool.returnConnection(this.connection);
+	}
+}
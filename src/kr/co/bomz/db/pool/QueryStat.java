@@ -0,0 +1,105 @@
+package kr.co.bomz.db.pool;
+
+import java.beans.ConstructorProperties;
+
+/**
+ * 쿼리 유형(fingerprint)별 수행 통계<p>
+ * 모든 시간의 단위는 nanosecond 이다
+ *
+ * @author Bomz
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+public class QueryStat {
+
+	/**		문자열 / 숫자 상수를 ? 로 바꾼 쿼리		*/
+	private final String fingerprint;
+
+	/**		수행 수		*/
+	private final long count;
+
+	/**		오류 수		*/
+	private final long errorCount;
+
+	/**		느린 쿼리 기준 시간을 넘은 수		*/
+	private final long slowCount;
+
+	/**		전체 수행 시간		*/
+	private final long totalTime;
+
+	/**		최대 수행 시간		*/
+	private final long maxTime;
+
+	@ConstructorProperties({"fingerprint", "count", "errorCount", "slowCount", "totalTime", "maxTime"})
+	public QueryStat(String fingerprint, long count, long errorCount, long slowCount, long totalTime, long maxTime){
+		this.fingerprint = fingerprint;
+		this.count = count;
+		this.errorCount = errorCount;
+		this.slowCount = slowCount;
+		this.totalTime = totalTime;
+		this.maxTime = maxTime;
+	}
+
+	/**
+	 * 문자열 / 숫자 상수를 ? 로 바꾼 쿼리
+	 * @return		쿼리 유형
+	 */
+	public String getFingerprint() {
+		return fingerprint;
+	}
+
+	/**
+	 * 수행 수
+	 * @return		수행 수
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 * 오류 수
+	 * @return		오류 수
+	 */
+	public long getErrorCount() {
+		return errorCount;
+	}
+
+	/**
+	 * 느린 쿼리 기준 시간을 넘은 수
+	 * @return		느린 쿼리 수
+	 */
+	public long getSlowCount() {
+		return slowCount;
+	}
+
+	/**
+	 * 전체 수행 시간
+	 * @return		전체 수행 시간 (단위:nanosecond)
+	 */
+	public long getTotalTime() {
+		return totalTime;
+	}
+
+	/**
+	 * 평균 수행 시간
+	 * @return		평균 수행 시간 (단위:nanosecond)
+	 */
+	public long getMeanTime() {
+		return this.count == 0 ? 0 : this.totalTime / this.count;
+	}
+
+	/**
+	 * 최대 수행 시간
+	 * @return		최대 수행 시간 (단위:nanosecond)
+	 */
+	public long getMaxTime() {
+		return maxTime;
+	}
+
+	@Override
+	public String toString() {
+		return this.fingerprint + " : count=" + this.count + ", errorCount=" + this.errorCount + ", slowCount=" + this.slowCount +
+				", totalTime=" + this.totalTime + "ns, maxTime=" + this.maxTime + "ns";
+	}
+}
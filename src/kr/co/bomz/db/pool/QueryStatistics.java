@@ -0,0 +1,437 @@
+package kr.co.bomz.db.pool;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 쿼리 유형(fingerprint)별 수행 통계와 느린 쿼리 기록<p>
+ * 쿼리의 문자열 / 숫자 상수를 ? 로 바꾸고 주석과 공백을 정리한 쿼리 유형별로 수행 수, 전체 / 최대 수행 시간, 오류 수를 기록한다<br>
+ * DatabasePool.setQueryStatistics(QueryStatistics) 로 설정한 풀에서 수행한 쿼리만 기록되며, 여러 풀에서 같은 객체를 사용할 수 있다<p>
+ *
+ * 쿼리 유형 변환 결과는 쿼리별로 보관되므로 같은 쿼리를 반복 수행할 경우 다시 변환하지 않으며,
+ * 수행 기록은 잠금 없이 누적된다<br>
+ * 쿼리 유형 표는 잠금을 나누어 관리되며 최대 크기를 넘는 새로운 쿼리 유형은 하나의 기타 항목(OTHER_FINGERPRINT)에 합산된다<br>
+ * 기타 항목에 합산되는 쿼리 유형도 따로 누적되어 전체 수행 시간이 표에서 가장 작은 항목보다 커질 경우 그 항목과 교체되므로,
+ * 먼저 수행된 쿼리 유형이 아닌 전체 수행 시간이 긴 쿼리 유형이 표에 남는다. 교체된 항목의 통계는 기타 항목에 합산된다<p>
+ *
+ * 느린 쿼리 기준 시간을 넘은 쿼리는 샘플링 비율에 따라 WARN 레벨로 기록된다<br>
+ * 기록되는 쿼리는 상수가 제거된 쿼리 유형이며, 파라메터 값은 기록하지 않고 개수만 기록한다
+ *
+ * @author Bomz
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+public class QueryStatistics {
+
+	private final Logger logger = LoggerFactory.getLogger(QueryStatistics.class);
+
+	/**		최대 크기를 넘은 쿼리 유형이 합산되는 항목		*/
+	public static final String OTHER_FINGERPRINT = "<other>";
+
+	/**		잠금을 나눈 쿼리 유형 표 수. 2 의 거듭제곱이어야 한다		*/
+	private static final int STRIPE_SIZE = 16;
+
+	/**		쿼리별 쿼리 유형 항목 캐시의 최대 크기. 넘을 경우 모두 비운다		*/
+	private static final int MAX_QUERY_SIZE = 4096;
+
+	/**		잠금을 나눈 쿼리 유형 표		*/
+	private final Stripe[] stripes = new Stripe[STRIPE_SIZE];
+
+	/**		쿼리별 쿼리 유형 항목. 같은 쿼리를 반복 수행할 경우 쿼리 유형 변환을 생략한다		*/
+	private final ConcurrentHashMap<String, Entry> queryMap = new ConcurrentHashMap<String, Entry>();
+
+	/**		최대 크기를 넘은 쿼리 유형 합산 항목		*/
+	private final Entry otherEntry = new Entry(OTHER_FINGERPRINT);
+
+	/**		잠금을 나눈 표별 최대 쿼리 유형 수		*/
+	private final int stripeCapacity;
+
+	/**		느린 쿼리 기준 시간 (단위:ns. 0 일 경우 기록하지 않음)		*/
+	private volatile long slowQueryThreshold;
+
+	/**		느린 쿼리 기록 비율 (0 ~ 1)		*/
+	private volatile double slowQuerySampleRate = 1.0;
+
+	/**
+	 * 최대 쿼리 유형 수 1000, 느린 쿼리 기준 시간 1초의 쿼리 통계
+	 */
+	public QueryStatistics(){
+		this(1000, 1000L);
+	}
+
+	/**
+	 * @param maxFingerprints				보관할 최대 쿼리 유형 수
+	 * @param slowQueryThreshold			느린 쿼리 기준 시간 (단위:ms. 0 일 경우 기록하지 않음)
+	 */
+	public QueryStatistics(int maxFingerprints, long slowQueryThreshold){
+		if( maxFingerprints <= 0 )		throw new IllegalArgumentException("maxFingerprints must be greater than 0");
+
+		this.stripeCapacity = Math.max(1, (maxFingerprints + STRIPE_SIZE - 1) / STRIPE_SIZE);
+		for(int i=0; i < STRIPE_SIZE; i++)		this.stripes[i] = new Stripe();
+		this.setSlowQueryThreshold(slowQueryThreshold);
+	}
+
+	/**
+	 * 느린 쿼리 기준 시간 설정
+	 * @param slowQueryThreshold		기준 시간 (단위:ms. 0 일 경우 기록하지 않음)
+	 */
+	public void setSlowQueryThreshold(long slowQueryThreshold){
+		if( slowQueryThreshold < 0 )		throw new IllegalArgumentException("slowQueryThreshold must not be negative");
+		if( this.logger.isDebugEnabled())		this.logger.debug("setting slow query threshold [{} ms]", slowQueryThreshold);
+		this.slowQueryThreshold = TimeUnit.MILLISECONDS.toNanos(slowQueryThreshold);
+	}
+
+	/**
+	 * 느린 쿼리 기록 비율 설정<br>
+	 * 느린 쿼리가 많을 경우 로그가 과도하게 기록되지 않도록 일부만 기록한다. 느린 쿼리 수는 비율과 관계없이 모두 집계된다<br>
+	 * 기본값 : 1 (모두 기록)
+	 * @param slowQuerySampleRate		기록 비율 (0 ~ 1)
+	 */
+	public void setSlowQuerySampleRate(double slowQuerySampleRate){
+		if( !(slowQuerySampleRate >= 0 && slowQuerySampleRate <= 1) )		throw new IllegalArgumentException("slowQuerySampleRate must be between 0 and 1");
+		if( this.logger.isDebugEnabled())		this.logger.debug("setting slow query sample rate [{}]", slowQuerySampleRate);
+		this.slowQuerySampleRate = slowQuerySampleRate;
+	}
+
+	/**
+	 * 쿼리 수행 기록
+	 * @param sql						수행한 쿼리
+	 * @param nanos					수행 시간 (단위:nanosecond)
+	 * @param success					수행 성공 여부
+	 * @param parameterCount		쿼리 파라메터 수
+	 */
+	void record(String sql, long nanos, boolean success, int parameterCount){
+		Entry entry = this.queryMap.get(sql);
+		if( entry == null ){
+			if( this.queryMap.size() >= MAX_QUERY_SIZE )		this.queryMap.clear();
+			entry = this.entry(fingerprint(sql));
+			this.queryMap.put(sql, entry);
+		}
+
+		entry.record(nanos, success);
+
+		long threshold = this.slowQueryThreshold;
+		boolean slow = threshold != 0 && nanos >= threshold;
+		if( slow )		entry.slowCount.increment();
+
+		if( !entry.tracked ){
+			// 표에 없는 쿼리 유형은 기타 항목에도 합산하고, 전체 수행 시간이 커졌을 경우 표의 항목과 교체한다
+			this.otherEntry.record(nanos, success);
+			if( slow )		this.otherEntry.slowCount.increment();
+			this.promote(sql, entry);
+		}
+
+		if( !slow )		return;
+
+		double sampleRate = this.slowQuerySampleRate;
+		if( sampleRate < 1 && ThreadLocalRandom.current().nextDouble() >= sampleRate )		return;
+
+		// 개인정보 등이 기록되지 않도록 상수가 제거된 쿼리 유형과 파라메터 수만 기록한다
+		if( this.logger.isWarnEnabled() )
+			this.logger.warn("slow query [{} ms] {} [parameters redacted : {}]", TimeUnit.NANOSECONDS.toMillis(nanos), entry.fingerprint, parameterCount);
+	}
+
+	/**		쿼리 유형 항목. 없을 경우 생성하며 최대 크기를 넘었을 경우 표에 넣지 않은 항목		*/
+	private Entry entry(String fingerprint){
+		Stripe stripe = this.stripe(fingerprint);
+		synchronized( stripe ){
+			Entry entry = stripe.entryMap.get(fingerprint);
+			if( entry != null )		return entry;
+
+			entry = new Entry(fingerprint);
+			if( stripe.entryMap.size() >= this.stripeCapacity )		return entry;
+
+			entry.tracked = true;
+			stripe.entryMap.put(fingerprint, entry);
+			return entry;
+		}
+	}
+
+	/**
+	 * 표에 없는 쿼리 유형의 전체 수행 시간이 표에서 가장 작은 항목보다 클 경우 두 항목을 교체<br>
+	 * 교체된 항목은 표에 없는 항목이 되어 다시 수행 시간이 커질 경우 표에 들어갈 수 있다
+	 * @param sql			수행한 쿼리
+	 * @param entry		표에 없는 쿼리 유형 항목
+	 */
+	private void promote(String sql, Entry entry){
+		Stripe stripe = this.stripe(entry.fingerprint);
+		long totalTime = entry.totalTime.sum();
+		// 표의 항목은 수행 시간이 줄어들지 않으므로 이전에 구한 최소값보다 작을 경우 잠금 없이 넘어간다
+		if( totalTime <= stripe.lowestTime )		return;
+
+		synchronized( stripe ){
+			if( entry.tracked )		return;
+
+			Entry current = stripe.entryMap.get(entry.fingerprint);
+			if( current != null ){
+				// 같은 유형의 다른 쿼리로 이미 표에 들어간 경우 다음 수행부터 표의 항목에 기록한다
+				this.queryMap.replace(sql, entry, current);
+				return;
+			}
+
+			Entry lowest = null;
+			if( stripe.entryMap.size() >= this.stripeCapacity ){
+				long lowestTime = Long.MAX_VALUE;
+				for(Entry e : stripe.entryMap.values()){
+					long time = e.totalTime.sum();
+					if( time < lowestTime ){
+						lowestTime = time;
+						lowest = e;
+					}
+				}
+				stripe.lowestTime = lowestTime;
+				if( totalTime <= lowestTime )		return;
+
+				stripe.entryMap.remove(lowest.fingerprint);
+				lowest.tracked = false;
+				this.otherEntry.add(lowest, 1);
+			}
+
+			entry.tracked = true;
+			this.otherEntry.add(entry, -1);
+			stripe.entryMap.put(entry.fingerprint, entry);
+		}
+	}
+
+	private Stripe stripe(String fingerprint){
+		return this.stripes[spread(fingerprint.hashCode()) & (STRIPE_SIZE - 1)];
+	}
+
+	private static int spread(int hash){
+		return hash ^ (hash >>> 16);
+	}
+
+	/**
+	 * 전체 수행 시간이 긴 순서로 쿼리 유형별 통계 조회
+	 * @param size		조회할 쿼리 유형 수
+	 * @return			쿼리 유형별 통계. 최대 크기를 넘은 쿼리 유형은 OTHER_FINGERPRINT 항목에 포함된다
+	 */
+	public List<QueryStat> getTopQueries(int size){
+		List<QueryStat> stats = new ArrayList<QueryStat>();
+		for(Stripe stripe : this.stripes){
+			synchronized( stripe ){
+				for(Entry entry : stripe.entryMap.values())		stats.add(entry.snapshot());
+			}
+		}
+		if( this.otherEntry.count.sum() > 0 )		stats.add(this.otherEntry.snapshot());
+
+		stats.sort((a, b) -> Long.compare(b.getTotalTime(), a.getTotalTime()));
+		return size < stats.size() ? new ArrayList<QueryStat>(stats.subList(0, Math.max(size, 0))) : stats;
+	}
+
+	/**
+	 * 쿼리 유형 수
+	 * @return		보관 중인 쿼리 유형 수 (기타 항목 제외)
+	 */
+	public int getFingerprintCount(){
+		int count = 0;
+		for(Stripe stripe : this.stripes){
+			synchronized( stripe ){
+				count += stripe.entryMap.size();
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * 기록된 통계를 모두 제거
+	 */
+	public void reset(){
+		this.queryMap.clear();
+		for(Stripe stripe : this.stripes){
+			synchronized( stripe ){
+				stripe.entryMap.clear();
+				stripe.lowestTime = 0;
+			}
+		}
+		this.otherEntry.reset();
+		// 정리 중 다른 스레드가 제거된 항목을 다시 등록했을 수 있으므로 한번 더 비운다
+		this.queryMap.clear();
+	}
+
+	/**
+	 * 쿼리 유형 변환<br>
+	 * 문자열 상수와 숫자 상수는 ? 로 바꾸고, 주석은 제거하며, 연속된 공백은 하나로 줄이고,
+	 * 따옴표로 감싼 이름을 제외한 문자는 소문자로 바꾼다<br>
+	 * IN (?, ?, ?) 처럼 ? 가 쉼표로 이어진 경우 ? 하나로 줄여 목록 크기가 다른 쿼리도 같은 유형이 되도록 한다
+	 * @param sql		쿼리
+	 * @return			쿼리 유형
+	 */
+	static String fingerprint(String sql){
+		int length = sql.length();
+		StringBuilder buffer = new StringBuilder(length);
+		boolean space = false;
+		char c;
+		for(int i=0; i < length; i++){
+			c = sql.charAt(i);
+
+			if( c == '-' && i + 1 < length && sql.charAt(i + 1) == '-' ){
+				// 한줄 주석
+				int end = sql.indexOf('\n', i + 2);
+				i = end < 0 ? length : end;
+				space = true;
+				continue;
+			}
+			if( c == '/' && i + 1 < length && sql.charAt(i + 1) == '*' ){
+				// 여러줄 주석
+				int end = sql.indexOf("*/", i + 2);
+				i = end < 0 ? length : end + 1;
+				space = true;
+				continue;
+			}
+			if( Character.isWhitespace(c) ){
+				space = true;
+				continue;
+			}
+
+			if( space && buffer.length() > 0 )		buffer.append(' ');
+			space = false;
+
+			if( c == '\'' ){
+				// 문자열 상수. '' 는 문자열 안의 따옴표
+				int end = i + 1;
+				while( end < length ){
+					if( sql.charAt(end) == '\'' ){
+						if( end + 1 < length && sql.charAt(end + 1) == '\'' )		end += 2;
+						else			break;
+					}else{
+						end++;
+					}
+				}
+				i = end;
+				appendParameter(buffer);
+			}else if( c == '"' || c == '`' ){
+				// 따옴표로 감싼 이름은 그대로 둔다
+				int end = sql.indexOf(c, i + 1);
+				if( end < 0 )		end = length - 1;
+				buffer.append(sql, i, end + 1);
+				i = end;
+			}else if( isDigit(c) && !isNamePart(buffer) ){
+				// 숫자 상수 (16진수, 소수점, 지수 포함)
+				int end = i + 1;
+				while( end < length && (isNameChar(sql.charAt(end)) || sql.charAt(end) == '.'
+						|| ((sql.charAt(end) == '+' || sql.charAt(end) == '-') && (sql.charAt(end - 1) == 'e' || sql.charAt(end - 1) == 'E'))) ){
+					end++;
+				}
+				i = end - 1;
+				appendParameter(buffer);
+			}else if( c == '?' ){
+				appendParameter(buffer);
+			}else{
+				buffer.append(Character.toLowerCase(c));
+			}
+		}
+		return buffer.toString();
+	}
+
+	/**		? 추가. 쉼표로 이어진 ? 목록은 ? 하나로 줄인다		*/
+	private static void appendParameter(StringBuilder buffer){
+		int end = buffer.length();
+		int index = end;
+		if( index > 0 && buffer.charAt(index - 1) == ' ' )		index--;
+		if( index > 0 && buffer.charAt(index - 1) == ',' ){
+			index--;
+			if( index > 0 && buffer.charAt(index - 1) == ' ' )		index--;
+			if( index > 0 && buffer.charAt(index - 1) == '?' ){
+				buffer.setLength(index);
+				return;
+			}
+		}
+		buffer.append('?');
+	}
+
+	private static boolean isDigit(char c){
+		return c >= '0' && c <= '9';
+	}
+
+	private static boolean isNameChar(char c){
+		return Character.isLetterOrDigit(c) || c == '_' || c == '$' || c == '#';
+	}
+
+	/**		이름 중간의 숫자인지 여부 (예: table1, t1.col2)		*/
+	private static boolean isNamePart(StringBuilder buffer){
+		int length = buffer.length();
+		return length > 0 && (isNameChar(buffer.charAt(length - 1)) || buffer.charAt(length - 1) == '.');
+	}
+
+	/**		잠금을 나눈 쿼리 유형 표		*/
+	private static final class Stripe {
+		/**		동기화 : this		*/
+		private final Map<String, Entry> entryMap = new HashMap<String, Entry>();
+
+		/**		마지막으로 구한 표의 최소 전체 수행 시간. 표의 항목이 교체될 때 갱신된다		*/
+		private volatile long lowestTime = 0;
+	}
+
+	/**		쿼리 유형별 수행 기록		*/
+	private static final class Entry {
+
+		private final String fingerprint;
+
+		private final LongAdder count = new LongAdder();
+		private final LongAdder errorCount = new LongAdder();
+		private final LongAdder slowCount = new LongAdder();
+		private final LongAdder totalTime = new LongAdder();
+		private final AtomicLong maxTime = new AtomicLong();
+
+		/**		쿼리 유형 표에 들어있는지 여부. false 일 경우 수행 기록이 기타 항목에도 합산된다		*/
+		private volatile boolean tracked = false;
+
+		private Entry(String fingerprint){
+			this.fingerprint = fingerprint;
+		}
+
+		private void record(long nanos, boolean success){
+			this.count.increment();
+			if( !success )		this.errorCount.increment();
+			this.totalTime.add(nanos);
+
+			long max;
+			while( nanos > (max = this.maxTime.get()) && !this.maxTime.compareAndSet(max, nanos) );
+		}
+
+		/**
+		 * 다른 항목의 수행 기록 합산. 최대 수행 시간은 합산할 때만 반영된다
+		 * @param entry		합산할 항목
+		 * @param sign		1 일 경우 더하고 -1 일 경우 뺀다
+		 */
+		private void add(Entry entry, int sign){
+			this.count.add(sign * entry.count.sum());
+			this.errorCount.add(sign * entry.errorCount.sum());
+			this.slowCount.add(sign * entry.slowCount.sum());
+			this.totalTime.add(sign * entry.totalTime.sum());
+
+			long nanos = entry.maxTime.get();
+			long max;
+			while( sign > 0 && nanos > (max = this.maxTime.get()) && !this.maxTime.compareAndSet(max, nanos) );
+		}
+
+		private QueryStat snapshot(){
+			return new QueryStat(this.fingerprint, this.count.sum(), this.errorCount.sum(), this.slowCount.sum(), this.totalTime.sum(), this.maxTime.get());
+		}
+
+		private void reset(){
+			this.count.reset();
+			this.errorCount.reset();
+			this.slowCount.reset();
+			this.totalTime.reset();
+			this.maxTime.set(0);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "QueryStatistics [fingerprints=" + this.getFingerprintCount() + ", slowQueryThreshold=" + TimeUnit.NANOSECONDS.toMillis(this.slowQueryThreshold) + "ms]";
+	}
+}
@@ -3,7 +3,7 @@ package kr.co.bomz.db.pool;
 import java.sql.SQLException;
 
 /**
- * ǵ  QueryType  Ǿ  ߻
+ * 정의되지 않은 QueryType 값이 사용되었을 경우 발생
  * 
  * @author Bomz
  * @version 1.0
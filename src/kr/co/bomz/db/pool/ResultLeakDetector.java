@@ -0,0 +1,184 @@
+package kr.co.bomz.db.pool;
+
+import java.lang.ref.Cleaner;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 셀렉트 쿼리로 리턴된 ResultSet 의 자원반납 누락 감지<p>
+ * DatabasePool.setResultLeakDetector(ResultLeakDetector) 로 설정한 풀에서 리턴한 ResultSet 을 추적하여
+ * 기준 시간이 지나도록 close() 가 호출되지 않은 ResultSet 을 WARN 레벨로 한번씩 기록한다<br>
+ * 샘플링 비율에 따라 ResultSet 을 리턴한 위치의 호출 스택을 함께 기록하며, 여러 풀에서 같은 객체를 사용할 수 있다<p>
+ *
+ * 추적 중인 ResultSet 은 java.lang.ref.Cleaner 에 등록되어, close() 호출 없이 가비지 컬렉션 되었을 경우
+ * ResultSet / Statement 를 자원반납하여 데이터베이스의 커서가 쌓이지 않게 한다
+ *
+ * @author Bomz
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+public class ResultLeakDetector {
+
+	private final Logger logger = LoggerFactory.getLogger(ResultLeakDetector.class);
+
+	/**		가비지 컬렉션 된 ResultSet 의 자원을 반납하는 Cleaner. 모든 감지기가 함께 사용한다		*/
+	private static final Cleaner CLEANER = Cleaner.create(new DaemonThreadFactory("bomz-db-pool-cleaner"));
+
+	/**		추적 중인 ResultSet 자원		*/
+	private final Set<AutoCloseResult> openResults = ConcurrentHashMap.newKeySet();
+
+	/**		기준 시간 확인 작업 등록 여부		*/
+	private final AtomicBoolean checkScheduled = new AtomicBoolean(false);
+
+	/**		기준 시간이 지나도록 자원반납되지 않은 ResultSet 수		*/
+	private final LongAdder leakCount = new LongAdder();
+
+	/**		close() 호출 없이 가비지 컬렉션 되어 자원반납한 ResultSet 수		*/
+	private final LongAdder reclaimCount = new LongAdder();
+
+	/**		자원반납 누락 기준 시간 (단위:ns)		*/
+	private volatile long leakThreshold;
+
+	/**		호출 스택 기록 비율 (0 ~ 1)		*/
+	private volatile double traceSampleRate = 0.01;
+
+	/**
+	 * 자원반납 누락 기준 시간 60초의 감지기
+	 */
+	public ResultLeakDetector(){
+		this(60000L);
+	}
+
+	/**
+	 * @param leakThreshold		자원반납 누락 기준 시간 (단위:ms)
+	 */
+	public ResultLeakDetector(long leakThreshold){
+		this.setLeakThreshold(leakThreshold);
+	}
+
+	/**
+	 * 자원반납 누락 기준 시간 설정<br>
+	 * ResultSet 을 리턴한 후 이 시간이 지나도록 close() 가 호출되지 않았을 경우 기록한다
+	 * @param leakThreshold		기준 시간 (단위:ms)
+	 */
+	public void setLeakThreshold(long leakThreshold){
+		if( leakThreshold <= 0 )		throw new IllegalArgumentException("leakThreshold must be greater than 0");
+		if( this.logger.isDebugEnabled())		this.logger.debug("setting leak threshold [{} ms]", leakThreshold);
+		this.leakThreshold = TimeUnit.MILLISECONDS.toNanos(leakThreshold);
+	}
+
+	/**
+	 * 호출 스택 기록 비율 설정<br>
+	 * 호출 스택 생성 비용이 크므로 셀렉트 쿼리가 많을 경우 일부 ResultSet 만 리턴 위치를 기록한다.
+	 * 누락 감지와 자원반납은 비율과 관계없이 모든 ResultSet 에 처리된다<br>
+	 * 기본값 : 0.01 (100개 중 1개 기록)
+	 * @param traceSampleRate		기록 비율 (0 ~ 1)
+	 */
+	public void setTraceSampleRate(double traceSampleRate){
+		if( !(traceSampleRate >= 0 && traceSampleRate <= 1) )		throw new IllegalArgumentException("traceSampleRate must be between 0 and 1");
+		if( this.logger.isDebugEnabled())		this.logger.debug("setting trace sample rate [{}]", traceSampleRate);
+		this.traceSampleRate = traceSampleRate;
+	}
+
+	/**
+	 * ResultSet 추적 시작
+	 * @param acr			ResultSet 자원
+	 * @param handle		사용자에게 리턴되는 ResultSet. 가비지 컬렉션 시 acr 의 자원을 반납한다
+	 * @return				Cleaner 등록 정보
+	 */
+	Cleaner.Cleanable track(AutoCloseResult acr, AutoCloseResultSet handle){
+		double sampleRate = this.traceSampleRate;
+		if( sampleRate > 0 && (sampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < sampleRate) )
+			acr.allocationTrace = new Throwable("result set opened here");
+
+		acr.openTime = System.nanoTime();
+		this.openResults.add(acr);
+
+		// Cleaner 작업은 handle 을 참조하지 않는 acr 만 참조해야 handle 이 가비지 컬렉션 될 수 있다
+		return CLEANER.register(handle, acr::reclaim);
+	}
+
+	/**
+	 * ResultSet 추적 종료
+	 * @param acr		자원반납된 ResultSet 자원
+	 */
+	void untrack(AutoCloseResult acr){
+		this.openResults.remove(acr);
+	}
+
+	/**
+	 * close() 호출 없이 가비지 컬렉션 되어 자원반납한 ResultSet 기록
+	 * @param acr		자원반납된 ResultSet 자원
+	 */
+	void reclaimed(AutoCloseResult acr){
+		this.reclaimCount.increment();
+		if( this.logger.isWarnEnabled() )
+			this.logger.warn("result set was garbage collected without close() and has been closed [{}]", acr.getSql(), acr.allocationTrace);
+	}
+
+	/**
+	 * 기준 시간이 지나도록 자원반납되지 않은 ResultSet 을 한번씩 기록<br>
+	 * DatabasePoolManager 의 스케줄러 스레드에서만 호출한다
+	 */
+	void check(){
+		long now = System.nanoTime();
+		long threshold = this.leakThreshold;
+		for(AutoCloseResult acr : this.openResults){
+			if( acr.leakReported || now - acr.openTime < threshold )		continue;
+
+			acr.leakReported = true;
+			this.leakCount.increment();
+			if( this.logger.isWarnEnabled() )
+				this.logger.warn("result set has not been closed for {} ms [{}]", TimeUnit.NANOSECONDS.toMillis(now - acr.openTime), acr.getSql(), acr.allocationTrace);
+		}
+	}
+
+	/**
+	 * 기준 시간 확인 작업 등록 상태 변경
+	 * @param scheduled		변경할 상태
+	 * @return					상태를 변경하였을 경우 true
+	 */
+	boolean setCheckScheduled(boolean scheduled){
+		return this.checkScheduled.compareAndSet(!scheduled, scheduled);
+	}
+
+	/**
+	 * 추적 중인 ResultSet 이 없는지 여부
+	 * @return		없을 경우 true
+	 */
+	boolean isEmpty(){
+		return this.openResults.isEmpty();
+	}
+
+	/**
+	 * 자원반납되지 않은 ResultSet 수
+	 * @return		추적 중인 ResultSet 수
+	 */
+	public int getOpenCount(){
+		return this.openResults.size();
+	}
+
+	/**
+	 * 기준 시간이 지나도록 자원반납되지 않은 ResultSet 수
+	 * @return		자원반납 누락으로 기록된 ResultSet 수
+	 */
+	public long getLeakCount(){
+		return this.leakCount.sum();
+	}
+
+	/**
+	 * close() 호출 없이 가비지 컬렉션 되어 자원반납한 ResultSet 수
+	 * @return		Cleaner 로 자원반납한 ResultSet 수
+	 */
+	public long getReclaimCount(){
+		return this.reclaimCount.sum();
+	}
+}
@@ -0,0 +1,639 @@
+package kr.co.bomz.db.pool;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 읽기 / 쓰기 분리 데이터베이스풀<p>
+ * 하나의 주(primary) 데이터베이스풀과 여러개의 복제(replica) 데이터베이스풀을 함께 관리한다<br>
+ * 트랜잭션 밖에서 수행되는 셀렉트 쿼리는 복제 데이터베이스풀로, UPDATE / INSERT / DELETE 쿼리와
+ * 트랜잭션 안에서 수행되는 모든 쿼리는 주 데이터베이스풀로 전달된다.
+ * 데이터를 변경할 수 있는 CallableStatement 셀렉트 쿼리도 주 데이터베이스풀로 전달된다<p>
+ * 복제 데이터베이스풀은 수행 중인 요청 수가 가장 적은 풀을 선택하며, 요청 수가 같을 경우 순서대로 돌아가며 선택한다<br>
+ * 복제 데이터베이스풀에 연속으로 접속 오류가 발생하면 일정 시간 동안 선택 대상에서 제외하며,
+ * 접속 오류가 발생한 쿼리와 사용할 수 있는 복제 데이터베이스풀이 없을 때의 쿼리는 주 데이터베이스풀에서 수행한다<p>
+ *
+ * <code>
+ * 		RoutingDatabasePool pool = new RoutingDatabasePool(primaryPool, replicaPool1, replicaPool2);<br>
+ * 		ResultSet rs = pool.selectQueryToStatement("SELECT NAME, AGE, ADDR FROM USER");<br>
+ * </code>
+ *
+ * @author Bomz
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+public class RoutingDatabasePool {
+
+	private final Logger logger = LoggerFactory.getLogger(RoutingDatabasePool.class);
+
+	/**		주 데이터베이스풀		*/
+	private final DatabasePool primary;
+
+	/**		복제 데이터베이스풀		*/
+	private final Replica[] replicas;
+
+	/**		요청 수가 같은 복제 데이터베이스풀 중 먼저 검사할 위치		*/
+	private final AtomicInteger nextReplica = new AtomicInteger();
+
+	/**		복제 데이터베이스풀을 선택 대상에서 제외할 연속 접속 오류 수 (기본값 : 3)		*/
+	private volatile int ejectFailureCount = 3;
+
+	/**		접속 오류로 복제 데이터베이스풀을 선택 대상에서 제외할 시간 (기본값 : 30초)		*/
+	private volatile long ejectTime = 30000L;
+
+	/**
+	 * 읽기 / 쓰기 분리 데이터베이스풀
+	 * @param primary		주 데이터베이스풀
+	 * @param replicas		복제 데이터베이스풀. 없을 경우 모든 쿼리를 주 데이터베이스풀에서 수행한다
+	 * @throws NullPointerException		데이터베이스풀이 null 일 경우 발생
+	 */
+	public RoutingDatabasePool(DatabasePool primary, DatabasePool ... replicas){
+		if( primary == null )		throw new NullPointerException("primary pool is null");
+
+		this.primary = primary;
+		this.replicas = new Replica[replicas.length];
+		for(int i=0; i < replicas.length; i++){
+			if( replicas[i] == null )		throw new NullPointerException("replica pool is null");
+			this.replicas[i] = new Replica(replicas[i]);
+		}
+	}
+
+	/**
+	 * 복제 데이터베이스풀을 선택 대상에서 제외할 연속 접속 오류 수<br>
+	 * 기본값 : 3
+	 * @param ejectFailureCount		연속 접속 오류 수
+	 */
+	public void setEjectFailureCount(int ejectFailureCount) {
+		if( ejectFailureCount < 1 )		return;
+		this.ejectFailureCount = ejectFailureCount;
+		if( this.logger.isDebugEnabled())		this.logger.debug("setting eject failure count [{}]", this.ejectFailureCount);
+	}
+
+	/**
+	 * 접속 오류로 복제 데이터베이스풀을 선택 대상에서 제외할 시간<br>
+	 * 시간이 지나면 다시 선택 대상에 포함되며, 이후 첫 요청에서 다시 접속 오류가 발생하면 바로 제외된다<br>
+	 * 기본값 : 30000 (30초)
+	 * @param ejectTime		제외할 시간 (단위:ms)
+	 */
+	public void setEjectTime(long ejectTime) {
+		if( ejectTime < 0 )		return;
+		this.ejectTime = ejectTime;
+		if( this.logger.isDebugEnabled())		this.logger.debug("setting eject time [{} ms]", this.ejectTime);
+	}
+
+	/**
+	 * 주 데이터베이스풀
+	 * @return		주 데이터베이스풀
+	 */
+	public DatabasePool getPrimary(){
+		return this.primary;
+	}
+
+	/**
+	 * 복제 데이터베이스풀 수
+	 * @return		복제 데이터베이스풀 수
+	 */
+	public int getReplicaCount(){
+		return this.replicas.length;
+	}
+
+	/**
+	 * 선택 대상에서 제외되지 않은 복제 데이터베이스풀 수
+	 * @return		사용할 수 있는 복제 데이터베이스풀 수
+	 */
+	public int getAvailableReplicaCount(){
+		long now = System.currentTimeMillis();
+		int count = 0;
+		for(Replica replica : this.replicas){
+			if( !replica.isEjected(now) )		count++;
+		}
+		return count;
+	}
+
+	/**
+	 * 주 데이터베이스풀에서 트랜잭션 시작<br>
+	 * 해당 메소드를 호출했으면 반드시 commit() 또는 rollback() 을 호출해야 하며,
+	 * 그 동안 현재 스레드의 모든 쿼리는 주 데이터베이스풀에서 수행된다
+	 * @throws SQLException 커넥션을 가져올 수 없거나 트랜잭션 시작 중 발생 가능
+	 */
+	public void startTransaction() throws SQLException{
+		this.primary.startTransaction();
+	}
+
+	/**
+	 * 데이터베이스 커밋
+	 * @throws NonTransactionException		트랜잭션이 선언되지 않은 상태에서 호출 시 발생
+	 * @throws SQLException						데이터베이스 처리 중 오류
+	 */
+	public void commit() throws NonTransactionException, SQLException{
+		this.primary.commit();
+	}
+
+	/**
+	 * 데이터베이스 롤백
+	 * @throws NonTransactionException		트랜잭션이 선언되지 않은 상태에서 호출 시 발생
+	 * @throws SQLException						데이터베이스 처리 중 오류
+	 */
+	public void rollback() throws NonTransactionException, SQLException{
+		this.primary.rollback();
+	}
+
+	/**
+	 * 주 데이터베이스풀에서 트랜잭션 시작<br>
+	 * 트랜잭션 커넥션은 리턴된 Transaction 이 보유하며, Transaction 의 쿼리 메소드만 트랜잭션 안에서 수행된다
+	 * @return		트랜잭션
+	 * @throws SQLException 커넥션을 가져올 수 없거나 트랜잭션 시작 중 발생 가능
+	 */
+	public Transaction beginTransaction() throws SQLException{
+		return this.primary.beginTransaction();
+	}
+
+	/**
+	 * 격리 수준과 읽기 전용 여부를 지정하여 트랜잭션 시작<br>
+	 * 읽기 전용 트랜잭션은 복제 데이터베이스풀에서 시작하며, 사용할 수 있는 복제 데이터베이스풀이 없을 경우 주 데이터베이스풀에서 시작한다
+	 * @param isolationLevel		격리 수준 (java.sql.Connection.TRANSACTION_...). Transaction.DEFAULT_ISOLATION 일 경우 변경하지 않음
+	 * @param readOnly				읽기 전용 트랜잭션 여부
+	 * @return		트랜잭션
+	 * @throws SQLException 커넥션을 가져올 수 없거나 트랜잭션 시작 중 발생 가능
+	 */
+	public Transaction beginTransaction(int isolationLevel, boolean readOnly) throws SQLException{
+		if( readOnly )		return this.read(pool -> pool.beginTransaction(isolationLevel, true));
+		return this.primary.beginTransaction(isolationLevel, false);
+	}
+
+	/**
+	 * 주 데이터베이스풀에서 java.sql.Statement 를 이용한 UPDATE / INSERT / DELETE 쿼리 수행
+	 * @param sql		쿼리
+	 * @return			실행성공 로우 수
+	 * @throws SQLException
+	 */
+	public int queryToStatement(String sql) throws SQLException{
+		return this.primary.queryToStatement(sql);
+	}
+
+	/**
+	 * 주 데이터베이스풀에서 java.sql.PreparedStatement 를 이용한 UPDATE / INSERT / DELETE 쿼리 수행
+	 * @param sql			쿼리
+	 * @param param		쿼리 설정 파라메터
+	 * @return				실행성공 로우 수
+	 * @throws SQLException
+	 */
+	public int queryToPreparedStatement(String sql, Object ... param) throws SQLException{
+		return this.primary.queryToPreparedStatement(sql, param);
+	}
+
+	/**
+	 * 주 데이터베이스풀에서 java.sql.CallableStatement 를 이용한 UPDATE / INSERT / DELETE 쿼리 수행
+	 * @param sql			쿼리
+	 * @param param		쿼리 설정 파라메터
+	 * @return				실행성공 로우 수
+	 * @throws SQLException
+	 */
+	public int queryToCallableStatement(String sql, Object ... param) throws SQLException{
+		return this.primary.queryToCallableStatement(sql, param);
+	}
+
+	/**
+	 * 주 데이터베이스풀에서 java.sql.PreparedStatement 를 이용한 배치 쿼리 수행
+	 * @param sql			쿼리
+	 * @param params		로우별 쿼리 설정 파라메터
+	 * @return				로우별 실행성공 로우 수
+	 * @throws SQLException
+	 */
+	public int[] batchQueryToPreparedStatement(String sql, List<Object[]> params) throws SQLException{
+		return this.primary.batchQueryToPreparedStatement(sql, params);
+	}
+
+	/**
+	 * 주 데이터베이스풀에서 java.sql.PreparedStatement 를 이용한 배치 쿼리 수행
+	 * @param sql			쿼리
+	 * @param params		로우별 쿼리 설정 파라메터
+	 * @return				로우별 실행성공 로우 수
+	 * @throws SQLException
+	 */
+	public int[] batchQueryToPreparedStatement(String sql, Iterator<Object[]> params) throws SQLException{
+		return this.primary.batchQueryToPreparedStatement(sql, params);
+	}
+
+	/**
+	 * java.sql.Statement 를 이용한 셀렉트 쿼리 수행
+	 * @param sql			쿼리
+	 * @return				ResutSet
+	 * @throws SQLException
+	 */
+	public ResultSet selectQueryToStatement(String sql) throws SQLException{
+		return this.read(pool -> pool.selectQueryToStatement(sql), RoutingDatabasePool::holdResultSet);
+	}
+
+	/**
+	 * java.sql.Statement 를 이용한 셀렉트 쿼리 수행
+	 * @param autoCloseTime	ResultSet 자동 자원반납 처리 시간 (단위:ms. 0 이하일 경우 자동 자원반납하지 않음)
+	 * @param sql					쿼리
+	 * @return						ResutSet
+	 * @throws SQLException
+	 */
+	public ResultSet selectQueryToStatement(long autoCloseTime, String sql) throws SQLException{
+		return this.read(pool -> pool.selectQueryToStatement(autoCloseTime, sql), RoutingDatabasePool::holdResultSet);
+	}
+
+	/**
+	 * java.sql.PreparedStatement 를 이용한 셀렉트 쿼리 수행
+	 * @param sql			쿼리
+	 * @param param		쿼리 설정 파라메터
+	 * @return				ResutSet
+	 * @throws SQLException
+	 */
+	public ResultSet selectQueryToPreparedStatement(String sql, Object ... param) throws SQLException{
+		return this.read(pool -> pool.selectQueryToPreparedStatement(sql, param), RoutingDatabasePool::holdResultSet);
+	}
+
+	/**
+	 * java.sql.PreparedStatement 를 이용한 셀렉트 쿼리 수행
+	 * @param autoCloseTime	ResultSet 자동 자원반납 처리 시간 (단위:ms. 0 이하일 경우 자동 자원반납하지 않음)
+	 * @param sql					쿼리
+	 * @param param				쿼리 설정 파라메터
+	 * @return						ResutSet
+	 * @throws SQLException
+	 */
+	public ResultSet selectQueryToPreparedStatement(long autoCloseTime, String sql, Object ... param) throws SQLException{
+		return this.read(pool -> pool.selectQueryToPreparedStatement(autoCloseTime, sql, param), RoutingDatabasePool::holdResultSet);
+	}
+
+	/**
+	 * 주 데이터베이스풀에서 java.sql.CallableStatement 를 이용한 셀렉트 쿼리 수행
+	 * @param sql			쿼리
+	 * @param param		쿼리 설정 파라메터
+	 * @return				ResutSet
+	 * @throws SQLException
+	 */
+	public ResultSet selectQueryToCallableStatement(String sql, Object ... param) throws SQLException{
+		return this.primary.selectQueryToCallableStatement(sql, param);
+	}
+
+	/**
+	 * 주 데이터베이스풀에서 java.sql.CallableStatement 를 이용한 셀렉트 쿼리 수행
+	 * @param autoCloseTime	ResultSet 자동 자원반납 처리 시간 (단위:ms. 0 이하일 경우 자동 자원반납하지 않음)
+	 * @param sql					쿼리
+	 * @param param				쿼리 설정 파라메터
+	 * @return						ResutSet
+	 * @throws SQLException
+	 */
+	public ResultSet selectQueryToCallableStatement(long autoCloseTime, String sql, Object ... param) throws SQLException{
+		return this.primary.selectQueryToCallableStatement(autoCloseTime, sql, param);
+	}
+
+	/**
+	 * java.sql.Statement 를 이용한 셀렉트 쿼리 수행 후 로우 단위로 처리
+	 * @param handler		로우 처리
+	 * @param sql			쿼리
+	 * @return				처리한 로우 수
+	 * @throws SQLException
+	 */
+	public int selectQueryToStatement(RowHandler handler, String sql) throws SQLException{
+		return this.read(pool -> pool.selectQueryToStatement(handler, sql));
+	}
+
+	/**
+	 * java.sql.PreparedStatement 를 이용한 셀렉트 쿼리 수행 후 로우 단위로 처리
+	 * @param handler		로우 처리
+	 * @param sql			쿼리
+	 * @param param		쿼리 설정 파라메터
+	 * @return				처리한 로우 수
+	 * @throws SQLException
+	 */
+	public int selectQueryToPreparedStatement(RowHandler handler, String sql, Object ... param) throws SQLException{
+		return this.read(pool -> pool.selectQueryToPreparedStatement(handler, sql, param));
+	}
+
+	/**
+	 * 주 데이터베이스풀에서 java.sql.CallableStatement 를 이용한 셀렉트 쿼리 수행 후 로우 단위로 처리
+	 * @param handler		로우 처리
+	 * @param sql			쿼리
+	 * @param param		쿼리 설정 파라메터
+	 * @return				처리한 로우 수
+	 * @throws SQLException
+	 */
+	public int selectQueryToCallableStatement(RowHandler handler, String sql, Object ... param) throws SQLException{
+		return this.primary.selectQueryToCallableStatement(handler, sql, param);
+	}
+
+	/**
+	 * java.sql.Statement 를 이용한 셀렉트 쿼리 결과를 대상 클래스 객체 목록으로 리턴
+	 * @param type		대상 클래스
+	 * @param sql			쿼리
+	 * @return				변환된 로우 목록
+	 * @throws SQLException
+	 */
+	public <T> List<T> selectQueryToStatement(Class<T> type, String sql) throws SQLException{
+		return this.read(pool -> pool.selectQueryToStatement(type, sql));
+	}
+
+	/**
+	 * java.sql.PreparedStatement 를 이용한 셀렉트 쿼리 결과를 대상 클래스 객체 목록으로 리턴
+	 * @param type		대상 클래스
+	 * @param sql			쿼리
+	 * @param param		쿼리 설정 파라메터
+	 * @return				변환된 로우 목록
+	 * @throws SQLException
+	 */
+	public <T> List<T> selectQueryToPreparedStatement(Class<T> type, String sql, Object ... param) throws SQLException{
+		return this.read(pool -> pool.selectQueryToPreparedStatement(type, sql, param));
+	}
+
+	/**
+	 * java.sql.Statement 를 이용한 셀렉트 쿼리 결과를 컬럼 단위로 읽어 리턴
+	 * @param offHeap	기본 타입 컬럼을 direct ByteBuffer 에 보관할지 여부
+	 * @param sql			쿼리
+	 * @return				컬럼 단위 쿼리 결과
+	 * @throws SQLException
+	 */
+	public ColumnarResult selectColumnarQueryToStatement(boolean offHeap, String sql) throws SQLException{
+		return this.read(pool -> pool.selectColumnarQueryToStatement(offHeap, sql));
+	}
+
+	/**
+	 * java.sql.PreparedStatement 를 이용한 셀렉트 쿼리 결과를 컬럼 단위로 읽어 리턴
+	 * @param offHeap	기본 타입 컬럼을 direct ByteBuffer 에 보관할지 여부
+	 * @param sql			쿼리
+	 * @param param		쿼리 설정 파라메터
+	 * @return				컬럼 단위 쿼리 결과
+	 * @throws SQLException
+	 */
+	public ColumnarResult selectColumnarQueryToPreparedStatement(boolean offHeap, String sql, Object ... param) throws SQLException{
+		return this.read(pool -> pool.selectColumnarQueryToPreparedStatement(offHeap, sql, param));
+	}
+
+	/**
+	 * java.sql.Statement 를 이용한 셀렉트 쿼리 결과를 java.util.stream.Stream 으로 리턴<br>
+	 * 모든 로우를 처리하지 않는 경우(limit, findFirst 등)를 위해 try-with-resources 로 사용해야 한다
+	 * @param mapper		로우 변환
+	 * @param sql			쿼리
+	 * @return				변환된 로우 Stream
+	 * @throws SQLException
+	 */
+	public <T> Stream<T> streamQueryToStatement(RowMapper<T> mapper, String sql) throws SQLException{
+		return this.read(pool -> pool.streamQueryToStatement(mapper, sql), Stream::onClose);
+	}
+
+	/**
+	 * java.sql.PreparedStatement 를 이용한 셀렉트 쿼리 결과를 java.util.stream.Stream 으로 리턴<br>
+	 * 모든 로우를 처리하지 않는 경우(limit, findFirst 등)를 위해 try-with-resources 로 사용해야 한다
+	 * @param mapper		로우 변환
+	 * @param sql			쿼리
+	 * @param param		쿼리 설정 파라메터
+	 * @return				변환된 로우 Stream
+	 * @throws SQLException
+	 */
+	public <T> Stream<T> streamQueryToPreparedStatement(RowMapper<T> mapper, String sql, Object ... param) throws SQLException{
+		return this.read(pool -> pool.streamQueryToPreparedStatement(mapper, sql, param), Stream::onClose);
+	}
+
+	/**
+	 * 주 데이터베이스풀에서 비동기 트랜잭션 시작
+	 * @return		비동기 트랜잭션
+	 */
+	public CompletableFuture<AsyncTransaction> startTransactionAsync(){
+		return this.primary.startTransactionAsync();
+	}
+
+	/**
+	 * 주 데이터베이스풀에서 java.sql.Statement 를 이용한 UPDATE / INSERT / DELETE 쿼리를 비동기로 수행
+	 * @param sql		쿼리
+	 * @return			실행성공 로우 수
+	 */
+	public CompletableFuture<Integer> queryToStatementAsync(String sql){
+		return this.primary.queryToStatementAsync(sql);
+	}
+
+	/**
+	 * 주 데이터베이스풀에서 java.sql.PreparedStatement 를 이용한 UPDATE / INSERT / DELETE 쿼리를 비동기로 수행
+	 * @param sql			쿼리
+	 * @param param		쿼리 설정 파라메터
+	 * @return				실행성공 로우 수
+	 */
+	public CompletableFuture<Integer> queryToPreparedStatementAsync(String sql, Object ... param){
+		return this.primary.queryToPreparedStatementAsync(sql, param);
+	}
+
+	/**
+	 * 주 데이터베이스풀에서 java.sql.CallableStatement 를 이용한 UPDATE / INSERT / DELETE 쿼리를 비동기로 수행
+	 * @param sql			쿼리
+	 * @param param		쿼리 설정 파라메터
+	 * @return				실행성공 로우 수
+	 */
+	public CompletableFuture<Integer> queryToCallableStatementAsync(String sql, Object ... param){
+		return this.primary.queryToCallableStatementAsync(sql, param);
+	}
+
+	/**
+	 * 주 데이터베이스풀에서 java.sql.PreparedStatement 를 이용한 배치 쿼리를 비동기로 수행
+	 * @param sql			쿼리
+	 * @param params		로우별 쿼리 설정 파라메터
+	 * @return				로우별 실행성공 로우 수
+	 */
+	public CompletableFuture<int[]> batchQueryToPreparedStatementAsync(String sql, List<Object[]> params){
+		return this.primary.batchQueryToPreparedStatementAsync(sql, params);
+	}
+
+	/**
+	 * java.sql.Statement 를 이용한 셀렉트 쿼리를 비동기로 수행한 후 변환된 로우 목록 리턴<br>
+	 * 비동기 쿼리는 트랜잭션 밖에서 수행되므로 항상 복제 데이터베이스풀을 사용한다
+	 * @param mapper		로우 변환
+	 * @param sql			쿼리
+	 * @return				변환된 로우 목록
+	 */
+	public <T> CompletableFuture<List<T>> selectQueryToStatementAsync(RowMapper<T> mapper, String sql){
+		return this.readAsync(pool -> pool.selectQueryToStatementAsync(mapper, sql));
+	}
+
+	/**
+	 * java.sql.PreparedStatement 를 이용한 셀렉트 쿼리를 비동기로 수행한 후 변환된 로우 목록 리턴<br>
+	 * 비동기 쿼리는 트랜잭션 밖에서 수행되므로 항상 복제 데이터베이스풀을 사용한다
+	 * @param mapper		로우 변환
+	 * @param sql			쿼리
+	 * @param param		쿼리 설정 파라메터
+	 * @return				변환된 로우 목록
+	 */
+	public <T> CompletableFuture<List<T>> selectQueryToPreparedStatementAsync(RowMapper<T> mapper, String sql, Object ... param){
+		return this.readAsync(pool -> pool.selectQueryToPreparedStatementAsync(mapper, sql, param));
+	}
+
+	/**
+	 * 셀렉트 쿼리를 복제 데이터베이스풀에서 수행<br>
+	 * 트랜잭션 중이거나 사용할 수 있는 복제 데이터베이스풀이 없을 경우, 복제 데이터베이스풀에서 접속 오류가 발생하였을 경우에는
+	 * 주 데이터베이스풀에서 수행한다
+	 * @param query		데이터베이스풀에서 수행할 쿼리
+	 * @return				쿼리 수행 결과
+	 */
+	private <T> T read(Read<T> query) throws SQLException{
+		return this.read(query, null);
+	}
+
+	/**
+	 * 셀렉트 쿼리를 복제 데이터베이스풀에서 수행<br>
+	 * 커서를 보유한 결과를 리턴하는 쿼리는 결과를 자원반납할 때까지 복제 데이터베이스풀의 수행 중인 요청 수에 포함한다<br>
+	 * 연결 종료 / 접속 오류만 복제 데이터베이스풀 오류로 기록하며, 사용할 커넥션이 없거나 마감 시간이 지난 경우에는 그대로 예외를 전달한다
+	 * @param query		데이터베이스풀에서 수행할 쿼리
+	 * @param hold			쿼리 결과 자원반납 시 요청 수를 감소시키도록 등록. null 일 경우 쿼리 수행 후 바로 감소
+	 * @return				쿼리 수행 결과
+	 */
+	private <T> T read(Read<T> query, Hold<T> hold) throws SQLException{
+		if( this.replicas.length == 0 || this.primary.isTransactionStarted() )		return query.call(this.primary);
+
+		Replica replica = this.selectReplica();
+		if( replica == null )		return query.call(this.primary);
+
+		replica.outstanding.incrementAndGet();
+		boolean held = false;
+		try{
+			T result = query.call(replica.pool);
+			replica.succeeded();
+			if( hold != null ){
+				result = hold.attach(result, replica.outstanding::decrementAndGet);
+				held = true;
+			}
+			return result;
+		}catch(DatabaseConnectException | DatabaseDisconnectException e){
+			this.failed(replica, e);
+		}finally{
+			if( !held )		replica.outstanding.decrementAndGet();
+		}
+
+		// 복제 데이터베이스풀 접속 오류일 경우 주 데이터베이스풀에서 다시 수행
+		return query.call(this.primary);
+	}
+
+	/**
+	 * 비동기 셀렉트 쿼리를 복제 데이터베이스풀에서 수행<br>
+	 * 사용할 수 있는 복제 데이터베이스풀이 없거나 복제 데이터베이스풀에서 접속 오류가 발생하였을 경우에는
+	 * 주 데이터베이스풀에서 수행한다
+	 * @param query		데이터베이스풀에서 수행할 쿼리
+	 * @return				쿼리 수행 결과
+	 */
+	private <T> CompletableFuture<T> readAsync(Function<DatabasePool, CompletableFuture<T>> query){
+		Replica replica = this.replicas.length == 0 ? null : this.selectReplica();
+		if( replica == null )		return query.apply(this.primary);
+
+		replica.outstanding.incrementAndGet();
+		return query.apply(replica.pool).handle((result, e) -> {
+			replica.outstanding.decrementAndGet();
+			if( e == null ){
+				replica.succeeded();
+				return CompletableFuture.completedFuture(result);
+			}
+
+			Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+			if( cause instanceof DatabaseConnectException || cause instanceof DatabaseDisconnectException ){
+				this.failed(replica, cause);
+				return query.apply(this.primary);
+			}
+
+			return CompletableFuture.<T>failedFuture(cause);
+		}).thenCompose(Function.identity());
+	}
+
+	/**
+	 * 수행 중인 요청 수가 가장 적은 복제 데이터베이스풀 선택<br>
+	 * 요청 수가 같을 경우 매 요청마다 검사 시작 위치를 바꿔 돌아가며 선택되도록 한다
+	 * @return		사용할 수 있는 복제 데이터베이스풀이 없을 경우 null
+	 */
+	private Replica selectReplica(){
+		long now = System.currentTimeMillis();
+		int size = this.replicas.length;
+		int start = Math.floorMod(this.nextReplica.getAndIncrement(), size);
+
+		Replica result = null;
+		int min = Integer.MAX_VALUE;
+		int outstanding;
+		Replica replica;
+		for(int i=0; i < size; i++){
+			replica = this.replicas[(start + i) % size];
+			if( replica.isEjected(now) )		continue;
+
+			outstanding = replica.outstanding.get();
+			if( outstanding < min ){
+				min = outstanding;
+				result = replica;
+			}
+		}
+
+		return result;
+	}
+
+	/**		ResultSet 자원반납 시 요청 수 감소		*/
+	private static ResultSet holdResultSet(ResultSet rs, Runnable release){
+		((AutoCloseResultSet)rs).setCloseHook(release);
+		return rs;
+	}
+
+	/**		복제 데이터베이스풀 접속 오류 기록 후 연속 오류 수가 기준을 넘었을 경우 선택 대상에서 제외		*/
+	private void failed(Replica replica, Throwable e){
+		if( replica.failed(this.ejectFailureCount, this.ejectTime) )
+			this.logger.warn("replica pool ejected for {} ms", this.ejectTime, e);
+		else if( this.logger.isDebugEnabled() )
+			this.logger.debug("replica pool connect fail. retry on primary pool", e);
+	}
+
+	/**		복제 데이터베이스풀과 상태 정보		*/
+	private static class Replica {
+		private final DatabasePool pool;
+
+		/**		수행 중인 요청 수		*/
+		private final AtomicInteger outstanding = new AtomicInteger();
+
+		/**		연속 접속 오류 수		*/
+		private final AtomicInteger failureCount = new AtomicInteger();
+
+		/**		이 시간까지 선택 대상에서 제외		*/
+		private volatile long ejectedUntil = 0L;
+
+		private Replica(DatabasePool pool){
+			this.pool = pool;
+		}
+
+		private boolean isEjected(long now){
+			return now < this.ejectedUntil;
+		}
+
+		private void succeeded(){
+			if( this.failureCount.get() != 0 )		this.failureCount.set(0);
+		}
+
+		/**		접속 오류 기록. 선택 대상에서 제외하였을 경우 true		*/
+		private boolean failed(int ejectFailureCount, long ejectTime){
+			if( this.failureCount.incrementAndGet() < ejectFailureCount )		return false;
+
+			this.ejectedUntil = System.currentTimeMillis() + ejectTime;
+			return true;
+		}
+	}
+
+	/**
+	 * 데이터베이스풀에서 수행할 셀렉트 쿼리
+	 *
+	 * @param <T>		쿼리 결과 타입
+	 */
+	private interface Read<T> {
+		T call(DatabasePool pool) throws SQLException;
+	}
+
+	/**
+	 * 커서를 보유한 쿼리 결과에 자원반납 시 수행할 작업 등록
+	 *
+	 * @param <T>		쿼리 결과 타입
+	 */
+	private interface Hold<T> {
+		T attach(T result, Runnable release);
+	}
+}
@@ -0,0 +1,24 @@
+package kr.co.bomz.db.pool;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * 셀렉트 쿼리 결과를 로우 단위로 처리<p>
+ * ResultSet 은 현재 로우에 위치한 상태로 전달되며, next() / close() 는 호출하지 않아야 한다<br>
+ * 예외가 발생할 경우 나머지 로우는 처리되지 않으며 ResultSet 과 Statement 는 바로 자원반납된다
+ * 
+ * @author Bomz
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+public interface RowHandler {
+
+	/**
+	 * 현재 로우 처리
+	 * @param rs		현재 로우에 위치한 ResultSet
+	 * @throws SQLException		값 조회 오류 시 발생
+	 */
+	void handleRow(ResultSet rs) throws SQLException;
+}
@@ -0,0 +1,25 @@
+package kr.co.bomz.db.pool;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * 셀렉트 쿼리 결과의 현재 로우를 객체로 변환<p>
+ * ResultSet 은 현재 로우에 위치한 상태로 전달되며, next() / close() 는 호출하지 않아야 한다
+ * 
+ * @author Bomz
+ * @version 1.0
+ * @since 1.0
+ *
+ * @param <T>		변환 결과 타입
+ */
+public interface RowMapper<T> {
+
+	/**
+	 * 현재 로우를 객체로 변환
+	 * @param rs		현재 로우에 위치한 ResultSet
+	 * @return			변환된 객체
+	 * @throws SQLException		값 조회 오류 시 발생
+	 */
+	T mapRow(ResultSet rs) throws SQLException;
+}
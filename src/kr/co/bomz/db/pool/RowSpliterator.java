@@ -0,0 +1,58 @@
+package kr.co.bomz.db.pool;
+
+import java.sql.SQLException;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * 셀렉트 쿼리 결과를 java.util.stream.Stream 으로 제공하기 위한 Spliterator<p>
+ * 로우는 요청될 때마다 ResultSet 에서 하나씩 읽으며, 마지막 로우를 읽었거나
+ * 처리 중 예외가 발생하였을 경우 바로 자원을 반납한다
+ * 
+ * @author Bomz
+ * @version 1.0
+ * @since 1.0
+ *
+ * @param <T>		변환 결과 타입
+ */
+public class RowSpliterator<T> extends Spliterators.AbstractSpliterator<T>{
+
+	private final QueryCursor cursor;
+	
+	private final RowMapper<T> mapper;
+	
+	private boolean finished = false;
+	
+	RowSpliterator(QueryCursor cursor, RowMapper<T> mapper){
+		super(Long.MAX_VALUE, ORDERED);
+		this.cursor = cursor;
+		this.mapper = mapper;
+	}
+
+	@Override
+	public boolean tryAdvance(Consumer<? super T> action) {
+		if( this.finished )		return false;
+		
+		boolean success = false;
+		try{
+			if( !this.cursor.getResultSet().next() ){
+				// 마지막 로우까지 읽었을 경우 바로 자원반납
+				this.finished = true;
+				this.cursor.close();
+				return false;
+			}
+			
+			action.accept(this.mapper.mapRow(this.cursor.getResultSet()));
+			success = true;
+			return true;
+		}catch(SQLException e){
+			throw new UncheckedSQLException(this.cursor.deadlineError(e));
+		}finally{
+			if( !success && !this.finished ){
+				// 처리 중 예외가 발생하였을 경우 자원반납
+				this.finished = true;
+				this.cursor.close();
+			}
+		}
+	}
+}
@@ -0,0 +1,80 @@
+package kr.co.bomz.db.pool;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 등록된 작업을 공유 작업 스레드 풀에서 한번에 하나씩 순서대로 수행<p>
+ * 데이터베이스풀 하나의 관리 작업은 동시에 수행되지 않으므로 AutoCloseTimer 와 같이 한 스레드에서만 사용하는 자원을 그대로 사용할 수 있고,
+ * 한 데이터베이스풀의 작업이 오래 걸리더라도 공유 작업 스레드를 하나만 사용하므로 다른 데이터베이스풀의 작업은 계속 수행된다<br>
+ * 작업은 한번에 하나씩 공유 작업 스레드 풀에 등록되어 여러 데이터베이스풀의 작업이 번갈아 수행된다
+ *
+ * @author Bomz
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+class SerialExecutor implements Executor {
+
+	private static final Logger logger = LoggerFactory.getLogger(SerialExecutor.class);
+
+	/**		작업을 수행할 공유 작업 스레드 풀		*/
+	private final Executor executor;
+
+	/**		수행을 기다리는 작업		*/
+	private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<Runnable>();
+
+	/**		공유 작업 스레드 풀에 작업을 등록하였거나 수행 중인지 여부		*/
+	private final AtomicBoolean running = new AtomicBoolean(false);
+
+	SerialExecutor(Executor executor){
+		this.executor = executor;
+	}
+
+	/**
+	 * 작업 등록
+	 * @param task		수행할 작업
+	 * @throws RejectedExecutionException		공유 작업 스레드 풀이 종료되었을 경우 발생
+	 */
+	@Override
+	public void execute(Runnable task){
+		this.tasks.offer(task);
+		this.dispatch();
+	}
+
+	/**		수행 중인 작업이 없을 경우 다음 작업을 공유 작업 스레드 풀에 등록		*/
+	private void dispatch(){
+		if( this.tasks.isEmpty() || !this.running.compareAndSet(false, true) )		return;
+
+		try{
+			this.executor.execute(this::runNext);
+		}catch(RejectedExecutionException e){
+			this.running.set(false);
+			throw e;
+		}
+	}
+
+	/**		다음 작업 하나를 수행한 후 남은 작업이 있을 경우 다시 등록		*/
+	private void runNext(){
+		try{
+			Runnable task = this.tasks.poll();
+			if( task != null )		task.run();
+		}catch(Throwable e){
+			logger.warn("database pool task fail", e);
+		}finally{
+			this.running.set(false);
+		}
+
+		try{
+			this.dispatch();
+		}catch(RejectedExecutionException e){
+			logger.warn("database pool task rejected", e);
+		}
+	}
+}
@@ -0,0 +1,15 @@
+package kr.co.bomz.db.pool;
+
+/**
+ * 데이터베이스풀 생성 시 최소 연결 수만큼 커넥션을 생성하는 방법
+ * 
+ * @author Bomz
+ * @version 1.0
+ * @since 1.0
+ */
+public enum StartupMode {
+	/**		병렬로 커넥션을 생성하며 생성이 끝나거나 제한 시간이 지날 때까지 생성자가 대기		*/
+	PARALLEL,
+	/**		백그라운드에서 병렬로 커넥션을 생성하며 생성자는 바로 리턴		*/
+	LAZY
+}
@@ -0,0 +1,155 @@
+package kr.co.bomz.db.pool;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 커넥션별 PreparedStatement / CallableStatement 캐시<p>
+ * 쿼리 문자열을 키로 사용하며, 최대 크기를 넘을 경우 가장 오래 사용하지 않은 Statement 를 종료한다<br>
+ * 쿼리 수행 중인 Statement 는 캐시에서 꺼내 사용하고 수행이 끝나면 다시 넣으므로
+ * 같은 Statement 가 동시에 두 곳에서 사용되지 않는다<p>
+ * ResultSet 자동 자원반납은 DatabasePoolManager 의 작업 스레드에서 처리되므로 모든 메소드는 동기화 처리된다
+ *
+ * @author Bomz
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+public class StatementCache {
+
+	/**		캐시 최대 크기. 0 일 경우 캐시를 사용하지 않는다		*/
+	private int maxSize = 0;
+
+	/**		캐시 종료 여부		*/
+	private boolean closed = false;
+
+	/**		풀 전체의 캐시 적중 수		*/
+	private final LongAdder hitCount;
+	/**		풀 전체의 캐시 실패 수		*/
+	private final LongAdder missCount;
+
+	/**
+	 * 캐시된 Statement
+	 * KEY : 쿼리
+	 * VALUE : Statement 정보
+	 */
+	private final LinkedHashMap<String, CachedStatement> statementMap = new LinkedHashMap<String, CachedStatement>(16, 0.75f, true){
+		private static final long serialVersionUID = 6215092712640184317L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, CachedStatement> eldest) {
+			if( this.size() <= maxSize )		return false;
+
+			closeStatement(eldest.getValue().statement);
+			return true;
+		}
+	};
+
+	/**
+	 * 커넥션별 Statement 캐시
+	 * @param hitCount			캐시 적중 수
+	 * @param missCount		캐시 실패 수
+	 */
+	StatementCache(LongAdder hitCount, LongAdder missCount){
+		this.hitCount = hitCount;
+		this.missCount = missCount;
+	}
+
+	/**
+	 * 캐시된 Statement 를 꺼내거나 새로 생성한다
+	 * @param conn			데이터베이스 커넥션
+	 * @param sql				쿼리
+	 * @param type			PREPARED_STATEMENT 또는 CALLABLE_STATEMENT
+	 * @param maxSize		캐시 최대 크기
+	 * @return					PreparedStatement
+	 * @throws SQLException		Statement 생성 오류
+	 */
+	synchronized PreparedStatement take(Connection conn, String sql, StatementType type, int maxSize) throws SQLException{
+		if( maxSize != this.maxSize )		this.resize(maxSize);
+
+		if( this.maxSize > 0 ){
+			CachedStatement cs = this.statementMap.get(sql);
+			if( cs != null && cs.type == type ){
+				this.statementMap.remove(sql);
+				this.hitCount.increment();
+				return cs.statement;
+			}
+			this.missCount.increment();
+		}
+
+		if( type == StatementType.CALLABLE_STATEMENT )		return conn.prepareCall(sql);
+		else																			return conn.prepareStatement(sql);
+	}
+
+	/**
+	 * 사용이 끝난 Statement 를 캐시에 넣는다<br>
+	 * 캐시를 사용하지 않거나 같은 쿼리의 Statement 가 이미 캐시되어 있을 경우 종료한다
+	 * @param sql				쿼리
+	 * @param type			PREPARED_STATEMENT 또는 CALLABLE_STATEMENT
+	 * @param statement	사용이 끝난 Statement
+	 */
+	synchronized void release(String sql, StatementType type, PreparedStatement statement){
+		if( this.closed || this.maxSize <= 0 || this.statementMap.containsKey(sql) ){
+			closeStatement(statement);
+			return;
+		}
+
+		try{
+			statement.clearParameters();
+		}catch(Exception e){
+			closeStatement(statement);
+			return;
+		}
+
+		this.statementMap.put(sql, new CachedStatement(type, statement));
+	}
+
+	/**		캐시 최대 크기 변경		*/
+	private void resize(int maxSize){
+		this.maxSize = maxSize < 0 ? 0 : maxSize;
+
+		Iterator<CachedStatement> statements = this.statementMap.values().iterator();
+		for(int size=this.statementMap.size(); size > this.maxSize; size--){
+			closeStatement(statements.next().statement);
+			statements.remove();
+		}
+	}
+
+	/**
+	 * 캐시된 모든 Statement 종료<br>
+	 * 이후 반환되는 Statement 는 캐시되지 않고 바로 종료된다
+	 */
+	synchronized void close(){
+		this.closed = true;
+		for(CachedStatement cs : this.statementMap.values())		closeStatement(cs.statement);
+		this.statementMap.clear();
+	}
+
+	/**
+	 * 캐시된 Statement 수
+	 * @return		캐시된 Statement 수
+	 */
+	synchronized int size(){
+		return this.statementMap.size();
+	}
+
+	private static void closeStatement(PreparedStatement statement){
+		try{		statement.close();		}catch(Exception e){}
+	}
+
+	/**		캐시된 Statement 정보		*/
+	private static class CachedStatement {
+		private final StatementType type;
+		private final PreparedStatement statement;
+
+		private CachedStatement(StatementType type, PreparedStatement statement){
+			this.type = type;
+			this.statement = statement;
+		}
+	}
+}
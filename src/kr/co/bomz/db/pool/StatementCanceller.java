@@ -0,0 +1,96 @@
+package kr.co.bomz.db.pool;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 마감 시간에 수행 중인 Statement 취소<p>
+ * 쿼리 수행이 끝나면 finish() 를 호출해야 하며, 취소가 진행 중일 경우 끝날 때까지 기다린다<br>
+ * 따라서 finish() 호출 후 반납된 Statement 가 다른 쿼리에서 사용되는 중에 취소되지 않는다
+ * 
+ * @author Bomz
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+final class StatementCanceller implements Runnable{
+
+	private static final Logger logger = LoggerFactory.getLogger(StatementCanceller.class);
+	
+	private final Statement statement;
+	
+	/**		쿼리 수행 종료 여부		*/
+	private boolean finished = false;
+	
+	/**		취소 여부		*/
+	private boolean cancelled = false;
+	
+	/**		취소 작업을 등록한 타이머. 관리자가 종료되어 등록하지 않았을 경우 null		*/
+	CancelTimer timer;
+	
+	/*
+	 * 아래 정보는 CancelTimer 의 타이머 스레드만 사용한다
+	 */
+	/**		취소 시간 (CancelTimer 시작 시점 기준. 단위:nanosecond)		*/
+	long deadline;
+	/**		취소 시간까지 남은 타이머 회전 수		*/
+	long remainingRounds;
+	/**		등록된 타이머 슬롯		*/
+	CancelTimer.Bucket bucket;
+	StatementCanceller prev;
+	StatementCanceller next;
+	
+	/**
+	 * @param statement		취소할 Statement
+	 * @param manager			취소 작업을 등록할 관리자
+	 * @param delay			취소까지 남은 시간 (단위:ns)
+	 */
+	StatementCanceller(Statement statement, DatabasePoolManager manager, long delay){
+		this.statement = statement;
+		manager.scheduleCancel(this, delay);
+	}
+	
+	@Override
+	public synchronized void run() {
+		if( this.finished )		return;
+		
+		this.cancelled = true;
+		try{
+			this.statement.cancel();
+		}catch(SQLException e){
+			logger.warn("statement cancel fail", e);
+		}
+	}
+	
+	/**
+	 * 쿼리 수행 종료. 등록된 취소 작업을 제거한다<br>
+	 * 여러번 호출되더라도 한번만 처리된다
+	 */
+	void finish(){
+		synchronized( this ){
+			if( this.finished )		return;
+			this.finished = true;
+		}
+		
+		if( this.timer != null )		this.timer.cancel(this);
+	}
+	
+	/**
+	 * 쿼리 수행 종료 여부
+	 * @return		finish() 가 호출되었을 경우 true
+	 */
+	synchronized boolean isFinished(){
+		return this.finished;
+	}
+	
+	/**
+	 * 마감 시간이 지나 취소되었는지 여부
+	 * @return		취소되었을 경우 true
+	 */
+	synchronized boolean isCancelled(){
+		return this.cancelled;
+	}
+}
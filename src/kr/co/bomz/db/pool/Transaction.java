@@ -0,0 +1,207 @@
+package kr.co.bomz.db.pool;
+
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * 트랜잭션<p>
+ * DatabasePool.beginTransaction() 으로 시작하며, 트랜잭션 커넥션을 스레드가 아닌 이 객체가 보유하므로
+ * 스레드 풀이나 비동기 처리와 같이 스레드가 바뀌더라도 같은 트랜잭션으로 처리된다<br>
+ * 이 객체의 쿼리 메소드만 트랜잭션 안에서 수행되며, DatabasePool 의 쿼리 메소드는 트랜잭션과 관계없이 수행된다<p>
+ *
+ * commit() 또는 rollback() 호출 후에는 커넥션이 풀로 반납되어 이후 호출은 NonTransactionException 이 발생한다<br>
+ * try-with-resources 로 사용할 경우 commit() 을 호출하지 않은 트랜잭션은 close() 에서 롤백된다<br>
+ * 하나의 트랜잭션을 여러 스레드에서 동시에 사용할 수 없다
+ *
+ * @author Bomz
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+public class Transaction implements AutoCloseable {
+
+	/**		커넥션의 격리 수준을 변경하지 않음		*/
+	public static final int DEFAULT_ISOLATION = -1;
+
+	private final DatabasePool pool;
+
+	/**		트랜잭션 커넥션		*/
+	private final DatabaseConnection connection;
+
+	/**		읽기 전용 트랜잭션 여부		*/
+	private final boolean readOnly;
+
+	/**		commit() 또는 rollback() 호출 여부		*/
+	private volatile boolean ended = false;
+
+	Transaction(DatabasePool pool, DatabaseConnection connection, boolean readOnly){
+		this.pool = pool;
+		this.connection = connection;
+		this.readOnly = readOnly;
+	}
+
+	/**
+	 * java.sql.Statement 를 이용한 UPDATE / INSERT / DELETE 쿼리 수행
+	 * @param sql		쿼리
+	 * @return			실행성공 로우 수
+	 * @throws SQLException
+	 */
+	public int queryToStatement(String sql) throws SQLException{
+		return (Integer)this.pool.executeQuery(this.owned(), StatementType.STATEMENT, 0, false, sql);
+	}
+
+	/**
+	 * java.sql.PreparedStatement 를 이용한 UPDATE / INSERT / DELETE 쿼리 수행
+	 * @param sql			쿼리
+	 * @param param		쿼리 설정 파라메터
+	 * @return				실행성공 로우 수
+	 * @throws SQLException
+	 */
+	public int queryToPreparedStatement(String sql, Object ... param) throws SQLException{
+		return (Integer)this.pool.executeQuery(this.owned(), StatementType.PREPARED_STATEMENT, 0, false, sql, param);
+	}
+
+	/**
+	 * java.sql.CallableStatement 를 이용한 UPDATE / INSERT / DELETE 쿼리 수행
+	 * @param sql			쿼리
+	 * @param param		쿼리 설정 파라메터
+	 * @return				실행성공 로우 수
+	 * @throws SQLException
+	 */
+	public int queryToCallableStatement(String sql, Object ... param) throws SQLException{
+		return (Integer)this.pool.executeQuery(this.owned(), StatementType.CALLABLE_STATEMENT, 0, false, sql, param);
+	}
+
+	/**
+	 * java.sql.PreparedStatement 의 배치 기능을 이용한 UPDATE / INSERT / DELETE 쿼리 수행
+	 * @param sql			쿼리
+	 * @param params		로우별 쿼리 설정 파라메터
+	 * @return				로우별 실행성공 로우 수 (java.sql.Statement.executeBatch() 결과)
+	 * @throws SQLException
+	 */
+	public int[] batchQueryToPreparedStatement(String sql, List<Object[]> params) throws SQLException{
+		return this.pool.executeBatch(this.owned(), sql, params.iterator(), params.size());
+	}
+
+	/**
+	 * java.sql.Statement 를 이용한 셀렉트 쿼리 수행 후 결과를 로우 단위로 처리
+	 * @param handler	로우 처리
+	 * @param sql			쿼리
+	 * @return				처리한 로우 수
+	 * @throws SQLException
+	 */
+	public int selectQueryToStatement(RowHandler handler, String sql) throws SQLException{
+		return this.pool.selectQuery(this.owned(), handler, StatementType.STATEMENT, sql);
+	}
+
+	/**
+	 * java.sql.PreparedStatement 를 이용한 셀렉트 쿼리 수행 후 결과를 로우 단위로 처리
+	 * @param handler	로우 처리
+	 * @param sql			쿼리
+	 * @param param		쿼리 설정 파라메터
+	 * @return				처리한 로우 수
+	 * @throws SQLException
+	 */
+	public int selectQueryToPreparedStatement(RowHandler handler, String sql, Object ... param) throws SQLException{
+		return this.pool.selectQuery(this.owned(), handler, StatementType.PREPARED_STATEMENT, sql, param);
+	}
+
+	/**
+	 * java.sql.CallableStatement 를 이용한 셀렉트 쿼리 수행 후 결과를 로우 단위로 처리
+	 * @param handler	로우 처리
+	 * @param sql			쿼리
+	 * @param param		쿼리 설정 파라메터
+	 * @return				처리한 로우 수
+	 * @throws SQLException
+	 */
+	public int selectQueryToCallableStatement(RowHandler handler, String sql, Object ... param) throws SQLException{
+		return this.pool.selectQuery(this.owned(), handler, StatementType.CALLABLE_STATEMENT, sql, param);
+	}
+
+	/**
+	 * java.sql.Statement 를 이용한 셀렉트 쿼리 결과를 대상 클래스 객체 목록으로 리턴
+	 * @param type		대상 클래스
+	 * @param sql			쿼리
+	 * @return				변환된 로우 목록
+	 * @throws SQLException
+	 * @see ClassRowMapper
+	 */
+	public <T> List<T> selectQueryToStatement(Class<T> type, String sql) throws SQLException{
+		return this.pool.selectList(this.owned(), ClassRowMapper.forQuery(type, sql), StatementType.STATEMENT, sql);
+	}
+
+	/**
+	 * java.sql.PreparedStatement 를 이용한 셀렉트 쿼리 결과를 대상 클래스 객체 목록으로 리턴
+	 * @param type		대상 클래스
+	 * @param sql			쿼리
+	 * @param param		쿼리 설정 파라메터
+	 * @return				변환된 로우 목록
+	 * @throws SQLException
+	 * @see ClassRowMapper
+	 */
+	public <T> List<T> selectQueryToPreparedStatement(Class<T> type, String sql, Object ... param) throws SQLException{
+		return this.pool.selectList(this.owned(), ClassRowMapper.forQuery(type, sql), StatementType.PREPARED_STATEMENT, sql, param);
+	}
+
+	/**
+	 * 데이터베이스 커밋 후 커넥션 반납
+	 * @throws NonTransactionException		이미 커밋 또는 롤백한 트랜잭션일 경우 발생
+	 * @throws SQLException						데이터베이스 처리 중 오류
+	 */
+	public void commit() throws NonTransactionException, SQLException{
+		this.end(true);
+	}
+
+	/**
+	 * 데이터베이스 롤백 후 커넥션 반납
+	 * @throws NonTransactionException		이미 커밋 또는 롤백한 트랜잭션일 경우 발생
+	 * @throws SQLException						데이터베이스 처리 중 오류
+	 */
+	public void rollback() throws NonTransactionException, SQLException{
+		this.end(false);
+	}
+
+	/**
+	 * 커밋 또는 롤백하지 않은 트랜잭션일 경우 롤백 후 커넥션 반납
+	 * @throws SQLException		롤백 중 오류
+	 */
+	@Override
+	public void close() throws SQLException{
+		if( !this.ended )		this.end(false);
+	}
+
+	/**
+	 * 트랜잭션 진행 여부
+	 * @return		commit() 또는 rollback() 을 호출하지 않았을 경우 true
+	 */
+	public boolean isActive(){
+		return !this.ended;
+	}
+
+	/**
+	 * 읽기 전용 트랜잭션 여부
+	 * @return		읽기 전용으로 시작한 트랜잭션일 경우 true
+	 */
+	public boolean isReadOnly(){
+		return this.readOnly;
+	}
+
+	/**		커밋 또는 롤백 후 커넥션 반납		*/
+	private void end(boolean commit) throws SQLException{
+		if( this.ended )		throw new NonTransactionException();
+		this.ended = true;
+
+		try{
+			if( commit )		this.connection.commit();
+			else					this.connection.rollback();
+		}finally{
+			this.pool.endTransaction(this.connection);
+		}
+	}
+
+	/**		쿼리를 수행할 트랜잭션 커넥션		*/
+	private DatabaseConnection owned() throws NonTransactionException{
+		if( this.ended )		throw new NonTransactionException();
+		return this.connection;
+	}
+}
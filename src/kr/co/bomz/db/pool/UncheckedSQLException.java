@@ -0,0 +1,26 @@
+package kr.co.bomz.db.pool;
+
+import java.sql.SQLException;
+
+/**
+ * java.util.stream.Stream 처리 중 발생한 SQLException 을 전달하기 위한 예외<br>
+ * 원래 발생한 예외는 getCause() 로 확인할 수 있다
+ * 
+ * @author Bomz
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+public class UncheckedSQLException extends RuntimeException{
+
+	private static final long serialVersionUID = 4407530296158123914L;
+
+	public UncheckedSQLException(SQLException cause){
+		super(cause);
+	}
+	
+	@Override
+	public synchronized SQLException getCause() {
+		return (SQLException)super.getCause();
+	}
+}
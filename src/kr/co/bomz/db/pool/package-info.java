@@ -1,5 +1,5 @@
 /**
- * ͺ̽ Ŀؼ Ǯ
+ * 데이터베이스 커넥션 풀
  * @author Bomz
  *
  */